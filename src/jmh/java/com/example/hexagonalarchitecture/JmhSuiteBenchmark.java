@@ -0,0 +1,45 @@
+package com.example.hexagonalarchitecture;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Ejecuta los microbenchmarks JMH de {@code src/jmh/java} desde {@code mvn test -Pbenchmark}.
+ * <p>
+ * Los resultados se escriben en {@code target/benchmarks/jmh-results.json} (formato JSON de JMH,
+ * comparable entre ejecuciones con herramientas como jmh.morethan.io). Para correr un subconjunto:
+ * {@code -Djmh.includes=DocumentType}.
+ */
+@Tag("benchmark")
+@DisplayName("Microbenchmarks JMH")
+class JmhSuiteBenchmark {
+
+    @Test
+    @DisplayName("Ejecutar benchmarks y guardar resultados")
+    void runBenchmarks() throws Exception {
+        Path output = Path.of("target", "benchmarks", "jmh-results.json");
+        Files.createDirectories(output.getParent());
+
+        Options options = new OptionsBuilder()
+            .include(System.getProperty("jmh.includes", "com\\.example\\.hexagonalarchitecture\\..*"))
+            .resultFormat(ResultFormatType.JSON)
+            .result(output.toString())
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertFalse(results.isEmpty());
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.hexagonalarchitecture.users.application.port.in;
+
+import com.example.hexagonalarchitecture.users.application.common.PageResult;
+import com.example.hexagonalarchitecture.users.application.common.SortDirection;
+import com.example.hexagonalarchitecture.users.application.common.UserCursor;
+import com.example.hexagonalarchitecture.users.application.common.UserField;
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.application.common.UserSortField;
+import com.example.hexagonalarchitecture.users.application.common.UserUniqueField;
+import com.example.hexagonalarchitecture.users.application.port.out.UserEventPublisher;
+import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.application.port.out.UserTransactionPort;
+import com.example.hexagonalarchitecture.users.application.port.out.UserWithPassword;
+import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.security.PasswordEncoderBatchHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Costo de {@link CreateUserUseCase#execute} sin base de datos: validaciones de dominio,
+ * hash de la contraseña y armado del usuario, contra un repositorio en memoria.
+ * <p>
+ * {@code encoder=noop} aísla la lógica de la aplicación; {@code encoder=bcrypt-4} muestra
+ * cuánto pesa el hash incluso con el costo mínimo de BCrypt.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreateUserUseCaseBenchmark {
+
+    @Param({"noop", "bcrypt-4"})
+    private String encoder;
+
+    private InMemoryUserRepository repository;
+    private CreateUserUseCase useCase;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder passwordEncoder = switch (encoder) {
+            case "noop" -> new PlainTextPasswordEncoder();
+            case "bcrypt-4" -> new BCryptPasswordEncoder(4);
+            default -> throw new IllegalArgumentException("Encoder desconocido: " + encoder);
+        };
+        repository = new InMemoryUserRepository();
+        useCase = new CreateUserUseCase(
+            repository, passwordEncoder, new PasswordEncoderBatchHasher(passwordEncoder),
+            UserEventPublisher.NONE, UserTransactionPort.NONE);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearRepository() {
+        repository.users.clear();
+    }
+
+    @Benchmark
+    public User createUser() {
+        long n = sequence++;
+        User user = new User(
+            null, "user" + n, "John", "Doe", "user" + n + "@example.com", "3101234567",
+            DocumentType.CE, String.valueOf(n + 1), "Calle 123 #45", null, LocalDate.of(1990, 5, 15));
+        return useCase.execute(user, "SecurePass123!");
+    }
+
+    private static final class PlainTextPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+
+    /**
+     * Solo implementa lo que usa la creación individual; el resto no participa del benchmark.
+     */
+    private static final class InMemoryUserRepository implements UserRepositoryPort {
+
+        private final Map<String, UserWithPassword> users = new ConcurrentHashMap<>();
+
+        @Override
+        public User create(User user, String hashedPassword) {
+            User created = new User(
+                UUID.randomUUID().toString(), user.username(), user.firstName(), user.lastName(),
+                user.email(), user.phone(), user.documentType(), user.documentNumber(),
+                user.address(), user.status(), user.birthDate());
+            users.put(created.id(), new UserWithPassword(created, hashedPassword));
+            return created;
+        }
+
+        @Override
+        public List<User> createAll(List<UserWithPassword> users) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public User update(User user, String passwordHash) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public User updateProfile(User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public User updatePassword(String id, String passwordHash, Long expectedVersion) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<User> updateStatus(
+                String id, UserStatus status, Set<String> protectedUsernames, Long expectedVersion) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long updateStatusWhere(UserSearchFilter filter, UserStatus status, Set<String> protectedUsernames) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<User> findById(String id) {
+            return Optional.ofNullable(users.get(id)).map(UserWithPassword::user);
+        }
+
+        @Override
+        public Optional<Long> findVersionById(String id) {
+            return findById(id).map(User::version);
+        }
+
+        @Override
+        public UserWithPassword findByIdWithPassword(String id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PageResult<User> search(
+                UserSearchFilter filter, int page, int size, UserSortField sortField, SortDirection direction,
+                Set<UserField> fields) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PageResult<User> searchSlice(
+                UserSearchFilter filter, int page, int size, UserSortField sortField, SortDirection direction,
+                Set<UserField> fields) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public OptionalLong estimateCount(UserSearchFilter filter) {
+            return OptionalLong.empty();
+        }
+
+        @Override
+        public PageResult<User> searchAfter(
+                UserSearchFilter filter, UserCursor cursor, int size, UserSortField sortField, SortDirection direction,
+                Set<UserField> fields) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long streamAll(UserSearchFilter filter, Consumer<User> consumer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<UserUniqueField> findConflicts(String username, String email, String documentNumber) {
+            return Set.of();
+        }
+
+        @Override
+        public Map<UserUniqueField, Set<String>> findUniqueKeysInUse(
+                Collection<String> usernames, Collection<String> emails, Collection<String> documentNumbers) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean existsByUsername(String username) {
+            return false;
+        }
+
+        @Override
+        public boolean existsByEmail(String email) {
+            return false;
+        }
+
+        @Override
+        public boolean existsByDocumentNumber(String documentNumber) {
+            return false;
+        }
+    }
+}
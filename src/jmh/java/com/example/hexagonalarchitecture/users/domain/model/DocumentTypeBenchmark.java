@@ -0,0 +1,78 @@
+package com.example.hexagonalarchitecture.users.domain.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Costo de {@link DocumentType#isValidNumber} por tipo, con un número válido y uno inválido,
+ * comparado con la validación anterior por regex: {@code String.matches} (compila el patrón
+ * en cada llamada) y el mismo patrón precompilado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DocumentTypeBenchmark {
+
+    @Param({"DNI", "CE", "PASSPORT", "TI"})
+    private DocumentType type;
+
+    private String valid;
+    private String invalid;
+    private Pattern pattern;
+
+    @Setup
+    public void setUp() {
+        valid = switch (type) {
+            case DNI -> "12345678";
+            case CE, TI -> "1234567890";
+            case PASSPORT -> "AB123456";
+        };
+        invalid = valid.substring(0, valid.length() - 1) + "x";
+        pattern = Pattern.compile(type.getPattern());
+    }
+
+    @Benchmark
+    public boolean validNumber() {
+        return type.isValidNumber(valid);
+    }
+
+    @Benchmark
+    public boolean invalidNumber() {
+        return type.isValidNumber(invalid);
+    }
+
+    @Benchmark
+    public boolean regexValidNumber() {
+        return valid.matches(type.getPattern());
+    }
+
+    @Benchmark
+    public boolean regexInvalidNumber() {
+        return invalid.matches(type.getPattern());
+    }
+
+    @Benchmark
+    public boolean precompiledRegexValidNumber() {
+        return pattern.matcher(valid).matches();
+    }
+
+    @Benchmark
+    public boolean precompiledRegexInvalidNumber() {
+        return pattern.matcher(invalid).matches();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.hexagonalarchitecture.users.infraestructure.controller;
+
+import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.PageMeta;
+import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.PageResponse;
+import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Formatos de la respuesta de búsqueda negociables por {@code Accept}: JSON, CBOR y Smile, con y sin
+ * gzip (como lo aplica {@code server.compression}). Mide el tiempo de serializar y de leer la página;
+ * el tamaño de cada payload se imprime al iniciar cada combinación ({@code payload format=...}).
+ * <p>
+ * Los usuarios tienen valores distintos entre sí para que la compresión no se vea favorecida por
+ * filas idénticas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageResponseFormatBenchmark {
+
+    public enum Format {
+        JSON(JsonMapper.builder().build()),
+        CBOR(CBORMapper.builder().build()),
+        SMILE(SmileMapper.builder().build());
+
+        private final ObjectMapper mapper;
+
+        Format(ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+    }
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private Format format;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private PageResponse<UserResponse> pageResponse;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        List<UserResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(UserController.toResponse(new User(
+                "550e8400-e29b-41d4-a716-4466554" + String.format("%05d", i), "user" + i, "John" + i, "Doe" + i,
+                "user" + i + "@example.com", "310" + (1_000_000 + i), DocumentType.DNI,
+                String.valueOf(10_000_000 + i), "Calle " + i + " #45",
+                UserStatus.ACTIVE, LocalDate.of(1960, 1, 1).plusDays(i * 97L), (long) i)));
+        }
+        pageResponse = new PageResponse<>(content, new PageMeta(0, pageSize, true, 1000L, 1000 / pageSize, null, null));
+        payload = format.mapper.writeValueAsBytes(pageResponse);
+        System.out.printf("payload format=%s pageSize=%d bytes=%d gzipBytes=%d%n",
+            format, pageSize, payload.length, gzip(payload).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return format.mapper.writeValueAsBytes(pageResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() {
+        return gzip(format.mapper.writeValueAsBytes(pageResponse));
+    }
+
+    @Benchmark
+    public JsonNode deserialize() {
+        return format.mapper.readTree(payload);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.hexagonalarchitecture.users.infraestructure.controller;
+
+import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.PageMeta;
+import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.PageResponse;
+import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lado web de la respuesta de búsqueda: mapeo {@code User -> UserResponse} de {@link UserController}
+ * y serialización JSON de {@code PageResponse<UserResponse>} con Jackson, como la hace Spring MVC.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserResponseBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private User user;
+    private List<User> users;
+    private PageResponse<UserResponse> pageResponse;
+    private JsonMapper jsonMapper;
+
+    @Setup
+    public void setUp() {
+        user = new User(
+            "550e8400-e29b-41d4-a716-446655440000", "jdoe", "John", "Doe", "john@example.com",
+            "3101234567", DocumentType.DNI, "12345678", "Calle 123 #45",
+            UserStatus.ACTIVE, LocalDate.of(1990, 5, 15));
+        users = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            users.add(user);
+        }
+        pageResponse = toPage(users);
+        jsonMapper = JsonMapper.builder().build();
+    }
+
+    @Benchmark
+    public UserResponse domainToResponse() {
+        return UserController.toResponse(user);
+    }
+
+    @Benchmark
+    public PageResponse<UserResponse> mapPage() {
+        return toPage(users);
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return jsonMapper.writeValueAsBytes(pageResponse);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() {
+        return jsonMapper.writeValueAsBytes(toPage(users));
+    }
+
+    private PageResponse<UserResponse> toPage(List<User> content) {
+        return new PageResponse<>(
+            content.stream().map(UserController::toResponse).toList(),
+            new PageMeta(0, pageSize, true, 1000L, 1000 / pageSize, null, null));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.hexagonalarchitecture.users.infraestructure.persistence;
+
+import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeos de {@link JpaUserRepositoryAdapter}: {@code UserEntity -> User} (lecturas y páginas)
+ * y {@code User -> UserEntity} (escrituras).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserEntityMappingBenchmark {
+
+    private UserEntity entity;
+    private User user;
+    private List<UserEntity> page;
+
+    @Setup
+    public void setUp() {
+        entity = new UserEntity(
+            "550e8400-e29b-41d4-a716-446655440000", "jdoe", "$2a$10$hash", "John", "Doe",
+            "john@example.com", "3101234567", DocumentType.DNI, "12345678", "Calle 123 #45",
+            UserStatus.ACTIVE, LocalDate.of(1990, 5, 15));
+        user = JpaUserRepositoryAdapter.userEntityToDomain(entity);
+        page = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            page.add(entity);
+        }
+    }
+
+    @Benchmark
+    public User entityToDomain() {
+        return JpaUserRepositoryAdapter.userEntityToDomain(entity);
+    }
+
+    @Benchmark
+    public UserEntity domainToEntity() {
+        return JpaUserRepositoryAdapter.toEntity(user, "$2a$10$hash");
+    }
+
+    @Benchmark
+    public List<User> pageOf20ToDomain() {
+        return page.stream()
+            .map(JpaUserRepositoryAdapter::userEntityToDomain)
+            .toList();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.hexagonalarchitecture.users.application.common;
+
+/**
+ * Resultado de un elemento de un alta masiva.
+ * <p>
+ * Exactamente uno de {@code id} (usuario creado) o {@code error} (motivo del rechazo) es distinto de null.
+ *
+ * @param index posición del elemento en el lote recibido
+ * @param id ID del usuario creado, o null si fue rechazado
+ * @param error mensaje de validación, o null si fue creado
+ */
+public record BatchItemResult(
+        int index,
+        String id,
+        String error
+) {
+
+    public static BatchItemResult created(int index, String id) {
+        return new BatchItemResult(index, id, null);
+    }
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, null, error);
+    }
+
+    public boolean isCreated() {
+        return id != null;
+    }
+}
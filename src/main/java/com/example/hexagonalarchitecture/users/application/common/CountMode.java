@@ -0,0 +1,13 @@
+package com.example.hexagonalarchitecture.users.application.common;
+
+/**
+ * Cómo calcular los totales de una búsqueda paginada por offset.
+ * <p>
+ * - EXACT: ejecuta un COUNT con los mismos filtros (totalElements/totalPages exactos)
+ * - NONE: no cuenta; pide size+1 filas y solo informa si hay página siguiente (hasNext)
+ * - ESTIMATED: igual que NONE, más un total aproximado tomado de las estadísticas del
+ *   planificador cuando la búsqueda no tiene filtros o solo filtra por estado
+ */
+public enum CountMode {
+    EXACT, NONE, ESTIMATED
+}
@@ -2,10 +2,59 @@ package com.example.hexagonalarchitecture.users.application.common;
 
 import java.util.List;
 
+/**
+ * Resultado paginado de una búsqueda.
+ * <p>
+ * Según el modo de paginación algunos campos son null porque no se calculan:
+ * - offset con COUNT ({@link CountMode#EXACT}): page, totalElements y totalPages exactos
+ * - offset sin COUNT ({@link CountMode#NONE}/{@link CountMode#ESTIMATED}): page y hasNext;
+ *   estimatedTotalElements solo si hay estadísticas aplicables al filtro
+ * - cursor: solo hasNext y nextCursor (no hay COUNT ni OFFSET)
+ * <p>
+ * {@code nextCursor} trae el token para pedir la página siguiente por cursor, o null si no hay más.
+ */
 public record PageResult<T>(
         List<T> content,
-        int page,
+        Integer page,
         int size,
-        long totalElements,
-        int totalPages
-) {}
\ No newline at end of file
+        boolean hasNext,
+        Long totalElements,
+        Integer totalPages,
+        Long estimatedTotalElements,
+        String nextCursor
+) {
+
+    public PageResult(List<T> content, int page, int size, long totalElements, int totalPages) {
+        this(content, page, size, page + 1 < totalPages, totalElements, totalPages, null, null);
+    }
+
+    /**
+     * Crea un resultado de paginación por offset con totales exactos.
+     */
+    public static <T> PageResult<T> counted(
+            List<T> content, int page, int size, long totalElements, int totalPages, String nextCursor) {
+        return new PageResult<>(content, page, size, page + 1 < totalPages, totalElements, totalPages, null, nextCursor);
+    }
+
+    /**
+     * Crea un resultado de paginación por offset sin COUNT, con total estimado opcional.
+     */
+    public static <T> PageResult<T> slice(
+            List<T> content, int page, int size, boolean hasNext, Long estimatedTotalElements, String nextCursor) {
+        return new PageResult<>(content, page, size, hasNext, null, null, estimatedTotalElements, nextCursor);
+    }
+
+    /**
+     * Crea un resultado de paginación por cursor (sin totales).
+     */
+    public static <T> PageResult<T> keyset(List<T> content, int size, String nextCursor) {
+        return new PageResult<>(content, null, size, nextCursor != null, null, null, null, nextCursor);
+    }
+
+    /**
+     * Copia este resultado agregando un total estimado.
+     */
+    public PageResult<T> withEstimatedTotalElements(Long estimatedTotalElements) {
+        return new PageResult<>(content, page, size, hasNext, totalElements, totalPages, estimatedTotalElements, nextCursor);
+    }
+}
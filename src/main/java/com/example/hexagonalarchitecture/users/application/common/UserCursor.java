@@ -0,0 +1,97 @@
+package com.example.hexagonalarchitecture.users.application.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.example.hexagonalarchitecture.users.domain.model.User;
+
+/**
+ * Posición de continuación para la paginación por cursor (keyset / seek).
+ * <p>
+ * Guarda el valor del campo de ordenamiento y el {@code id} de la última fila entregada,
+ * que actúa como desempate. El cliente lo recibe como un token opaco (Base64 URL-safe)
+ * y lo devuelve tal cual para obtener la página siguiente, sin que la base de datos
+ * tenga que recorrer y descartar las filas anteriores como ocurre con OFFSET.
+ *
+ * @param sortField campo de ordenamiento con el que se generó el cursor
+ * @param direction dirección de ordenamiento con la que se generó el cursor
+ * @param id identificador de la última fila entregada
+ * @param value valor del campo de ordenamiento de la última fila (puede ser null)
+ */
+public record UserCursor(
+        UserSortField sortField,
+        SortDirection direction,
+        String id,
+        String value
+) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Construye el cursor que apunta justo después del usuario dado.
+     *
+     * @param last último usuario de la página entregada
+     * @param sortField campo de ordenamiento de la búsqueda
+     * @param direction dirección de ordenamiento de la búsqueda
+     * @return cursor para pedir la página siguiente
+     */
+    public static UserCursor after(User last, UserSortField sortField, SortDirection direction) {
+        String value = switch (sortField) {
+            case ID -> last.id();
+            case LAST_NAME -> last.lastName();
+            case DOCUMENT_NUMBER -> last.documentNumber();
+        };
+        return new UserCursor(sortField, direction, last.id(), value);
+    }
+
+    /**
+     * Decodifica un token opaco generado por {@link #encode()}.
+     *
+     * @param token token recibido del cliente
+     * @return cursor decodificado
+     * @throws IllegalArgumentException si el token no es un cursor válido
+     */
+    public static UserCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // El valor va al final para que pueda contener el separador
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length < 3 || parts[2].isEmpty()) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new UserCursor(
+                    UserSortField.valueOf(parts[0]),
+                    SortDirection.valueOf(parts[1]),
+                    parts[2],
+                    parts.length == 4 ? parts[3] : null);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Cursor inválido", ex);
+        }
+    }
+
+    /**
+     * Codifica el cursor como token opaco para el cliente.
+     *
+     * @return token Base64 URL-safe sin padding
+     */
+    public String encode() {
+        String raw = sortField.name() + SEPARATOR + direction.name() + SEPARATOR + id
+                + (value != null ? SEPARATOR + value : "");
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Verifica que el cursor se generó con el mismo ordenamiento que la búsqueda actual.
+     *
+     * @param expectedField campo de ordenamiento solicitado
+     * @param expectedDirection dirección de ordenamiento solicitada
+     * @throws IllegalArgumentException si el ordenamiento no coincide
+     */
+    public void requireSameOrder(UserSortField expectedField, SortDirection expectedDirection) {
+        if (sortField != expectedField || direction != expectedDirection) {
+            throw new IllegalArgumentException(
+                    "El cursor no corresponde al ordenamiento solicitado (" + expectedField + " " + expectedDirection + ")");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.hexagonalarchitecture.users.application.common;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Campos públicos de un usuario que pueden pedirse en una lectura (sparse fieldsets).
+ * <p>
+ * El nombre de cada campo es a la vez el atributo de la entidad y la propiedad JSON de la respuesta.
+ * Los campos no pedidos no se leen de la base de datos ni se serializan.
+ */
+public enum UserField {
+
+    ID("id"),
+    USERNAME("username"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    EMAIL("email"),
+    PHONE("phone"),
+    DOCUMENT_TYPE("documentType"),
+    DOCUMENT_NUMBER("documentNumber"),
+    ADDRESS("address"),
+    BIRTH_DATE("birthDate"),
+    STATUS("status"),
+    VERSION("version");
+
+    /**
+     * Todos los campos: la lectura completa.
+     */
+    public static final Set<UserField> ALL = Collections.unmodifiableSet(EnumSet.allOf(UserField.class));
+
+    private final String attribute;
+
+    UserField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    /**
+     * Interpreta una lista de campos separados por coma, p. ej. {@code id,username,lastName}.
+     * El {@code id} se incluye siempre.
+     *
+     * @param fields nombres de los campos (como en la respuesta JSON); null o vacío para todos
+     * @return campos pedidos, o {@link #ALL} si no se pidió ninguno
+     * @throws IllegalArgumentException si algún nombre no corresponde a un campo
+     */
+    public static Set<UserField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<UserField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                selected.add(fromAttribute(trimmed));
+            }
+        }
+        return selected.size() == ALL.size() ? ALL : selected;
+    }
+
+    /**
+     * Campo correspondiente a un atributo (p. ej. la columna de ordenamiento).
+     *
+     * @throws IllegalArgumentException si el atributo no corresponde a un campo público
+     */
+    public static UserField fromAttribute(String attribute) {
+        for (UserField field : values()) {
+            if (field.attribute.equals(attribute)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Campo desconocido: " + attribute + ". Valores permitidos: "
+                + String.join(",", ALL.stream().map(UserField::attribute).toList()));
+    }
+
+    /**
+     * Campos a leer en una búsqueda: los pedidos más el ID y el campo de ordenamiento, que hacen
+     * falta para construir el cursor de la página siguiente.
+     */
+    public static Set<UserField> withSortKeys(Set<UserField> fields, UserSortField sortField) {
+        UserField sortKey = fromAttribute(sortField.column());
+        if (fields.contains(ID) && fields.contains(sortKey)) {
+            return fields;
+        }
+        Set<UserField> withKeys = EnumSet.copyOf(fields);
+        withKeys.add(ID);
+        withKeys.add(sortKey);
+        return withKeys;
+    }
+}
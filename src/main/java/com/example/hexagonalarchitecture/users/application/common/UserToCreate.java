@@ -0,0 +1,12 @@
+package com.example.hexagonalarchitecture.users.application.common;
+
+import com.example.hexagonalarchitecture.users.domain.model.User;
+
+/**
+ * Elemento de un alta masiva: datos del usuario (sin ID) y su contraseña en texto plano.
+ */
+public record UserToCreate(
+        User user,
+        String rawPassword
+) {
+}
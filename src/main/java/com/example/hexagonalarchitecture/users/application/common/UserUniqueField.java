@@ -0,0 +1,8 @@
+package com.example.hexagonalarchitecture.users.application.common;
+
+/**
+ * Campos de usuario con restricción de unicidad, en el orden en que se reportan los conflictos.
+ */
+public enum UserUniqueField {
+    USERNAME, EMAIL, DOCUMENT_NUMBER
+}
@@ -0,0 +1,14 @@
+package com.example.hexagonalarchitecture.users.application.event;
+
+import java.time.Instant;
+
+import com.example.hexagonalarchitecture.users.domain.model.User;
+
+/**
+ * Un usuario fue creado o modificado (datos, estado o contraseña).
+ *
+ * @param user estado completo del usuario después del cambio, con su versión nueva (nunca la password)
+ * @param occurredAt momento del cambio
+ */
+public record UserChangedEvent(User user, Instant occurredAt) implements UserEvent {
+}
@@ -0,0 +1,16 @@
+package com.example.hexagonalarchitecture.users.application.event;
+
+import java.time.Instant;
+
+/**
+ * Evento emitido por los casos de uso de escritura junto con un cambio de usuarios (en su misma
+ * transacción), para que otros modelos (p. ej. el de búsqueda) y sistemas externos (vía outbox) se
+ * actualicen sin acoplarse a la escritura.
+ */
+public sealed interface UserEvent permits UserChangedEvent, UsersStatusChangedEvent {
+
+    /**
+     * Momento del cambio; permite medir cuánto tarda en propagarse.
+     */
+    Instant occurredAt();
+}
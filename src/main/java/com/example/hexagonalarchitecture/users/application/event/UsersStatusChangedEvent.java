@@ -0,0 +1,24 @@
+package com.example.hexagonalarchitecture.users.application.event;
+
+import java.time.Instant;
+
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+
+/**
+ * Cambio masivo de estado: se actualizaron por conjuntos los usuarios que cumplían el filtro, sin
+ * leerlos, así que el evento describe la cohorte en lugar de cada usuario. Un cambio por tramos emite
+ * un evento por tramo, con el mismo filtro.
+ *
+ * @param filter criterios de la cohorte, evaluados sobre el estado anterior al cambio
+ * @param status estado asignado
+ * @param changed cantidad de usuarios cuyo estado cambió en el tramo
+ * @param occurredAt momento del cambio
+ */
+public record UsersStatusChangedEvent(
+        UserSearchFilter filter,
+        UserStatus status,
+        long changed,
+        Instant occurredAt
+) implements UserEvent {
+}
@@ -1,44 +1,51 @@
 package com.example.hexagonalarchitecture.users.application.port.in;
 
+import java.time.Instant;
+import java.util.Set;
+
+import com.example.hexagonalarchitecture.users.application.event.UserChangedEvent;
+import com.example.hexagonalarchitecture.users.application.port.out.UserEventPublisher;
 import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
-import com.example.hexagonalarchitecture.users.application.port.out.UserWithPassword;
+import com.example.hexagonalarchitecture.users.application.port.out.UserTransactionPort;
 import com.example.hexagonalarchitecture.users.domain.model.User;
 import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException;
 
 /**
  * Caso de uso para activar usuarios cambiando su estado a ACTIVE.
+ * Solo se escribe la columna de estado, en un único UPDATE que retorna la fila actualizada.
  */
 public class ActivateUserUseCase {
 
     private final UserRepositoryPort userRepository;
+    private final UserEventPublisher eventPublisher;
+    private final UserTransactionPort transactions;
 
-    public ActivateUserUseCase(UserRepositoryPort userRepository) {
+    public ActivateUserUseCase(
+            UserRepositoryPort userRepository,
+            UserEventPublisher eventPublisher,
+            UserTransactionPort transactions) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactions = transactions;
     }
 
     /**
      * Activa un usuario cambiando su estado a ACTIVE.
      * 
      * @param id identificador UUID del usuario
+     * @param expectedVersion versión que debe tener el usuario (If-Match), o null para no verificarla
      * @return usuario activado
+     * @throws EntityNotFoundException si el usuario no existe
+     * @throws com.example.hexagonalarchitecture.users.infraestructure.exception.VersionConflictException
+     *         si el usuario cambió de versión
      */
-    public User execute(String id) {
-        UserWithPassword existing = userRepository.findByIdWithPassword(id);
-        User user = existing.user();
-
-        User activatedUser = new User(
-                user.id(),
-                user.username(),
-                user.firstName(),
-                user.lastName(),
-                user.email(),
-                user.phone(),
-                user.documentType(),
-                user.documentNumber(),
-                user.address(),
-                UserStatus.ACTIVE,
-                user.birthDate());
-
-        return userRepository.update(activatedUser, existing.passwordHash());
+    public User execute(String id, Long expectedVersion) {
+        return transactions.inTransaction(() -> {
+            User updated = userRepository.updateStatus(id, UserStatus.ACTIVE, Set.of(), expectedVersion)
+                    .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado con id: " + id));
+            eventPublisher.publish(new UserChangedEvent(updated, Instant.now()));
+            return updated;
+        });
     }
 }
\ No newline at end of file
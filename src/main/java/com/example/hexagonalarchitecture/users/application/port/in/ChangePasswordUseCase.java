@@ -1,8 +1,13 @@
 package com.example.hexagonalarchitecture.users.application.port.in;
 
+import java.time.Instant;
+
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.example.hexagonalarchitecture.users.application.event.UserChangedEvent;
+import com.example.hexagonalarchitecture.users.application.port.out.UserEventPublisher;
 import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.application.port.out.UserTransactionPort;
 import com.example.hexagonalarchitecture.users.application.port.out.UserWithPassword;
 import com.example.hexagonalarchitecture.users.domain.model.User;
 import com.example.hexagonalarchitecture.users.infraestructure.exception.InvalidPasswordException;
@@ -14,8 +19,9 @@ import com.example.hexagonalarchitecture.users.infraestructure.exception.Invalid
  * 1. Verifica que el usuario exista
  * 2. Valida que la contraseña actual proporcionada coincida con la almacenada (hasheada)
  * 3. Valida que la nueva contraseña y su confirmación coincidan
- * 4. Hashea la nueva contraseña con BCrypt
- * 5. Actualiza el usuario con la nueva contraseña hasheada
+ * 4. Hashea la nueva contraseña con BCrypt usando el costo vigente: si el hash almacenado
+ *    se generó con un costo menor (antes de una recalibración), queda reemplazado aquí
+ * 5. Reemplaza solo la contraseña, condicionada a la versión leída en el paso 1
  * <p>
  * Excepciones lanzadas:
  * - {@link com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException} si el usuario no existe
@@ -25,10 +31,18 @@ public class ChangePasswordUseCase {
 
     private final UserRepositoryPort userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserEventPublisher eventPublisher;
+    private final UserTransactionPort transactions;
 
-    public ChangePasswordUseCase(UserRepositoryPort userRepository, PasswordEncoder passwordEncoder) {
+    public ChangePasswordUseCase(
+            UserRepositoryPort userRepository,
+            PasswordEncoder passwordEncoder,
+            UserEventPublisher eventPublisher,
+            UserTransactionPort transactions) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.transactions = transactions;
     }
 
     /**
@@ -56,6 +70,10 @@ public class ChangePasswordUseCase {
 
         String hashedPassword = passwordEncoder.encode(newPassword);
 
-        return userRepository.update(user, hashedPassword);
+        return transactions.inTransaction(() -> {
+            User updated = userRepository.updatePassword(user.id(), hashedPassword, user.version());
+            eventPublisher.publish(new UserChangedEvent(updated, Instant.now()));
+            return updated;
+        });
     }
 }
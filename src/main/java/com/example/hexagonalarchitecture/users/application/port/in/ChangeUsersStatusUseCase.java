@@ -0,0 +1,60 @@
+package com.example.hexagonalarchitecture.users.application.port.in;
+
+import java.time.Instant;
+import java.util.Set;
+
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.application.event.UsersStatusChangedEvent;
+import com.example.hexagonalarchitecture.users.application.port.out.UserEventPublisher;
+import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.ValidationException;
+
+/**
+ * Caso de uso para cambiar el estado de una cohorte de usuarios de una sola vez
+ * (por ejemplo, desactivar o eliminar lógicamente a todos los que cumplen un filtro).
+ * <p>
+ * El cambio se resuelve con sentencias UPDATE por conjuntos en la base de datos, sin recorrer
+ * los usuarios uno por uno.
+ * <p>
+ * Reglas de negocio:
+ * - El filtro debe tener al menos un criterio: no se cambia el estado de todos los usuarios por omisión
+ * - El usuario administrador del sistema (username "admin") nunca se modifica, igual que en {@link DeleteUserUseCase}
+ */
+public class ChangeUsersStatusUseCase {
+
+    private static final String ADMIN_USERNAME = "admin";
+
+    private final UserRepositoryPort userRepository;
+    private final UserEventPublisher eventPublisher;
+
+    public ChangeUsersStatusUseCase(UserRepositoryPort userRepository, UserEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Cambia el estado de todos los usuarios que cumplen el filtro.
+     * 
+     * @param filter criterios de la cohorte (los mismos de la búsqueda)
+     * @param newStatus estado a asignar
+     * @return cantidad de usuarios cuyo estado cambió
+     * @throws ValidationException si el filtro no tiene ningún criterio
+     */
+    public long execute(UserSearchFilter filter, UserStatus newStatus) {
+        if (filter == null || isEmpty(filter)) {
+            throw new ValidationException("Debe indicar al menos un criterio de filtro para el cambio masivo de estado");
+        }
+        // Un evento por tramo, en la transacción del tramo: no se abre una transacción para toda la cohorte
+        return userRepository.updateStatusWhere(filter, newStatus, Set.of(ADMIN_USERNAME), changed ->
+                eventPublisher.publish(new UsersStatusChangedEvent(filter, newStatus, changed, Instant.now())));
+    }
+
+    private static boolean isEmpty(UserSearchFilter filter) {
+        return filter.lastName() == null
+                && filter.documentNumber() == null
+                && filter.status() == null
+                && filter.birthDateFrom() == null
+                && filter.birthDateTo() == null;
+    }
+}
@@ -1,12 +1,34 @@
 package com.example.hexagonalarchitecture.users.application.port.in;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
+import com.example.hexagonalarchitecture.users.application.common.BatchItemResult;
+import com.example.hexagonalarchitecture.users.application.common.UserToCreate;
+import com.example.hexagonalarchitecture.users.application.common.UserUniqueField;
+import com.example.hexagonalarchitecture.users.application.event.UserChangedEvent;
+import com.example.hexagonalarchitecture.users.application.port.out.BatchPasswordHasher;
+import com.example.hexagonalarchitecture.users.application.port.out.UserEventPublisher;
 import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.application.port.out.UserTransactionPort;
+import com.example.hexagonalarchitecture.users.application.port.out.UserWithPassword;
 import com.example.hexagonalarchitecture.users.domain.model.User;
 import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.DuplicateUserException;
 import com.example.hexagonalarchitecture.users.infraestructure.exception.InvalidDocumentException;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.PasswordHashingUnavailableException;
 import com.example.hexagonalarchitecture.users.infraestructure.exception.ValidationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -15,10 +37,13 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  * <p>
  * Responsabilidades:
  * - Validar formato del número de documento según su tipo (DNI, CE, PASSPORT, TI)
- * - Validar unicidad de username, email y número de documento
  * - Validar edad mínima de 18 años
  * - Hashear la contraseña con BCrypt antes de persistir
+ * - Validar unicidad de username, email y número de documento en la misma inserción
+ *   (un solo round trip, sin carrera entre verificar y crear)
  * - Asignar estado ACTIVE por defecto
+ * - Alta masiva con resultado por elemento ({@link #executeBatch})
+ * - Publicar un {@link UserChangedEvent} por cada usuario creado, en la misma transacción que la inserción
  * <p>
  * Excepciones lanzadas:
  * - {@link InvalidDocumentException} si el formato del documento es inválido
@@ -26,12 +51,28 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  */
 public class CreateUserUseCase {
 
+    /**
+     * Máximo de usuarios por lote: acota el tiempo de hasheo y la transacción de inserción.
+     */
+    public static final int MAX_BATCH_SIZE = 1000;
+
     private final UserRepositoryPort userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final BatchPasswordHasher batchPasswordHasher;
+    private final UserEventPublisher eventPublisher;
+    private final UserTransactionPort transactions;
 
-    public CreateUserUseCase(UserRepositoryPort userRepository, PasswordEncoder passwordEncoder) {
+    public CreateUserUseCase(
+            UserRepositoryPort userRepository,
+            PasswordEncoder passwordEncoder,
+            BatchPasswordHasher batchPasswordHasher,
+            UserEventPublisher eventPublisher,
+            UserTransactionPort transactions) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.batchPasswordHasher = batchPasswordHasher;
+        this.eventPublisher = eventPublisher;
+        this.transactions = transactions;
     }
 
     /**
@@ -44,6 +85,119 @@ public class CreateUserUseCase {
      * @throws ValidationException si username/email/documento duplicado o edad menor a 18 años
      */
     public User execute(User user, String rawPassword) {
+        validate(user);
+
+        String hashedPassword = passwordEncoder.encode(rawPassword);
+
+        // La unicidad de username, email y documento se valida en la propia inserción
+        try {
+            return transactions.inTransaction(() -> {
+                User created = userRepository.create(withDefaults(user), hashedPassword);
+                eventPublisher.publish(new UserChangedEvent(created, Instant.now()));
+                return created;
+            });
+        } catch (DuplicateUserException ex) {
+            throw duplicateError(user, ex.getConflicts());
+        }
+    }
+
+    /**
+     * Crea varios usuarios aplicando las mismas validaciones que {@link #execute}, pero por lote:
+     * - Formato de documento y edad se validan por elemento
+     * - La unicidad se resuelve con una sola consulta por conjuntos para todo el lote,
+     *   y los valores repetidos dentro del mismo lote rechazan a las apariciones posteriores
+     * - Las contraseñas de los elementos válidos se hashean con {@link BatchPasswordHasher}; si no hay
+     *   capacidad o tiempo para alguna, solo ese elemento se rechaza
+     * - Los elementos válidos se insertan juntos con inserciones por lotes
+     * <p>
+     * Un elemento inválido no impide crear los demás: cada uno recibe su propio resultado.
+     * 
+     * @param users usuarios a crear con sus contraseñas en texto plano
+     * @return un resultado por elemento, en el mismo orden recibido
+     * @throws ValidationException si el lote está vacío o supera {@value #MAX_BATCH_SIZE} elementos
+     */
+    public List<BatchItemResult> executeBatch(List<UserToCreate> users) {
+        if (users.isEmpty() || users.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("El lote debe tener entre 1 y " + MAX_BATCH_SIZE + " usuarios");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[users.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            try {
+                validate(users.get(i).user());
+                candidates.add(i);
+            } catch (InvalidDocumentException | ValidationException ex) {
+                results[i] = BatchItemResult.failed(i, ex.getMessage());
+            }
+        }
+
+        Map<UserUniqueField, Set<String>> existing = userRepository.findUniqueKeysInUse(
+                collect(users, candidates, User::username),
+                collect(users, candidates, User::email),
+                collect(users, candidates, User::documentNumber));
+        Map<UserUniqueField, Set<String>> inUse = new EnumMap<>(UserUniqueField.class);
+        for (UserUniqueField field : UserUniqueField.values()) {
+            inUse.put(field, new HashSet<>(existing.getOrDefault(field, Set.of())));
+        }
+
+        // Lo aceptado en este lote cuenta como "en uso" para los elementos siguientes
+        List<Integer> accepted = new ArrayList<>();
+        for (int i : candidates) {
+            User user = users.get(i).user();
+            Set<UserUniqueField> conflicts = EnumSet.noneOf(UserUniqueField.class);
+            addIfPresent(conflicts, inUse, UserUniqueField.USERNAME, user.username());
+            addIfPresent(conflicts, inUse, UserUniqueField.EMAIL, user.email());
+            addIfPresent(conflicts, inUse, UserUniqueField.DOCUMENT_NUMBER, user.documentNumber());
+            if (!conflicts.isEmpty()) {
+                results[i] = BatchItemResult.failed(i, duplicateError(user, conflicts).getMessage());
+                continue;
+            }
+            inUse.get(UserUniqueField.USERNAME).add(user.username());
+            if (user.email() != null) {
+                inUse.get(UserUniqueField.EMAIL).add(user.email());
+            }
+            if (user.documentNumber() != null) {
+                inUse.get(UserUniqueField.DOCUMENT_NUMBER).add(user.documentNumber());
+            }
+            accepted.add(i);
+        }
+
+        // BCrypt es deliberadamente costoso: es el paso dominante del lote. Se hashea por lote, y una
+        // contraseña que no consiguió lugar o tiempo solo rechaza su elemento
+        List<CompletableFuture<String>> hashes = batchPasswordHasher
+                .hashAll(accepted.stream().map(i -> users.get(i).rawPassword()).toList());
+        List<Integer> hashed = new ArrayList<>(accepted.size());
+        List<UserWithPassword> toCreate = new ArrayList<>(accepted.size());
+        for (int k = 0; k < accepted.size(); k++) {
+            int i = accepted.get(k);
+            try {
+                toCreate.add(new UserWithPassword(withDefaults(users.get(i).user()), hashes.get(k).join()));
+                hashed.add(i);
+            } catch (CompletionException ex) {
+                if (!(ex.getCause() instanceof PasswordHashingUnavailableException unavailable)) {
+                    throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+                }
+                results[i] = BatchItemResult.failed(i, unavailable.getMessage());
+            }
+        }
+
+        List<User> created = toCreate.isEmpty() ? List.of() : transactions.inTransaction(() -> {
+            List<User> inserted = userRepository.createAll(toCreate);
+            Instant now = Instant.now();
+            for (User user : inserted) {
+                eventPublisher.publish(new UserChangedEvent(user, now));
+            }
+            return inserted;
+        });
+        for (int k = 0; k < hashed.size(); k++) {
+            int i = hashed.get(k);
+            results[i] = BatchItemResult.created(i, created.get(k).id());
+        }
+        return Arrays.asList(results);
+    }
+
+    private void validate(User user) {
         // Validar formato del número de documento
         if (user.documentType() != null && user.documentNumber() != null) {
             if (!user.documentType().isValidNumber(user.documentNumber())) {
@@ -54,21 +208,6 @@ public class CreateUserUseCase {
             }
         }
         
-        // Validar que el username no esté duplicado
-        if (userRepository.existsByUsername(user.username())) {
-            throw new ValidationException("El username '" + user.username() + "' ya está en uso");
-        }
-        
-        // Validar que el email no esté duplicado
-        if (user.email() != null && userRepository.existsByEmail(user.email())) {
-            throw new ValidationException("El email '" + user.email() + "' ya está registrado");
-        }
-        
-        // Validar que el documento no esté duplicado
-        if (user.documentNumber() != null && userRepository.existsByDocumentNumber(user.documentNumber())) {
-            throw new ValidationException("Ya existe un usuario con el documento " + user.documentNumber());
-        }
-        
         // Validar edad mínima de 18 años
         if (user.birthDate() != null) {
             int age = Period.between(user.birthDate(), LocalDate.now()).getYears();
@@ -76,9 +215,10 @@ public class CreateUserUseCase {
                 throw new ValidationException("El usuario debe ser mayor de 18 años. Edad actual: " + age + " años");
             }
         }
+    }
 
-        String hashedPassword = passwordEncoder.encode(rawPassword);
-        User toCreate = new User(
+    private User withDefaults(User user) {
+        return new User(
                 null,
                 user.username(),
                 user.firstName(),
@@ -90,6 +230,43 @@ public class CreateUserUseCase {
                 user.address(),
                 user.status() == null ? UserStatus.ACTIVE : user.status(),
                 user.birthDate());
-        return userRepository.create(toCreate, hashedPassword);
+    }
+
+    private static Set<String> collect(List<UserToCreate> users, List<Integer> indexes, Function<User, String> field) {
+        Set<String> values = new HashSet<>();
+        for (int i : indexes) {
+            String value = field.apply(users.get(i).user());
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    private static void addIfPresent(
+            Set<UserUniqueField> conflicts,
+            Map<UserUniqueField, Set<String>> inUse,
+            UserUniqueField field,
+            String value) {
+        if (value != null && inUse.get(field).contains(value)) {
+            conflicts.add(field);
+        }
+    }
+
+    /**
+     * Traduce los campos en conflicto al mensaje de validación del primero de ellos,
+     * en el mismo orden en que se validaban: username, email, documento.
+     */
+    private ValidationException duplicateError(User user, Set<UserUniqueField> conflicts) {
+        if (conflicts.contains(UserUniqueField.USERNAME)) {
+            return new ValidationException("El username '" + user.username() + "' ya está en uso");
+        }
+        if (conflicts.contains(UserUniqueField.EMAIL)) {
+            return new ValidationException("El email '" + user.email() + "' ya está registrado");
+        }
+        if (conflicts.contains(UserUniqueField.DOCUMENT_NUMBER)) {
+            return new ValidationException("Ya existe un usuario con el documento " + user.documentNumber());
+        }
+        return new ValidationException("Ya existe un usuario con los datos proporcionados");
     }
 }
\ No newline at end of file
@@ -1,7 +1,12 @@
 package com.example.hexagonalarchitecture.users.application.port.in;
 
+import java.time.Instant;
+import java.util.Set;
+
+import com.example.hexagonalarchitecture.users.application.event.UserChangedEvent;
+import com.example.hexagonalarchitecture.users.application.port.out.UserEventPublisher;
 import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
-import com.example.hexagonalarchitecture.users.application.port.out.UserWithPassword;
+import com.example.hexagonalarchitecture.users.application.port.out.UserTransactionPort;
 import com.example.hexagonalarchitecture.users.domain.model.User;
 import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
 import com.example.hexagonalarchitecture.users.infraestructure.exception.ValidationException;
@@ -11,7 +16,7 @@ import com.example.hexagonalarchitecture.users.infraestructure.exception.Validat
  * <p>
  * Implementa eliminación LÓGICA (soft delete):
  * - El usuario NO se elimina físicamente de la base de datos
- * - Solo cambia su estado a DELETED
+ * - Solo cambia su estado a DELETED, con un único UPDATE condicional de esa columna
  * - El usuario no aparecerá en búsquedas por estado ACTIVE
  * - Los datos históricos se preservan
  * <p>
@@ -24,40 +29,38 @@ import com.example.hexagonalarchitecture.users.infraestructure.exception.Validat
  */
 public class DeleteUserUseCase {
 
+    private static final String ADMIN_USERNAME = "admin";
+
     private final UserRepositoryPort userRepository;
+    private final UserEventPublisher eventPublisher;
+    private final UserTransactionPort transactions;
 
-    public DeleteUserUseCase(UserRepositoryPort userRepository) {
+    public DeleteUserUseCase(
+            UserRepositoryPort userRepository,
+            UserEventPublisher eventPublisher,
+            UserTransactionPort transactions) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactions = transactions;
     }
 
     /**
      * Elimina lógicamente un usuario cambiando su estado a DELETED.
      * 
      * @param id identificador UUID del usuario a eliminar
+     * @param expectedVersion versión que debe tener el usuario (If-Match), o null para no verificarla
      * @throws com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException si el usuario no existe
+     * @throws com.example.hexagonalarchitecture.users.infraestructure.exception.VersionConflictException
+     *         si el usuario cambió de versión
      * @throws ValidationException si se intenta eliminar al usuario administrador
      */
-    public void execute(String id) {
-        UserWithPassword existing = userRepository.findByIdWithPassword(id);
-        User user = existing.user();
-        
-        // Proteger al usuario administrador del sistema
-        if ("admin".equals(user.username())) {
-            throw new ValidationException("No se puede eliminar al usuario administrador del sistema");
-        }
-
-        User deletedUser = new User(
-                user.id(),
-                user.username(),
-                user.firstName(),
-                user.lastName(),
-                user.email(),
-                user.phone(),
-                user.documentType(),
-                user.documentNumber(),
-                user.address(),
-                UserStatus.DELETED,
-                user.birthDate());
-        userRepository.update(deletedUser, existing.passwordHash());
+    public void execute(String id, Long expectedVersion) {
+        transactions.inTransaction(() -> {
+            // El administrador se excluye en la misma sentencia UPDATE: sin fila modificada, es el administrador
+            User deleted = userRepository.updateStatus(id, UserStatus.DELETED, Set.of(ADMIN_USERNAME), expectedVersion)
+                    .orElseThrow(() -> new ValidationException("No se puede eliminar al usuario administrador del sistema"));
+            eventPublisher.publish(new UserChangedEvent(deleted, Instant.now()));
+            return deleted;
+        });
     }
 }
\ No newline at end of file
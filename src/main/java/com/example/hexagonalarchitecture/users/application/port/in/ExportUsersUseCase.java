@@ -0,0 +1,40 @@
+package com.example.hexagonalarchitecture.users.application.port.in;
+
+import java.util.function.Consumer;
+
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+
+/**
+ * Caso de uso para exportar todos los usuarios que cumplen un filtro.
+ * <p>
+ * A diferencia de la búsqueda paginada, no acota el tamaño del resultado: los usuarios se
+ * entregan uno a uno al consumidor a medida que se leen (cursor de solo avance, ordenado por ID),
+ * así la memoria usada no depende de cuántos usuarios se exporten.
+ * <p>
+ * Admite los mismos criterios que {@link SearchUsersUseCase}, todos opcionales.
+ */
+public class ExportUsersUseCase {
+
+    private final UserRepositoryPort userRepositoryPort;
+
+    public ExportUsersUseCase(UserRepositoryPort userRepositoryPort) {
+        this.userRepositoryPort = userRepositoryPort;
+    }
+
+    /**
+     * Recorre los usuarios que cumplen el filtro y los entrega al consumidor.
+     * 
+     * @param filter criterios de búsqueda (null equivale a sin filtros)
+     * @param consumer destino de cada usuario; se invoca dentro de la lectura, por lo que
+     *                 debe escribir directamente a su salida en lugar de acumular
+     * @return cantidad de usuarios exportados
+     */
+    public long execute(UserSearchFilter filter, Consumer<User> consumer) {
+        UserSearchFilter resolvedFilter = filter != null
+                ? filter
+                : new UserSearchFilter(null, null, null, null, null);
+        return userRepositoryPort.streamAll(resolvedFilter, consumer);
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.hexagonalarchitecture.users.application.port.in;
 
+import java.util.OptionalLong;
+import java.util.Set;
+
+import com.example.hexagonalarchitecture.users.application.common.CountMode;
 import com.example.hexagonalarchitecture.users.application.common.PageResult;
 import com.example.hexagonalarchitecture.users.application.common.SortDirection;
+import com.example.hexagonalarchitecture.users.application.common.UserCursor;
+import com.example.hexagonalarchitecture.users.application.common.UserField;
 import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
 import com.example.hexagonalarchitecture.users.application.common.UserSortField;
 import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
@@ -17,6 +23,9 @@ import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
  * - size: 10 (min: 1, max: 100)
  * - sortField: DOCUMENT_NUMBER si no se especifica
  * - direction: ASC si no se especifica
+ * - countMode: EXACT si no se especifica (NONE/ESTIMATED evitan el COUNT)
+ * <p>
+ * Soporta paginación por número de página (offset) o por cursor (keyset).
  */
 public class GetUserByDocumentNumberUseCase {
 
@@ -44,6 +53,31 @@ public class GetUserByDocumentNumberUseCase {
             int size,
             UserSortField sortField,
             SortDirection direction) {
+        return execute(documentNumber, status, page, size, sortField, direction, CountMode.EXACT, UserField.ALL);
+    }
+
+    /**
+     * Busca usuarios por número de documento con paginación y filtros opcionales.
+     * 
+     * @param documentNumber número de documento a buscar (búsqueda parcial con LIKE)
+     * @param status filtro por estado (default: ACTIVE)
+     * @param page número de página (default: 0)
+     * @param size tamaño de página (default: 10, max: 100)
+     * @param sortField campo de ordenamiento (default: DOCUMENT_NUMBER)
+     * @param direction dirección de ordenamiento (default: ASC)
+     * @param countMode cómo calcular los totales (default: EXACT)
+     * @param fields campos a leer (default: todos)
+     * @return resultado paginado de usuarios
+     */
+    public PageResult<User> execute(
+            String documentNumber,
+            UserStatus status,
+            int page,
+            int size,
+            UserSortField sortField,
+            SortDirection direction,
+            CountMode countMode,
+            Set<UserField> fields) {
 
         UserStatus resolvedStatus = status != null ? status : UserStatus.ACTIVE;
 
@@ -57,11 +91,83 @@ public class GetUserByDocumentNumberUseCase {
 
         SortDirection resolvedDirection = direction != null ? direction : SortDirection.ASC;
 
-        return userRepository.search(
+        CountMode resolvedCountMode = countMode != null ? countMode : CountMode.EXACT;
+
+        Set<UserField> resolvedFields = fields != null ? fields : UserField.ALL;
+
+        if (resolvedCountMode == CountMode.EXACT) {
+            return userRepository.search(
+                    filter,
+                    resolvedPage,
+                    resolvedSize,
+                    resolvedSortField,
+                    resolvedDirection,
+                    resolvedFields);
+        }
+
+        PageResult<User> result = userRepository.searchSlice(
                 filter,
                 resolvedPage,
                 resolvedSize,
                 resolvedSortField,
-                resolvedDirection);
+                resolvedDirection,
+                resolvedFields);
+
+        if (resolvedCountMode == CountMode.ESTIMATED) {
+            OptionalLong estimate = userRepository.estimateCount(filter);
+            if (estimate.isPresent()) {
+                return result.withEstimatedTotalElements(estimate.getAsLong());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Busca usuarios por número de documento paginando por cursor en lugar de número de página.
+     * 
+     * @param documentNumber número de documento a buscar (búsqueda parcial con LIKE)
+     * @param status filtro por estado (default: ACTIVE)
+     * @param cursor token opaco devuelto en la página anterior (null para la primera página)
+     * @param size tamaño de página (default: 10, max: 100)
+     * @param sortField campo de ordenamiento (default: DOCUMENT_NUMBER), debe coincidir con el del cursor
+     * @param direction dirección de ordenamiento (default: ASC), debe coincidir con la del cursor
+     * @param fields campos a leer (default: todos)
+     * @return usuarios de la página y cursor de la siguiente (sin totales)
+     * @throws IllegalArgumentException si el cursor es inválido o no corresponde al ordenamiento
+     */
+    public PageResult<User> execute(
+            String documentNumber,
+            UserStatus status,
+            String cursor,
+            int size,
+            UserSortField sortField,
+            SortDirection direction,
+            Set<UserField> fields) {
+
+        UserStatus resolvedStatus = status != null ? status : UserStatus.ACTIVE;
+
+        UserSearchFilter filter = new UserSearchFilter(null, documentNumber, resolvedStatus, null, null);
+
+        int resolvedSize = size > 0 ? Math.min(size, 100) : 10;
+
+        UserSortField resolvedSortField = sortField != null ? sortField : UserSortField.DOCUMENT_NUMBER;
+
+        SortDirection resolvedDirection = direction != null ? direction : SortDirection.ASC;
+
+        Set<UserField> resolvedFields = fields != null ? fields : UserField.ALL;
+
+        UserCursor resolvedCursor = null;
+        if (cursor != null && !cursor.isBlank()) {
+            resolvedCursor = UserCursor.decode(cursor);
+            resolvedCursor.requireSameOrder(resolvedSortField, resolvedDirection);
+        }
+
+        return userRepository.searchAfter(
+                filter,
+                resolvedCursor,
+                resolvedSize,
+                resolvedSortField,
+                resolvedDirection,
+                resolvedFields);
     }
 }
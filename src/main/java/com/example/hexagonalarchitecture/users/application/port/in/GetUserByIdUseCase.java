@@ -26,4 +26,16 @@ public class GetUserByIdUseCase {
         return userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado con id: " + id));
     }
+
+    /**
+     * Versión actual del usuario, sin leerlo completo. Sirve para revalidar lecturas condicionales.
+     * 
+     * @param id identificador del usuario
+     * @return versión actual
+     * @throws EntityNotFoundException si el usuario no existe
+     */
+    public long currentVersion(String id) {
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado con id: " + id));
+    }
 }
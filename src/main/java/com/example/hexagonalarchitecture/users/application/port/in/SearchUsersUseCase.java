@@ -1,10 +1,16 @@
 package com.example.hexagonalarchitecture.users.application.port.in;
 
+import java.util.OptionalLong;
+import java.util.Set;
+
+import com.example.hexagonalarchitecture.users.application.common.CountMode;
 import com.example.hexagonalarchitecture.users.application.common.PageResult;
 import com.example.hexagonalarchitecture.users.application.common.SortDirection;
+import com.example.hexagonalarchitecture.users.application.common.UserCursor;
+import com.example.hexagonalarchitecture.users.application.common.UserField;
 import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
 import com.example.hexagonalarchitecture.users.application.common.UserSortField;
-import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.application.port.out.UserSearchPort;
 import com.example.hexagonalarchitecture.users.domain.model.User;
 
 /**
@@ -21,13 +27,20 @@ import com.example.hexagonalarchitecture.users.domain.model.User;
  * - size: 10 (min: 1, max: 100)
  * - sortField: ID si no se especifica
  * - direction: ASC si no se especifica
+ * - countMode: EXACT si no se especifica (NONE/ESTIMATED evitan el COUNT)
+ * <p>
+ * Soporta dos modos de paginación: por número de página (offset, con totales) y por
+ * cursor (keyset, sin totales y con costo constante por página).
+ * <p>
+ * Consulta un {@link UserSearchPort}: el modelo de lectura de búsqueda si está activo, o el
+ * repositorio de usuarios.
  */
 public class SearchUsersUseCase {
 
-    private final UserRepositoryPort userRepositoryPort;
+    private final UserSearchPort userSearchPort;
 
-    public SearchUsersUseCase(UserRepositoryPort userRepositoryPort) {
-        this.userRepositoryPort = userRepositoryPort;
+    public SearchUsersUseCase(UserSearchPort userSearchPort) {
+        this.userSearchPort = userSearchPort;
     }
 
     /**
@@ -46,6 +59,29 @@ public class SearchUsersUseCase {
             int size,
             UserSortField sortField,
             SortDirection direction) {
+        return execute(filter, page, size, sortField, direction, CountMode.EXACT, UserField.ALL);
+    }
+
+    /**
+     * Realiza búsqueda avanzada de usuarios con múltiples criterios opcionales.
+     * 
+     * @param filter criterios de búsqueda (todos opcionales)
+     * @param page número de página (default: 0)
+     * @param size tamaño de página (default: 10, max: 100)
+     * @param sortField campo de ordenamiento (default: ID)
+     * @param direction dirección de ordenamiento (default: ASC)
+     * @param countMode cómo calcular los totales (default: EXACT)
+     * @param fields campos a leer (default: todos)
+     * @return resultado paginado de usuarios que cumplen los criterios
+     */
+    public PageResult<User> execute(
+            UserSearchFilter filter,
+            int page,
+            int size,
+            UserSortField sortField,
+            SortDirection direction,
+            CountMode countMode,
+            Set<UserField> fields) {
 
         int resolvedPage = Math.max(page, 0);
 
@@ -55,11 +91,77 @@ public class SearchUsersUseCase {
 
         SortDirection resolvedDirection = direction != null ? direction : SortDirection.ASC;
 
-        return userRepositoryPort.search(
+        CountMode resolvedCountMode = countMode != null ? countMode : CountMode.EXACT;
+
+        Set<UserField> resolvedFields = fields != null ? fields : UserField.ALL;
+
+        if (resolvedCountMode == CountMode.EXACT) {
+            return userSearchPort.search(
+                    filter,
+                    resolvedPage,
+                    resolvedSize,
+                    resolvedSortField,
+                    resolvedDirection,
+                    resolvedFields);
+        }
+
+        PageResult<User> result = userSearchPort.searchSlice(
                 filter,
                 resolvedPage,
                 resolvedSize,
                 resolvedSortField,
-                resolvedDirection);
+                resolvedDirection,
+                resolvedFields);
+
+        if (resolvedCountMode == CountMode.ESTIMATED) {
+            OptionalLong estimate = userSearchPort.estimateCount(filter);
+            if (estimate.isPresent()) {
+                return result.withEstimatedTotalElements(estimate.getAsLong());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Realiza búsqueda avanzada paginando por cursor en lugar de número de página.
+     * 
+     * @param filter criterios de búsqueda (todos opcionales)
+     * @param cursor token opaco devuelto en la página anterior (null para la primera página)
+     * @param size tamaño de página (default: 10, max: 100)
+     * @param sortField campo de ordenamiento (default: ID), debe coincidir con el del cursor
+     * @param direction dirección de ordenamiento (default: ASC), debe coincidir con la del cursor
+     * @param fields campos a leer (default: todos)
+     * @return usuarios de la página y cursor de la siguiente (sin totales)
+     * @throws IllegalArgumentException si el cursor es inválido o no corresponde al ordenamiento
+     */
+    public PageResult<User> execute(
+            UserSearchFilter filter,
+            String cursor,
+            int size,
+            UserSortField sortField,
+            SortDirection direction,
+            Set<UserField> fields) {
+
+        int resolvedSize = size > 0 ? Math.min(size, 100) : 10;
+
+        UserSortField resolvedSortField = sortField != null ? sortField : UserSortField.ID;
+
+        SortDirection resolvedDirection = direction != null ? direction : SortDirection.ASC;
+
+        Set<UserField> resolvedFields = fields != null ? fields : UserField.ALL;
+
+        UserCursor resolvedCursor = null;
+        if (cursor != null && !cursor.isBlank()) {
+            resolvedCursor = UserCursor.decode(cursor);
+            resolvedCursor.requireSameOrder(resolvedSortField, resolvedDirection);
+        }
+
+        return userSearchPort.searchAfter(
+                filter,
+                resolvedCursor,
+                resolvedSize,
+                resolvedSortField,
+                resolvedDirection,
+                resolvedFields);
     }
 }
@@ -1,7 +1,11 @@
 package com.example.hexagonalarchitecture.users.application.port.in;
 
+import java.time.Instant;
+
+import com.example.hexagonalarchitecture.users.application.event.UserChangedEvent;
+import com.example.hexagonalarchitecture.users.application.port.out.UserEventPublisher;
 import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
-import com.example.hexagonalarchitecture.users.application.port.out.UserWithPassword;
+import com.example.hexagonalarchitecture.users.application.port.out.UserTransactionPort;
 import com.example.hexagonalarchitecture.users.domain.model.User;
 
 /**
@@ -9,31 +13,40 @@ import com.example.hexagonalarchitecture.users.domain.model.User;
  * <p>
  * Comportamiento:
  * - Actualiza todos los campos permitidos del usuario
- * - Preserva la contraseña hasheada existente (no se modifica)
+ * - Preserva la contraseña hasheada existente (no se lee ni se modifica)
  * - El tipo y número de documento NO pueden cambiar (requiere recrear usuario)
+ * - Control de concurrencia optimista: si se indica la versión leída, la escritura es un único
+ *   UPDATE condicionado a esa versión y no sobrescribe cambios concurrentes
  * <p>
  * Excepciones lanzadas:
  * - {@link com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException} si el usuario no existe
+ * - {@link com.example.hexagonalarchitecture.users.infraestructure.exception.VersionConflictException} si el usuario cambió de versión
  */
 public class UpdateUserUseCase {
 
     private final UserRepositoryPort userRepository;
+    private final UserEventPublisher eventPublisher;
+    private final UserTransactionPort transactions;
 
-    public UpdateUserUseCase(UserRepositoryPort userRepository) {
+    public UpdateUserUseCase(
+            UserRepositoryPort userRepository,
+            UserEventPublisher eventPublisher,
+            UserTransactionPort transactions) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactions = transactions;
     }
 
     /**
-     * Actualiza los datos de un usuario preservando su contraseña actual.
+     * Actualiza los datos de un usuario preservando su contraseña y documento actuales.
      * 
      * @param id identificador UUID del usuario a actualizar
-     * @param user datos actualizados del usuario
-     * @return usuario actualizado
+     * @param user datos actualizados del usuario; {@code version} es la versión esperada (null para no verificarla)
+     * @return usuario actualizado, con la versión nueva
      * @throws com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException si no existe
+     * @throws com.example.hexagonalarchitecture.users.infraestructure.exception.VersionConflictException si cambió de versión
      */
     public User execute(String id, User user) {
-        UserWithPassword existing = userRepository.findByIdWithPassword(id);
-
         User toUpdate = new User(
                 id,
                 user.username(),
@@ -45,7 +58,12 @@ public class UpdateUserUseCase {
                 user.documentNumber(),
                 user.address(),
                 user.status(),
-                user.birthDate());
-        return userRepository.update(toUpdate, existing.passwordHash());
+                user.birthDate(),
+                user.version());
+        return transactions.inTransaction(() -> {
+            User updated = userRepository.updateProfile(toUpdate);
+            eventPublisher.publish(new UserChangedEvent(updated, Instant.now()));
+            return updated;
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.example.hexagonalarchitecture.users.application.port.out;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.example.hexagonalarchitecture.users.infraestructure.exception.PasswordHashingUnavailableException;
+
+/**
+ * Puerto de salida para hashear varias contraseñas con resultado por elemento: una contraseña que no
+ * se pudo hashear (sin capacidad o sin tiempo) no hace fallar a las demás.
+ */
+@FunctionalInterface
+public interface BatchPasswordHasher {
+
+    /**
+     * @param rawPasswords contraseñas en texto plano
+     * @return un future ya completado por contraseña, en el mismo orden: con el hash, o con la excepción
+     *         que impidió obtenerlo ({@link PasswordHashingUnavailableException} si faltó capacidad)
+     */
+    List<CompletableFuture<String>> hashAll(List<? extends CharSequence> rawPasswords);
+}
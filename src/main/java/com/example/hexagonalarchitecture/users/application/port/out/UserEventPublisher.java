@@ -0,0 +1,22 @@
+package com.example.hexagonalarchitecture.users.application.port.out;
+
+import com.example.hexagonalarchitecture.users.application.event.UserEvent;
+
+/**
+ * Puerto de salida para los eventos de cambio de usuarios.
+ * <p>
+ * Los casos de uso publican dentro de la misma {@link UserTransactionPort#inTransaction transacción}
+ * que la escritura. Un publicador transaccional (outbox) escribe en esa transacción; uno asíncrono
+ * (modelo de búsqueda) debe esperar a que confirme y no hacer fallar la escritura.
+ */
+@FunctionalInterface
+public interface UserEventPublisher {
+
+    /**
+     * Sin destinatarios: los eventos se descartan.
+     */
+    UserEventPublisher NONE = event -> {
+    };
+
+    void publish(UserEvent event);
+}
@@ -1,12 +1,17 @@
 package com.example.hexagonalarchitecture.users.application.port.out;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
-import com.example.hexagonalarchitecture.users.application.common.PageResult;
-import com.example.hexagonalarchitecture.users.application.common.SortDirection;
 import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
-import com.example.hexagonalarchitecture.users.application.common.UserSortField;
+import com.example.hexagonalarchitecture.users.application.common.UserUniqueField;
 import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
 
 /**
  * Puerto de salida para operaciones de persistencia de usuarios.
@@ -17,29 +22,118 @@ import com.example.hexagonalarchitecture.users.domain.model.User;
  * <p>
  * Responsabilidades:
  * - CRUD de usuarios con passwords hasheadas
- * - Búsqueda y filtrado con paginación
+ * - Búsqueda y filtrado con paginación, leyendo solo los campos pedidos ({@link UserSearchPort})
  * - Validación de unicidad (username, email, documento)
  */
-public interface UserRepositoryPort {
+public interface UserRepositoryPort extends UserSearchPort {
     
     /**
      * Crea un nuevo usuario en el sistema.
+     * La unicidad de username, email y documento se resuelve en la propia inserción
+     * (detección de conflictos en la base de datos), sin consultas previas de existencia.
      * 
      * @param user datos del usuario a crear (sin ID)
      * @param hashedPassword contraseña ya hasheada con BCrypt
-     * @return usuario creado con ID generado por la base de datos
+     * @return usuario creado con ID generado
+     * @throws com.example.hexagonalarchitecture.users.infraestructure.exception.DuplicateUserException
+     *         si alguna clave única ya existe, indicando cuáles
      */
     User create(User user, String hashedPassword);
+
+    /**
+     * Crea varios usuarios en una sola transacción usando inserciones por lotes (JDBC batch).
+     * Se asume que la unicidad ya fue validada con {@link #findUniqueKeysInUse}; si otra
+     * transacción inserta una clave repetida entretanto, falla el lote completo.
+     * 
+     * @param users usuarios a crear (sin ID) con sus contraseñas ya hasheadas
+     * @return usuarios creados con ID generado, en el mismo orden recibido
+     */
+    List<User> createAll(List<UserWithPassword> users);
     
     /**
-     * Actualiza un usuario existente.
-     * El ID del usuario debe estar presente y existir en la base de datos.
+     * Actualiza un usuario existente, incluida su contraseña.
+     * Es una escritura condicional (compare-and-set): si {@code user.version()} no es null, solo se
+     * aplica si la fila sigue en esa versión. Toda escritura incrementa la versión.
      * 
-     * @param user datos actualizados del usuario (con ID)
+     * @param user datos actualizados del usuario (con ID y la versión leída)
      * @param passwordHash contraseña hasheada (puede ser la misma o nueva)
-     * @return usuario actualizado
+     * @return usuario actualizado, con la versión nueva
+     * @throws com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException si no existe
+     * @throws com.example.hexagonalarchitecture.users.infraestructure.exception.VersionConflictException
+     *         si la versión actual no es {@code user.version()}
      */
     User update(User user, String passwordHash);
+
+    /**
+     * Actualiza los datos de perfil de un usuario sin leer ni escribir su contraseña ni su documento,
+     * con un único UPDATE condicional a {@code user.version()} (si no es null).
+     * 
+     * @param user datos actualizados del usuario (con ID y, opcionalmente, la versión esperada)
+     * @return usuario actualizado, con la versión nueva
+     * @throws com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException si no existe
+     * @throws com.example.hexagonalarchitecture.users.infraestructure.exception.VersionConflictException
+     *         si la versión actual no es {@code user.version()}
+     */
+    User updateProfile(User user);
+
+    /**
+     * Reemplaza solo la contraseña de un usuario con un único UPDATE condicional, sin reescribir
+     * sus datos de perfil.
+     * 
+     * @param id identificador UUID del usuario
+     * @param passwordHash nueva contraseña hasheada
+     * @param expectedVersion versión que debe tener la fila, o null para no verificarla
+     * @return usuario actualizado, con la versión nueva
+     * @throws com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException si no existe
+     * @throws com.example.hexagonalarchitecture.users.infraestructure.exception.VersionConflictException
+     *         si la versión actual no es {@code expectedVersion}
+     */
+    User updatePassword(String id, String passwordHash, Long expectedVersion);
+
+    /**
+     * Cambia solo el estado de un usuario con un único UPDATE condicional, sin leer ni reescribir
+     * el resto de columnas (password incluida), y retorna la fila resultante.
+     * 
+     * @param id identificador UUID del usuario
+     * @param status nuevo estado
+     * @param protectedUsernames usernames que no deben modificarse (vacío si ninguno)
+     * @param expectedVersion versión que debe tener la fila, o null para no verificarla
+     * @return usuario actualizado, o vacío si su username está protegido
+     * @throws com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException si no existe
+     * @throws com.example.hexagonalarchitecture.users.infraestructure.exception.VersionConflictException
+     *         si la versión actual no es {@code expectedVersion}
+     */
+    Optional<User> updateStatus(String id, UserStatus status, Set<String> protectedUsernames, Long expectedVersion);
+
+    /**
+     * Cambia el estado de todos los usuarios que cumplen el filtro con sentencias UPDATE por conjuntos,
+     * sin cargar las filas. Puede ejecutarse en varios tramos, cada uno confirmado por separado.
+     * 
+     * @param filter criterios de la cohorte (los mismos de la búsqueda)
+     * @param status nuevo estado
+     * @param protectedUsernames usernames que no deben modificarse (vacío si ninguno)
+     * @return cantidad de usuarios cuyo estado cambió (no cuenta los que ya tenían ese estado)
+     */
+    long updateStatusWhere(UserSearchFilter filter, UserStatus status, Set<String> protectedUsernames);
+
+    /**
+     * Igual que {@link #updateStatusWhere(UserSearchFilter, UserStatus, Set)}, avisando a {@code onChunk}
+     * la cantidad cambiada en cada tramo, dentro de la transacción de ese tramo: lo que escriba
+     * {@code onChunk} se confirma o se descarta junto con el tramo.
+     * <p>
+     * Por defecto, todo el cambio es un solo tramo.
+     *
+     * @param onChunk recibe la cantidad de usuarios cambiados en el tramo (solo si es mayor que cero)
+     * @return cantidad total de usuarios cuyo estado cambió
+     */
+    default long updateStatusWhere(
+            UserSearchFilter filter, UserStatus status, Set<String> protectedUsernames, LongConsumer onChunk) {
+        long updated = updateStatusWhere(filter, status, protectedUsernames);
+        if (updated > 0) {
+            onChunk.accept(updated);
+        }
+        return updated;
+    }
     
     /**
      * Busca un usuario por su ID.
@@ -49,6 +143,15 @@ public interface UserRepositoryPort {
      * @return Optional con el usuario si existe, Optional.empty() si no existe
      */
     Optional<User> findById(String id);
+
+    /**
+     * Versión actual de un usuario, sin hidratar la fila completa.
+     * Permite revalidar una ETag (If-None-Match) sin leer ni serializar el usuario.
+     * 
+     * @param id identificador UUID del usuario
+     * @return versión actual, o vacío si el usuario no existe
+     */
+    Optional<Long> findVersionById(String id);
     
     /**
      * Busca un usuario por ID incluyendo su password hasheada.
@@ -61,23 +164,41 @@ public interface UserRepositoryPort {
     UserWithPassword findByIdWithPassword(String id);
     
     /**
-     * Busca usuarios con filtros, paginación y ordenamiento.
-     * Permite filtrar por múltiples criterios: apellido, documento, estado, rango de fechas.
-     * 
+     * Recorre todos los usuarios que cumplen el filtro, ordenados por ID, sin paginar.
+     * Las filas se leen con un cursor de solo avance y se entregan al consumidor una a una,
+     * sin acumular el resultado en memoria.
+     *
      * @param filter criterios de búsqueda (todos opcionales)
-     * @param page número de página (0-indexed)
-     * @param size tamaño de página
-     * @param sortField campo por el cual ordenar
-     * @param direction dirección de ordenamiento (ASC/DESC)
-     * @return resultado paginado con usuarios encontrados y metadatos de paginación
-     */
-    PageResult<User> search(
-        UserSearchFilter filter,
-        int page,
-        int size,
-        UserSortField sortField,
-        SortDirection direction);
-    
+     * @param consumer destino de cada usuario, invocado mientras la lectura sigue abierta
+     * @return cantidad de usuarios recorridos
+     */
+    long streamAll(UserSearchFilter filter, Consumer<User> consumer);
+
+    /**
+     * Verifica en una sola consulta cuáles de las claves únicas ya están en uso.
+     * Los valores null se ignoran.
+     * 
+     * @param username nombre de usuario a verificar
+     * @param email correo a verificar (puede ser null)
+     * @param documentNumber número de documento a verificar (puede ser null)
+     * @return campos en conflicto (vacío si todos están disponibles)
+     */
+    Set<UserUniqueField> findConflicts(String username, String email, String documentNumber);
+
+    /**
+     * Versión por conjuntos de {@link #findConflicts}: indica cuáles de los valores recibidos
+     * ya están en uso, consultando todos los valores a la vez en lugar de uno por usuario.
+     * 
+     * @param usernames nombres de usuario a verificar
+     * @param emails correos a verificar
+     * @param documentNumbers números de documento a verificar
+     * @return por cada campo, los valores que ya existen (siempre contiene los tres campos)
+     */
+    Map<UserUniqueField, Set<String>> findUniqueKeysInUse(
+        Collection<String> usernames,
+        Collection<String> emails,
+        Collection<String> documentNumbers);
+
     /**
      * Verifica si existe un usuario con el username dado.
      * Útil para validar duplicados antes de crear/actualizar usuarios.
@@ -0,0 +1,94 @@
+package com.example.hexagonalarchitecture.users.application.port.out;
+
+import java.util.OptionalLong;
+import java.util.Set;
+
+import com.example.hexagonalarchitecture.users.application.common.PageResult;
+import com.example.hexagonalarchitecture.users.application.common.SortDirection;
+import com.example.hexagonalarchitecture.users.application.common.UserCursor;
+import com.example.hexagonalarchitecture.users.application.common.UserField;
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.application.common.UserSortField;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+
+/**
+ * Puerto de salida para la búsqueda de usuarios, separado de {@link UserRepositoryPort} para que las
+ * búsquedas puedan resolverse en un modelo de lectura propio (CQRS) en lugar de la tabla de escritura.
+ * <p>
+ * Todo {@link UserRepositoryPort} es también un {@code UserSearchPort} que busca sobre sus propios datos.
+ */
+public interface UserSearchPort {
+
+    /**
+     * Busca usuarios con filtros, paginación y ordenamiento.
+     * Permite filtrar por múltiples criterios: apellido, documento, estado, rango de fechas.
+     * 
+     * @param filter criterios de búsqueda (todos opcionales)
+     * @param page número de página (0-indexed)
+     * @param size tamaño de página
+     * @param sortField campo por el cual ordenar
+     * @param direction dirección de ordenamiento (ASC/DESC)
+     * @param fields campos a leer; el resto queda en null en cada {@link User}
+     * @return resultado paginado con usuarios encontrados y metadatos de paginación
+     */
+    PageResult<User> search(
+        UserSearchFilter filter,
+        int page,
+        int size,
+        UserSortField sortField,
+        SortDirection direction,
+        Set<UserField> fields);
+
+    /**
+     * Busca usuarios con paginación por offset pero sin ejecutar COUNT.
+     * Pide una fila extra ({@code size + 1}) para saber si existe página siguiente,
+     * evitando la segunda consulta con los mismos predicados que hace {@link #search}.
+     *
+     * @param filter criterios de búsqueda (todos opcionales)
+     * @param page número de página (0-indexed)
+     * @param size tamaño de página
+     * @param sortField campo por el cual ordenar
+     * @param direction dirección de ordenamiento (ASC/DESC)
+     * @param fields campos a leer; el resto queda en null en cada {@link User}
+     * @return resultado con hasNext y sin totales
+     */
+    PageResult<User> searchSlice(
+        UserSearchFilter filter,
+        int page,
+        int size,
+        UserSortField sortField,
+        SortDirection direction,
+        Set<UserField> fields);
+
+    /**
+     * Estima cuántos usuarios cumplen el filtro a partir de las estadísticas del motor,
+     * sin recorrer la tabla. Solo hay estimación para búsquedas sin filtros o que filtran
+     * únicamente por estado; para cualquier otro criterio retorna vacío.
+     *
+     * @param filter criterios de búsqueda
+     * @return total aproximado, o vacío si no hay estadísticas aplicables
+     */
+    OptionalLong estimateCount(UserSearchFilter filter);
+
+    /**
+     * Busca usuarios con paginación por cursor (keyset / seek).
+     * A diferencia de {@link #search}, no usa OFFSET ni ejecuta COUNT: continúa
+     * directamente después de la posición indicada por el cursor, por lo que el costo
+     * de cada página es constante sin importar qué tan profundo pagine el cliente.
+     *
+     * @param filter criterios de búsqueda (todos opcionales)
+     * @param cursor posición de continuación, o null para la primera página
+     * @param size tamaño de página
+     * @param sortField campo por el cual ordenar (se desempata por id)
+     * @param direction dirección de ordenamiento (ASC/DESC)
+     * @param fields campos a leer; el resto queda en null en cada {@link User}
+     * @return resultado con los usuarios y el cursor de la página siguiente (sin totales)
+     */
+    PageResult<User> searchAfter(
+        UserSearchFilter filter,
+        UserCursor cursor,
+        int size,
+        UserSortField sortField,
+        SortDirection direction,
+        Set<UserField> fields);
+}
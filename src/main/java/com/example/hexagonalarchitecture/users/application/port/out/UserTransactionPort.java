@@ -0,0 +1,31 @@
+package com.example.hexagonalarchitecture.users.application.port.out;
+
+import java.util.function.Supplier;
+
+/**
+ * Puerto de salida para agrupar una escritura y los eventos que genera en una sola transacción.
+ * <p>
+ * Los casos de uso de escritura ejecutan acá la escritura del usuario junto con
+ * {@link UserEventPublisher#publish}: un publicador transaccional (p. ej. el outbox) confirma el
+ * evento solo si se confirma el cambio, y viceversa. Fuera de la escritura (validaciones, hasheo de
+ * contraseñas) no se abre transacción.
+ */
+public interface UserTransactionPort {
+
+    /**
+     * Sin transacción propia: cada operación del repositorio se confirma por su cuenta
+     * (p. ej. el almacén en memoria).
+     */
+    UserTransactionPort NONE = new UserTransactionPort() {
+        @Override
+        public <T> T inTransaction(Supplier<T> work) {
+            return work.get();
+        }
+    };
+
+    /**
+     * Ejecuta {@code work} en una transacción (o en la que ya esté en curso). Si lanza una excepción,
+     * nada de lo escrito se confirma y la excepción se propaga.
+     */
+    <T> T inTransaction(Supplier<T> work);
+}
@@ -0,0 +1,93 @@
+package com.example.hexagonalarchitecture.users.domain.model;
+
+/**
+ * Regla de validación del número de un {@link DocumentType}.
+ * <p>
+ * Las reglas de formato incluidas recorren el texto carácter a carácter, sin expresiones
+ * regulares ni asignaciones de memoria, porque se evalúan en cada creación y en cada fila
+ * de una carga masiva. Una regla de dígito verificador se encadena con {@link #and}.
+ */
+@FunctionalInterface
+public interface DocumentNumberValidator {
+
+    /**
+     * @param number número de documento (puede ser null)
+     * @return true si el número es válido para esta regla
+     */
+    boolean isValid(CharSequence number);
+
+    /**
+     * Combina esta regla con otra; la segunda solo se evalúa si la primera acepta el número.
+     */
+    default DocumentNumberValidator and(DocumentNumberValidator other) {
+        return number -> isValid(number) && other.isValid(number);
+    }
+
+    /**
+     * Solo dígitos ASCII, con longitud entre {@code minLength} y {@code maxLength}.
+     * Equivale a {@code ^[0-9]{min,max}$}.
+     */
+    static DocumentNumberValidator digits(int minLength, int maxLength) {
+        return number -> {
+            if (!hasLength(number, minLength, maxLength)) {
+                return false;
+            }
+            for (int i = 0; i < number.length(); i++) {
+                if (!isDigit(number.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Dígitos ASCII y letras mayúsculas A-Z, con longitud entre {@code minLength} y {@code maxLength}.
+     * Equivale a {@code ^[A-Z0-9]{min,max}$}.
+     */
+    static DocumentNumberValidator upperAlphanumeric(int minLength, int maxLength) {
+        return number -> {
+            if (!hasLength(number, minLength, maxLength)) {
+                return false;
+            }
+            for (int i = 0; i < number.length(); i++) {
+                char c = number.charAt(i);
+                if (!isDigit(c) && (c < 'A' || c > 'Z')) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Dígito verificador Luhn (módulo 10) sobre el último carácter.
+     * Se espera encadenada después de {@link #digits}, que garantiza que todos son dígitos.
+     */
+    static DocumentNumberValidator luhn() {
+        return number -> {
+            int sum = 0;
+            boolean doubled = false;
+            for (int i = number.length() - 1; i >= 0; i--) {
+                int digit = number.charAt(i) - '0';
+                if (doubled) {
+                    digit *= 2;
+                    if (digit > 9) {
+                        digit -= 9;
+                    }
+                }
+                sum += digit;
+                doubled = !doubled;
+            }
+            return sum % 10 == 0;
+        };
+    }
+
+    private static boolean hasLength(CharSequence number, int minLength, int maxLength) {
+        return number != null && number.length() >= minLength && number.length() <= maxLength;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
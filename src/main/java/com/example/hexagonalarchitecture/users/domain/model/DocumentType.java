@@ -4,17 +4,23 @@ package com.example.hexagonalarchitecture.users.domain.model;
  * Enum que representa los tipos de documentos de identidad válidos
  */
 public enum DocumentType {
-    DNI("Documento Nacional de Identidad", "^[0-9]{8}$"),
-    CE("Cédula de Extranjería", "^[0-9]{1,20}$"),
-    PASSPORT("Pasaporte", "^[A-Z0-9]{6,20}$"),
-    TI("Tarjeta de Identidad", "^[0-9]{1,20}$");
+    DNI("Documento Nacional de Identidad", "^[0-9]{8}$",
+        DocumentNumberValidator.digits(8, 8)),
+    CE("Cédula de Extranjería", "^[0-9]{1,20}$",
+        DocumentNumberValidator.digits(1, 20)),
+    PASSPORT("Pasaporte", "^[A-Z0-9]{6,20}$",
+        DocumentNumberValidator.upperAlphanumeric(6, 20)),
+    TI("Tarjeta de Identidad", "^[0-9]{1,20}$",
+        DocumentNumberValidator.digits(1, 20));
 
     private final String description;
-    private final String pattern;  // Regex para validación básica
+    private final String pattern;  // Formato documentado; la validación la hace el validator
+    private final DocumentNumberValidator validator;
 
-    DocumentType(String description, String pattern) {
+    DocumentType(String description, String pattern, DocumentNumberValidator validator) {
         this.description = description;
         this.pattern = pattern;
+        this.validator = validator;
     }
 
     public String getDescription() {
@@ -25,10 +31,14 @@ public enum DocumentType {
         return pattern;
     }
 
+    public DocumentNumberValidator getValidator() {
+        return validator;
+    }
+
     /**
-     * Valida que el numero de documento coincida con el patrón esperado
+     * Valida que el numero de documento cumpla el formato (y dígito verificador, si aplica) de su tipo
      */
     public boolean isValidNumber(String number) {
-        return number != null && number.matches(this.pattern);
+        return validator.isValid(number);
     }
 }
@@ -2,6 +2,10 @@ package com.example.hexagonalarchitecture.users.domain.model;
 
 import java.time.LocalDate;
 
+/**
+ * @param version versión de la fila para control de concurrencia optimista; se incrementa en cada
+ *                escritura. Null si no se conoce (usuario aún no persistido o leído sin versión)
+ */
 public record User(
     String id,
     String username,
@@ -13,6 +17,26 @@ public record User(
     String documentNumber,
     String address,
     UserStatus status,
-    LocalDate birthDate
+    LocalDate birthDate,
+    Long version
 ){
-}
\ No newline at end of file
+
+    /**
+     * Usuario sin versión conocida.
+     */
+    public User(
+            String id,
+            String username,
+            String firstName,
+            String lastName,
+            String email,
+            String phone,
+            DocumentType documentType,
+            String documentNumber,
+            String address,
+            UserStatus status,
+            LocalDate birthDate) {
+        this(id, username, firstName, lastName, email, phone, documentType, documentNumber,
+                address, status, birthDate, null);
+    }
+}
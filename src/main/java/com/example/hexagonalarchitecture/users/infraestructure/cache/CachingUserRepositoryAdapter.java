@@ -0,0 +1,304 @@
+package com.example.hexagonalarchitecture.users.infraestructure.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.hexagonalarchitecture.users.application.common.PageResult;
+import com.example.hexagonalarchitecture.users.application.common.SortDirection;
+import com.example.hexagonalarchitecture.users.application.common.UserCursor;
+import com.example.hexagonalarchitecture.users.application.common.UserField;
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.application.common.UserSortField;
+import com.example.hexagonalarchitecture.users.application.common.UserUniqueField;
+import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.application.port.out.UserWithPassword;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Decorador de {@link UserRepositoryPort} con caché de lectura (read-through) para {@link #findById}.
+ * {@link #findVersionById} no responde desde la caché: revalidar una ETag debe ver la fila actual.
+ * <p>
+ * Características:
+ * - Tamaño acotado (expulsión por frecuencia/recencia) y TTL desde la carga
+ * - Refresh-ahead: pasada la edad de refresco, la siguiente lectura devuelve el valor actual
+ *   y dispara la recarga en segundo plano, así los perfiles populares no expiran en caliente
+ * - Una sola carga por ID: lecturas concurrentes de un ID ausente esperan la misma consulta
+ *   en lugar de ir todas a la base de datos (evita estampidas)
+ * - Invalidación en cada escritura que pasa por este puerto (create/createAll/update/updateProfile/updatePassword/updateStatus;
+ *   los cambios masivos de estado vacían la caché completa). Dentro de una transacción se invalida
+ *   otra vez al terminarla, así una lectura concurrente previa a la confirmación no deja cacheada la fila anterior
+ * - La consulta JDBC nunca corre dentro de los locks internos de la caché: la hace el llamador
+ *   después de registrar un future (o {@code loaderExecutor} en los refresh), y los demás lectores
+ *   esperan ese future. Con hilos virtuales esto evita fijar (pin) el hilo portador durante la consulta
+ * <p>
+ * El resto de operaciones (versión, búsquedas, exportación, lecturas con password, unicidad) se delegan sin caché:
+ * las búsquedas tienen demasiadas combinaciones y las lecturas con password alimentan escrituras.
+ */
+public class CachingUserRepositoryAdapter implements UserRepositoryPort {
+
+    private final UserRepositoryPort delegate;
+    private final AsyncLoadingCache<String, User> usersById;
+
+    public CachingUserRepositoryAdapter(
+            UserRepositoryPort delegate,
+            long maxSize,
+            Duration ttl,
+            Duration refreshAfter) {
+        this(delegate, maxSize, ttl, refreshAfter, ForkJoinPool.commonPool());
+    }
+
+    public CachingUserRepositoryAdapter(
+            UserRepositoryPort delegate,
+            long maxSize,
+            Duration ttl,
+            Duration refreshAfter,
+            Executor loaderExecutor) {
+        this.delegate = delegate;
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .executor(loaderExecutor)
+                .recordStats()
+                .buildAsync(id -> delegate.findById(id).orElse(null));
+    }
+
+    /**
+     * Caché subyacente, expuesta para registrar sus métricas (hits, misses, evictions, loads).
+     */
+    public AsyncLoadingCache<String, User> cache() {
+        return usersById;
+    }
+
+    @Override
+    public User create(User user, String hashedPassword) {
+        User created = delegate.create(user, hashedPassword);
+        invalidate(created.id());
+        return created;
+    }
+
+    @Override
+    public List<User> createAll(List<UserWithPassword> users) {
+        List<User> created = delegate.createAll(users);
+        created.forEach(user -> invalidate(user.id()));
+        return created;
+    }
+
+    @Override
+    public User update(User user, String passwordHash) {
+        try {
+            return delegate.update(user, passwordHash);
+        } finally {
+            // También si falla: la fila pudo cambiar aunque el llamador reciba una excepción
+            invalidate(user.id());
+        }
+    }
+
+    @Override
+    public User updateProfile(User user) {
+        try {
+            return delegate.updateProfile(user);
+        } finally {
+            invalidate(user.id());
+        }
+    }
+
+    @Override
+    public User updatePassword(String id, String passwordHash, Long expectedVersion) {
+        try {
+            return delegate.updatePassword(id, passwordHash, expectedVersion);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public Optional<User> updateStatus(
+            String id, UserStatus status, Set<String> protectedUsernames, Long expectedVersion) {
+        try {
+            return delegate.updateStatus(id, status, protectedUsernames, expectedVersion);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public long updateStatusWhere(UserSearchFilter filter, UserStatus status, Set<String> protectedUsernames) {
+        try {
+            return delegate.updateStatusWhere(filter, status, protectedUsernames);
+        } finally {
+            // No se sabe qué IDs cambiaron sin consultarlos: se descarta toda la caché
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public long updateStatusWhere(
+            UserSearchFilter filter, UserStatus status, Set<String> protectedUsernames, LongConsumer onChunk) {
+        try {
+            return delegate.updateStatusWhere(filter, status, protectedUsernames, onChunk);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public Optional<User> findById(String id) {
+        // Se instala un future vacío y la carga la hace el propio llamador, ya fuera del lock de
+        // la caché (y dentro de su transacción, si la tiene); los demás lectores esperan ese future
+        CompletableFuture<User> pending = new CompletableFuture<>();
+        CompletableFuture<User> cached = usersById.get(id, (key, executor) -> pending);
+        if (cached == pending) {
+            try {
+                pending.complete(delegate.findById(id).orElse(null));
+            } catch (RuntimeException ex) {
+                pending.completeExceptionally(ex);
+            }
+        }
+        try {
+            return Optional.ofNullable(cached.join());
+        } catch (CompletionException ex) {
+            // Propaga la excepción original del adaptador (p. ej. EntityNotFoundException)
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Siempre se delega: la caché es por nodo y puede tener hasta un TTL de atraso, así que una
+     * revalidación (If-None-Match) respondida desde ahí podría dar 304 sobre una fila ya modificada
+     * en otra instancia. La consulta de la versión es barata (una columna por clave primaria).
+     * Si el usuario en caché tiene otra versión se descarta, para que el {@link #findById} que sigue
+     * a una revalidación fallida no devuelva el cuerpo viejo.
+     */
+    @Override
+    public Optional<Long> findVersionById(String id) {
+        Optional<Long> version = delegate.findVersionById(id);
+        CompletableFuture<User> cached = usersById.getIfPresent(id);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+            User user = cached.join();
+            Long cachedVersion = user == null ? null : user.version();
+            if (!Objects.equals(cachedVersion, version.orElse(null))) {
+                usersById.synchronous().invalidate(id);
+            }
+        }
+        return version;
+    }
+
+    @Override
+    public UserWithPassword findByIdWithPassword(String id) {
+        return delegate.findByIdWithPassword(id);
+    }
+
+    @Override
+    public PageResult<User> search(
+            UserSearchFilter filter,
+            int page,
+            int size,
+            UserSortField sortField,
+            SortDirection direction,
+            Set<UserField> fields) {
+        return delegate.search(filter, page, size, sortField, direction, fields);
+    }
+
+    @Override
+    public PageResult<User> searchSlice(
+            UserSearchFilter filter,
+            int page,
+            int size,
+            UserSortField sortField,
+            SortDirection direction,
+            Set<UserField> fields) {
+        return delegate.searchSlice(filter, page, size, sortField, direction, fields);
+    }
+
+    @Override
+    public OptionalLong estimateCount(UserSearchFilter filter) {
+        return delegate.estimateCount(filter);
+    }
+
+    @Override
+    public PageResult<User> searchAfter(
+            UserSearchFilter filter,
+            UserCursor cursor,
+            int size,
+            UserSortField sortField,
+            SortDirection direction,
+            Set<UserField> fields) {
+        return delegate.searchAfter(filter, cursor, size, sortField, direction, fields);
+    }
+
+    @Override
+    public long streamAll(UserSearchFilter filter, Consumer<User> consumer) {
+        return delegate.streamAll(filter, consumer);
+    }
+
+    @Override
+    public Set<UserUniqueField> findConflicts(String username, String email, String documentNumber) {
+        return delegate.findConflicts(username, email, documentNumber);
+    }
+
+    @Override
+    public Map<UserUniqueField, Set<String>> findUniqueKeysInUse(
+            Collection<String> usernames,
+            Collection<String> emails,
+            Collection<String> documentNumbers) {
+        return delegate.findUniqueKeysInUse(usernames, emails, documentNumbers);
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return delegate.existsByUsername(username);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public boolean existsByDocumentNumber(String documentNumber) {
+        return delegate.existsByDocumentNumber(documentNumber);
+    }
+
+    private void invalidate(String id) {
+        usersById.synchronous().invalidate(id);
+        afterTransaction(() -> usersById.synchronous().invalidate(id));
+    }
+
+    private void invalidateAll() {
+        usersById.synchronous().invalidateAll();
+        afterTransaction(() -> usersById.synchronous().invalidateAll());
+    }
+
+    private static void afterTransaction(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
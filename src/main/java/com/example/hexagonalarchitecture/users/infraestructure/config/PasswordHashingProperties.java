@@ -0,0 +1,36 @@
+package com.example.hexagonalarchitecture.users.infraestructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuración del hasheo de contraseñas ({@code users.password-hashing.*}).
+ *
+ * @param threads hashes simultáneos como máximo; 0 usa la cantidad de procesadores disponibles
+ * @param queueCapacity operaciones que pueden esperar turno; con la cola llena se rechaza con 503
+ * @param timeout tiempo máximo que una solicitud espera el resultado (cola + ejecución)
+ * @param strength costo fijo de BCrypt; 0 lo calibra al arrancar según {@code budget}
+ * @param budget tiempo objetivo de un hash; se elige el mayor costo que quepa
+ * @param minStrength costo mínimo aceptable (piso de seguridad, se usa aunque exceda el presupuesto)
+ * @param maxStrength costo máximo que puede elegir la calibración
+ */
+@ConfigurationProperties(prefix = "users.password-hashing")
+public record PasswordHashingProperties(
+        @DefaultValue("0") int threads,
+        @DefaultValue("64") int queueCapacity,
+        @DefaultValue("5s") Duration timeout,
+        @DefaultValue("0") int strength,
+        @DefaultValue("100ms") Duration budget,
+        @DefaultValue("10") int minStrength,
+        @DefaultValue("14") int maxStrength
+) {
+
+    /**
+     * Hilos efectivos del pool.
+     */
+    public int resolvedThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.hexagonalarchitecture.users.infraestructure.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.hexagonalarchitecture.users.infraestructure.metrics.SqlStatementCounter;
+import com.example.hexagonalarchitecture.users.infraestructure.metrics.SqlStatementCountingInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Conteo de sentencias SQL y round trips por solicitud HTTP:
+ * <p>
+ * - Envuelve el {@link DataSource} para que {@link SqlStatementCounter} vea cada llamada JDBC
+ * - Registra {@link SqlStatementCountingInterceptor} en todas las rutas de Spring MVC
+ * <p>
+ * Los headers de respuesta se pueden apagar con {@code users.sql-metrics.response-headers=false}
+ * (p. ej. si no se quiere exponer ese detalle a los clientes); las métricas se publican siempre.
+ */
+@Configuration
+public class SqlStatementMetricsConfig implements WebMvcConfigurer {
+
+    private final SqlStatementCountingInterceptor sqlStatementCountingInterceptor;
+
+    public SqlStatementMetricsConfig(SqlStatementCountingInterceptor sqlStatementCountingInterceptor) {
+        this.sqlStatementCountingInterceptor = sqlStatementCountingInterceptor;
+    }
+
+    @Bean
+    public static SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSourcePostProcessor(
+            ObjectProvider<SqlStatementCounter> counter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? counter.getObject().wrap(dataSource) : bean;
+            }
+        };
+    }
+
+    @Bean
+    public static SqlStatementCountingInterceptor sqlStatementCountingInterceptor(
+            SqlStatementCounter sqlStatementCounter,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${users.sql-metrics.response-headers:true}") boolean responseHeaders) {
+        return new SqlStatementCountingInterceptor(sqlStatementCounter, meterRegistry, responseHeaders);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlStatementCountingInterceptor);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.hexagonalarchitecture.users.infraestructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuración de la caché de lectura de usuarios por ID ({@code users.cache.*}).
+ *
+ * @param enabled activa la caché; si es false se usa directamente el adaptador JPA
+ * @param maxSize número máximo de usuarios en caché (se expulsan los menos usados)
+ * @param ttl tiempo máximo que una entrada puede vivir desde que se cargó
+ * @param refreshAfter edad a partir de la cual una lectura dispara la recarga en segundo plano
+ *                     (refresh-ahead), devolviendo mientras tanto el valor actual
+ */
+@ConfigurationProperties(prefix = "users.cache")
+public record UserCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maxSize,
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("2m") Duration refreshAfter
+) {
+}
@@ -0,0 +1,54 @@
+package com.example.hexagonalarchitecture.users.infraestructure.config;
+
+import java.lang.reflect.Modifier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+import com.example.hexagonalarchitecture.users.application.port.in.GetUserByIdUseCase;
+import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.infraestructure.memory.InMemoryUserRepositoryAdapter;
+import com.example.hexagonalarchitecture.users.infraestructure.metrics.TimedCallPostProcessor;
+import com.example.hexagonalarchitecture.users.infraestructure.persistence.JpaUserRepositoryAdapter;
+import com.example.hexagonalarchitecture.users.infraestructure.persistence.UserSearchReadModelAdapter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Latencia y errores por caso de uso y por método del puerto de persistencia:
+ * <p>
+ * - {@code users.usecase}: cada método público de los casos de uso de {@code application.port.in}
+ *   (tiempo total de la operación, caché incluida)
+ * - {@code users.repository}: cada método de {@link UserRepositoryPort} en {@link JpaUserRepositoryAdapter}
+ *   (tiempo en base de datos, transacción incluida; las lecturas resueltas por la caché no llegan aquí)
+ *   o en {@link InMemoryUserRepositoryAdapter}
+ * <p>
+ * Se publican en {@code /actuator/prometheus} con histograma, percentiles y buckets de SLO
+ * configurados en {@code management.metrics.distribution.*}.
+ */
+@Configuration
+public class UserMetricsConfig {
+
+    @Bean
+    public static TimedCallPostProcessor useCaseTimedCallPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        String useCasePackage = GetUserByIdUseCase.class.getPackageName();
+        return new TimedCallPostProcessor(
+                "users.usecase",
+                method -> Modifier.isPublic(method.getModifiers())
+                        && method.getDeclaringClass().getPackageName().equals(useCasePackage),
+                meterRegistry);
+    }
+
+    @Bean
+    public static TimedCallPostProcessor repositoryTimedCallPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new TimedCallPostProcessor(
+                "users.repository",
+                method -> (method.getDeclaringClass() == JpaUserRepositoryAdapter.class
+                                || method.getDeclaringClass() == InMemoryUserRepositoryAdapter.class
+                                || method.getDeclaringClass() == UserSearchReadModelAdapter.class)
+                        && ClassUtils.hasMethod(UserRepositoryPort.class, method.getName(), method.getParameterTypes()),
+                meterRegistry);
+    }
+}
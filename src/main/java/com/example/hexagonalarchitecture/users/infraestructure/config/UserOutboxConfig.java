@@ -0,0 +1,96 @@
+package com.example.hexagonalarchitecture.users.infraestructure.config;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.hexagonalarchitecture.users.infraestructure.outbox.FileUserOutboxPublisher;
+import com.example.hexagonalarchitecture.users.infraestructure.outbox.InProcessUserOutboxPublisher;
+import com.example.hexagonalarchitecture.users.infraestructure.outbox.UserOutboxConsumer;
+import com.example.hexagonalarchitecture.users.infraestructure.outbox.UserOutboxListener;
+import com.example.hexagonalarchitecture.users.infraestructure.outbox.UserOutboxPublisher;
+import com.example.hexagonalarchitecture.users.infraestructure.outbox.UserOutboxRelay;
+import com.example.hexagonalarchitecture.users.infraestructure.outbox.UserOutboxWriter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Outbox transaccional de eventos de usuario: el escritor se registra como {@code UserEventPublisher}
+ * de los casos de uso y deja cada evento a cada {@link UserOutboxConsumer}: el relay, que entrega lo
+ * confirmado ({@code users.outbox.enabled}), y el proyector del modelo de búsqueda
+ * ({@code users.search.read-model.enabled}). Se activa con el repositorio JPA y alguno de los dos.
+ */
+@Configuration
+@ConditionalOnExpression("'${users.repository.type:jpa}' == 'jpa' and "
+        + "(${users.outbox.enabled:true} or ${users.search.read-model.enabled:true})")
+@EnableConfigurationProperties(UserOutboxProperties.class)
+public class UserOutboxConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(UserOutboxConfig.class);
+
+    /**
+     * Destino elegido con {@code users.outbox.publisher}; un bean {@link UserOutboxPublisher} propio
+     * (p. ej. hacia un broker) lo reemplaza.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "users.outbox.enabled", havingValue = "true", matchIfMissing = true)
+    @ConditionalOnMissingBean(UserOutboxPublisher.class)
+    public UserOutboxPublisher userOutboxPublisher(
+            UserOutboxProperties properties,
+            ObjectProvider<UserOutboxListener> listeners,
+            JsonMapper jsonMapper
+    ) {
+        if (properties.publisher() == UserOutboxProperties.Publisher.FILE) {
+            log.info("Eventos de usuario del outbox hacia el archivo {}", properties.file().toAbsolutePath());
+            return new FileUserOutboxPublisher(properties.file(), jsonMapper);
+        }
+        List<UserOutboxListener> registered = listeners.orderedStream().toList();
+        if (registered.isEmpty()) {
+            log.warn("users.outbox.publisher=in-process sin ningún UserOutboxListener: los eventos quedan en "
+                    + "user_outbox sin entregar hasta que haya uno (o se use publisher=file)");
+        } else {
+            log.info("Eventos de usuario del outbox hacia {} listeners en proceso", registered.size());
+        }
+        return new InProcessUserOutboxPublisher(registered);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "users.outbox.enabled", havingValue = "true", matchIfMissing = true)
+    public UserOutboxRelay userOutboxRelay(
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            UserOutboxPublisher userOutboxPublisher,
+            UserOutboxProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new UserOutboxRelay(
+                entityManager,
+                transactionManager,
+                userOutboxPublisher,
+                properties.batchSize(),
+                properties.pollInterval(),
+                properties.retryDelay(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    public UserOutboxWriter userOutboxWriter(
+            EntityManager entityManager,
+            JsonMapper jsonMapper,
+            ObjectProvider<UserOutboxConsumer> consumers
+    ) {
+        return new UserOutboxWriter(entityManager, jsonMapper, consumers.orderedStream().toList());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.hexagonalarchitecture.users.infraestructure.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Outbox de eventos de usuario ({@code users.outbox.*}), solo con el repositorio JPA.
+ *
+ * @param enabled si el relay entrega los eventos de {@code user_outbox} a un destino externo (el modelo
+ *                de búsqueda lee sus propias filas aunque esté desactivado)
+ * @param publisher destino por defecto de los eventos, si no hay otro {@code UserOutboxPublisher} registrado
+ * @param file archivo NDJSON del destino {@code file}
+ * @param batchSize eventos entregados (y borrados del outbox) por transacción
+ * @param pollInterval espera entre consultas mientras el outbox está vacío
+ * @param retryDelay espera antes de reintentar un lote cuya entrega falló
+ */
+@ConfigurationProperties(prefix = "users.outbox")
+public record UserOutboxProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("file") Publisher publisher,
+        @DefaultValue("users-outbox.ndjson") Path file,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("1s") Duration retryDelay
+) {
+
+    public enum Publisher {
+        /** Líneas NDJSON agregadas a {@code file} (por defecto) */
+        FILE,
+        /** Los beans {@code UserOutboxListener} de la misma aplicación; sin ninguno, nada se entrega */
+        IN_PROCESS
+    }
+}
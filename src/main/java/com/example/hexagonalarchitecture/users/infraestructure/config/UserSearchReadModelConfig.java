@@ -0,0 +1,67 @@
+package com.example.hexagonalarchitecture.users.infraestructure.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.hexagonalarchitecture.users.infraestructure.persistence.JpaUserRepositoryAdapter;
+import com.example.hexagonalarchitecture.users.infraestructure.persistence.UserSearchProjector;
+import com.example.hexagonalarchitecture.users.infraestructure.persistence.UserSearchReadModelAdapter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Modelo de lectura de búsqueda (CQRS) sobre la tabla {@code user_search}: el proyector consume los
+ * eventos de los casos de uso de escritura desde {@code user_outbox} (ver {@link UserOutboxConfig}) y
+ * el adaptador resuelve {@code SearchUsersUseCase}. Se activa con el repositorio JPA y
+ * {@code users.search.read-model.enabled} (por defecto).
+ */
+@Configuration
+@ConditionalOnExpression("'${users.repository.type:jpa}' == 'jpa' and ${users.search.read-model.enabled:true}")
+@EnableConfigurationProperties(UserSearchReadModelProperties.class)
+public class UserSearchReadModelConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public UserSearchProjector userSearchProjector(
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            JsonMapper jsonMapper,
+            UserSearchReadModelProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new UserSearchProjector(
+                entityManager,
+                transactionManager,
+                jsonMapper,
+                properties.batchSize(),
+                properties.maxAttempts(),
+                properties.pollInterval(),
+                properties.retryDelay(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * Las búsquedas atrasadas vuelven directo al adaptador JPA: la caché por ID no aplica a búsquedas.
+     */
+    @Bean
+    public UserSearchReadModelAdapter userSearchReadModelAdapter(
+            EntityManager entityManager,
+            JpaUserRepositoryAdapter jpaUserRepositoryAdapter,
+            UserSearchProjector userSearchProjector,
+            UserSearchReadModelProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new UserSearchReadModelAdapter(
+                entityManager,
+                jpaUserRepositoryAdapter,
+                userSearchProjector,
+                properties.maxStaleness(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.hexagonalarchitecture.users.infraestructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Modelo de lectura para la búsqueda de usuarios ({@code users.search.read-model.*}), solo con el
+ * repositorio JPA.
+ *
+ * @param enabled si las búsquedas usan la tabla {@code user_search}; si es false van a {@code users}
+ * @param maxStaleness retraso máximo tolerado: por encima, las búsquedas vuelven a {@code users}
+ *                     hasta que el modelo se pone al día; conviene que supere holgadamente a
+ *                     {@code pollInterval}, que es el retraso mínimo que se puede asegurar
+ * @param batchSize eventos del outbox (o filas de un cambio masivo) aplicados por transacción
+ * @param maxAttempts intentos de un evento que falla antes de reemplazarlo por una resincronización completa
+ * @param pollInterval espera entre consultas al outbox mientras no hay nada pendiente
+ * @param retryDelay espera antes de reintentar si la base de datos no responde
+ */
+@ConfigurationProperties(prefix = "users.search.read-model")
+public record UserSearchReadModelProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5s") Duration maxStaleness,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("1s") Duration retryDelay
+) {
+}
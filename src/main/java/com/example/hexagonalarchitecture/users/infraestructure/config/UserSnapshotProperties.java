@@ -0,0 +1,24 @@
+package com.example.hexagonalarchitecture.users.infraestructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Persistencia local del almacén en memoria ({@code users.repository.snapshot.*}), solo con
+ * {@code users.repository.type=memory}.
+ *
+ * @param directory directorio del snapshot y el journal; vacío desactiva la persistencia
+ * @param interval cada cuánto se toma un snapshot (y se descarta el journal que cubre); cero desactiva
+ *                 los periódicos y solo se toma uno al cerrar
+ * @param syncWrites fuerza cada cambio a disco antes de confirmarlo: sobrevive a un corte del sistema
+ *                   operativo, a costa de latencia en cada escritura
+ */
+@ConfigurationProperties(prefix = "users.repository.snapshot")
+public record UserSnapshotProperties(
+        @DefaultValue("") String directory,
+        @DefaultValue("10m") Duration interval,
+        @DefaultValue("false") boolean syncWrites
+) {
+}
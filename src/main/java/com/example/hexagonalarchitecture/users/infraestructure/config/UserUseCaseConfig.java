@@ -1,31 +1,178 @@
 package com.example.hexagonalarchitecture.users.infraestructure.config;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.example.hexagonalarchitecture.users.application.port.in.ActivateUserUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.ChangePasswordUseCase;
+import com.example.hexagonalarchitecture.users.application.port.in.ChangeUsersStatusUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.CreateUserUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.DeactivateUserUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.DeleteUserUseCase;
+import com.example.hexagonalarchitecture.users.application.port.in.ExportUsersUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.GetUserByIdUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.GetUserByDocumentNumberUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.GetUsersByLastNameUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.SearchUsersUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.UpdateUserUseCase;
+import com.example.hexagonalarchitecture.users.application.port.out.BatchPasswordHasher;
+import com.example.hexagonalarchitecture.users.application.port.out.UserEventPublisher;
 import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.application.port.out.UserSearchPort;
+import com.example.hexagonalarchitecture.users.application.port.out.UserTransactionPort;
+import com.example.hexagonalarchitecture.users.infraestructure.cache.CachingUserRepositoryAdapter;
+import com.example.hexagonalarchitecture.users.infraestructure.memory.InMemoryUserRepositoryAdapter;
+import com.example.hexagonalarchitecture.users.infraestructure.memory.UserSnapshotPersistence;
+import com.example.hexagonalarchitecture.users.infraestructure.persistence.JpaUserRepositoryAdapter;
+import com.example.hexagonalarchitecture.users.infraestructure.persistence.JpaUserTransactionAdapter;
+import com.example.hexagonalarchitecture.users.infraestructure.persistence.UserSearchReadModelAdapter;
+import com.example.hexagonalarchitecture.users.infraestructure.security.BCryptStrengthCalibrator;
+import com.example.hexagonalarchitecture.users.infraestructure.security.BoundedPasswordEncoder;
+import com.example.hexagonalarchitecture.users.infraestructure.security.PasswordEncoderBatchHasher;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @Configuration
+@EnableConfigurationProperties({UserCacheProperties.class, PasswordHashingProperties.class, UserSnapshotProperties.class})
 public class UserUseCaseConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(UserUseCaseConfig.class);
+
+    /**
+     * Puerto de persistencia que reciben los casos de uso: el adaptador JPA envuelto en la
+     * caché de lectura por ID, salvo que {@code users.cache.enabled=false}.
+     * Las métricas de la caché se publican como {@code cache.*} con tag {@code cache=users.byId}.
+     * <p>
+     * Con {@code users.repository.type=memory} se usa el adaptador en memoria, sin caché delante
+     * (ya responde desde memoria), y el adaptador JPA ni siquiera se resuelve.
+     */
+    @Bean
+    @Primary
+    public UserRepositoryPort userRepositoryPort(
+            ObjectProvider<JpaUserRepositoryAdapter> jpaUserRepositoryAdapter,
+            ObjectProvider<InMemoryUserRepositoryAdapter> inMemoryUserRepositoryAdapter,
+            UserCacheProperties cacheProperties,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            Environment environment
+    ) {
+        InMemoryUserRepositoryAdapter inMemory = inMemoryUserRepositoryAdapter.getIfAvailable();
+        if (inMemory != null) {
+            return inMemory;
+        }
+        JpaUserRepositoryAdapter jpaAdapter = jpaUserRepositoryAdapter.getObject();
+        if (!cacheProperties.enabled()) {
+            return jpaAdapter;
+        }
+        CachingUserRepositoryAdapter cachingAdapter = new CachingUserRepositoryAdapter(
+                jpaAdapter,
+                cacheProperties.maxSize(),
+                cacheProperties.ttl(),
+                cacheProperties.refreshAfter(),
+                cacheRefreshExecutor(environment));
+        meterRegistry.ifAvailable(registry ->
+                CaffeineCacheMetrics.monitor(registry, cachingAdapter.cache(), "users.byId"));
+        return cachingAdapter;
+    }
+
+    /**
+     * Almacén en memoria con índices concurrentes, para réplicas de lectura en el borde y tests.
+     * Con {@code users.repository.snapshot.directory} se restaura al arrancar desde el snapshot y el
+     * journal de ese directorio, y cada escritura se registra ahí.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "users.repository.type", havingValue = "memory")
+    public InMemoryUserRepositoryAdapter inMemoryUserRepositoryAdapter(
+            ObjectProvider<UserSnapshotPersistence> snapshotPersistence,
+            UserSnapshotProperties snapshotProperties
+    ) {
+        UserSnapshotPersistence persistence = snapshotPersistence.getIfAvailable();
+        if (persistence == null) {
+            return new InMemoryUserRepositoryAdapter();
+        }
+        InMemoryUserRepositoryAdapter adapter = new InMemoryUserRepositoryAdapter(persistence);
+        persistence.open(adapter, snapshotProperties.interval());
+        return adapter;
+    }
+
+    /**
+     * Snapshot y journal del almacén en memoria; al cerrar el contexto toma un último snapshot.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnExpression("'${users.repository.type:jpa}' == 'memory' and '${users.repository.snapshot.directory:}' != ''")
+    public UserSnapshotPersistence userSnapshotPersistence(UserSnapshotProperties snapshotProperties) {
+        return new UserSnapshotPersistence(Path.of(snapshotProperties.directory()), snapshotProperties.syncWrites());
+    }
+
+    /**
+     * Ejecutor de los refresh en segundo plano de la caché: hilos virtuales si el modo está activo
+     * ({@code spring.threads.virtual.enabled} en Java 21+), si no el pool común.
+     */
+    private Executor cacheRefreshExecutor(Environment environment) {
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            return ForkJoinPool.commonPool();
+        }
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("users-cache-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Transacción que agrupa cada escritura con sus eventos (y por lo tanto con el outbox). El almacén
+     * en memoria no la necesita: sus escrituras no pasan por la base de datos.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "users.repository.type", havingValue = "jpa", matchIfMissing = true)
+    public UserTransactionPort userTransactionPort(PlatformTransactionManager transactionManager) {
+        return new JpaUserTransactionAdapter(transactionManager);
+    }
+
+    /**
+     * Destino de los eventos de los casos de uso de escritura: todos los {@link UserEventPublisher}
+     * registrados (el outbox, que también alimenta el modelo de búsqueda), o ninguno.
+     */
+    private static UserEventPublisher eventPublisher(ObjectProvider<UserEventPublisher> publishers) {
+        List<UserEventPublisher> all = publishers.orderedStream().toList();
+        if (all.isEmpty()) {
+            return UserEventPublisher.NONE;
+        }
+        return all.size() == 1 ? all.get(0) : event -> all.forEach(publisher -> publisher.publish(event));
+    }
+
     @Bean
     public CreateUserUseCase createUserUseCase(
             UserRepositoryPort userRepositoryPort,
-            PasswordEncoder passwordEncoder
+            PasswordEncoder passwordEncoder,
+            BatchPasswordHasher batchPasswordHasher,
+            ObjectProvider<UserEventPublisher> eventPublishers,
+            ObjectProvider<UserTransactionPort> transactions
     ) {
-        return new CreateUserUseCase(userRepositoryPort, passwordEncoder);
+        return new CreateUserUseCase(
+                userRepositoryPort,
+                passwordEncoder,
+                batchPasswordHasher,
+                eventPublisher(eventPublishers),
+                transactions.getIfAvailable(() -> UserTransactionPort.NONE));
     }
 
     @Bean
@@ -49,51 +196,145 @@ public class UserUseCaseConfig {
         return new GetUsersByLastNameUseCase(userRepositoryPort);
     }
 
+    /**
+     * Busca en el modelo de lectura {@code user_search} si está activo ({@link UserSearchReadModelConfig}),
+     * si no en el repositorio.
+     */
     @Bean
     public SearchUsersUseCase searchUsersUseCase(
+            UserRepositoryPort userRepositoryPort,
+            ObjectProvider<UserSearchReadModelAdapter> userSearchReadModelAdapter
+    ) {
+        UserSearchPort searchPort = userSearchReadModelAdapter.getIfAvailable();
+        return new SearchUsersUseCase(searchPort != null ? searchPort : userRepositoryPort);
+    }
+
+    @Bean
+    public ExportUsersUseCase exportUsersUseCase(
             UserRepositoryPort userRepositoryPort
     ) {
-        return new SearchUsersUseCase(userRepositoryPort);
+        return new ExportUsersUseCase(userRepositoryPort);
     }
 
     @Bean
     public UpdateUserUseCase updateUserUseCase(
-            UserRepositoryPort userRepositoryPort
+            UserRepositoryPort userRepositoryPort,
+            ObjectProvider<UserEventPublisher> eventPublishers,
+            ObjectProvider<UserTransactionPort> transactions
     ) {
-        return new UpdateUserUseCase(userRepositoryPort);
+        return new UpdateUserUseCase(
+                userRepositoryPort,
+                eventPublisher(eventPublishers),
+                transactions.getIfAvailable(() -> UserTransactionPort.NONE));
     }
 
     @Bean
     public DeleteUserUseCase deleteUserUseCase(
-            UserRepositoryPort userRepositoryPort
+            UserRepositoryPort userRepositoryPort,
+            ObjectProvider<UserEventPublisher> eventPublishers,
+            ObjectProvider<UserTransactionPort> transactions
     ) {
-        return new DeleteUserUseCase(userRepositoryPort);
+        return new DeleteUserUseCase(
+                userRepositoryPort,
+                eventPublisher(eventPublishers),
+                transactions.getIfAvailable(() -> UserTransactionPort.NONE));
     }
 
     @Bean
     public ActivateUserUseCase activateUserUseCase(
-            UserRepositoryPort userRepositoryPort
+            UserRepositoryPort userRepositoryPort,
+            ObjectProvider<UserEventPublisher> eventPublishers,
+            ObjectProvider<UserTransactionPort> transactions
     ) {
-        return new ActivateUserUseCase(userRepositoryPort);
+        return new ActivateUserUseCase(
+                userRepositoryPort,
+                eventPublisher(eventPublishers),
+                transactions.getIfAvailable(() -> UserTransactionPort.NONE));
     }
 
     @Bean
     public DeactivateUserUseCase deactivateUserUseCase(
-            UserRepositoryPort userRepositoryPort
+            UserRepositoryPort userRepositoryPort,
+            ObjectProvider<UserEventPublisher> eventPublishers,
+            ObjectProvider<UserTransactionPort> transactions
+    ) {
+        return new DeactivateUserUseCase(
+                userRepositoryPort,
+                eventPublisher(eventPublishers),
+                transactions.getIfAvailable(() -> UserTransactionPort.NONE));
+    }
+
+    @Bean
+    public ChangeUsersStatusUseCase changeUsersStatusUseCase(
+            UserRepositoryPort userRepositoryPort,
+            ObjectProvider<UserEventPublisher> eventPublishers
     ) {
-        return new DeactivateUserUseCase(userRepositoryPort);
+        return new ChangeUsersStatusUseCase(userRepositoryPort, eventPublisher(eventPublishers));
     }
 
     @Bean
     public ChangePasswordUseCase changePasswordUseCase(
             UserRepositoryPort userRepositoryPort,
-            PasswordEncoder passwordEncoder
+            PasswordEncoder passwordEncoder,
+            ObjectProvider<UserEventPublisher> eventPublishers,
+            ObjectProvider<UserTransactionPort> transactions
     ) {
-        return new ChangePasswordUseCase(userRepositoryPort, passwordEncoder);
+        return new ChangePasswordUseCase(
+                userRepositoryPort,
+                passwordEncoder,
+                eventPublisher(eventPublishers),
+                transactions.getIfAvailable(() -> UserTransactionPort.NONE));
     }
 
+    /**
+     * BCrypt ejecutado en un pool acotado ({@code users.password-hashing.*}) para no ocupar
+     * los hilos de las solicitudes; se cierra junto con el contexto.
+     * <p>
+     * Si no se fija {@code strength}, el costo se calibra al arrancar: el mayor que cumple
+     * {@code budget} en este host. El costo elegido se registra en el log y en la métrica
+     * {@code users.password.hashing.strength}.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            PasswordHashingProperties hashingProperties,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        int strength = hashingProperties.strength() > 0
+                ? hashingProperties.strength()
+                : calibrateStrength(hashingProperties);
+        Gauge.builder("users.password.hashing.strength", () -> strength)
+                .description("Costo (log2 de rondas) de BCrypt para nuevos hashes")
+                .register(registry);
+
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(strength),
+                hashingProperties.resolvedThreads(),
+                hashingProperties.queueCapacity(),
+                hashingProperties.timeout(),
+                registry);
+    }
+
+    /**
+     * Hasheo por lotes del alta masiva, sobre el mismo encoder (y su pool acotado).
+     */
+    @Bean
+    public BatchPasswordHasher batchPasswordHasher(PasswordEncoder passwordEncoder) {
+        return new PasswordEncoderBatchHasher(passwordEncoder);
+    }
+
+    private int calibrateStrength(PasswordHashingProperties hashingProperties) {
+        BCryptStrengthCalibrator.Calibration calibration = new BCryptStrengthCalibrator().calibrate(
+                hashingProperties.budget(),
+                hashingProperties.minStrength(),
+                hashingProperties.maxStrength());
+        if (calibration.withinBudget()) {
+            log.info("Costo de BCrypt calibrado: strength={} ({} ms por hash, presupuesto {} ms)",
+                    calibration.strength(), calibration.hashTime().toMillis(), calibration.budget().toMillis());
+        } else {
+            log.warn("Ni el costo mínimo de BCrypt cabe en el presupuesto: strength={} ({} ms por hash, presupuesto {} ms)",
+                    calibration.strength(), calibration.hashTime().toMillis(), calibration.budget().toMillis());
+        }
+        return calibration.strength();
     }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.example.hexagonalarchitecture.users.infraestructure.controller;
+
+import java.util.Locale;
+
+/**
+ * Negociación de {@code Accept-Encoding} (RFC 9110 §12.5.3) para las respuestas que se comprimen a mano.
+ * <p>
+ * Cada codificación puede traer un peso {@code ;q=}: con {@code q=0} el cliente la rechaza
+ * explícitamente. {@code x-gzip} equivale a {@code gzip}, y {@code *} cubre a las que no se nombran.
+ */
+final class ContentCodings {
+
+    private ContentCodings() {
+    }
+
+    /**
+     * @param acceptEncoding valor del header (puede ser null)
+     * @return true si el cliente acepta gzip con peso mayor que cero
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        double gzip = -1;
+        double wildcard = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double weight = weight(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = Math.max(gzip, weight);
+            } else if (coding.equals("*")) {
+                wildcard = Math.max(wildcard, weight);
+            }
+        }
+        // Una mención explícita de gzip manda sobre el comodín
+        return gzip >= 0 ? gzip > 0 : wildcard > 0;
+    }
+
+    /**
+     * Peso {@code q} de la codificación: 1 si no se indica, 0 si no es un número válido.
+     */
+    private static double weight(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && Character.toLowerCase(parameter.charAt(0)) == 'q' && parameter.charAt(1) == '=') {
+                try {
+                    double q = Double.parseDouble(parameter.substring(2).trim());
+                    return q >= 0 && q <= 1 ? q : 0;
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.hexagonalarchitecture.users.infraestructure.controller;
+
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.ValidationException;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.VersionConflictException;
+
+/**
+ * ETags de usuario derivadas de su versión: {@code "<version>"}.
+ * <p>
+ * Son ETags fuertes (la versión cambia con cada escritura), así pueden usarse en {@code If-Match},
+ * que exige comparación fuerte, y también en {@code If-None-Match} para lecturas condicionales.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * @return ETag del usuario, o null si no se conoce su versión
+     */
+    static String of(User user) {
+        return user.version() == null ? null : of(user.version());
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Indica si alguna de las ETags de {@code If-None-Match} corresponde a la versión actual.
+     * Usa comparación débil, como pide el header: {@code W/"3"} equivale a {@code "3"}.
+     * 
+     * @param ifNoneMatch valor del header (puede ser null)
+     * @param version versión actual del usuario
+     * @return true si el cliente ya tiene esa versión ({@code *} siempre coincide)
+     */
+    static boolean noneMatchFails(String ifNoneMatch, long version) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String current = of(version);
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Versión esperada según el header {@code If-Match}.
+     * 
+     * @param ifMatch valor del header (puede ser null)
+     * @return versión esperada, o null si no hay header o es {@code *} (cualquier versión)
+     * @throws VersionConflictException si la ETag no puede corresponder a ninguna versión (débil o ajena)
+     * @throws ValidationException si se envía más de una ETag
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.indexOf(',') >= 0) {
+            throw new ValidationException("If-Match admite una sola ETag");
+        }
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new VersionConflictException("If-Match no corresponde a ninguna versión del usuario: " + tag);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new VersionConflictException("If-Match no corresponde a ninguna versión del usuario: " + tag);
+        }
+    }
+}
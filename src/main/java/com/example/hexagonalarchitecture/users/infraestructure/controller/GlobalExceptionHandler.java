@@ -3,6 +3,7 @@ package com.example.hexagonalarchitecture.users.infraestructure.controller;
 import java.time.LocalDateTime;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,12 +11,16 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.ErrorResponse;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.DuplicateUserException;
 import com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException;
 import com.example.hexagonalarchitecture.users.infraestructure.exception.InvalidDocumentException;
 import com.example.hexagonalarchitecture.users.infraestructure.exception.InvalidPasswordException;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.PasswordHashingUnavailableException;
 import com.example.hexagonalarchitecture.users.infraestructure.exception.ValidationException;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.VersionConflictException;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * Manejador global de excepciones para la API REST de usuarios.
@@ -27,6 +32,9 @@ import jakarta.servlet.http.HttpServletRequest;
  * traduciendo errores de negocio y validación a códigos HTTP apropiados:
  * - 400 (BAD_REQUEST): errores de validación, documentos inválidos, passwords incorrectos
  * - 404 (NOT_FOUND): recursos no encontrados
+ * - 409 (CONFLICT): claves únicas duplicadas
+ * - 412 (PRECONDITION_FAILED): la versión indicada en If-Match ya no es la actual
+ * - 503 (SERVICE_UNAVAILABLE): hasheo de contraseñas saturado (reintentable)
  * - 500 (INTERNAL_SERVER_ERROR): errores inesperados del servidor
  * 
  * Las respuestas devuelven un {@link ErrorResponse} con estructura consistente:
@@ -282,6 +290,109 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    /**
+     * Maneja excepciones {@link DuplicateUserException}.
+     * 
+     * Lanzada por el adaptador de persistencia cuando una inserción choca con una clave única
+     * (username, email o documento). Los casos de uso la traducen a {@link ValidationException};
+     * este handler cubre cualquier otro camino que la deje propagar.
+     * 
+     * Retorna:
+     * - HTTP 409 (CONFLICT)
+     * - Código de error: "DUPLICATE_ENTRY"
+     * 
+     * @param ex excepción con los campos en conflicto
+     * @param request solicitud HTTP para capturar el path
+     * @return ResponseEntity con ErrorResponse y status 409
+     * 
+     * @example
+     *   POST /users (username duplicado no traducido por el caso de uso)
+     *   Response 409: { "status": 409, "error": "DUPLICATE_ENTRY", "message": "Ya existe un usuario con los datos proporcionados: [USERNAME]" }
+     */
+    @ExceptionHandler(DuplicateUserException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicateUser(
+            DuplicateUserException ex,
+            HttpServletRequest request) {
+        
+        ErrorResponse error = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.CONFLICT.value(),
+            "DUPLICATE_ENTRY",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * Maneja excepciones {@link VersionConflictException}.
+     * 
+     * Lanzada cuando una escritura condicional (PUT, activar, desactivar, eliminar) no se aplica
+     * porque el usuario cambió desde que el cliente obtuvo su ETag. El cliente debe releer el
+     * usuario y reintentar sobre la versión nueva.
+     * 
+     * Retorna:
+     * - HTTP 412 (PRECONDITION_FAILED)
+     * - Código de error: "PRECONDITION_FAILED"
+     * 
+     * @param ex excepción con la versión esperada y la actual
+     * @param request solicitud HTTP para capturar el path
+     * @return ResponseEntity con ErrorResponse y status 412
+     * 
+     * @example
+     *   PUT /users/uuid con If-Match: "3" (la versión actual es 4)
+     *   Response 412: { "status": 412, "error": "PRECONDITION_FAILED", "message": "El usuario uuid fue modificado: versión esperada 3, actual 4" }
+     */
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflict(
+            VersionConflictException ex,
+            HttpServletRequest request) {
+        
+        ErrorResponse error = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.PRECONDITION_FAILED.value(),
+            "PRECONDITION_FAILED",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    /**
+     * Maneja excepciones {@link PasswordHashingUnavailableException}.
+     * 
+     * Lanzada cuando el pool de hasheo de contraseñas está saturado o la operación excedió
+     * su tiempo máximo. Es transitoria, por lo que se indica al cliente cuándo reintentar.
+     * 
+     * Retorna:
+     * - HTTP 503 (SERVICE_UNAVAILABLE) con header Retry-After
+     * - Código de error: "PASSWORD_HASHING_UNAVAILABLE"
+     * 
+     * @param ex excepción con el motivo (cola llena o timeout)
+     * @param request solicitud HTTP para capturar el path
+     * @return ResponseEntity con ErrorResponse y status 503
+     * 
+     * @example
+     *   POST /users (durante una ráfaga de altas)
+     *   Response 503: { "status": 503, "error": "PASSWORD_HASHING_UNAVAILABLE", "message": "Servicio de contraseñas saturado, intente nuevamente" }
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingUnavailable(
+            PasswordHashingUnavailableException ex,
+            HttpServletRequest request) {
+        
+        ErrorResponse error = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "PASSWORD_HASHING_UNAVAILABLE",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(error);
+    }
+
     /**
      * Maneja excepciones genéricas {@link Exception}.
      * 
@@ -306,8 +417,14 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            HttpServletResponse response) throws Exception {
         
+        // Con la respuesta ya confirmada (p. ej. una exportación a medias) no se puede escribir
+        // un cuerpo de error: se relanza para que el contenedor corte la conexión
+        if (response.isCommitted()) {
+            throw ex;
+        }
         ErrorResponse error = new ErrorResponse(
             LocalDateTime.now(),
             HttpStatus.INTERNAL_SERVER_ERROR.value(),
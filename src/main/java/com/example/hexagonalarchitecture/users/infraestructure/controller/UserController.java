@@ -1,19 +1,27 @@
 package com.example.hexagonalarchitecture.users.infraestructure.controller;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.hexagonalarchitecture.users.application.common.BatchItemResult;
+import com.example.hexagonalarchitecture.users.application.common.CountMode;
 import com.example.hexagonalarchitecture.users.application.common.PageResult;
 import com.example.hexagonalarchitecture.users.application.common.SortDirection;
+import com.example.hexagonalarchitecture.users.application.common.UserField;
 import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
 import com.example.hexagonalarchitecture.users.application.common.UserSortField;
+import com.example.hexagonalarchitecture.users.application.common.UserToCreate;
 import com.example.hexagonalarchitecture.users.application.port.in.ActivateUserUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.ChangePasswordUseCase;
+import com.example.hexagonalarchitecture.users.application.port.in.ChangeUsersStatusUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.CreateUserUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.DeactivateUserUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.DeleteUserUseCase;
+import com.example.hexagonalarchitecture.users.application.port.in.ExportUsersUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.GetUserByDocumentNumberUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.GetUserByIdUseCase;
 import com.example.hexagonalarchitecture.users.application.port.in.GetUsersByLastNameUseCase;
@@ -21,15 +29,34 @@ import com.example.hexagonalarchitecture.users.application.port.in.SearchUsersUs
 import com.example.hexagonalarchitecture.users.application.port.in.UpdateUserUseCase;
 import com.example.hexagonalarchitecture.users.domain.model.User;
 import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.BatchCreateUsersResponse;
+import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.BatchItemResponse;
 import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.CreateUserRequest;
 import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.ChangePasswordRequest;
+import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.ChangeUsersStatusRequest;
+import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.ChangeUsersStatusResponse;
 import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.PageMeta;
 import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.PageResponse;
 import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.UpdateUserRequest;
 import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.UserResponse;
+import com.example.hexagonalarchitecture.users.infraestructure.controller.export.ExportFormat;
+import com.example.hexagonalarchitecture.users.infraestructure.controller.export.UserExportWriter;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -38,12 +65,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import tools.jackson.databind.json.JsonMapper;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -53,16 +85,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 @RequestMapping("/users")
 public class UserController {
 
+        /** Buffer de salida de la exportación: agrupa filas en escrituras grandes hacia el socket. */
+        private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
         private final CreateUserUseCase createUserUseCase;
         private final UpdateUserUseCase updateUserUseCase;
         private final DeleteUserUseCase deleteUserUseCase;
 	private final ActivateUserUseCase activateUserUseCase;
 	private final DeactivateUserUseCase deactivateUserUseCase;
+        private final ChangeUsersStatusUseCase changeUsersStatusUseCase;
         private final ChangePasswordUseCase changePasswordUseCase;
 	private final GetUserByIdUseCase getUserUseCase;	
 	private final GetUsersByLastNameUseCase getUsersByLastNameUseCase;
 	private final GetUserByDocumentNumberUseCase getUserByDocumentNumberUseCase;
 	private final SearchUsersUseCase searchUsersUseCase;
+        private final ExportUsersUseCase exportUsersUseCase;
+        private final Validator validator;
+        private final JsonMapper jsonMapper;
 
 	public UserController(
 			CreateUserUseCase createUserUseCase,
@@ -70,21 +109,29 @@ public class UserController {
 			DeleteUserUseCase deleteUserUseCase,
 			ActivateUserUseCase activateUserUseCase,
 			DeactivateUserUseCase deactivateUserUseCase,
+                        ChangeUsersStatusUseCase changeUsersStatusUseCase,
                         ChangePasswordUseCase changePasswordUseCase,
 			GetUserByIdUseCase getUserUseCase,			
 			GetUsersByLastNameUseCase getUsersByLastNameUseCase,
                         GetUserByDocumentNumberUseCase getUserByDocumentNumberUseCase,
-			SearchUsersUseCase searchUsersUseCase) {
+			SearchUsersUseCase searchUsersUseCase,
+                        ExportUsersUseCase exportUsersUseCase,
+                        Validator validator,
+                        JsonMapper jsonMapper) {
 		this.createUserUseCase = createUserUseCase;
 		this.updateUserUseCase = updateUserUseCase;
 		this.deleteUserUseCase = deleteUserUseCase;
 		this.activateUserUseCase = activateUserUseCase;
 		this.deactivateUserUseCase = deactivateUserUseCase;
+                this.changeUsersStatusUseCase = changeUsersStatusUseCase;
                 this.changePasswordUseCase = changePasswordUseCase;
                 this.getUserUseCase = getUserUseCase;                
                 this.getUsersByLastNameUseCase = getUsersByLastNameUseCase;
                 this.getUserByDocumentNumberUseCase = getUserByDocumentNumberUseCase;
                 this.searchUsersUseCase = searchUsersUseCase;
+                this.exportUsersUseCase = exportUsersUseCase;
+                this.validator = validator;
+                this.jsonMapper = jsonMapper;
         }
 
         @PostMapping
@@ -96,74 +143,104 @@ public class UserController {
         @ApiResponse(responseCode = "400", description = "Error de validación: valores inválidos, documento mal formateado, edad menor a 18 años")
         @ApiResponse(responseCode = "409", description = "Conflicto: username, email o documento ya existe en el sistema")
 	public ResponseEntity<UserResponse> create(@Valid @RequestBody CreateUserRequest request) {
-		final User user = new User(
-				null,
-                                request.username(),
-				request.firstName(),
-				request.lastName(),
-                                request.email(),
-                                request.phone(),
-                                request.documentType(),
-                                request.documentNumber(),
-                                request.address(),
-				null,
-				request.birthDate());
-                final User userCreated = createUserUseCase.execute(user, request.password());
-
-                UserResponse response = new UserResponse(
-                                userCreated.id(),
-                                userCreated.username(),
-                                userCreated.firstName(),
-                                userCreated.lastName(),
-                                userCreated.email(),
-                                userCreated.phone(),
-                                userCreated.documentType(),
-                                userCreated.documentNumber(),
-                                userCreated.address(),
-                                userCreated.birthDate(),
-                                userCreated.status());
+                final User userCreated = createUserUseCase.execute(toUser(request), request.password());
+
+                UserResponse response = toResponse(userCreated);
                 
                 return ResponseEntity
                                 .created(URI.create("/users/" + userCreated.id()))
                                 .body(response);
         }
 
+        @PostMapping("/batch")
+        @Operation(
+            summary = "Crear usuarios por lote",
+            description = "Crea hasta " + CreateUserUseCase.MAX_BATCH_SIZE + " usuarios en una sola solicitud. Cada elemento tiene el mismo formato que POST /users y se valida de forma independiente: los elementos inválidos o duplicados (contra la base de datos o contra otro elemento anterior del mismo lote) se reportan con su índice y mensaje, sin impedir la creación de los demás. La unicidad se verifica con una sola consulta para todo el lote y las inserciones se envían en lotes JDBC."
+        )
+        @ApiResponse(responseCode = "200", description = "Lote procesado. Retorna un resultado por elemento con el ID creado o el error")
+        @ApiResponse(responseCode = "400", description = "Lote vacío o con más elementos de los permitidos")
+        @ApiResponse(responseCode = "409", description = "Conflicto: otra solicitud registró una clave del lote durante la inserción; no se creó ningún usuario")
+        public BatchCreateUsersResponse createBatch(@RequestBody List<CreateUserRequest> requests) {
+                // Las validaciones de formato (@Valid) se aplican por elemento para no rechazar el lote completo
+                List<BatchItemResponse> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+                List<Integer> submitted = new ArrayList<>();
+                List<UserToCreate> toCreate = new ArrayList<>();
+                for (int i = 0; i < requests.size(); i++) {
+                        CreateUserRequest request = requests.get(i);
+                        String violations = request == null
+                                        ? "El elemento no puede ser null"
+                                        : validator.validate(request).stream()
+                                                        .map(ConstraintViolation::getMessage)
+                                                        .sorted()
+                                                        .collect(Collectors.joining("; "));
+                        if (!violations.isEmpty()) {
+                                results.set(i, new BatchItemResponse(i, null, violations));
+                                continue;
+                        }
+                        submitted.add(i);
+                        toCreate.add(new UserToCreate(toUser(request), request.password()));
+                }
+
+                if (!toCreate.isEmpty()) {
+                        List<BatchItemResult> created = createUserUseCase.executeBatch(toCreate);
+                        for (BatchItemResult result : created) {
+                                int index = submitted.get(result.index());
+                                results.set(index, new BatchItemResponse(index, result.id(), result.error()));
+                        }
+                }
+
+                int createdCount = (int) results.stream().filter(result -> result.id() != null).count();
+                return new BatchCreateUsersResponse(createdCount, results.size() - createdCount, results);
+        }
+
         @GetMapping("/{id}")
         @Operation(
             summary = "Obtener usuario por ID",
-            description = "Recupera todos los datos de un usuario específico. El ID es un UUID generado automáticamente al crear el usuario. Ejemplo: GET /users/550e8400-e29b-41d4-a716-446655440000"
+            description = "Recupera todos los datos de un usuario específico. El ID es un UUID generado automáticamente al crear el usuario. La respuesta incluye el header ETag con la versión del usuario, para enviarlo en If-Match al modificarlo o en If-None-Match al volver a consultarlo: si no cambió, responde 304 sin cuerpo y sin leer el usuario completo. Con fields (p. ej. fields=id,username,lastName) solo se serializan esos campos. Ejemplo: GET /users/550e8400-e29b-41d4-a716-446655440000"
         )
         @ApiResponse(responseCode = "200", description = "Usuario encontrado. Retorna objeto completo del usuario")
+        @ApiResponse(responseCode = "304", description = "El usuario no cambió desde la ETag enviada en If-None-Match")
         @ApiResponse(responseCode = "404", description = "Usuario no encontrado con el ID proporcionado")
-        public UserResponse getById(@PathVariable String id) {
+        public ResponseEntity<?> getById(
+                        @PathVariable String id,
+                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                        @RequestParam(required = false) String fields) {
+                Set<UserField> selectedFields = UserField.parse(fields);
+                // Revalidación: basta la versión actual en la base de datos para saber si el cliente está al día
+                if (ifNoneMatch != null) {
+                        long version = getUserUseCase.currentVersion(id);
+                        if (EntityTags.noneMatchFails(ifNoneMatch, version)) {
+                                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                                .eTag(EntityTags.of(version))
+                                                .cacheControl(CacheControl.noCache())
+                                                .build();
+                        }
+                }
                 final User user = getUserUseCase.execute(id);
 
-                return new UserResponse(
-                                user.id(),
-                                user.username(),
-                                user.firstName(),
-                                user.lastName(),
-                                user.email(),
-                                user.phone(),
-                                user.documentType(),
-                                user.documentNumber(),
-                                user.address(),
-                                user.birthDate(),
-                                user.status());
+                return ResponseEntity.ok()
+                                .eTag(EntityTags.of(user))
+                                .cacheControl(CacheControl.noCache())
+                                .body(selectedFields.containsAll(UserField.ALL)
+                                                ? toResponse(user)
+                                                : toSparseResponse(user, selectedFields));
         }
 
         @PutMapping("/{id}")
         @Operation(
             summary = "Actualizar usuario",
-            description = "Actualiza los datos de un usuario existente. IMPORTANTE: El tipo y número de documento NO pueden ser modificados. Solo se pueden actualizar: username, firstName, lastName, email, phone, address, birthDate, status. Ejemplo: PUT /users/550e8400-e29b-41d4-a716-446655440000 con JSON: {\"username\":\"juan.p\",\"firstName\":\"Juan\",\"lastName\":\"Perez Updated\",\"email\":\"juan.new@example.com\",\"phone\":\"3109999999\",\"address\":\"Calle 999 #99\",\"birthDate\":\"1990-05-15\",\"status\":\"ACTIVE\"}"
+            description = "Actualiza los datos de un usuario existente. IMPORTANTE: El tipo y número de documento NO pueden ser modificados. Solo se pueden actualizar: username, firstName, lastName, email, phone, address, birthDate, status. Con el header If-Match (ETag obtenida al leer el usuario) la actualización solo se aplica si nadie lo modificó entretanto; si no, responde 412. Ejemplo: PUT /users/550e8400-e29b-41d4-a716-446655440000 con JSON: {\"username\":\"juan.p\",\"firstName\":\"Juan\",\"lastName\":\"Perez Updated\",\"email\":\"juan.new@example.com\",\"phone\":\"3109999999\",\"address\":\"Calle 999 #99\",\"birthDate\":\"1990-05-15\",\"status\":\"ACTIVE\"}"
         )
         @ApiResponse(responseCode = "200", description = "Usuario actualizado exitosamente")
         @ApiResponse(responseCode = "400", description = "Datos inválidos o validación fallida")
         @ApiResponse(responseCode = "404", description = "Usuario no encontrado")
         @ApiResponse(responseCode = "409", description = "Conflicto: username o email ya existe en otro usuario")
-	public UserResponse update(@PathVariable String id, @Valid @RequestBody UpdateUserRequest request) {
-		final User existingUser = getUserUseCase.execute(id);
-			
+        @ApiResponse(responseCode = "412", description = "El usuario cambió desde que se obtuvo la ETag enviada en If-Match")
+	public ResponseEntity<UserResponse> update(
+                        @PathVariable String id,
+                        @Valid @RequestBody UpdateUserRequest request,
+                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		// El documento no se modifica: la actualización no lo escribe
 		final User user = new User(
 				null,
                                 request.username(),
@@ -171,86 +248,81 @@ public class UserController {
 				request.lastName(),
                                 request.email(),
                                 request.phone(),
-                                existingUser.documentType(),    
-                                existingUser.documentNumber(),
+                                null,
+                                null,
                                 request.address(),
 				request.status(),
-				request.birthDate());
+				request.birthDate(),
+                                EntityTags.expectedVersion(ifMatch));
                 final User updatedUser = updateUserUseCase.execute(id, user);
 
-                return new UserResponse(
-                                updatedUser.id(),
-                                updatedUser.username(),
-                                updatedUser.firstName(),
-                                updatedUser.lastName(),
-                                updatedUser.email(),
-                                updatedUser.phone(),
-                                updatedUser.documentType(),
-                                updatedUser.documentNumber(),
-                                updatedUser.address(),
-                                updatedUser.birthDate(),
-                                updatedUser.status());
+                return withETag(updatedUser);
         }
 
         @DeleteMapping("/{id}")
         @ResponseStatus(HttpStatus.NO_CONTENT)
         @Operation(
             summary = "Eliminar usuario",
-            description = "Realiza eliminación LÓGICA del usuario (soft delete). El usuario NO se elimina de la base de datos, solo cambia su estado a DELETED. El usuario no aparecerá en búsquedas por estado ACTIVE. IMPORTANTE: No se puede eliminar al usuario administrador del sistema. Ejemplo: DELETE /users/550e8400-e29b-41d4-a716-446655440000"
+            description = "Realiza eliminación LÓGICA del usuario (soft delete). El usuario NO se elimina de la base de datos, solo cambia su estado a DELETED. El usuario no aparecerá en búsquedas por estado ACTIVE. IMPORTANTE: No se puede eliminar al usuario administrador del sistema. Acepta If-Match igual que PUT. Ejemplo: DELETE /users/550e8400-e29b-41d4-a716-446655440000"
         )
         @ApiResponse(responseCode = "204", description = "Usuario eliminado exitosamente (sin contenido en respuesta)")
         @ApiResponse(responseCode = "400", description = "No se puede eliminar al usuario administrador")
         @ApiResponse(responseCode = "404", description = "Usuario no encontrado")
-        public void deleteById(@PathVariable String id) {
-                deleteUserUseCase.execute(id);
+        @ApiResponse(responseCode = "412", description = "El usuario cambió desde que se obtuvo la ETag enviada en If-Match")
+        public void deleteById(
+                        @PathVariable String id,
+                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+                deleteUserUseCase.execute(id, EntityTags.expectedVersion(ifMatch));
         }
 
         @PostMapping("/{id}/activate")
         @Operation(
             summary = "Activar usuario",
-            description = "Cambia el estado del usuario a ACTIVE. El usuario podrá ser encontrado en búsquedas. Ejemplo: POST /users/550e8400-e29b-41d4-a716-446655440000/activate"
+            description = "Cambia el estado del usuario a ACTIVE. El usuario podrá ser encontrado en búsquedas. Acepta If-Match igual que PUT. Ejemplo: POST /users/550e8400-e29b-41d4-a716-446655440000/activate"
         )
         @ApiResponse(responseCode = "200", description = "Usuario activado exitosamente. Retorna el usuario con estado ACTIVE")
         @ApiResponse(responseCode = "404", description = "Usuario no encontrado")
-        public UserResponse activateById(@PathVariable String id) {
-                final User activatedUser = activateUserUseCase.execute(id);
+        @ApiResponse(responseCode = "412", description = "El usuario cambió desde que se obtuvo la ETag enviada en If-Match")
+        public ResponseEntity<UserResponse> activateById(
+                        @PathVariable String id,
+                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+                final User activatedUser = activateUserUseCase.execute(id, EntityTags.expectedVersion(ifMatch));
 
-                return new UserResponse(
-                                activatedUser.id(),
-                                activatedUser.username(),
-                                activatedUser.firstName(),
-                                activatedUser.lastName(),
-                                activatedUser.email(),
-                                activatedUser.phone(),
-                                activatedUser.documentType(),
-                                activatedUser.documentNumber(),
-                                activatedUser.address(),
-                                activatedUser.birthDate(),
-                                activatedUser.status());
+                return withETag(activatedUser);
         }
 
         @PostMapping("/{id}/deactivate")
         @Operation(
             summary = "Desactivar usuario",
-            description = "Cambia el estado del usuario a INACTIVE. El usuario no aparecerá en búsquedas por estado ACTIVE. Ejemplo: POST /users/550e8400-e29b-41d4-a716-446655440000/deactivate"
+            description = "Cambia el estado del usuario a INACTIVE. El usuario no aparecerá en búsquedas por estado ACTIVE. Acepta If-Match igual que PUT. Ejemplo: POST /users/550e8400-e29b-41d4-a716-446655440000/deactivate"
         )
         @ApiResponse(responseCode = "200", description = "Usuario desactivado exitosamente. Retorna el usuario con estado INACTIVE")
         @ApiResponse(responseCode = "404", description = "Usuario no encontrado")
-        public UserResponse deactivateById(@PathVariable String id) {
-                final User deactivatedUser = deactivateUserUseCase.execute(id);
+        @ApiResponse(responseCode = "412", description = "El usuario cambió desde que se obtuvo la ETag enviada en If-Match")
+        public ResponseEntity<UserResponse> deactivateById(
+                        @PathVariable String id,
+                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+                final User deactivatedUser = deactivateUserUseCase.execute(id, EntityTags.expectedVersion(ifMatch));
 
-                return new UserResponse(
-                                deactivatedUser.id(),
-                                deactivatedUser.username(),
-                                deactivatedUser.firstName(),
-                                deactivatedUser.lastName(),
-                                deactivatedUser.email(),
-                                deactivatedUser.phone(),
-                                deactivatedUser.documentType(),
-                                deactivatedUser.documentNumber(),
-                                deactivatedUser.address(),
-                                deactivatedUser.birthDate(),
-                                deactivatedUser.status());
+                return withETag(deactivatedUser);
+        }
+
+        @PostMapping("/status")
+        @Operation(
+            summary = "Cambio masivo de estado",
+            description = "Cambia el estado de todos los usuarios que cumplen el filtro (mismos criterios que GET /users: lastName, documentNumber, status, birthDateFrom, birthDateTo; al menos uno obligatorio) mediante UPDATE por conjuntos en la base de datos, sin cargar los usuarios. El usuario administrador nunca se modifica. Los usuarios que ya tienen el estado destino no se cuentan. Ejemplo: POST /users/status con JSON: {\"lastName\":\"Garcia\",\"birthDateFrom\":\"1990-01-01\",\"birthDateTo\":\"2000-12-31\",\"newStatus\":\"INACTIVE\"}"
+        )
+        @ApiResponse(responseCode = "200", description = "Cambio aplicado. Retorna la cantidad de usuarios modificados")
+        @ApiResponse(responseCode = "400", description = "Filtro vacío o estado destino ausente/inválido")
+        public ChangeUsersStatusResponse changeStatus(@Valid @RequestBody ChangeUsersStatusRequest request) {
+                UserSearchFilter filter = new UserSearchFilter(
+                                request.lastName(),
+                                request.documentNumber(),
+                                request.status(),
+                                request.birthDateFrom(),
+                                request.birthDateTo());
+
+                return new ChangeUsersStatusResponse(changeUsersStatusUseCase.execute(filter, request.newStatus()));
         }
 
         @PostMapping("/{id}/password")
@@ -273,98 +345,92 @@ public class UserController {
         @GetMapping("/search/lastName")
         @Operation(
             summary = "Buscar usuarios por apellido",
-            description = "Busca usuarios filtrando por apellido (búsqueda parcial, case-insensitive) con paginación. Parámetros: lastName (String, requerido), status (UserStatus, default: ACTIVE), page (int, default: 0), size (int, default: 10, máximo: 100), sortField (UserSortField: ID/LAST_NAME/DOCUMENT_NUMBER, default: LAST_NAME), direction (SortDirection: ASC/DESC, default: ASC). Ejemplo: GET /users/search/lastName?lastName=Garcia&status=ACTIVE&page=0&size=10&sortField=LAST_NAME&direction=ASC"
+            description = "Busca usuarios filtrando por apellido (búsqueda parcial, case-insensitive) con paginación. Parámetros: lastName (String, requerido), status (UserStatus, default: ACTIVE), page (int, default: 0), size (int, default: 10, máximo: 100), sortField (UserSortField: ID/LAST_NAME/DOCUMENT_NUMBER, default: LAST_NAME), direction (SortDirection: ASC/DESC, default: ASC). Ejemplo: GET /users/search/lastName?lastName=Garcia&status=ACTIVE&page=0&size=10&sortField=LAST_NAME&direction=ASC. Paginación por cursor: cada respuesta incluye meta.nextCursor si hay más resultados; enviarlo como cursor (con el mismo sortField/direction) devuelve la página siguiente sin calcular totales y con costo constante sin importar la profundidad (page se ignora). count (EXACT/NONE/ESTIMATED, default: EXACT): NONE omite el COUNT y solo informa meta.hasNext; ESTIMATED además informa meta.estimatedTotalElements a partir de las estadísticas de la base cuando solo se filtra por estado. fields (String, opcional): lista separada por comas de los campos a devolver, p. ej. fields=id,username,lastName; solo esos campos se leen de la base de datos y se serializan (id se incluye siempre)."
         )
         @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente. Retorna lista paginada de usuarios")
-        public PageResponse<UserResponse> searchByLastName(
+        public PageResponse<?> searchByLastName(
                         @RequestParam String lastName,
                         @RequestParam(required = false, defaultValue = "ACTIVE") UserStatus status,
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size,
                         @RequestParam(required = false, defaultValue = "LAST_NAME") UserSortField sortField,
-                        @RequestParam(required = false, defaultValue = "ASC") SortDirection direction) {
+                        @RequestParam(required = false, defaultValue = "ASC") SortDirection direction,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false, defaultValue = "EXACT") CountMode count,
+                        @RequestParam(required = false) String fields) {
 
-                PageResult<User> result = getUsersByLastNameUseCase.execute(
-                                lastName,
-                                status,
-                                page,
-                                size,
-                                sortField,
-                                direction);
-
-                return new PageResponse<>(
-                                result.content().stream()
-                                                .map(u -> new UserResponse(
-                                                                u.id(),
-                                                                u.username(),
-                                                                u.firstName(),
-                                                                u.lastName(),
-                                                                u.email(),
-                                                                u.phone(),
-                                                                u.documentType(),
-                                                                u.documentNumber(),
-                                                                u.address(),
-                                                                u.birthDate(),
-                                                                u.status()))
-                                                .toList(),
-                                new PageMeta(
-                                                result.page(),
-                                                result.size(),
-                                                result.totalElements(),
-                                                result.totalPages()));
+                Set<UserField> selectedFields = UserField.parse(fields);
+
+                PageResult<User> result = cursor != null
+                                ? getUsersByLastNameUseCase.execute(
+                                                lastName,
+                                                status,
+                                                cursor,
+                                                size,
+                                                sortField,
+                                                direction,
+                                                selectedFields)
+                                : getUsersByLastNameUseCase.execute(
+                                                lastName,
+                                                status,
+                                                page,
+                                                size,
+                                                sortField,
+                                                direction,
+                                                count,
+                                                selectedFields);
+
+                return toPageResponse(result, selectedFields);
         }
 
         @GetMapping("/search/documentNumber")
         @Operation(
             summary = "Buscar usuarios por número de documento",
-            description = "Busca usuarios filtrando por número de documento (búsqueda parcial, case-insensitive) con paginación. Parámetros: documentNumber (String, requerido), status (UserStatus, default: ACTIVE), page (int, default: 0), size (int, default: 10, máximo: 100), sortField (UserSortField: ID/LAST_NAME/DOCUMENT_NUMBER, default: DOCUMENT_NUMBER), direction (SortDirection: ASC/DESC, default: ASC). Ejemplo: GET /users/search/documentNumber?documentNumber=12345&status=ACTIVE&page=0&size=10"
+            description = "Busca usuarios filtrando por número de documento (búsqueda parcial, case-insensitive) con paginación. Parámetros: documentNumber (String, requerido), status (UserStatus, default: ACTIVE), page (int, default: 0), size (int, default: 10, máximo: 100), sortField (UserSortField: ID/LAST_NAME/DOCUMENT_NUMBER, default: DOCUMENT_NUMBER), direction (SortDirection: ASC/DESC, default: ASC). Ejemplo: GET /users/search/documentNumber?documentNumber=12345&status=ACTIVE&page=0&size=10. Paginación por cursor: cada respuesta incluye meta.nextCursor si hay más resultados; enviarlo como cursor (con el mismo sortField/direction) devuelve la página siguiente sin calcular totales y con costo constante sin importar la profundidad (page se ignora). count (EXACT/NONE/ESTIMATED, default: EXACT): NONE omite el COUNT y solo informa meta.hasNext; ESTIMATED además informa meta.estimatedTotalElements a partir de las estadísticas de la base cuando solo se filtra por estado. fields (String, opcional): lista separada por comas de los campos a devolver, p. ej. fields=id,username,lastName; solo esos campos se leen de la base de datos y se serializan (id se incluye siempre)."
         )
         @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente. Retorna lista paginada de usuarios")
-        public PageResponse<UserResponse> searchByDocumentNumber(
+        public PageResponse<?> searchByDocumentNumber(
                         @RequestParam String documentNumber,
                         @RequestParam(required = false, defaultValue = "ACTIVE") UserStatus status,
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size,
                         @RequestParam(required = false, defaultValue = "DOCUMENT_NUMBER") UserSortField sortField,
-                        @RequestParam(required = false, defaultValue = "ASC") SortDirection direction) {
+                        @RequestParam(required = false, defaultValue = "ASC") SortDirection direction,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false, defaultValue = "EXACT") CountMode count,
+                        @RequestParam(required = false) String fields) {
 
-                PageResult<User> result = getUserByDocumentNumberUseCase.execute(
-                                documentNumber,
-                                status,
-                                page,
-                                size,
-                                sortField,
-                                direction);
-
-                return new PageResponse<>(
-                                result.content().stream()
-                                                .map(u -> new UserResponse(
-                                                                u.id(),
-                                                                u.username(),
-                                                                u.firstName(),
-                                                                u.lastName(),
-                                                                u.email(),
-                                                                u.phone(),
-                                                                u.documentType(),
-                                                                u.documentNumber(),
-                                                                u.address(),
-                                                                u.birthDate(),
-                                                                u.status()))
-                                                .toList(),
-                                new PageMeta(
-                                                result.page(),
-                                                result.size(),
-                                                result.totalElements(),
-                                                result.totalPages()));
+                Set<UserField> selectedFields = UserField.parse(fields);
+
+                PageResult<User> result = cursor != null
+                                ? getUserByDocumentNumberUseCase.execute(
+                                                documentNumber,
+                                                status,
+                                                cursor,
+                                                size,
+                                                sortField,
+                                                direction,
+                                                selectedFields)
+                                : getUserByDocumentNumberUseCase.execute(
+                                                documentNumber,
+                                                status,
+                                                page,
+                                                size,
+                                                sortField,
+                                                direction,
+                                                count,
+                                                selectedFields);
+
+                return toPageResponse(result, selectedFields);
         }
 
         @GetMapping
         @Operation(
             summary = "Búsqueda avanzada de usuarios",
-            description = "Búsqueda con múltiples criterios opcionales: apellido, número de documento, estado, rango de fecha de nacimiento. Parámetros: lastname (String, opcional), documentNumber (String, opcional), status (UserStatus, default: ACTIVE), birthDateFrom (LocalDate, formato: yyyy-MM-dd, opcional), birthDateTo (LocalDate, formato: yyyy-MM-dd, opcional), page (int, default: 0), size (int, default: 10, máximo: 100), sortField (UserSortField: ID/LAST_NAME/DOCUMENT_NUMBER, default: ID), direction (SortDirection: ASC/DESC, default: ASC). Ejemplo: GET /users?lastname=Garcia&documentNumber=123&status=ACTIVE&birthDateFrom=1990-01-01&birthDateTo=2000-12-31&page=0&size=10"
+            description = "Búsqueda con múltiples criterios opcionales: apellido, número de documento, estado, rango de fecha de nacimiento. Parámetros: lastname (String, opcional), documentNumber (String, opcional), status (UserStatus, default: ACTIVE), birthDateFrom (LocalDate, formato: yyyy-MM-dd, opcional), birthDateTo (LocalDate, formato: yyyy-MM-dd, opcional), page (int, default: 0), size (int, default: 10, máximo: 100), sortField (UserSortField: ID/LAST_NAME/DOCUMENT_NUMBER, default: ID), direction (SortDirection: ASC/DESC, default: ASC). Ejemplo: GET /users?lastname=Garcia&documentNumber=123&status=ACTIVE&birthDateFrom=1990-01-01&birthDateTo=2000-12-31&page=0&size=10. Paginación por cursor: cada respuesta incluye meta.nextCursor si hay más resultados; enviarlo como cursor (con el mismo sortField/direction) devuelve la página siguiente sin calcular totales y con costo constante sin importar la profundidad (page se ignora). count (EXACT/NONE/ESTIMATED, default: EXACT): NONE omite el COUNT y solo informa meta.hasNext; ESTIMATED además informa meta.estimatedTotalElements a partir de las estadísticas de la base cuando solo se filtra por estado. fields (String, opcional): lista separada por comas de los campos a devolver, p. ej. fields=id,username,lastName; solo esos campos se leen de la base de datos y se serializan (id se incluye siempre)."
         )
         @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente. Retorna lista paginada de usuarios")
-        public PageResponse<UserResponse> search(                        
+        public PageResponse<?> search(                        
                         @RequestParam(required = false) String lastName,
                         @RequestParam(required = false) String documentNumber,
                         @RequestParam(required = false, defaultValue = "ACTIVE") UserStatus status,
@@ -385,7 +451,12 @@ public class UserController {
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size,
                         @RequestParam(required = false, defaultValue = "ID") UserSortField sortField,
-                        @RequestParam(required = false, defaultValue = "ASC") SortDirection direction) {
+                        @RequestParam(required = false, defaultValue = "ASC") SortDirection direction,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false, defaultValue = "EXACT") CountMode count,
+                        @RequestParam(required = false) String fields) {
+
+                Set<UserField> selectedFields = UserField.parse(fields);
 
                 UserSearchFilter filter = new UserSearchFilter(                                
                                 lastName,
@@ -394,32 +465,183 @@ public class UserController {
                                 birthDateFrom,
                                 birthDateTo);
 
-                PageResult<User> result = searchUsersUseCase.execute(
-                                filter,
-                                page,
-                                size,
-                                sortField,
-                                direction);
-
-                return new PageResponse<>(
-                                result.content().stream()
-                                                .map(u -> new UserResponse(
-                                                                u.id(),
-                                                                u.username(),
-                                                                u.firstName(),
-                                                                u.lastName(),
-                                                                u.email(),
-                                                                u.phone(),
-                                                                u.documentType(),
-                                                                u.documentNumber(),
-                                                                u.address(),
-                                                                u.birthDate(),
-                                                                u.status()))
-                                                .toList(),
-                                new PageMeta(
-                                                result.page(),
-                                                result.size(),
-                                                result.totalElements(),
-                                                result.totalPages()));
+                PageResult<User> result = cursor != null
+                                ? searchUsersUseCase.execute(
+                                                filter,
+                                                cursor,
+                                                size,
+                                                sortField,
+                                                direction,
+                                                selectedFields)
+                                : searchUsersUseCase.execute(
+                                                filter,
+                                                page,
+                                                size,
+                                                sortField,
+                                                direction,
+                                                count,
+                                                selectedFields);
+
+                return toPageResponse(result, selectedFields);
+        }
+
+        @GetMapping("/export")
+        @Operation(
+            summary = "Exportar usuarios",
+            description = "Exporta todos los usuarios que cumplen los filtros (mismos criterios que GET /users, incluido status con default ACTIVE), ordenados por ID y sin límite de tamaño. El resultado se envía a medida que se lee de la base de datos: format=NDJSON (por defecto, un objeto JSON por línea) o format=CSV (con encabezado). Si Accept-Encoding acepta gzip (o x-gzip, o *) con q mayor que 0, la respuesta se comprime. Ejemplo: GET /users/export?status=ACTIVE&format=CSV"
+        )
+        @ApiResponse(responseCode = "200", description = "Exportación en curso. El cuerpo se transmite fila a fila")
+        @ApiResponse(responseCode = "400", description = "Parámetros inválidos: formato, estado o fechas")
+        public void export(
+                        @RequestParam(required = false) String lastName,
+                        @RequestParam(required = false) String documentNumber,
+                        @RequestParam(required = false, defaultValue = "ACTIVE") UserStatus status,
+                        @RequestParam(required = false)
+                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                        LocalDate birthDateFrom,
+                        @RequestParam(required = false)
+                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                        LocalDate birthDateTo,
+                        @RequestParam(required = false, defaultValue = "NDJSON") ExportFormat format,
+                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                        HttpServletResponse response) throws IOException {
+
+                UserSearchFilter filter = new UserSearchFilter(
+                                lastName,
+                                documentNumber,
+                                status,
+                                birthDateFrom,
+                                birthDateTo);
+
+                boolean gzip = ContentCodings.acceptsGzip(acceptEncoding);
+                response.setContentType(format.mediaType());
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + format.extension() + "\"");
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (gzip) {
+                        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                }
+
+                OutputStream out = gzip
+                                ? new GZIPOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE)
+                                : new BufferedOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE);
+                UserExportWriter writer = UserExportWriter.create(format, out, jsonMapper);
+                try {
+                        exportUsersUseCase.execute(filter, user -> {
+                                try {
+                                        writer.write(toResponse(user));
+                                } catch (IOException ex) {
+                                        throw new UncheckedIOException(ex);
+                                }
+                        });
+                } catch (RuntimeException | Error ex) {
+                        abortExport(response);
+                        throw ex;
+                }
+                writer.close();
+        }
+
+        /**
+         * Una exportación que falla a mitad de camino no se cierra: cerrar el writer escribiría el final del
+         * gzip (o del último renglón) y el cliente recibiría un archivo truncado que parece completo, con 200.
+         * Si todavía no se envió nada se descarta la respuesta y el error lo responde el manejador global;
+         * si ya se envió parte, la excepción llega al contenedor, que corta la conexión sin terminar el cuerpo.
+         */
+        private static void abortExport(HttpServletResponse response) {
+                if (!response.isCommitted()) {
+                        response.reset();
+                }
+        }
+
+        /**
+         * Mapea el usuario de dominio a la respuesta de la API (sin password).
+         */
+        static UserResponse toResponse(User user) {
+                return new UserResponse(
+                                user.id(),
+                                user.username(),
+                                user.firstName(),
+                                user.lastName(),
+                                user.email(),
+                                user.phone(),
+                                user.documentType(),
+                                user.documentNumber(),
+                                user.address(),
+                                user.birthDate(),
+                                user.status(),
+                                user.version());
+        }
+
+        /**
+         * Página con los usuarios completos o, si se pidió un subconjunto de campos, solo con esos campos.
+         */
+        private PageResponse<?> toPageResponse(PageResult<User> result, Set<UserField> fields) {
+                List<?> data = fields.containsAll(UserField.ALL)
+                                ? result.content().stream().map(UserController::toResponse).toList()
+                                : result.content().stream().map(user -> toSparseResponse(user, fields)).toList();
+                return new PageResponse<>(data, toPageMeta(result));
+        }
+
+        /**
+         * Usuario con solo los campos pedidos, en el mismo orden y con los mismos nombres que {@link UserResponse}.
+         * Los campos pedidos que no tienen valor se serializan como null, igual que en la respuesta completa.
+         */
+        static Map<String, Object> toSparseResponse(User user, Set<UserField> fields) {
+                Map<String, Object> response = new LinkedHashMap<>(fields.size() * 2);
+                for (UserField field : fields) {
+                        response.put(field.attribute(), switch (field) {
+                                case ID -> user.id();
+                                case USERNAME -> user.username();
+                                case FIRST_NAME -> user.firstName();
+                                case LAST_NAME -> user.lastName();
+                                case EMAIL -> user.email();
+                                case PHONE -> user.phone();
+                                case DOCUMENT_TYPE -> user.documentType();
+                                case DOCUMENT_NUMBER -> user.documentNumber();
+                                case ADDRESS -> user.address();
+                                case BIRTH_DATE -> user.birthDate();
+                                case STATUS -> user.status();
+                                case VERSION -> user.version();
+                        });
+                }
+                return response;
+        }
+
+        /**
+         * Respuesta 200 con el usuario y su ETag (versión), para usarla en If-Match.
+         */
+        private static ResponseEntity<UserResponse> withETag(User user) {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                String eTag = EntityTags.of(user);
+                if (eTag != null) {
+                        response.eTag(eTag);
+                }
+                return response.body(toResponse(user));
+        }
+
+        private User toUser(CreateUserRequest request) {
+                return new User(
+                                null,
+                                request.username(),
+                                request.firstName(),
+                                request.lastName(),
+                                request.email(),
+                                request.phone(),
+                                request.documentType(),
+                                request.documentNumber(),
+                                request.address(),
+                                null,
+                                request.birthDate());
+        }
+
+        private PageMeta toPageMeta(PageResult<?> result) {
+                return new PageMeta(
+                                result.page(),
+                                result.size(),
+                                result.hasNext(),
+                                result.totalElements(),
+                                result.totalPages(),
+                                result.estimatedTotalElements(),
+                                result.nextCursor());
         }
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package com.example.hexagonalarchitecture.users.infraestructure.controller.dto;
+
+import java.util.List;
+
+public record BatchCreateUsersResponse(
+    int created,
+    int failed,
+    List<BatchItemResponse> results
+) {}
@@ -0,0 +1,10 @@
+package com.example.hexagonalarchitecture.users.infraestructure.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResponse(
+    int index,
+    String id,
+    String error
+) {}
@@ -0,0 +1,18 @@
+package com.example.hexagonalarchitecture.users.infraestructure.controller.dto;
+
+import java.time.LocalDate;
+
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+
+import jakarta.validation.constraints.NotNull;
+
+public record ChangeUsersStatusRequest(
+    String lastName,
+    String documentNumber,
+    UserStatus status,
+    LocalDate birthDateFrom,
+    LocalDate birthDateTo,
+    @NotNull(message = "newStatus es obligatorio")
+    UserStatus newStatus
+) {
+}
@@ -0,0 +1,5 @@
+package com.example.hexagonalarchitecture.users.infraestructure.controller.dto;
+
+public record ChangeUsersStatusResponse(
+    long updated
+) {}
@@ -1,8 +1,14 @@
 package com.example.hexagonalarchitecture.users.infraestructure.controller.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PageMeta(
-    int page,
+    Integer page,
     int size,
-    long totalElements,
-    int totalPages
-) {}
\ No newline at end of file
+    boolean hasNext,
+    Long totalElements,
+    Integer totalPages,
+    Long estimatedTotalElements,
+    String nextCursor
+) {}
@@ -16,6 +16,7 @@ public record UserResponse(
     String documentNumber,
     String address,
     LocalDate birthDate,
-    UserStatus status
+    UserStatus status,
+    Long version
 ){
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.example.hexagonalarchitecture.users.infraestructure.controller.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.UserResponse;
+
+/**
+ * CSV (RFC 4180) con encabezado. Los valores con coma, comillas o saltos de línea se
+ * encierran entre comillas dobles; los valores null se escriben vacíos.
+ */
+class CsvUserExportWriter implements UserExportWriter {
+
+    static final String HEADER =
+            "id,username,firstName,lastName,email,phone,documentType,documentNumber,address,birthDate,status";
+
+    private final Writer writer;
+
+    CsvUserExportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            writer.write(HEADER);
+            writer.write("\r\n");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void write(UserResponse user) throws IOException {
+        field(user.id());
+        writer.write(',');
+        field(user.username());
+        writer.write(',');
+        field(user.firstName());
+        writer.write(',');
+        field(user.lastName());
+        writer.write(',');
+        field(user.email());
+        writer.write(',');
+        field(user.phone());
+        writer.write(',');
+        field(user.documentType() == null ? null : user.documentType().name());
+        writer.write(',');
+        field(user.documentNumber());
+        writer.write(',');
+        field(user.address());
+        writer.write(',');
+        field(user.birthDate() == null ? null : user.birthDate().toString());
+        writer.write(',');
+        field(user.status() == null ? null : user.status().name());
+        writer.write("\r\n");
+    }
+
+    private void field(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.hexagonalarchitecture.users.infraestructure.controller.export;
+
+/**
+ * Formatos de exportación de usuarios. Ambos se escriben fila a fila, sin envolver el
+ * resultado en un documento, para poder enviarlos a medida que se leen.
+ */
+public enum ExportFormat {
+    /** Un objeto JSON por línea (mismo formato que {@code UserResponse}). */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** CSV con encabezado, separado por comas (RFC 4180). */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
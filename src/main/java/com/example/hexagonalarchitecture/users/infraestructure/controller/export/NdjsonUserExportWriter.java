@@ -0,0 +1,39 @@
+package com.example.hexagonalarchitecture.users.infraestructure.controller.export;
+
+import java.io.OutputStream;
+
+import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.UserResponse;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+
+/**
+ * NDJSON: un objeto por línea. Reutiliza un único generador JSON para toda la exportación.
+ */
+class NdjsonUserExportWriter implements UserExportWriter {
+
+    private final ObjectWriter objectWriter;
+    private final JsonGenerator generator;
+
+    NdjsonUserExportWriter(OutputStream out, ObjectMapper objectMapper) {
+        // Sin separador raíz: el salto de línea lo escribe write() después de cada objeto.
+        // Sin flush por fila: el buffer de salida decide cuándo se envía (y se confirma) la respuesta
+        this.objectWriter = objectMapper.writerFor(UserResponse.class)
+                .withRootValueSeparator((String) null)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectWriter.createGenerator(out);
+    }
+
+    @Override
+    public void write(UserResponse user) {
+        objectWriter.writeValue(generator, user);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() {
+        generator.close();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.hexagonalarchitecture.users.infraestructure.controller.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.example.hexagonalarchitecture.users.infraestructure.controller.dto.UserResponse;
+
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Escritor incremental de una exportación: cada usuario se serializa directamente sobre la
+ * salida, sin construir el documento completo en memoria.
+ */
+public interface UserExportWriter extends Closeable {
+
+    void write(UserResponse user) throws IOException;
+
+    /**
+     * Crea el escritor del formato pedido sobre la salida dada. Cerrar el escritor cierra la salida.
+     */
+    static UserExportWriter create(ExportFormat format, OutputStream out, ObjectMapper objectMapper) {
+        return switch (format) {
+            case NDJSON -> new NdjsonUserExportWriter(out, objectMapper);
+            case CSV -> new CsvUserExportWriter(out);
+        };
+    }
+}
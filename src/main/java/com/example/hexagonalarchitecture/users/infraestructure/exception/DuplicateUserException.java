@@ -0,0 +1,44 @@
+package com.example.hexagonalarchitecture.users.infraestructure.exception;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.example.hexagonalarchitecture.users.application.common.UserUniqueField;
+
+/**
+ * Excepción de persistencia que indica que un alta de usuario chocó con una clave única existente.
+ * <p>
+ * Propósito: Informar qué campos (username, email, documento) ya están en uso cuando la inserción
+ * se resuelve con detección de conflictos en la base de datos, sin consultas previas de existencia.
+ * El conjunto puede estar vacío si el registro en conflicto desapareció antes de poder identificarlo.
+ * <p>
+ * Manejo: {@link com.example.hexagonalarchitecture.users.application.port.in.CreateUserUseCase} la traduce
+ * a {@link ValidationException} con el mensaje del campo correspondiente; si llega al controlador, ver
+ * {@link com.example.hexagonalarchitecture.users.infraestructure.controller.GlobalExceptionHandler#handleDuplicateUser}.
+ */
+public class DuplicateUserException extends RuntimeException {
+
+    private final Set<UserUniqueField> conflicts;
+
+    /**
+     * Constructor con los campos en conflicto.
+     * 
+     * @param conflicts campos únicos que ya existen en otro usuario
+     */
+    public DuplicateUserException(Set<UserUniqueField> conflicts) {
+        super("Ya existe un usuario con los datos proporcionados: " + conflicts);
+        this.conflicts = conflicts.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(conflicts));
+    }
+
+    /**
+     * Campos en conflicto, en orden de {@link UserUniqueField}.
+     * 
+     * @return conjunto inmutable de campos duplicados
+     */
+    public Set<UserUniqueField> getConflicts() {
+        return conflicts;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.hexagonalarchitecture.users.infraestructure.exception;
+
+/**
+ * Excepción de infraestructura que indica que no hay capacidad para hashear o verificar contraseñas.
+ * <p>
+ * Propósito: Señalar que el pool dedicado a BCrypt está saturado (cola llena) o que la operación
+ * no terminó dentro del tiempo máximo de espera. Es transitoria: el cliente puede reintentar.
+ * <p>
+ * Manejo: Ver {@link com.example.hexagonalarchitecture.users.infraestructure.controller.GlobalExceptionHandler#handlePasswordHashingUnavailable}
+ * para detalles sobre la respuesta HTTP y formato de error.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    /**
+     * Constructor con mensaje y causa original.
+     * 
+     * @param message mensaje descriptivo del error
+     * @param cause rechazo del pool o timeout de espera
+     */
+    public PasswordHashingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
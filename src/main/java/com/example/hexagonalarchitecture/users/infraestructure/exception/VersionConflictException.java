@@ -0,0 +1,23 @@
+package com.example.hexagonalarchitecture.users.infraestructure.exception;
+
+/**
+ * Excepción de persistencia que indica que una escritura condicional no se aplicó porque la
+ * versión esperada del usuario ya no es la actual (otro cliente lo modificó entretanto).
+ * <p>
+ * Propósito: Implementar control de concurrencia optimista sin locks: cada escritura es un único
+ * UPDATE condicionado a la versión leída, y si la fila cambió no se sobrescribe.
+ * <p>
+ * Manejo: Ver {@link com.example.hexagonalarchitecture.users.infraestructure.controller.GlobalExceptionHandler#handleVersionConflict}
+ * para detalles sobre la respuesta HTTP y formato de error.
+ */
+public class VersionConflictException extends RuntimeException {
+
+    /**
+     * Constructor con mensaje descriptivo.
+     * 
+     * @param message mensaje con la versión esperada y, si se conoce, la actual
+     */
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,730 @@
+package com.example.hexagonalarchitecture.users.infraestructure.memory;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.example.hexagonalarchitecture.users.application.common.PageResult;
+import com.example.hexagonalarchitecture.users.application.common.SortDirection;
+import com.example.hexagonalarchitecture.users.application.common.UserCursor;
+import com.example.hexagonalarchitecture.users.application.common.UserField;
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.application.common.UserSortField;
+import com.example.hexagonalarchitecture.users.application.common.UserUniqueField;
+import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.application.port.out.UserWithPassword;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.DuplicateUserException;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.VersionConflictException;
+
+/**
+ * Implementación de {@link UserRepositoryPort} en memoria, sobre mapas concurrentes, con la misma
+ * semántica que {@code JpaUserRepositoryAdapter} (verificada por el mismo test de contrato).
+ * <p>
+ * Índices:
+ * - Usuarios por ID en un {@link ConcurrentSkipListMap}: es a la vez el índice de orden por ID
+ * - Únicos (hash) por username, email y número de documento: valor → ID
+ * - Ordenados por cada {@link UserSortField} distinto de ID: (valor, ID) con los nulls aparte, al final
+ * - Por estado: IDs de cada {@link UserStatus}
+ * <p>
+ * Las lecturas no toman locks: recorren el índice que corresponde al orden pedido y verifican cada
+ * candidato contra la versión actual del usuario, así una fila que cambia durante el recorrido no se
+ * devuelve con datos viejos ni fuera de orden. Las escrituras se serializan con un único lock, que hace
+ * atómicos la verificación de unicidad y la actualización de todos los índices.
+ * <p>
+ * Cada escritura pasa primero por el {@link UserChangeLog} (p. ej. {@link UserSnapshotPersistence}, que
+ * la agrega a un journal para poder restaurar el estado al reiniciar).
+ * <p>
+ * Los textos se comparan con {@link String#compareTo} (como H2; en PostgreSQL depende de la collation).
+ */
+public class InMemoryUserRepositoryAdapter implements UserRepositoryPort {
+
+    /**
+     * Con filtro por estado, se parte del índice de estado (y se ordena) si tiene menos de
+     * 1/{@code STATUS_INDEX_RATIO} de los usuarios; si no, conviene recorrer el índice de orden.
+     */
+    private static final int STATUS_INDEX_RATIO = 4;
+
+    private final ConcurrentSkipListMap<String, UserRecord> usersById = new ConcurrentSkipListMap<>();
+    private final Map<UserUniqueField, Map<String, String>> uniqueIndexes = new EnumMap<>(UserUniqueField.class);
+    private final Map<UserSortField, SortedIndex> sortedIndexes = new EnumMap<>(UserSortField.class);
+    private final Map<UserStatus, Set<String>> idsByStatus = new EnumMap<>(UserStatus.class);
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final UserChangeLog changeLog;
+
+    public InMemoryUserRepositoryAdapter() {
+        this(UserChangeLog.NONE);
+    }
+
+    /**
+     * @param changeLog recibe cada escritura antes de aplicarla, p. ej. para persistirla en un journal
+     */
+    public InMemoryUserRepositoryAdapter(UserChangeLog changeLog) {
+        this.changeLog = changeLog;
+        for (UserUniqueField field : UserUniqueField.values()) {
+            uniqueIndexes.put(field, new ConcurrentHashMap<>());
+        }
+        for (UserSortField field : UserSortField.values()) {
+            if (field != UserSortField.ID) {
+                sortedIndexes.put(field, new SortedIndex());
+            }
+        }
+        for (UserStatus status : UserStatus.values()) {
+            idsByStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Carga un usuario tal cual (alta o reemplazo, con su ID y versión), sin pasar por el
+     * {@link UserChangeLog} ni verificar unicidad: para reconstruir el estado desde un snapshot o journal.
+     */
+    public void restore(UserRecord record) {
+        writeLock.lock();
+        try {
+            apply(usersById.get(record.user().id()), record);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Copia consistente de todos los usuarios. {@code atomically} corre con las escrituras detenidas,
+     * justo antes de copiar (p. ej. para marcar en el journal el punto que cubre la copia); la copia
+     * solo toma referencias a registros inmutables, así las escrituras quedan detenidas muy poco.
+     */
+    public List<UserRecord> capture(Runnable atomically) {
+        writeLock.lock();
+        try {
+            atomically.run();
+            return List.copyOf(usersById.values());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public User create(User user, String hashedPassword) {
+        writeLock.lock();
+        try {
+            Set<UserUniqueField> conflicts = findConflicts(user.username(), user.email(), user.documentNumber());
+            if (!conflicts.isEmpty()) {
+                throw new DuplicateUserException(conflicts);
+            }
+            return insert(user, hashedPassword);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Todo o nada, como el lote JDBC: si alguna clave única ya existe (o se repite dentro del lote)
+     * no se inserta ningún usuario.
+     */
+    @Override
+    public List<User> createAll(List<UserWithPassword> users) {
+        writeLock.lock();
+        try {
+            Set<UserUniqueField> conflicts = EnumSet.noneOf(UserUniqueField.class);
+            Map<UserUniqueField, Set<String>> seen = new EnumMap<>(UserUniqueField.class);
+            for (UserUniqueField field : UserUniqueField.values()) {
+                seen.put(field, new HashSet<>());
+            }
+            for (UserWithPassword item : users) {
+                for (UserUniqueField field : UserUniqueField.values()) {
+                    String value = uniqueValue(field, item.user());
+                    if (value != null && (uniqueIndexes.get(field).containsKey(value) || !seen.get(field).add(value))) {
+                        conflicts.add(field);
+                    }
+                }
+            }
+            if (!conflicts.isEmpty()) {
+                throw new DuplicateUserException(conflicts);
+            }
+            return users.stream()
+                    .map(item -> insert(item.user(), item.passwordHash()))
+                    .toList();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public User update(User user, String passwordHash) {
+        writeLock.lock();
+        try {
+            UserRecord current = requireVersion(user.id(), user.version());
+            return replace(current, withVersion(user, current.user().version() + 1), passwordHash).user();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Conserva el documento y la password actuales, como el UPDATE de perfil.
+     */
+    @Override
+    public User updateProfile(User user) {
+        writeLock.lock();
+        try {
+            UserRecord current = requireVersion(user.id(), user.version());
+            User updated = new User(
+                    user.id(),
+                    user.username(),
+                    user.firstName(),
+                    user.lastName(),
+                    user.email(),
+                    user.phone(),
+                    current.user().documentType(),
+                    current.user().documentNumber(),
+                    user.address(),
+                    user.status(),
+                    user.birthDate(),
+                    current.user().version() + 1);
+            return replace(current, updated, current.passwordHash()).user();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public User updatePassword(String id, String passwordHash, Long expectedVersion) {
+        writeLock.lock();
+        try {
+            UserRecord current = requireVersion(id, expectedVersion);
+            return replace(current, withVersion(current.user(), current.user().version() + 1), passwordHash).user();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<User> updateStatus(
+            String id, UserStatus status, Set<String> protectedUsernames, Long expectedVersion) {
+        writeLock.lock();
+        try {
+            UserRecord current = requireVersion(id, expectedVersion);
+            if (protectedUsernames.contains(current.user().username())) {
+                return Optional.empty();
+            }
+            return Optional.of(replace(current, withStatus(current.user(), status), current.passwordHash()).user());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public long updateStatusWhere(UserSearchFilter filter, UserStatus status, Set<String> protectedUsernames) {
+        writeLock.lock();
+        try {
+            List<UserRecord> cohort = usersById.values().stream()
+                    .filter(stored -> stored.user().status() != status
+                            && !protectedUsernames.contains(stored.user().username())
+                            && matches(stored.user(), filter))
+                    .toList();
+            cohort.forEach(stored -> replace(stored, withStatus(stored.user(), status), stored.passwordHash()));
+            return cohort.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<User> findById(String id) {
+        return Optional.of(require(id).user());
+    }
+
+    @Override
+    public Optional<Long> findVersionById(String id) {
+        return Optional.ofNullable(usersById.get(id)).map(stored -> stored.user().version());
+    }
+
+    @Override
+    public UserWithPassword findByIdWithPassword(String id) {
+        UserRecord stored = require(id);
+        return new UserWithPassword(stored.user(), stored.passwordHash());
+    }
+
+    @Override
+    public PageResult<User> search(
+            UserSearchFilter filter,
+            int page,
+            int size,
+            UserSortField sortField,
+            SortDirection direction,
+            Set<UserField> fields) {
+        long offset = (long) page * size;
+        List<User> users = select(filter, null, sortField, direction, offset, size);
+        long total = users.size() < size && (page == 0 || !users.isEmpty())
+                ? offset + users.size()
+                : count(filter);
+        int totalPages = (int) ((total + size - 1) / size);
+        boolean hasNext = page + 1 < totalPages;
+        return PageResult.counted(
+                project(users, fields, sortField),
+                page,
+                size,
+                total,
+                totalPages,
+                nextCursor(users, hasNext, sortField, direction));
+    }
+
+    @Override
+    public PageResult<User> searchSlice(
+            UserSearchFilter filter,
+            int page,
+            int size,
+            UserSortField sortField,
+            SortDirection direction,
+            Set<UserField> fields) {
+        List<User> rows = select(filter, null, sortField, direction, (long) page * size, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<User> users = hasNext ? rows.subList(0, size) : rows;
+        return PageResult.slice(
+                project(users, fields, sortField),
+                page,
+                size,
+                hasNext,
+                null,
+                nextCursor(users, hasNext, sortField, direction));
+    }
+
+    /**
+     * Sin filtros o solo por estado, el tamaño del índice correspondiente es el total exacto.
+     */
+    @Override
+    public OptionalLong estimateCount(UserSearchFilter filter) {
+        if (filter.lastName() != null
+                || filter.documentNumber() != null
+                || filter.birthDateFrom() != null
+                || filter.birthDateTo() != null) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(filter.status() == null
+                ? usersById.size()
+                : idsByStatus.get(filter.status()).size());
+    }
+
+    @Override
+    public PageResult<User> searchAfter(
+            UserSearchFilter filter,
+            UserCursor cursor,
+            int size,
+            UserSortField sortField,
+            SortDirection direction,
+            Set<UserField> fields) {
+        List<User> rows = select(filter, cursor, sortField, direction, 0, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<User> users = hasNext ? rows.subList(0, size) : rows;
+        return PageResult.keyset(
+                project(users, fields, sortField),
+                size,
+                nextCursor(users, hasNext, sortField, direction));
+    }
+
+    @Override
+    public long streamAll(UserSearchFilter filter, Consumer<User> consumer) {
+        long count = 0;
+        for (UserRecord stored : usersById.values()) {
+            if (matches(stored.user(), filter)) {
+                consumer.accept(stored.user());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public Set<UserUniqueField> findConflicts(String username, String email, String documentNumber) {
+        Set<UserUniqueField> conflicts = EnumSet.noneOf(UserUniqueField.class);
+        addIfInUse(conflicts, UserUniqueField.USERNAME, username);
+        addIfInUse(conflicts, UserUniqueField.EMAIL, email);
+        addIfInUse(conflicts, UserUniqueField.DOCUMENT_NUMBER, documentNumber);
+        return conflicts;
+    }
+
+    @Override
+    public Map<UserUniqueField, Set<String>> findUniqueKeysInUse(
+            Collection<String> usernames,
+            Collection<String> emails,
+            Collection<String> documentNumbers) {
+        Map<UserUniqueField, Set<String>> inUse = new EnumMap<>(UserUniqueField.class);
+        inUse.put(UserUniqueField.USERNAME, valuesInUse(UserUniqueField.USERNAME, usernames));
+        inUse.put(UserUniqueField.EMAIL, valuesInUse(UserUniqueField.EMAIL, emails));
+        inUse.put(UserUniqueField.DOCUMENT_NUMBER, valuesInUse(UserUniqueField.DOCUMENT_NUMBER, documentNumbers));
+        return inUse;
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return username != null && uniqueIndexes.get(UserUniqueField.USERNAME).containsKey(username);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return email != null && uniqueIndexes.get(UserUniqueField.EMAIL).containsKey(email);
+    }
+
+    @Override
+    public boolean existsByDocumentNumber(String documentNumber) {
+        return documentNumber != null && uniqueIndexes.get(UserUniqueField.DOCUMENT_NUMBER).containsKey(documentNumber);
+    }
+
+    /**
+     * Usuarios que cumplen el filtro, en el orden pedido, después del cursor (si hay) y a partir de
+     * {@code offset}. Con filtro por un estado poco frecuente se parte de sus IDs y se ordenan; si no,
+     * se recorre el índice del campo de orden, que ya entrega las filas ordenadas y permite cortar
+     * apenas se completa la página.
+     */
+    private List<User> select(
+            UserSearchFilter filter,
+            UserCursor cursor,
+            UserSortField sortField,
+            SortDirection direction,
+            long offset,
+            int limit) {
+        boolean ascending = direction == SortDirection.ASC;
+        String afterValue = cursor != null ? cursor.value() : null;
+        String afterId = cursor != null ? cursor.id() : null;
+
+        Stream<User> ordered;
+        if (filter.status() != null
+                && (long) idsByStatus.get(filter.status()).size() * STATUS_INDEX_RATIO < usersById.size()) {
+            Comparator<User> order = (a, b) -> compareKeys(
+                    sortValue(a, sortField), a.id(), sortValue(b, sortField), b.id(), ascending);
+            ordered = idsByStatus.get(filter.status()).stream()
+                    .map(usersById::get)
+                    .filter(Objects::nonNull)
+                    .map(UserRecord::user)
+                    .filter(user -> afterId == null
+                            || compareKeys(sortValue(user, sortField), user.id(), afterValue, afterId, ascending) > 0)
+                    .sorted(order);
+        } else {
+            ordered = scanInOrder(sortField, ascending, afterValue, afterId);
+        }
+        return ordered
+                .filter(user -> matches(user, filter))
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Recorre el índice del campo de orden desde la posición del cursor. Cada entrada se resuelve
+     * contra el usuario actual y se descarta si su valor ya no es el del índice (cambió durante el
+     * recorrido: aparece en su nueva posición).
+     */
+    private Stream<User> scanInOrder(UserSortField sortField, boolean ascending, String afterValue, String afterId) {
+        if (sortField == UserSortField.ID) {
+            NavigableSet<String> ids = ascending ? usersById.navigableKeySet() : usersById.descendingKeySet();
+            return (afterId == null ? ids : ids.tailSet(afterId, false)).stream()
+                    .map(usersById::get)
+                    .filter(Objects::nonNull)
+                    .map(UserRecord::user);
+        }
+
+        SortedIndex index = sortedIndexes.get(sortField);
+        NavigableSet<SortKey> values = ascending ? index.values : index.values.descendingSet();
+        NavigableSet<String> nullValues = ascending ? index.nullValues : index.nullValues.descendingSet();
+        Stream<SortKey> keys;
+        if (afterId == null) {
+            keys = Stream.concat(values.stream(), nullValues.stream().map(id -> new SortKey(null, id)));
+        } else if (afterValue != null) {
+            keys = Stream.concat(
+                    values.tailSet(new SortKey(afterValue, afterId), false).stream(),
+                    nullValues.stream().map(id -> new SortKey(null, id)));
+        } else {
+            // El cursor ya está en la cola de nulls
+            keys = nullValues.tailSet(afterId, false).stream().map(id -> new SortKey(null, id));
+        }
+        return keys.map(key -> {
+            UserRecord stored = usersById.get(key.id());
+            return stored != null && Objects.equals(sortValue(stored.user(), sortField), key.value())
+                    ? stored.user()
+                    : null;
+        }).filter(Objects::nonNull);
+    }
+
+    private long count(UserSearchFilter filter) {
+        OptionalLong exact = estimateCount(filter);
+        if (exact.isPresent()) {
+            return exact.getAsLong();
+        }
+        return usersById.values().stream()
+                .filter(stored -> matches(stored.user(), filter))
+                .count();
+    }
+
+    /**
+     * Los mismos criterios que {@code UserSpecifications}: textos contenidos sin distinguir mayúsculas
+     * y rango de fechas inclusivo; un criterio sobre un valor null no se cumple.
+     */
+    private static boolean matches(User user, UserSearchFilter filter) {
+        return contains(user.lastName(), filter.lastName())
+                && contains(user.documentNumber(), filter.documentNumber())
+                && (filter.status() == null || filter.status() == user.status())
+                && (filter.birthDateFrom() == null
+                        || user.birthDate() != null && !user.birthDate().isBefore(filter.birthDateFrom()))
+                && (filter.birthDateTo() == null
+                        || user.birthDate() != null && !user.birthDate().isAfter(filter.birthDateTo()));
+    }
+
+    private static boolean contains(String value, String search) {
+        if (search == null) {
+            return true;
+        }
+        return value != null && value.toLowerCase(Locale.ROOT).contains(search.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Orden (valor, id) en la dirección pedida, con los valores null al final en ambas direcciones,
+     * igual que {@code ORDER BY campo NULLS LAST, id}.
+     */
+    private static int compareKeys(String value, String id, String otherValue, String otherId, boolean ascending) {
+        if (value == null || otherValue == null) {
+            if (value != otherValue) {
+                return value == null ? 1 : -1;
+            }
+        } else {
+            int byValue = value.compareTo(otherValue);
+            if (byValue != 0) {
+                return ascending ? byValue : -byValue;
+            }
+        }
+        int byId = id.compareTo(otherId);
+        return ascending ? byId : -byId;
+    }
+
+    private static String sortValue(User user, UserSortField sortField) {
+        return switch (sortField) {
+            case ID -> user.id();
+            case LAST_NAME -> user.lastName();
+            case DOCUMENT_NUMBER -> user.documentNumber();
+        };
+    }
+
+    private String nextCursor(List<User> users, boolean hasNext, UserSortField sortField, SortDirection direction) {
+        return hasNext && !users.isEmpty()
+                ? UserCursor.after(users.get(users.size() - 1), sortField, direction).encode()
+                : null;
+    }
+
+    /**
+     * Deja en null los campos no pedidos (como la proyección del adaptador JPA, que no los lee).
+     */
+    private static List<User> project(List<User> users, Set<UserField> fields, UserSortField sortField) {
+        if (fields.containsAll(UserField.ALL)) {
+            return users;
+        }
+        Set<UserField> read = UserField.withSortKeys(fields, sortField);
+        return users.stream()
+                .map(user -> new User(
+                        read.contains(UserField.ID) ? user.id() : null,
+                        read.contains(UserField.USERNAME) ? user.username() : null,
+                        read.contains(UserField.FIRST_NAME) ? user.firstName() : null,
+                        read.contains(UserField.LAST_NAME) ? user.lastName() : null,
+                        read.contains(UserField.EMAIL) ? user.email() : null,
+                        read.contains(UserField.PHONE) ? user.phone() : null,
+                        read.contains(UserField.DOCUMENT_TYPE) ? user.documentType() : null,
+                        read.contains(UserField.DOCUMENT_NUMBER) ? user.documentNumber() : null,
+                        read.contains(UserField.ADDRESS) ? user.address() : null,
+                        read.contains(UserField.STATUS) ? user.status() : null,
+                        read.contains(UserField.BIRTH_DATE) ? user.birthDate() : null,
+                        read.contains(UserField.VERSION) ? user.version() : null))
+                .toList();
+    }
+
+    private UserRecord require(String id) {
+        UserRecord stored = usersById.get(id);
+        if (stored == null) {
+            throw new EntityNotFoundException("Usuario no encontrado con id: " + id);
+        }
+        return stored;
+    }
+
+    private UserRecord requireVersion(String id, Long expectedVersion) {
+        UserRecord stored = require(id);
+        Long current = stored.user().version();
+        if (expectedVersion != null && !expectedVersion.equals(current)) {
+            throw new VersionConflictException("El usuario " + id + " fue modificado: versión esperada "
+                    + expectedVersion + ", actual " + current);
+        }
+        return stored;
+    }
+
+    private User insert(User user, String passwordHash) {
+        User created = new User(
+                UUID.randomUUID().toString(),
+                user.username(),
+                user.firstName(),
+                user.lastName(),
+                user.email(),
+                user.phone(),
+                user.documentType(),
+                user.documentNumber(),
+                user.address(),
+                user.status(),
+                user.birthDate(),
+                0L);
+        UserRecord stored = new UserRecord(created, passwordHash);
+        changeLog.append(stored);
+        usersById.put(created.id(), stored);
+        index(created);
+        return created;
+    }
+
+    /**
+     * Reemplaza un usuario verificando la unicidad de las claves que cambian. Un lector concurrente
+     * puede ver las entradas de índice viejas y nuevas, pero la verificación contra el usuario actual
+     * descarta la que ya no corresponde.
+     */
+    private UserRecord replace(UserRecord current, User updated, String passwordHash) {
+        Set<UserUniqueField> conflicts = EnumSet.noneOf(UserUniqueField.class);
+        for (UserUniqueField field : UserUniqueField.values()) {
+            String value = uniqueValue(field, updated);
+            String owner = value != null ? uniqueIndexes.get(field).get(value) : null;
+            if (owner != null && !owner.equals(updated.id())) {
+                conflicts.add(field);
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            throw new DuplicateUserException(conflicts);
+        }
+
+        UserRecord stored = new UserRecord(updated, passwordHash);
+        changeLog.append(stored);
+        apply(current, stored);
+        return stored;
+    }
+
+    /**
+     * Primero se agregan las entradas nuevas de los índices y luego se quitan las viejas.
+     */
+    private void apply(UserRecord current, UserRecord stored) {
+        index(stored.user());
+        usersById.put(stored.user().id(), stored);
+        if (current != null) {
+            unindexChanged(current.user(), stored.user());
+        }
+    }
+
+    private void index(User user) {
+        for (UserUniqueField field : UserUniqueField.values()) {
+            String value = uniqueValue(field, user);
+            if (value != null) {
+                uniqueIndexes.get(field).put(value, user.id());
+            }
+        }
+        sortedIndexes.forEach((field, index) -> index.add(sortValue(user, field), user.id()));
+        idsByStatus.get(user.status()).add(user.id());
+    }
+
+    private void unindexChanged(User previous, User updated) {
+        for (UserUniqueField field : UserUniqueField.values()) {
+            String value = uniqueValue(field, previous);
+            if (value != null && !value.equals(uniqueValue(field, updated))) {
+                uniqueIndexes.get(field).remove(value, previous.id());
+            }
+        }
+        sortedIndexes.forEach((field, index) -> {
+            String value = sortValue(previous, field);
+            if (!Objects.equals(value, sortValue(updated, field))) {
+                index.remove(value, previous.id());
+            }
+        });
+        if (previous.status() != updated.status()) {
+            idsByStatus.get(previous.status()).remove(previous.id());
+        }
+    }
+
+    private static String uniqueValue(UserUniqueField field, User user) {
+        return switch (field) {
+            case USERNAME -> user.username();
+            case EMAIL -> user.email();
+            case DOCUMENT_NUMBER -> user.documentNumber();
+        };
+    }
+
+    private void addIfInUse(Set<UserUniqueField> conflicts, UserUniqueField field, String value) {
+        if (value != null && uniqueIndexes.get(field).containsKey(value)) {
+            conflicts.add(field);
+        }
+    }
+
+    private Set<String> valuesInUse(UserUniqueField field, Collection<String> values) {
+        Map<String, String> index = uniqueIndexes.get(field);
+        Set<String> inUse = new HashSet<>();
+        for (String value : values) {
+            if (value != null && index.containsKey(value)) {
+                inUse.add(value);
+            }
+        }
+        return inUse;
+    }
+
+    private static User withVersion(User user, long version) {
+        return new User(user.id(), user.username(), user.firstName(), user.lastName(), user.email(),
+                user.phone(), user.documentType(), user.documentNumber(), user.address(), user.status(),
+                user.birthDate(), version);
+    }
+
+    private static User withStatus(User user, UserStatus status) {
+        return new User(user.id(), user.username(), user.firstName(), user.lastName(), user.email(),
+                user.phone(), user.documentType(), user.documentNumber(), user.address(), status,
+                user.birthDate(), user.version() + 1);
+    }
+
+    /**
+     * Entrada (valor, id) de un índice ordenado; {@code value} es null solo en las entradas que se
+     * generan al recorrer la cola de nulls.
+     */
+    private record SortKey(String value, String id) {
+    }
+
+    /**
+     * Índice ordenado de un campo: pares (valor, id) no nulos en un skip list, y los IDs con valor null
+     * aparte, para recorrerlos siempre al final.
+     */
+    private static final class SortedIndex {
+
+        private static final Comparator<SortKey> ORDER =
+                Comparator.comparing(SortKey::value).thenComparing(SortKey::id);
+
+        private final ConcurrentSkipListSet<SortKey> values = new ConcurrentSkipListSet<>(ORDER);
+        private final ConcurrentSkipListSet<String> nullValues = new ConcurrentSkipListSet<>();
+
+        void add(String value, String id) {
+            if (value == null) {
+                nullValues.add(id);
+            } else {
+                values.add(new SortKey(value, id));
+            }
+        }
+
+        void remove(String value, String id) {
+            if (value == null) {
+                nullValues.remove(id);
+            } else {
+                values.remove(new SortKey(value, id));
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.hexagonalarchitecture.users.infraestructure.memory;
+
+/**
+ * Destino de cada escritura de {@link InMemoryUserRepositoryAdapter}, invocado antes de aplicarla
+ * (write-ahead) y en el orden en que se aplican.
+ */
+@FunctionalInterface
+public interface UserChangeLog {
+
+    /**
+     * Sin persistencia: los cambios solo viven en memoria.
+     */
+    UserChangeLog NONE = record -> {
+    };
+
+    /**
+     * Registra el estado completo de un usuario después de una escritura (alta o modificación).
+     * Si falla, la escritura no se aplica.
+     */
+    void append(UserRecord record);
+}
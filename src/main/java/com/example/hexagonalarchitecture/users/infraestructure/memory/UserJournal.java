@@ -0,0 +1,275 @@
+package com.example.hexagonalarchitecture.users.infraestructure.memory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Journal de cambios del almacén en memoria: cada escritura se agrega con un número de secuencia
+ * creciente, así al reiniciar solo se reaplican los cambios posteriores al último snapshot.
+ * <p>
+ * Se divide en segmentos {@code journal-<primera secuencia>.log}: se abre uno nuevo en cada snapshot
+ * ({@link #roll()}) o al superar {@link #MAX_SEGMENT_SIZE}, y los segmentos que el snapshot ya cubre se
+ * borran. Cada segmento tiene un encabezado de 8 bytes (magic, versión de formato) y luego entradas
+ * {@code [largo][crc32][secuencia][registro]}, con el CRC calculado sobre secuencia y registro.
+ * <p>
+ * Un corte durante una escritura deja una entrada incompleta al final del último segmento: al
+ * recuperar, la lectura se detiene ahí y el segmento se recorta. Un segmento anterior dañado, en
+ * cambio, es un error: significaría perder cambios que no están en ningún snapshot.
+ */
+public final class UserJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(UserJournal.class);
+
+    private static final int MAGIC = 0x554A524E; // "UJRN"
+    private static final int SEGMENT_HEADER_SIZE = 8;
+    private static final int ENTRY_HEADER_SIZE = 16;
+    private static final long MAX_SEGMENT_SIZE = 256L * 1024 * 1024;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-(\\d{20})\\.log");
+
+    private final Path directory;
+    private final boolean syncWrites;
+
+    private FileChannel segment;
+    private long segmentFirstSequence;
+    private long segmentSize;
+    private long nextSequence = 1;
+
+    /**
+     * @param syncWrites si cada entrada se fuerza a disco antes de confirmar la escritura; sin esto, un
+     *                   corte del sistema operativo (no del proceso) puede perder los últimos cambios
+     */
+    public UserJournal(Path directory, boolean syncWrites) {
+        this.directory = directory;
+        this.syncWrites = syncWrites;
+    }
+
+    /**
+     * Reaplica las entradas con secuencia mayor a {@code afterSequence} y deja el journal listo para
+     * agregar. Debe llamarse una vez, antes de {@link #append}.
+     *
+     * @return cantidad de entradas reaplicadas
+     */
+    public synchronized long recover(long afterSequence, Consumer<UserRecord> consumer) throws IOException {
+        List<Segment> segments = segments();
+        long lastSequence = afterSequence;
+        long replayed = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Segment current = segments.get(i);
+            if (current.firstSequence() > lastSequence + 1) {
+                throw new IOException("Faltan entradas del journal entre la secuencia " + lastSequence
+                        + " y " + current.path());
+            }
+            boolean last = i == segments.size() - 1;
+            Scan scan = scan(current, afterSequence, consumer, last);
+            replayed += scan.replayed();
+            lastSequence = Math.max(lastSequence, scan.lastSequence());
+            if (last && scan.nextSequence() == lastSequence + 1 && scan.validSize() >= SEGMENT_HEADER_SIZE) {
+                openForAppend(current, scan.validSize());
+            }
+        }
+        nextSequence = lastSequence + 1;
+        if (segment == null) {
+            openNewSegment();
+        }
+        return replayed;
+    }
+
+    /**
+     * Agrega el estado de un usuario al journal.
+     *
+     * @return secuencia asignada
+     */
+    public synchronized long append(UserRecord record) throws IOException {
+        if (segment == null) {
+            throw new IllegalStateException("El journal no está abierto");
+        }
+        if (segmentSize >= MAX_SEGMENT_SIZE) {
+            roll();
+        }
+        long sequence = nextSequence;
+        byte[] bytes = UserRecordCodec.encode(record);
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_HEADER_SIZE + bytes.length)
+                .putInt(bytes.length)
+                .putInt(0)
+                .putLong(sequence)
+                .put(bytes);
+        CRC32 crc = new CRC32();
+        crc.update(entry.array(), 8, entry.capacity() - 8);
+        entry.putInt(4, (int) crc.getValue()).flip();
+        try {
+            while (entry.hasRemaining()) {
+                segment.write(entry);
+            }
+            if (syncWrites) {
+                segment.force(false);
+            }
+        } catch (IOException ex) {
+            // Sin una entrada a medias al final, las siguientes siguen siendo legibles
+            segment.truncate(segmentSize);
+            segment.position(segmentSize);
+            throw ex;
+        }
+        segmentSize += entry.capacity();
+        nextSequence++;
+        return sequence;
+    }
+
+    /**
+     * Cierra el segmento actual y abre uno nuevo.
+     *
+     * @return última secuencia asignada hasta ahora (0 si no hubo ninguna)
+     */
+    public synchronized long roll() throws IOException {
+        if (segment != null) {
+            segment.force(false);
+            segment.close();
+            segment = null;
+        }
+        openNewSegment();
+        return nextSequence - 1;
+    }
+
+    /**
+     * Borra los segmentos cuyas entradas son todas menores o iguales a {@code sequence}; nunca el
+     * segmento actual.
+     */
+    public synchronized void deleteSegmentsThrough(long sequence) throws IOException {
+        List<Segment> segments = segments();
+        for (int i = 0; i < segments.size() - 1; i++) {
+            Segment current = segments.get(i);
+            long lastInSegment = segments.get(i + 1).firstSequence() - 1;
+            if (lastInSegment <= sequence && current.firstSequence() != segmentFirstSequence) {
+                Files.deleteIfExists(current.path());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (segment != null) {
+            segment.force(false);
+            segment.close();
+            segment = null;
+        }
+    }
+
+    private Scan scan(Segment current, long afterSequence, Consumer<UserRecord> consumer, boolean last)
+            throws IOException {
+        long expected = current.firstSequence();
+        long lastSequence = expected - 1;
+        long replayed = 0;
+        int valid;
+        try (FileChannel channel = FileChannel.open(current.path(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Segmento de journal demasiado grande: " + current.path());
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < SEGMENT_HEADER_SIZE) {
+                valid = 0;
+            } else {
+                if (buffer.getInt() != MAGIC) {
+                    throw new IOException("No es un segmento de journal: " + current.path());
+                }
+                int format = buffer.getInt();
+                if (format != UserRecordCodec.FORMAT_VERSION) {
+                    throw new IOException("Versión de journal no soportada: " + format);
+                }
+                valid = SEGMENT_HEADER_SIZE;
+                CRC32 crc = new CRC32();
+                while (buffer.remaining() >= ENTRY_HEADER_SIZE) {
+                    int length = buffer.getInt(valid);
+                    if (length < 0 || length > buffer.remaining() - ENTRY_HEADER_SIZE) {
+                        break;
+                    }
+                    crc.reset();
+                    crc.update(buffer.slice(valid + 8, length + 8));
+                    long sequence = buffer.getLong(valid + 8);
+                    if ((int) crc.getValue() != buffer.getInt(valid + 4) || sequence != expected) {
+                        break;
+                    }
+                    if (sequence > afterSequence) {
+                        consumer.accept(UserRecordCodec.decode(buffer.slice(valid + ENTRY_HEADER_SIZE, length)));
+                        replayed++;
+                    }
+                    lastSequence = sequence;
+                    expected++;
+                    valid += ENTRY_HEADER_SIZE + length;
+                    buffer.position(valid);
+                }
+            }
+            if (valid < size) {
+                if (!last) {
+                    throw new IOException("Segmento de journal dañado en el byte " + valid + ": " + current.path());
+                }
+                log.warn("Journal de usuarios: se descartan {} bytes incompletos al final de {}",
+                        size - valid, current.path());
+            }
+        }
+        return new Scan(valid, lastSequence, expected, replayed);
+    }
+
+    private void openForAppend(Segment current, long validSize) throws IOException {
+        segment = FileChannel.open(current.path(), StandardOpenOption.WRITE);
+        segment.truncate(validSize);
+        segment.position(validSize);
+        segmentFirstSequence = current.firstSequence();
+        segmentSize = validSize;
+    }
+
+    private void openNewSegment() throws IOException {
+        Path path = directory.resolve("journal-%020d.log".formatted(nextSequence));
+        segment = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE)
+                .putInt(MAGIC)
+                .putInt(UserRecordCodec.FORMAT_VERSION)
+                .flip();
+        while (header.hasRemaining()) {
+            segment.write(header);
+        }
+        segmentFirstSequence = nextSequence;
+        segmentSize = SEGMENT_HEADER_SIZE;
+    }
+
+    private List<Segment> segments() throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.add(new Segment(path, Long.parseLong(matcher.group(1))));
+                }
+            });
+        }
+        segments.sort((a, b) -> Long.compare(a.firstSequence(), b.firstSequence()));
+        return segments;
+    }
+
+    private record Segment(Path path, long firstSequence) {
+    }
+
+    /**
+     * @param validSize    bytes del segmento hasta la última entrada válida
+     * @param lastSequence última secuencia válida del segmento
+     * @param nextSequence secuencia que debería seguir en el segmento
+     */
+    private record Scan(long validSize, long lastSequence, long nextSequence, long replayed) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.hexagonalarchitecture.users.infraestructure.memory;
+
+import com.example.hexagonalarchitecture.users.domain.model.User;
+
+/**
+ * Usuario con su password hasheada, tal como lo guarda el almacén en memoria (y su snapshot y journal).
+ */
+public record UserRecord(User user, String passwordHash) {
+}
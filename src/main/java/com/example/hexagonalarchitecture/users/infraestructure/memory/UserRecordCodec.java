@@ -0,0 +1,159 @@
+package com.example.hexagonalarchitecture.users.infraestructure.memory;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+
+/**
+ * Formato binario compacto de un {@link UserRecord}, compartido por el snapshot y el journal.
+ * <p>
+ * Primero la parte de ancho fijo (36 bytes), luego los textos:
+ * <pre>
+ * id               16 bytes  UUID (bits altos, bits bajos)
+ * version           8 bytes
+ * birthDate         4 bytes  día epoch, Integer.MIN_VALUE si es null
+ * status            1 byte   ordinal
+ * documentType      1 byte   ordinal, -1 si es null
+ * (reservado)       6 bytes
+ * username, firstName, lastName, email, phone, documentNumber, address, passwordHash:
+ *                   4 bytes de largo (-1 si es null) + UTF-8
+ * </pre>
+ * Los ordinales de los enums son parte del formato: agregar valores solo al final, o subir
+ * {@link #FORMAT_VERSION}.
+ */
+public final class UserRecordCodec {
+
+    /**
+     * Versión del formato; se guarda en el encabezado de los archivos y se verifica al leerlos.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int FIXED_SIZE = 36;
+    private static final int NULL_LENGTH = -1;
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+    private static final UserStatus[] STATUSES = UserStatus.values();
+    private static final DocumentType[] DOCUMENT_TYPES = DocumentType.values();
+
+    private UserRecordCodec() {
+    }
+
+    /**
+     * Codifica un registro como arreglo de bytes.
+     *
+     * @throws IllegalArgumentException si el ID no es un UUID canónico (solo así cabe en 16 bytes)
+     */
+    public static byte[] encode(UserRecord record) {
+        User user = record.user();
+        UUID id = uuid(user.id());
+        byte[][] strings = {
+                utf8(user.username()),
+                utf8(user.firstName()),
+                utf8(user.lastName()),
+                utf8(user.email()),
+                utf8(user.phone()),
+                utf8(user.documentNumber()),
+                utf8(user.address()),
+                utf8(record.passwordHash())
+        };
+        int size = FIXED_SIZE;
+        for (byte[] string : strings) {
+            size += Integer.BYTES + (string == null ? 0 : string.length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .putLong(user.version() == null ? 0L : user.version())
+                .putInt(user.birthDate() == null ? NULL_DATE : Math.toIntExact(user.birthDate().toEpochDay()))
+                .put((byte) user.status().ordinal())
+                .put(user.documentType() == null ? (byte) -1 : (byte) user.documentType().ordinal())
+                .put(new byte[6]);
+        for (byte[] string : strings) {
+            if (string == null) {
+                buffer.putInt(NULL_LENGTH);
+            } else {
+                buffer.putInt(string.length).put(string);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Decodifica un registro desde la posición actual de {@code buffer} (p. ej. un archivo mapeado en
+     * memoria, sin copiarlo antes a un arreglo) y avanza la posición hasta el final del registro.
+     *
+     * @throws IllegalArgumentException si los bytes no forman un registro válido
+     */
+    public static UserRecord decode(ByteBuffer buffer) {
+        try {
+            UUID id = new UUID(buffer.getLong(), buffer.getLong());
+            long version = buffer.getLong();
+            int birthDate = buffer.getInt();
+            UserStatus status = STATUSES[buffer.get()];
+            byte documentType = buffer.get();
+            buffer.position(buffer.position() + 6);
+            String username = string(buffer);
+            String firstName = string(buffer);
+            String lastName = string(buffer);
+            String email = string(buffer);
+            String phone = string(buffer);
+            String documentNumber = string(buffer);
+            String address = string(buffer);
+            String passwordHash = string(buffer);
+            User user = new User(
+                    id.toString(),
+                    username,
+                    firstName,
+                    lastName,
+                    email,
+                    phone,
+                    documentType < 0 ? null : DOCUMENT_TYPES[documentType],
+                    documentNumber,
+                    address,
+                    status,
+                    birthDate == NULL_DATE ? null : LocalDate.ofEpochDay(birthDate),
+                    version);
+            return new UserRecord(user, passwordHash);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Registro de usuario inválido", ex);
+        }
+    }
+
+    private static UUID uuid(String id) {
+        UUID uuid = UUID.fromString(id);
+        if (!uuid.toString().equals(id)) {
+            throw new IllegalArgumentException("El ID no es un UUID canónico: " + id);
+        }
+        return uuid;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Largo de texto inválido: " + length);
+        }
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(buffer.position(), bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.hexagonalarchitecture.users.infraestructure.memory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Snapshot del almacén en memoria: un archivo con todos los usuarios en el formato de
+ * {@link UserRecordCodec}, escrito y leído a través de ventanas mapeadas en memoria.
+ * <p>
+ * Estructura: encabezado de 24 bytes (magic, versión de formato, última secuencia del journal que
+ * cubre, cantidad de registros) y luego cada registro precedido por su largo (4 bytes).
+ * <p>
+ * Se escribe en un archivo temporal que se renombra atómicamente al terminar, así un corte a mitad de
+ * la escritura deja intacto el snapshot anterior. Al leer, los registros se decodifican directamente
+ * desde el mapeo, sin copiar el archivo a buffers intermedios.
+ */
+public final class UserSnapshotFile {
+
+    private static final int MAGIC = 0x55534E50; // "USNP"
+    private static final int HEADER_SIZE = 24;
+
+    /** Tamaño de cada ventana mapeada: acota el espacio de direcciones usado con archivos grandes. */
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * Resultado de leer un snapshot.
+     *
+     * @param lastSequence última secuencia del journal incluida en el snapshot
+     * @param records cantidad de usuarios leídos
+     */
+    public record Loaded(long lastSequence, long records) {
+    }
+
+    private UserSnapshotFile() {
+    }
+
+    /**
+     * Escribe un snapshot completo y reemplaza atómicamente el anterior.
+     *
+     * @param lastSequence última secuencia del journal cuyo cambio ya está en {@code records}
+     */
+    public static void write(Path file, long lastSequence, Collection<UserRecord> records) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedWriter writer = new MappedWriter(channel);
+            writer.write(ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(UserRecordCodec.FORMAT_VERSION)
+                    .putLong(lastSequence)
+                    .putLong(records.size())
+                    .array(), false);
+            for (UserRecord record : records) {
+                writer.write(UserRecordCodec.encode(record), true);
+            }
+            channel.truncate(writer.finish());
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Lee un snapshot y entrega cada usuario a {@code consumer}.
+     *
+     * @return secuencia cubierta y cantidad de usuarios, o null si el archivo no existe
+     * @throws IOException si el archivo no es un snapshot válido y completo
+     */
+    public static Loaded read(Path file, Consumer<UserRecord> consumer) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Snapshot truncado: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("No es un snapshot de usuarios: " + file);
+            }
+            int format = header.getInt();
+            if (format != UserRecordCodec.FORMAT_VERSION) {
+                throw new IOException("Versión de snapshot no soportada: " + format);
+            }
+            long lastSequence = header.getLong();
+            long expected = header.getLong();
+
+            long position = HEADER_SIZE;
+            MappedByteBuffer window = null;
+            long windowStart = position;
+            long records = 0;
+            while (records < expected) {
+                if (window == null || window.remaining() < Integer.BYTES
+                        || window.remaining() < Integer.BYTES + window.getInt(window.position())) {
+                    // El próximo registro no entra en la ventana actual: se mapea una nueva desde su inicio
+                    windowStart = position;
+                    long length = Math.min(Math.max(WINDOW_SIZE, recordSizeAt(channel, position)), size - position);
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+                    if (window.remaining() < Integer.BYTES
+                            || window.remaining() < Integer.BYTES + window.getInt(window.position())) {
+                        throw new IOException("Snapshot truncado en el registro " + records + ": " + file);
+                    }
+                }
+                int length = window.getInt();
+                if (length < 0) {
+                    throw new IOException("Largo de registro inválido en el registro " + records + ": " + file);
+                }
+                ByteBuffer record = window.slice(window.position(), length);
+                consumer.accept(UserRecordCodec.decode(record));
+                window.position(window.position() + length);
+                position = windowStart + window.position();
+                records++;
+            }
+            return new Loaded(lastSequence, records);
+        }
+    }
+
+    /**
+     * Largo total (prefijo incluido) del registro que empieza en {@code position}, para mapear una
+     * ventana que lo contenga aunque supere {@link #WINDOW_SIZE}.
+     */
+    private static long recordSizeAt(FileChannel channel, long position) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        if (channel.read(length, position) < Integer.BYTES) {
+            return Integer.BYTES;
+        }
+        return Integer.BYTES + (long) length.getInt(0);
+    }
+
+    /**
+     * Escribe a continuación en ventanas mapeadas de {@link #WINDOW_SIZE}; mapear más allá del final
+     * extiende el archivo, que al terminar se recorta al tamaño escrito.
+     */
+    private static final class MappedWriter {
+
+        private final FileChannel channel;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        MappedWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void write(byte[] bytes, boolean lengthPrefixed) throws IOException {
+            int size = bytes.length + (lengthPrefixed ? Integer.BYTES : 0);
+            if (window == null || window.remaining() < size) {
+                long next = window == null ? 0 : windowStart + window.position();
+                if (window != null) {
+                    window.force();
+                }
+                windowStart = next;
+                window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, Math.max(WINDOW_SIZE, size));
+            }
+            if (lengthPrefixed) {
+                window.putInt(bytes.length);
+            }
+            window.put(bytes);
+        }
+
+        /**
+         * @return tamaño escrito
+         */
+        long finish() {
+            if (window == null) {
+                return 0;
+            }
+            window.force();
+            return windowStart + window.position();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.hexagonalarchitecture.users.infraestructure.memory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistencia del almacén en memoria en un directorio local, para reinicios rápidos: un snapshot
+ * periódico ({@link UserSnapshotFile}) más el journal de los cambios posteriores ({@link UserJournal}).
+ * <p>
+ * Cada escritura del adaptador se agrega al journal antes de aplicarse. Al arrancar se carga el
+ * snapshot y se reaplica solo el journal posterior; cada snapshot nuevo marca el punto que cubre
+ * abriendo un segmento de journal con las escrituras detenidas, y luego borra los segmentos cubiertos.
+ * Al cerrar se toma un último snapshot, así un reinicio ordenado no reaplica nada.
+ * <p>
+ * Uso: {@link #open} con el adaptador creado con esta instancia como {@link UserChangeLog}.
+ */
+public class UserSnapshotPersistence implements UserChangeLog, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSnapshotPersistence.class);
+
+    static final String SNAPSHOT_FILE = "users.snapshot";
+
+    private final Path directory;
+    private final UserJournal journal;
+    private InMemoryUserRepositoryAdapter store;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param syncWrites fuerza cada entrada del journal a disco antes de confirmar la escritura
+     */
+    public UserSnapshotPersistence(Path directory, boolean syncWrites) {
+        this.directory = directory;
+        this.journal = new UserJournal(directory, syncWrites);
+    }
+
+    /**
+     * Reconstruye {@code store} desde el snapshot y el journal, y programa un snapshot cada
+     * {@code interval} (ninguno si es cero o negativo).
+     */
+    public synchronized void open(InMemoryUserRepositoryAdapter store, Duration interval) {
+        if (this.store != null) {
+            throw new IllegalStateException("La persistencia ya está abierta");
+        }
+        try {
+            Files.createDirectories(directory);
+            long start = System.nanoTime();
+            UserSnapshotFile.Loaded snapshot = UserSnapshotFile.read(directory.resolve(SNAPSHOT_FILE), store::restore);
+            long lastSequence = snapshot == null ? 0 : snapshot.lastSequence();
+            long replayed = journal.recover(lastSequence, store::restore);
+            log.info("Almacén de usuarios restaurado de {}: {} usuarios del snapshot y {} cambios del journal en {} ms",
+                    directory, snapshot == null ? 0 : snapshot.records(), replayed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo restaurar el almacén de usuarios de " + directory, ex);
+        }
+        this.store = store;
+        if (!interval.isZero() && !interval.isNegative()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "users-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::scheduledSnapshot,
+                    interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void append(UserRecord record) {
+        try {
+            journal.append(record);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo registrar el cambio en el journal de usuarios", ex);
+        }
+    }
+
+    /**
+     * Escribe un snapshot de todo el almacén y borra el journal que cubre.
+     */
+    public synchronized void snapshot() throws IOException {
+        if (store == null) {
+            throw new IllegalStateException("La persistencia no está abierta");
+        }
+        long start = System.nanoTime();
+        long[] covered = new long[1];
+        List<UserRecord> records = store.capture(() -> {
+            try {
+                covered[0] = journal.roll();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        UserSnapshotFile.write(directory.resolve(SNAPSHOT_FILE), covered[0], records);
+        journal.deleteSegmentsThrough(covered[0]);
+        log.debug("Snapshot de usuarios: {} usuarios hasta la secuencia {} en {} ms",
+                records.size(), covered[0], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Detiene los snapshots periódicos, toma uno final y cierra el journal.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+        try {
+            if (store != null) {
+                snapshot();
+            }
+        } finally {
+            journal.close();
+        }
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException ex) {
+            // El journal sigue completo: el próximo intento (o el reinicio) no pierde cambios
+            log.warn("No se pudo escribir el snapshot de usuarios en {}", directory, ex);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.hexagonalarchitecture.users.infraestructure.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Cuenta las sentencias SQL y las idas a la base de datos (round trips) del hilo actual, entre
+ * {@link #start()} y {@link #stop()} (una solicitud HTTP).
+ * <p>
+ * Se cuenta en el borde JDBC, envolviendo el {@link DataSource} con {@link #wrap}, así entra todo lo que
+ * ejecuta el hilo: consultas de Hibernate, SQL nativo, flush y commit.
+ * <p>
+ * - Sentencias: cada {@code execute*} y cada fila agregada a un lote ({@code addBatch})
+ * - Round trips: cada {@code execute*}, cada {@code executeBatch} (un lote es una sola ida) y cada
+ *   {@code commit}/{@code rollback}
+ * <p>
+ * El trabajo de otros hilos (p. ej. recargas en segundo plano de la caché) no se atribuye a la solicitud.
+ */
+public class SqlStatementCounter {
+
+    private final ThreadLocal<Counts> current = new ThreadLocal<>();
+
+    /**
+     * Empieza a contar en el hilo actual, desde cero.
+     */
+    public void start() {
+        current.set(new Counts());
+    }
+
+    /**
+     * @return conteo en curso del hilo actual, o null si no se está contando
+     */
+    public Counts current() {
+        return current.get();
+    }
+
+    /**
+     * Deja de contar en el hilo actual.
+     *
+     * @return conteo final, o null si no se estaba contando
+     */
+    public Counts stop() {
+        Counts counts = current.get();
+        current.remove();
+        return counts;
+    }
+
+    /**
+     * @return el mismo origen de datos, contando las llamadas de las conexiones que entrega
+     */
+    public DataSource wrap(DataSource dataSource) {
+        return new CountingDataSource(dataSource);
+    }
+
+    /**
+     * Conteo de una solicitud. Solo lo modifica el hilo que la atiende.
+     */
+    public static final class Counts {
+
+        private int statements;
+        private int roundTrips;
+
+        public int statements() {
+            return statements;
+        }
+
+        public int roundTrips() {
+            return roundTrips;
+        }
+    }
+
+    private final class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return countingConnection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return countingConnection(super.getConnection(username, password));
+        }
+    }
+
+    private Connection countingConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, result) -> {
+            switch (method.getName()) {
+                case "commit", "rollback" -> count(0, 1);
+                case "createStatement" -> {
+                    return countingStatement(Statement.class, (Statement) result);
+                }
+                case "prepareStatement" -> {
+                    return countingStatement(PreparedStatement.class, (PreparedStatement) result);
+                }
+                case "prepareCall" -> {
+                    return countingStatement(CallableStatement.class, (CallableStatement) result);
+                }
+                default -> {
+                }
+            }
+            return result;
+        });
+    }
+
+    private <S extends Statement> S countingStatement(Class<S> type, S statement) {
+        return proxy(type, statement, (method, result) -> {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                count(1, 0);
+            } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                count(0, 1);
+            } else if (name.startsWith("execute")) {
+                count(1, 1);
+            }
+            return result;
+        });
+    }
+
+    private void count(int statements, int roundTrips) {
+        Counts counts = current.get();
+        if (counts != null) {
+            counts.statements += statements;
+            counts.roundTrips += roundTrips;
+        }
+    }
+
+    @FunctionalInterface
+    private interface AfterCall {
+        Object apply(Method method, Object result);
+    }
+
+    /**
+     * Proxy que delega cada llamada en {@code target} y, si terminó bien, pasa el resultado por {@code afterCall}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+            return afterCall.apply(method, result);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
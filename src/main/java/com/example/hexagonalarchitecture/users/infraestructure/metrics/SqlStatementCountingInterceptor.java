@@ -0,0 +1,99 @@
+package com.example.hexagonalarchitecture.users.infraestructure.metrics;
+
+import java.util.function.BiConsumer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Cuenta las sentencias SQL y round trips de cada solicitud con {@link SqlStatementCounter} y los publica:
+ * <p>
+ * - Como headers {@value #STATEMENTS_HEADER} y {@value #ROUND_TRIPS_HEADER}, si la respuesta todavía no
+ *   se envió (las respuestas con cuerpo los reciben de {@link SqlStatementHeaderAdvice}; en las que se
+ *   escriben directamente, como la exportación, no hay header)
+ * - Como {@link DistributionSummary} {@code http.server.sql.statements} y {@code http.server.sql.round.trips}
+ *   etiquetados por método y patrón de URI, con el total de la solicitud
+ * <p>
+ * Así un N+1 o una lectura repetida se ve en cada respuesta y en las métricas por endpoint.
+ */
+public class SqlStatementCountingInterceptor implements HandlerInterceptor {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ROUND_TRIPS_HEADER = "X-SQL-Round-Trips";
+
+    /** Buckets de los histogramas: presupuestos típicos de sentencias por solicitud. */
+    private static final double[] BUDGETS = {1, 2, 3, 5, 10, 20, 50};
+
+    private final SqlStatementCounter counter;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean responseHeaders;
+
+    public SqlStatementCountingInterceptor(
+            SqlStatementCounter counter,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            boolean responseHeaders) {
+        this.counter = counter;
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        counter.start();
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+            ModelAndView modelAndView) {
+        // Respuestas sin cuerpo (204, 304...): todavía se pueden agregar headers
+        if (!response.isCommitted()) {
+            writeHeaders(counter.current(), response::setHeader);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        SqlStatementCounter.Counts counts = counter.stop();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (counts == null || registry == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        summary("http.server.sql.statements", "Sentencias SQL ejecutadas por solicitud", request, uri)
+                .register(registry)
+                .record(counts.statements());
+        summary("http.server.sql.round.trips", "Idas a la base de datos por solicitud", request, uri)
+                .register(registry)
+                .record(counts.roundTrips());
+    }
+
+    /**
+     * Agrega los headers de conteo con el valor actual, si están habilitados y se está contando.
+     */
+    void writeHeaders(SqlStatementCounter.Counts counts, BiConsumer<String, String> header) {
+        if (responseHeaders && counts != null) {
+            header.accept(STATEMENTS_HEADER, Integer.toString(counts.statements()));
+            header.accept(ROUND_TRIPS_HEADER, Integer.toString(counts.roundTrips()));
+        }
+    }
+
+    private static DistributionSummary.Builder summary(String name, String description,
+            HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .serviceLevelObjectives(BUDGETS);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.hexagonalarchitecture.users.infraestructure.metrics;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Agrega los headers de {@link SqlStatementCountingInterceptor} justo antes de escribir el cuerpo de la
+ * respuesta (incluidas las de error de {@code GlobalExceptionHandler}): después ya no se pueden agregar,
+ * y a esa altura el caso de uso ya terminó su trabajo en la base de datos.
+ */
+@ControllerAdvice
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    private final SqlStatementCounter counter;
+    private final SqlStatementCountingInterceptor interceptor;
+
+    public SqlStatementHeaderAdvice(SqlStatementCounter counter, SqlStatementCountingInterceptor interceptor) {
+        this.counter = counter;
+        this.interceptor = interceptor;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request, ServerHttpResponse response) {
+        interceptor.writeHeaders(counter.current(), response.getHeaders()::set);
+        return body;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.hexagonalarchitecture.users.infraestructure.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.example.hexagonalarchitecture.users.application.common.CountMode;
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.application.common.UserSortField;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mide cada llamada interceptada con un {@link Timer} {@code <metricName>} etiquetado con:
+ * <p>
+ * - {@code component}: clase que atiende la llamada (p. ej. SearchUsersUseCase, JpaUserRepositoryAdapter)
+ * - {@code method}: método invocado (search, create, findById...)
+ * - {@code outcome}: success o error; {@code exception}: clase de la excepción o none
+ * - En búsquedas, según los argumentos: {@code sort} (campo de orden), {@code filter} (qué criterios
+ *   vienen informados, p. ej. lastName+status, nunca sus valores) y {@code count} (modo de conteo);
+ *   {@code none} en las demás llamadas
+ * <p>
+ * Las etiquetas de búsqueda solo toman valores de enums o combinaciones de criterios, así la
+ * cardinalidad queda acotada. Histogramas, percentiles y SLOs se configuran con
+ * {@code management.metrics.distribution.*} sobre el prefijo {@code users}.
+ */
+public class TimedCallInterceptor implements MethodInterceptor {
+
+    private final String metricName;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public TimedCallInterceptor(String metricName, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.metricName = metricName;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return invocation.proceed();
+        }
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(metricName)
+                    .tags(tags(invocation, exception))
+                    .register(registry));
+        }
+    }
+
+    private static List<Tag> tags(MethodInvocation invocation, String exception) {
+        List<Tag> tags = new ArrayList<>(7);
+        tags.add(Tag.of("component", AopUtils.getTargetClass(invocation.getThis()).getSimpleName()));
+        tags.add(Tag.of("method", invocation.getMethod().getName()));
+        tags.add(Tag.of("outcome", exception.equals("none") ? "success" : "error"));
+        tags.add(Tag.of("exception", exception));
+        // Prometheus exige las mismas claves en todas las series de una métrica: sin argumento, "none"
+        String sort = "none";
+        String filter = "none";
+        String count = "none";
+        for (Object argument : invocation.getArguments()) {
+            if (argument instanceof UserSortField sortField) {
+                sort = sortField.name();
+            } else if (argument instanceof UserSearchFilter searchFilter) {
+                filter = filterShape(searchFilter);
+            } else if (argument instanceof CountMode countMode) {
+                count = countMode.name();
+            }
+        }
+        tags.add(Tag.of("sort", sort));
+        tags.add(Tag.of("filter", filter));
+        tags.add(Tag.of("count", count));
+        return tags;
+    }
+
+    /**
+     * Criterios informados del filtro, en orden fijo: {@code none} o p. ej. {@code lastName+status}.
+     */
+    static String filterShape(UserSearchFilter filter) {
+        StringBuilder shape = new StringBuilder();
+        appendIfPresent(shape, "lastName", filter.lastName());
+        appendIfPresent(shape, "documentNumber", filter.documentNumber());
+        appendIfPresent(shape, "status", filter.status());
+        appendIfPresent(shape, "birthDateFrom", filter.birthDateFrom());
+        appendIfPresent(shape, "birthDateTo", filter.birthDateTo());
+        return shape.isEmpty() ? "none" : shape.toString();
+    }
+
+    private static void appendIfPresent(StringBuilder shape, String name, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (!shape.isEmpty()) {
+            shape.append('+');
+        }
+        shape.append(name);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.hexagonalarchitecture.users.infraestructure.metrics;
+
+import java.lang.reflect.Method;
+import java.util.function.Predicate;
+
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Agrega {@link TimedCallInterceptor} a los beans que tienen algún método que cumple {@code methods}.
+ * <p>
+ * Así los casos de uso y el adaptador de persistencia quedan medidos sin depender de Micrometer
+ * (ni de anotaciones) en la capa de aplicación. Si el bean ya es un proxy (p. ej. por
+ * {@code @Transactional}), el interceptor se ubica primero, de modo que el tiempo medido incluye
+ * la apertura y el commit de la transacción.
+ */
+public class TimedCallPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    public TimedCallPostProcessor(
+            String metricName,
+            Predicate<Method> methods,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.advisor = new DefaultPointcutAdvisor(
+                new StaticMethodMatcherPointcut() {
+                    @Override
+                    public boolean matches(Method method, Class<?> targetClass) {
+                        return methods.test(method);
+                    }
+                },
+                new TimedCallInterceptor(metricName, meterRegistry));
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.hexagonalarchitecture.users.infraestructure.outbox;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+/**
+ * Agrega los mensajes a un archivo NDJSON (un objeto por línea), para que otro proceso lo consuma.
+ * Cada lote es una sola escritura seguida de {@code force}: el lote se confirma en el outbox recién
+ * cuando está en disco. Si la escritura falla se descarta lo escrito del lote; si el proceso cae antes de
+ * confirmar, el lote se vuelve a escribir al reanudar (los consumidores descartan repetidos por id).
+ */
+public class FileUserOutboxPublisher implements UserOutboxPublisher, Closeable {
+
+    private static final byte NEWLINE = '\n';
+
+    private final ObjectWriter objectWriter;
+    private final FileChannel channel;
+
+    public FileUserOutboxPublisher(Path file, ObjectMapper objectMapper) {
+        this.objectWriter = objectMapper.writerFor(UserOutboxMessage.class);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo abrir el archivo del outbox " + file, ex);
+        }
+    }
+
+    @Override
+    public synchronized void publish(List<UserOutboxMessage> messages) {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(messages.size() * 512);
+        for (UserOutboxMessage message : messages) {
+            lines.writeBytes(objectWriter.writeValueAsBytes(message));
+            lines.write(NEWLINE);
+        }
+        long start = -1;
+        try {
+            start = channel.size();
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException ex) {
+            discardFrom(start, ex);
+            throw new UncheckedIOException("No se pudo escribir el lote del outbox", ex);
+        }
+    }
+
+    /**
+     * Quita lo escrito de un lote fallido para no dejar una línea cortada antes del reintento.
+     */
+    private void discardFrom(long start, IOException failure) {
+        if (start < 0) {
+            return;
+        }
+        try {
+            channel.truncate(start);
+        } catch (IOException ex) {
+            failure.addSuppressed(ex);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.hexagonalarchitecture.users.infraestructure.outbox;
+
+import java.util.List;
+
+/**
+ * Entrega cada mensaje a los {@link UserOutboxListener} de la misma aplicación, de forma sincrónica:
+ * si un listener falla, el lote se reintenta.
+ * <p>
+ * Sin listeners no hay a quién entregar: cada lote falla y las filas quedan en el outbox (creciendo)
+ * en lugar de borrarse sin que nadie las haya recibido.
+ */
+public class InProcessUserOutboxPublisher implements UserOutboxPublisher {
+
+    private final List<UserOutboxListener> listeners;
+
+    public InProcessUserOutboxPublisher(List<UserOutboxListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    /**
+     * @throws IllegalStateException si no hay ningún listener registrado
+     */
+    @Override
+    public void publish(List<UserOutboxMessage> messages) {
+        if (listeners.isEmpty()) {
+            throw new IllegalStateException(
+                    "No hay ningún UserOutboxListener registrado: los eventos quedan en el outbox sin entregar");
+        }
+        for (UserOutboxMessage message : messages) {
+            listeners.forEach(listener -> listener.on(message));
+        }
+    }
+}
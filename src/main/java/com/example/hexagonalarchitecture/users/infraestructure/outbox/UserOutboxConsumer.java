@@ -0,0 +1,23 @@
+package com.example.hexagonalarchitecture.users.infraestructure.outbox;
+
+/**
+ * Lector de {@code user_outbox}: {@link UserOutboxWriter} inserta cada evento una vez por consumidor
+ * registrado, con su {@link #consumerName()}, y cada uno lee y borra solo sus filas. Así cada
+ * consumidor avanza a su ritmo y lo pendiente queda en la base de datos, visible para todas las
+ * instancias y a salvo de un reinicio.
+ * <p>
+ * Todas las instancias deben tener los mismos consumidores activos: una que no registre uno no le
+ * deja filas.
+ */
+public interface UserOutboxConsumer {
+
+    /**
+     * Valor de la columna {@code consumer} de sus filas.
+     */
+    String consumerName();
+
+    /**
+     * Hay filas nuevas confirmadas: el consumidor las busca sin esperar al próximo sondeo.
+     */
+    void wakeUp();
+}
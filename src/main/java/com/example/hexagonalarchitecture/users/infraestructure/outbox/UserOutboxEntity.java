@@ -0,0 +1,100 @@
+package com.example.hexagonalarchitecture.users.infraestructure.outbox;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Evento de usuario pendiente para un consumidor ({@code user_outbox}), escrito en la misma
+ * transacción que el cambio que lo origina: una fila por evento y por {@link UserOutboxConsumer}.
+ * <p>
+ * El ID es IDENTITY y no un secuenciador con bloques por instancia: se asigna al insertar, con la fila
+ * del usuario ya bloqueada por la escritura, así dos cambios del mismo usuario quedan en el orden en
+ * que se hicieron aunque vengan de instancias distintas.
+ */
+@Entity
+@Table(
+    name = "user_outbox",
+    indexes = {
+        @Index(name = "idx_user_outbox_consumer_id", columnList = "consumer, id"),
+        // Retraso de cada consumidor: el evento pendiente más antiguo
+        @Index(name = "idx_user_outbox_consumer_occurred_at", columnList = "consumer, occurred_at")
+    }
+)
+public class UserOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "consumer", nullable = false, updatable = false, length = 32)
+    private String consumer;
+
+    // Null en los cambios masivos de estado, que no identifican a cada usuario
+    @Column(name = "user_id", nullable = true, updatable = false, length = 36)
+    private String userId;
+
+    @Column(name = "event_type", nullable = false, updatable = false, length = 64)
+    private String eventType;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(name = "payload", nullable = false, updatable = false)
+    private String payload;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private Instant occurredAt;
+
+    // Intentos fallidos de aplicarla, para los consumidores que no pueden quedar trabados en una fila
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    protected UserOutboxEntity() {
+        // Requerido por JPA
+    }
+
+    public UserOutboxEntity(String consumer, String userId, String eventType, String payload, Instant occurredAt) {
+        this.consumer = consumer;
+        this.userId = userId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public UserOutboxMessage toMessage() {
+        return new UserOutboxMessage(id, userId, eventType, payload, occurredAt);
+    }
+}
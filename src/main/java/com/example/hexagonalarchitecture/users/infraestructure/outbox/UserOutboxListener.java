@@ -0,0 +1,14 @@
+package com.example.hexagonalarchitecture.users.infraestructure.outbox;
+
+/**
+ * Receptor de los mensajes del outbox dentro de la misma aplicación, para el destino
+ * {@code in-process} ({@link InProcessUserOutboxPublisher}). Se registra como bean.
+ * <p>
+ * Se lo llama de forma sincrónica desde el relay, en orden de {@link UserOutboxMessage#id()}: si lanza
+ * una excepción, el lote completo se reintenta, así que debe tolerar mensajes repetidos.
+ */
+@FunctionalInterface
+public interface UserOutboxListener {
+
+    void on(UserOutboxMessage message);
+}
@@ -0,0 +1,24 @@
+package com.example.hexagonalarchitecture.users.infraestructure.outbox;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * Evento de usuario tal como se entrega a los sistemas externos.
+ *
+ * @param id posición en el outbox: creciente por usuario y única, sirve para descartar repetidos
+ *           (la entrega es al menos una vez)
+ * @param userId usuario afectado, o null en un cambio masivo de estado
+ * @param type tipo de evento ({@code UserChangedEvent}, {@code UsersStatusChangedEvent})
+ * @param payload evento serializado en JSON
+ * @param occurredAt momento del cambio
+ */
+public record UserOutboxMessage(
+        long id,
+        String userId,
+        String type,
+        @JsonRawValue String payload,
+        Instant occurredAt
+) {
+}
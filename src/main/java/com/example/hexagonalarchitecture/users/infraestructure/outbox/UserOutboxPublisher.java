@@ -0,0 +1,19 @@
+package com.example.hexagonalarchitecture.users.infraestructure.outbox;
+
+import java.util.List;
+
+/**
+ * Destino de los eventos del outbox (broker, webhook, archivo...). Para reemplazar el de
+ * {@code users.outbox.publisher} basta con registrar un bean de este tipo.
+ * <p>
+ * Contrato con {@link UserOutboxRelay}:
+ * - Los mensajes llegan ordenados por {@link UserOutboxMessage#id()} y deben entregarse en ese orden
+ *   (al menos entre los del mismo usuario)
+ * - {@link #publish} vuelve recién cuando el destino aceptó todo el lote; si lanza una excepción,
+ *   el lote completo se reintenta, incluidos los mensajes que ya se habían entregado
+ */
+@FunctionalInterface
+public interface UserOutboxPublisher {
+
+    void publish(List<UserOutboxMessage> messages);
+}
@@ -0,0 +1,173 @@
+package com.example.hexagonalarchitecture.users.infraestructure.outbox;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+
+/**
+ * Publica sus filas de {@code user_outbox} (consumidor {@value #CONSUMER}) por lotes a través de un
+ * {@link UserOutboxPublisher}, desde un hilo propio.
+ * <p>
+ * Cada lote es una transacción: lee las filas más antiguas por ID con lock de escritura, las entrega
+ * y las borra. Si la entrega o la confirmación fallan, las filas quedan y el lote se reintenta después
+ * de {@code retryDelay}: la entrega es al menos una vez y nunca saltea un mensaje, así el orden por
+ * usuario se mantiene. Con varias instancias, el lock hace que los lotes se entreguen de a uno.
+ * <p>
+ * El relay despierta cuando una escritura confirma eventos ({@link #wakeUp}) y, por si vinieron de otra
+ * instancia, cada {@code pollInterval}. Métricas: {@code users.outbox.published},
+ * {@code users.outbox.delay} (del cambio a la entrega) y {@code users.outbox.failures}.
+ */
+public class UserOutboxRelay implements UserOutboxConsumer, Closeable {
+
+    public static final String CONSUMER = "relay";
+
+    private static final Logger log = LoggerFactory.getLogger(UserOutboxRelay.class);
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final UserOutboxPublisher publisher;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration retryDelay;
+
+    private final Counter published;
+    private final Timer delay;
+    private final Counter failures;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    /**
+     * @param batchSize máximo de mensajes por lote (y por transacción)
+     * @param pollInterval espera entre consultas mientras el outbox está vacío
+     * @param retryDelay espera antes de reintentar un lote que falló
+     */
+    public UserOutboxRelay(
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            UserOutboxPublisher publisher,
+            int batchSize,
+            Duration pollInterval,
+            Duration retryDelay,
+            MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publisher = publisher;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.retryDelay = retryDelay;
+
+        this.published = Counter.builder("users.outbox.published")
+                .description("Eventos de usuario entregados desde el outbox")
+                .register(meterRegistry);
+        this.delay = Timer.builder("users.outbox.delay")
+                .description("Demora entre un cambio de usuario y la entrega de su evento")
+                .register(meterRegistry);
+        this.failures = Counter.builder("users.outbox.failures")
+                .description("Lotes del outbox que fallaron y se reintentan")
+                .register(meterRegistry);
+    }
+
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "users-outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public String consumerName() {
+        return CONSUMER;
+    }
+
+    @Override
+    public void wakeUp() {
+        Thread current = worker;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    @Override
+    public void close() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = worker;
+            worker = null;
+        }
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                List<UserOutboxMessage> batch = relayBatch();
+                Instant now = Instant.now();
+                for (UserOutboxMessage message : batch) {
+                    delay.record(Duration.between(message.occurredAt(), now));
+                }
+                published.increment(batch.size());
+                if (batch.size() < batchSize) {
+                    LockSupport.parkNanos(pollInterval.toNanos());
+                }
+            } catch (RuntimeException ex) {
+                failures.increment();
+                log.warn("No se pudo publicar el outbox de usuarios; se reintenta en {} ms", retryDelay.toMillis(), ex);
+                LockSupport.parkNanos(retryDelay.toNanos());
+            }
+        }
+    }
+
+    /**
+     * Entrega y borra, en una transacción, los mensajes más antiguos del outbox.
+     */
+    private List<UserOutboxMessage> relayBatch() {
+        return transactionTemplate.execute(tx -> {
+            List<UserOutboxMessage> batch = entityManager
+                    .createQuery("select o from UserOutboxEntity o where o.consumer = :consumer order by o.id",
+                            UserOutboxEntity.class)
+                    .setParameter("consumer", CONSUMER)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .setMaxResults(batchSize)
+                    .getResultList()
+                    .stream()
+                    .map(UserOutboxEntity::toMessage)
+                    .toList();
+            if (batch.isEmpty()) {
+                return batch;
+            }
+
+            publisher.publish(batch);
+
+            entityManager.createQuery("delete from UserOutboxEntity o where o.id in :ids")
+                    .setParameter("ids", batch.stream().map(UserOutboxMessage::id).toList())
+                    .executeUpdate();
+            return batch;
+        });
+    }
+}
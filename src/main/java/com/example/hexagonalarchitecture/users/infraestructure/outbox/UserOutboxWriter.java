@@ -0,0 +1,56 @@
+package com.example.hexagonalarchitecture.users.infraestructure.outbox;
+
+import java.util.List;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.hexagonalarchitecture.users.application.event.UserChangedEvent;
+import com.example.hexagonalarchitecture.users.application.event.UserEvent;
+import com.example.hexagonalarchitecture.users.application.port.out.UserEventPublisher;
+
+import jakarta.persistence.EntityManager;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Publicador transaccional: inserta cada evento en {@code user_outbox}, una fila por
+ * {@link UserOutboxConsumer}, dentro de la transacción de la escritura, así el evento existe si y solo
+ * si el cambio se confirmó. Cada consumidor (el {@link UserOutboxRelay} hacia los sistemas externos,
+ * el proyector del modelo de búsqueda) lee sus filas y se lo despierta cuando la transacción confirma.
+ */
+public class UserOutboxWriter implements UserEventPublisher {
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final List<UserOutboxConsumer> consumers;
+
+    public UserOutboxWriter(EntityManager entityManager, ObjectMapper objectMapper, List<UserOutboxConsumer> consumers) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.consumers = List.copyOf(consumers);
+    }
+
+    /**
+     * @throws IllegalStateException si no hay una transacción en curso: fuera de ella el evento podría
+     *         confirmarse sin el cambio o perderse con él
+     */
+    @Override
+    public void publish(UserEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("El outbox de usuarios solo se escribe dentro de la transacción del cambio");
+        }
+        String userId = event instanceof UserChangedEvent changed ? changed.user().id() : null;
+        String type = event.getClass().getSimpleName();
+        String payload = objectMapper.writeValueAsString(event);
+        for (UserOutboxConsumer consumer : consumers) {
+            entityManager.persist(new UserOutboxEntity(consumer.consumerName(), userId, type, payload, event.occurredAt()));
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                consumers.forEach(UserOutboxConsumer::wakeUp);
+            }
+        });
+    }
+}
@@ -1,48 +1,482 @@
 package com.example.hexagonalarchitecture.users.infraestructure.persistence;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.PredicateSpecification;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.UpdateSpecification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.hexagonalarchitecture.users.application.common.PageResult;
 import com.example.hexagonalarchitecture.users.application.common.SortDirection;
+import com.example.hexagonalarchitecture.users.application.common.UserCursor;
+import com.example.hexagonalarchitecture.users.application.common.UserField;
 import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
 import com.example.hexagonalarchitecture.users.application.common.UserSortField;
+import com.example.hexagonalarchitecture.users.application.common.UserUniqueField;
 import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
 import com.example.hexagonalarchitecture.users.application.port.out.UserWithPassword;
+import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
 import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.DuplicateUserException;
 import com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.VersionConflictException;
+
+import org.hibernate.Hibernate;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 
 @Repository
+@ConditionalOnProperty(name = "users.repository.type", havingValue = "jpa", matchIfMissing = true)
 public class JpaUserRepositoryAdapter implements UserRepositoryPort {
 
+        private static final String USER_COLUMNS = "id, username, first_name, last_name, email, phone, "
+                        + "document_type, document_number, address, status, birth_date, version";
+
         private final SpringDataUserRepository springDataUserRepository;
+        private final UserCountEstimator userCountEstimator;
+        private final EntityManager entityManager;
+        private final TransactionTemplate transactionTemplate;
+        private final int jdbcBatchSize;
+        private final int exportFetchSize;
+        private final int bulkStatusChunkSize;
 
-        public JpaUserRepositoryAdapter(SpringDataUserRepository springDataUserRepository) {
+        public JpaUserRepositoryAdapter(
+                        SpringDataUserRepository springDataUserRepository,
+                        UserCountEstimator userCountEstimator,
+                        EntityManager entityManager,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize,
+                        @Value("${users.export.fetch-size:1000}") int exportFetchSize,
+                        @Value("${users.bulk-status.chunk-size:5000}") int bulkStatusChunkSize) {
                 this.springDataUserRepository = springDataUserRepository;
+                this.userCountEstimator = userCountEstimator;
+                this.entityManager = entityManager;
+                this.transactionTemplate = new TransactionTemplate(transactionManager);
+                this.jdbcBatchSize = jdbcBatchSize;
+                this.exportFetchSize = exportFetchSize;
+                this.bulkStatusChunkSize = bulkStatusChunkSize;
         }
 
+        /**
+         * Inserta con {@code ON CONFLICT DO NOTHING}: un solo round trip en el caso feliz, y sin
+         * carreras entre verificar y escribir porque las restricciones UNIQUE deciden atómicamente.
+         * Solo si no se insertó nada se consulta qué clave chocó, para reportarla.
+         */
         @Override
+        @Transactional
         public User create(User user, String hashedPassword) {
-                return saveUser(user, hashedPassword);
+                String id = UUID.randomUUID().toString();
+                int inserted = entityManager.createQuery("""
+                                insert into UserEntity (
+                                    id, username, password, firstName, lastName, email, phone,
+                                    documentType, documentNumber, address, status, birthDate, version)
+                                values (
+                                    :id, :username, :password, :firstName, :lastName, :email, :phone,
+                                    :documentType, :documentNumber, :address, :status, :birthDate, 0)
+                                on conflict do nothing
+                                """)
+                                .setParameter("id", id)
+                                .setParameter("username", user.username())
+                                .setParameter("password", hashedPassword)
+                                .setParameter("firstName", user.firstName())
+                                .setParameter("lastName", user.lastName())
+                                .setParameter("email", user.email())
+                                .setParameter("phone", user.phone())
+                                .setParameter("documentType", user.documentType())
+                                .setParameter("documentNumber", user.documentNumber())
+                                .setParameter("address", user.address())
+                                .setParameter("status", user.status())
+                                .setParameter("birthDate", user.birthDate())
+                                .executeUpdate();
+
+                if (inserted == 0) {
+                        throw new DuplicateUserException(
+                                        findConflicts(user.username(), user.email(), user.documentNumber()));
+                }
+
+                return new User(
+                                id,
+                                user.username(),
+                                user.firstName(),
+                                user.lastName(),
+                                user.email(),
+                                user.phone(),
+                                user.documentType(),
+                                user.documentNumber(),
+                                user.address(),
+                                user.status(),
+                                user.birthDate(),
+                                0L);
         }
 
+        /**
+         * Persiste todas las entidades en la misma transacción y vacía el contexto cada
+         * {@code hibernate.jdbc.batch_size} filas: Hibernate agrupa los INSERT en lotes JDBC
+         * (el ID UUID se genera en memoria, no requiere ida a la base de datos) y el contexto
+         * de persistencia no crece con el tamaño del lote.
+         */
         @Override
+        @Transactional
+        public List<User> createAll(List<UserWithPassword> users) {
+                List<UserEntity> entities = new ArrayList<>(users.size());
+                for (UserWithPassword item : users) {
+                        UserEntity entity = toEntity(item.user(), item.passwordHash());
+                        entityManager.persist(entity);
+                        entities.add(entity);
+                        if (entities.size() % jdbcBatchSize == 0) {
+                                entityManager.flush();
+                                entityManager.clear();
+                        }
+                }
+                entityManager.flush();
+                entityManager.clear();
+
+                return entities.stream()
+                                .map(JpaUserRepositoryAdapter::userEntityToDomain)
+                                .toList();
+        }
+
+        /**
+         * Reescribe todas las columnas, password incluida, con compare-and-set sobre {@code user.version()}.
+         */
+        @Override
+        @Transactional
         public User update(User user, String passwordHash) {
-                return saveUser(user, passwordHash);
+                Map<String, Object> columns = profileColumns(user);
+                columns.put("document_type", user.documentType() == null ? null : user.documentType().name());
+                columns.put("document_number", user.documentNumber());
+                columns.put("password", passwordHash);
+                return conditionalUpdate(user.id(), columns, user.version(), Set.of()).orElseThrow();
+        }
+
+        @Override
+        @Transactional
+        public User updateProfile(User user) {
+                return conditionalUpdate(user.id(), profileColumns(user), user.version(), Set.of()).orElseThrow();
+        }
+
+        /**
+         * Escribe únicamente la columna {@code password} y la versión.
+         */
+        @Override
+        @Transactional
+        public User updatePassword(String id, String passwordHash, Long expectedVersion) {
+                return conditionalUpdate(id, Map.of("password", passwordHash), expectedVersion, Set.of()).orElseThrow();
+        }
+
+        /**
+         * Escribe únicamente la columna {@code status} (no indexada, así PostgreSQL puede resolverlo
+         * como HOT update) y la versión.
+         */
+        @Override
+        @Transactional
+        public Optional<User> updateStatus(
+                        String id, UserStatus status, Set<String> protectedUsernames, Long expectedVersion) {
+                return conditionalUpdate(id, Map.of("status", status.name()), expectedVersion, protectedUsernames);
         }
 
+        /**
+         * Recorre la cohorte por tramos de {@code users.bulk-status.chunk-size} filas en orden de ID (keyset):
+         * por cada tramo, una consulta ubica el último ID del tramo y un UPDATE set-based cambia el estado
+         * de las filas de ese rango. Cada UPDATE corre en su propia transacción (salvo que el llamador ya
+         * tenga una), así los locks y el volumen de cada sentencia quedan acotados aunque la cohorte tenga
+         * millones de filas. Las filas que ya tienen el estado destino no se reescriben ni se cuentan.
+         */
+        @Override
+        public long updateStatusWhere(UserSearchFilter filter, UserStatus status, Set<String> protectedUsernames) {
+                return updateStatusWhere(filter, status, protectedUsernames, changed -> {
+                });
+        }
+
+        /**
+         * {@code onChunk} corre después del UPDATE de cada tramo y dentro de su transacción.
+         */
+        @Override
+        public long updateStatusWhere(
+                        UserSearchFilter filter, UserStatus status, Set<String> protectedUsernames, LongConsumer onChunk) {
+                PredicateSpecification<UserEntity> cohort = toPredicateSpecification(filter)
+                                .and(UserSpecifications.statusIsNot(status))
+                                .and(UserSpecifications.usernameNotIn(protectedUsernames));
+
+                long updated = 0;
+                String lastId = null;
+                boolean lastChunk = false;
+                while (!lastChunk) {
+                        String chunkEnd = findChunkEnd(cohort, lastId);
+                        lastChunk = chunkEnd == null;
+                        String chunkStart = lastId;
+                        updated += transactionTemplate.execute(tx -> {
+                                long changed = springDataUserRepository.update(UpdateSpecification
+                                                .<UserEntity>update((root, update, cb) -> update
+                                                                .set(root.get("status"), status)
+                                                                .set(root.<Long>get("version"), cb.sum(root.get("version"), 1L)))
+                                                .where(cohort.and(UserSpecifications.idBetween(chunkStart, chunkEnd))));
+                                if (changed > 0) {
+                                        onChunk.accept(changed);
+                                }
+                                return changed;
+                        });
+                        lastId = chunkEnd;
+                }
+
+                // El UPDATE masivo no pasa por el contexto de persistencia; si hay una transacción
+                // en curso, las entidades ya cargadas quedarían con el estado anterior
+                entityManager.clear();
+                return updated;
+        }
+
+        /**
+         * ID de la fila número {@code bulkStatusChunkSize} de la cohorte después de {@code afterId},
+         * o null si quedan menos filas (el tramo restante es el último).
+         */
+        private String findChunkEnd(PredicateSpecification<UserEntity> cohort, String afterId) {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<String> query = cb.createQuery(String.class);
+                Root<UserEntity> root = query.from(UserEntity.class);
+                Predicate predicate = cohort.and(UserSpecifications.idBetween(afterId, null)).toPredicate(root, cb);
+                query.select(root.get("id"))
+                                .where(predicate)
+                                .orderBy(cb.asc(root.get("id")));
+                return entityManager.createQuery(query)
+                                .setFirstResult(bulkStatusChunkSize - 1)
+                                .setMaxResults(1)
+                                .getResultList()
+                                .stream()
+                                .findFirst()
+                                .orElse(null);
+        }
+
+        /**
+         * Un único UPDATE condicional que escribe solo las columnas indicadas, incrementa la versión y
+         * devuelve la fila resultante en la misma sentencia: {@code RETURNING} en PostgreSQL y
+         * {@code FINAL TABLE} en H2. En otros motores se ejecuta el UPDATE y luego una lectura por ID
+         * sin la password. Solo si no se modificó ninguna fila se consulta la versión actual para
+         * informar el motivo.
+         *
+         * @param columns columnas a escribir y sus valores
+         * @param expectedVersion versión que debe tener la fila (null para no verificarla)
+         * @param protectedUsernames usernames que no deben modificarse
+         * @return fila actualizada, o vacío si el username está protegido
+         * @throws EntityNotFoundException si el usuario no existe
+         * @throws VersionConflictException si la versión actual no es la esperada
+         */
+        private Optional<User> conditionalUpdate(
+                        String id, Map<String, Object> columns, Long expectedVersion, Set<String> protectedUsernames) {
+                StringBuilder update = new StringBuilder("update users set ");
+                columns.keySet().forEach(column -> update.append(column).append(" = :").append(column).append(", "));
+                update.append("version = version + 1 where id = :id");
+                if (expectedVersion != null) {
+                        update.append(" and version = :expectedVersion");
+                }
+                if (!protectedUsernames.isEmpty()) {
+                        update.append(" and username not in (:protectedUsernames)");
+                }
+
+                Dialect dialect = entityManager.getEntityManagerFactory()
+                                .unwrap(SessionFactoryImplementor.class)
+                                .getJdbcServices()
+                                .getDialect();
+
+                List<User> updated;
+                if (dialect instanceof PostgreSQLDialect) {
+                        updated = queryUpdate(update + " returning " + USER_COLUMNS,
+                                        id, columns, expectedVersion, protectedUsernames);
+                } else if (dialect instanceof H2Dialect) {
+                        updated = queryUpdate("select " + USER_COLUMNS + " from final table (" + update + ")",
+                                        id, columns, expectedVersion, protectedUsernames);
+                } else {
+                        updated = updateThenRead(update.toString(), id, columns, expectedVersion, protectedUsernames);
+                }
+
+                if (updated.isEmpty()) {
+                        checkVersion(id, expectedVersion);
+                        return Optional.empty();
+                }
+                detachIfLoaded(id);
+                return Optional.of(updated.get(0));
+        }
+
+        private void checkVersion(String id, Long expectedVersion) {
+                Long current = springDataUserRepository.findVersionById(id)
+                                .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado con id: " + id));
+                if (expectedVersion != null && !expectedVersion.equals(current)) {
+                        throw new VersionConflictException("El usuario " + id + " fue modificado: versión esperada "
+                                        + expectedVersion + ", actual " + current);
+                }
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<User> queryUpdate(
+                        String sql,
+                        String id,
+                        Map<String, Object> columns,
+                        Long expectedVersion,
+                        Set<String> protectedUsernames) {
+                NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+                query.addScalar("id", String.class)
+                                .addScalar("username", String.class)
+                                .addScalar("first_name", String.class)
+                                .addScalar("last_name", String.class)
+                                .addScalar("email", String.class)
+                                .addScalar("phone", String.class)
+                                .addScalar("document_type", String.class)
+                                .addScalar("document_number", String.class)
+                                .addScalar("address", String.class)
+                                .addScalar("status", String.class)
+                                .addScalar("birth_date", LocalDate.class)
+                                .addScalar("version", Long.class);
+                bindUpdate(query, id, columns, expectedVersion, protectedUsernames);
+                return query.getResultList().stream()
+                                .map(JpaUserRepositoryAdapter::rowToDomain)
+                                .toList();
+        }
+
+        private List<User> updateThenRead(
+                        String sql,
+                        String id,
+                        Map<String, Object> columns,
+                        Long expectedVersion,
+                        Set<String> protectedUsernames) {
+                Query update = entityManager.createNativeQuery(sql);
+                bindUpdate(update, id, columns, expectedVersion, protectedUsernames);
+                if (update.executeUpdate() == 0) {
+                        return List.of();
+                }
+                return selectUserById(id).stream().toList();
+        }
+
+        /**
+         * Con {@code getResultList}: un {@code getResultStream} que no se cierra deja abierto el cursor
+         * y la siguiente lectura de la misma transacción falla.
+         */
+        private Optional<User> selectUserById(String id) {
+                return entityManager.createQuery("""
+                                select new com.example.hexagonalarchitecture.users.domain.model.User(
+                                    u.id, u.username, u.firstName, u.lastName, u.email, u.phone,
+                                    u.documentType, u.documentNumber, u.address, u.status, u.birthDate, u.version)
+                                from UserEntity u
+                                where u.id = :id
+                                """, User.class)
+                                .setParameter("id", id)
+                                .getResultList()
+                                .stream()
+                                .findFirst();
+        }
+
+        private static void bindUpdate(
+                        Query query,
+                        String id,
+                        Map<String, Object> columns,
+                        Long expectedVersion,
+                        Set<String> protectedUsernames) {
+                columns.forEach(query::setParameter);
+                query.setParameter("id", id);
+                if (expectedVersion != null) {
+                        query.setParameter("expectedVersion", expectedVersion);
+                }
+                if (!protectedUsernames.isEmpty()) {
+                        query.setParameter("protectedUsernames", protectedUsernames);
+                }
+        }
+
+        /**
+         * Columnas editables del perfil: todo menos el documento (inmutable) y la password.
+         */
+        private static Map<String, Object> profileColumns(User user) {
+                Map<String, Object> columns = new LinkedHashMap<>();
+                columns.put("username", user.username());
+                columns.put("first_name", user.firstName());
+                columns.put("last_name", user.lastName());
+                columns.put("email", user.email());
+                columns.put("phone", user.phone());
+                columns.put("address", user.address());
+                columns.put("status", user.status().name());
+                columns.put("birth_date", user.birthDate());
+                return columns;
+        }
+
+        /**
+         * El UPDATE nativo no pasa por el contexto de persistencia: si la entidad ya estaba cargada
+         * en esta transacción, se desasocia para que la siguiente lectura vea el estado nuevo.
+         */
+        private void detachIfLoaded(String id) {
+                UserEntity reference = entityManager.getReference(UserEntity.class, id);
+                if (Hibernate.isInitialized(reference)) {
+                        entityManager.detach(reference);
+                }
+        }
+
+        private static User rowToDomain(Object[] row) {
+                return new User(
+                                (String) row[0],
+                                (String) row[1],
+                                (String) row[2],
+                                (String) row[3],
+                                (String) row[4],
+                                (String) row[5],
+                                row[6] == null ? null : DocumentType.valueOf((String) row[6]),
+                                (String) row[7],
+                                (String) row[8],
+                                UserStatus.valueOf((String) row[9]),
+                                (LocalDate) row[10],
+                                (Long) row[11]);
+        }
+
+        /**
+         * Proyecta las columnas públicas directamente a {@link User}: la password no sale de la base de datos
+         * y no se registra ninguna entidad en el contexto de persistencia.
+         */
         @Override
         public Optional<User> findById(String id) {
-                final UserEntity userEntity = springDataUserRepository.findById(id)
+                final User user = selectUserById(id)
                                 .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado con id: " + id));
-                return Optional.of(userEntityToDomain(userEntity));
+                return Optional.of(user);
+        }
+
+        @Override
+        public Optional<Long> findVersionById(String id) {
+                return springDataUserRepository.findVersionById(id);
         }
 
         @Override
@@ -54,7 +488,7 @@ public class JpaUserRepositoryAdapter implements UserRepositoryPort {
                                 userEntity.getPassword());
         }
 
-        private User userEntityToDomain(UserEntity entity) {
+        static User userEntityToDomain(UserEntity entity) {
                 return new User(
                                 entity.getId(),
                                 entity.getUsername(),
@@ -66,11 +500,12 @@ public class JpaUserRepositoryAdapter implements UserRepositoryPort {
                                 entity.getDocumentNumber(),
                                 entity.getAddress(),
                                 entity.getStatus(),
-                                entity.getBirthDate());
+                                entity.getBirthDate(),
+                                entity.getVersion());
         }
 
-        private User saveUser(User user, String passwordHash) {
-                UserEntity userEntity = new UserEntity(
+        static UserEntity toEntity(User user, String passwordHash) {
+                return new UserEntity(
                                 user.id(),
                                 user.username(),
                                 passwordHash,
@@ -83,47 +518,311 @@ public class JpaUserRepositoryAdapter implements UserRepositoryPort {
                                 user.address(),
                                 user.status(),
                                 user.birthDate());
-                final UserEntity savedUser = springDataUserRepository.save(userEntity);
-                return userEntityToDomain(savedUser);
         }
 
+        /**
+         * Las búsquedas proyectan a {@link User} (ver {@link #selectUsers}); el COUNT solo se ejecuta
+         * si el total no se deduce de la propia página (p. ej. primera página incompleta).
+         */
         @Override
+        @Transactional(readOnly = true)
         public PageResult<User> search(
                         UserSearchFilter filter,
                         int page,
                         int size,
                         UserSortField sortField,
-                        SortDirection direction) {
-
-                Sort sort = Sort.by(
-                                direction == SortDirection.ASC
-                                                ? Sort.Direction.ASC
-                                                : Sort.Direction.DESC,
-                                sortField.column());
-
-                Pageable pageable = PageRequest.of(page, size, sort);
+                        SortDirection direction,
+                        Set<UserField> fields) {
 
-                Specification<UserEntity> spec = Specification
-                                .where(UserSpecifications.lastNameContains(filter.lastName()))
-                                .and(UserSpecifications.documentNumberContains(filter.documentNumber())
-                                                .and(UserSpecifications.hasStatus(filter.status()))
-                                                .and(UserSpecifications.birthDateFrom(filter.birthDateFrom()))
-                                                .and(UserSpecifications.birthDateTo(filter.birthDateTo())));
-
-                Page<UserEntity> result = springDataUserRepository.findAll(spec, pageable);
+                Pageable pageable = PageRequest.of(page, size, toSort(sortField, direction));
+                Specification<UserEntity> spec = toSpecification(filter);
 
-                List<User> users = result.getContent().stream()
-                                .map(this::userEntityToDomain)
-                                .toList();
+                List<User> users = selectUsers(spec, pageable.getSort(), pageable.getOffset(), size,
+                                UserField.withSortKeys(fields, sortField));
+                Page<User> result = PageableExecutionUtils.getPage(
+                                users, pageable, () -> springDataUserRepository.count(spec));
 
-                return new PageResult<>(
+                return PageResult.counted(
                                 users,
                                 result.getNumber(),
                                 result.getSize(),
                                 result.getTotalElements(),
-                                result.getTotalPages());
+                                result.getTotalPages(),
+                                nextCursor(users, result.hasNext(), sortField, direction));
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public PageResult<User> searchSlice(
+                        UserSearchFilter filter,
+                        int page,
+                        int size,
+                        UserSortField sortField,
+                        SortDirection direction,
+                        Set<UserField> fields) {
+
+                Pageable pageable = PageRequest.of(page, size, toSort(sortField, direction));
+
+                // Se pide size+1 filas para calcular hasNext, sin la consulta COUNT
+                List<User> rows = selectUsers(toSpecification(filter), pageable.getSort(), pageable.getOffset(), size + 1,
+                                UserField.withSortKeys(fields, sortField));
+                boolean hasNext = rows.size() > size;
+                List<User> users = hasNext ? rows.subList(0, size) : rows;
+
+                return PageResult.slice(
+                                users,
+                                page,
+                                size,
+                                hasNext,
+                                null,
+                                nextCursor(users, hasNext, sortField, direction));
+        }
+
+        @Override
+        public OptionalLong estimateCount(UserSearchFilter filter) {
+                if (filter.lastName() != null
+                                || filter.documentNumber() != null
+                                || filter.birthDateFrom() != null
+                                || filter.birthDateTo() != null) {
+                        return OptionalLong.empty();
+                }
+                return filter.status() == null
+                                ? userCountEstimator.estimateTotal()
+                                : userCountEstimator.estimateByStatus(filter.status());
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public PageResult<User> searchAfter(
+                        UserSearchFilter filter,
+                        UserCursor cursor,
+                        int size,
+                        UserSortField sortField,
+                        SortDirection direction,
+                        Set<UserField> fields) {
+
+                Specification<UserEntity> spec = toSpecification(filter);
+                if (cursor != null) {
+                        spec = spec.and(UserSpecifications.after(
+                                        sortField.column(),
+                                        direction == SortDirection.ASC,
+                                        cursor.value(),
+                                        cursor.id()));
+                }
+
+                // Se pide una fila extra para saber si hay página siguiente sin ejecutar COUNT
+                List<User> rows = selectUsers(spec, toSort(sortField, direction), 0, size + 1,
+                                UserField.withSortKeys(fields, sortField));
+
+                boolean hasNext = rows.size() > size;
+                List<User> users = hasNext ? rows.subList(0, size) : rows;
+
+                return PageResult.keyset(
+                                users,
+                                size,
+                                nextCursor(users, hasNext, sortField, direction));
+        }
+
+        /**
+         * Lee con un cursor de solo avance dentro de una transacción de solo lectura (en PostgreSQL
+         * el fetch size solo aplica con autocommit desactivado): el driver trae
+         * {@code users.export.fetch-size} filas por ida a la base de datos en lugar del resultado completo.
+         * Se proyecta directamente a {@link User}, así Hibernate no registra entidades en el contexto
+         * de persistencia y la memoria se mantiene constante sin importar cuántas filas se recorran.
+         */
+        @Override
+        @Transactional(readOnly = true)
+        public long streamAll(UserSearchFilter filter, Consumer<User> consumer) {
+                CriteriaQuery<User> query = userProjection(
+                                toSpecification(filter), toSort(UserSortField.ID, SortDirection.ASC));
+
+                long count = 0;
+                try (Stream<User> users = entityManager.createQuery(query)
+                                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                                .getResultStream()) {
+                        for (User user : (Iterable<User>) users::iterator) {
+                                consumer.accept(user);
+                                count++;
+                        }
+                }
+                return count;
+        }
+
+        /**
+         * Página de usuarios proyectada a {@link User}: el SELECT trae solo las columnas de la respuesta
+         * (nunca la password) y Hibernate no crea entidades, así no hay contexto de persistencia que
+         * llenar ni snapshots para dirty checking. Con un subconjunto de campos el SELECT se reduce a
+         * esas columnas y el resto queda en null.
+         */
+        private List<User> selectUsers(
+                        Specification<UserEntity> spec, Sort sort, long offset, int limit, Set<UserField> fields) {
+                if (fields.containsAll(UserField.ALL)) {
+                        return entityManager.createQuery(userProjection(spec, sort))
+                                        .setFirstResult(Math.toIntExact(offset))
+                                        .setMaxResults(limit)
+                                        .getResultList();
+                }
+
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<Tuple> query = cb.createTupleQuery();
+                Root<UserEntity> root = query.from(UserEntity.class);
+                List<UserField> selected = List.copyOf(fields);
+                List<Selection<?>> columns = new ArrayList<>(selected.size());
+                for (UserField field : selected) {
+                        columns.add(root.get(field.attribute()));
+                }
+                query.multiselect(columns);
+                filterAndSort(query, root, cb, spec, sort);
+
+                return entityManager.createQuery(query)
+                                .setFirstResult(Math.toIntExact(offset))
+                                .setMaxResults(limit)
+                                .getResultStream()
+                                .map(tuple -> tupleToDomain(tuple, selected))
+                                .toList();
+        }
+
+        static User tupleToDomain(Tuple tuple, List<UserField> fields) {
+                Object[] values = new Object[UserField.values().length];
+                for (int i = 0; i < fields.size(); i++) {
+                        values[fields.get(i).ordinal()] = tuple.get(i);
+                }
+                return new User(
+                                (String) values[UserField.ID.ordinal()],
+                                (String) values[UserField.USERNAME.ordinal()],
+                                (String) values[UserField.FIRST_NAME.ordinal()],
+                                (String) values[UserField.LAST_NAME.ordinal()],
+                                (String) values[UserField.EMAIL.ordinal()],
+                                (String) values[UserField.PHONE.ordinal()],
+                                (DocumentType) values[UserField.DOCUMENT_TYPE.ordinal()],
+                                (String) values[UserField.DOCUMENT_NUMBER.ordinal()],
+                                (String) values[UserField.ADDRESS.ordinal()],
+                                (UserStatus) values[UserField.STATUS.ordinal()],
+                                (LocalDate) values[UserField.BIRTH_DATE.ordinal()],
+                                (Long) values[UserField.VERSION.ordinal()]);
+        }
+
+        private CriteriaQuery<User> userProjection(Specification<UserEntity> spec, Sort sort) {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<User> query = cb.createQuery(User.class);
+                Root<UserEntity> root = query.from(UserEntity.class);
+                query.select(cb.construct(
+                                User.class,
+                                root.get("id"),
+                                root.get("username"),
+                                root.get("firstName"),
+                                root.get("lastName"),
+                                root.get("email"),
+                                root.get("phone"),
+                                root.get("documentType"),
+                                root.get("documentNumber"),
+                                root.get("address"),
+                                root.get("status"),
+                                root.get("birthDate"),
+                                root.get("version")));
+                filterAndSort(query, root, cb, spec, sort);
+                return query;
+        }
+
+        private static void filterAndSort(
+                        CriteriaQuery<?> query,
+                        Root<UserEntity> root,
+                        CriteriaBuilder cb,
+                        Specification<UserEntity> spec,
+                        Sort sort) {
+                Predicate predicate = spec.toPredicate(root, query, cb);
+                if (predicate != null) {
+                        query.where(predicate);
+                }
+                query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        static String nextCursor(List<User> users, boolean hasNext, UserSortField sortField, SortDirection direction) {
+                return hasNext && !users.isEmpty()
+                                ? UserCursor.after(users.get(users.size() - 1), sortField, direction).encode()
+                                : null;
+        }
+
+        private Specification<UserEntity> toSpecification(UserSearchFilter filter) {
+                return Specification.where(toPredicateSpecification(filter));
+        }
+
+        /**
+         * Los mismos criterios de búsqueda sin depender de una consulta SELECT, para usarlos también en UPDATE.
+         */
+        private PredicateSpecification<UserEntity> toPredicateSpecification(UserSearchFilter filter) {
+                return PredicateSpecification
+                                .where(UserSpecifications.lastNameContains(filter.lastName()))
+                                .and(UserSpecifications.documentNumberContains(filter.documentNumber()))
+                                .and(UserSpecifications.hasStatus(filter.status()))
+                                .and(UserSpecifications.birthDateFrom(filter.birthDateFrom()))
+                                .and(UserSpecifications.birthDateTo(filter.birthDateTo()));
+        }
+
+        /**
+         * Orden estable: campo solicitado (nulls al final) y id como desempate,
+         * el mismo orden que asume {@link UserSpecifications#after}.
+         */
+        static Sort toSort(UserSortField sortField, SortDirection direction) {
+                Sort.Direction sortDirection = direction == SortDirection.ASC
+                                ? Sort.Direction.ASC
+                                : Sort.Direction.DESC;
+                Sort.Order byId = new Sort.Order(sortDirection, UserSortField.ID.column());
+                if (sortField == UserSortField.ID) {
+                        return Sort.by(byId);
+                }
+                return Sort.by(new Sort.Order(sortDirection, sortField.column()).nullsLast(), byId);
         }
         
+        @Override
+        public Set<UserUniqueField> findConflicts(String username, String email, String documentNumber) {
+                Set<UserUniqueField> conflicts = EnumSet.noneOf(UserUniqueField.class);
+                for (UserUniqueKeys match : springDataUserRepository.findUniqueKeyMatches(username, email, documentNumber)) {
+                        if (username != null && username.equals(match.username())) {
+                                conflicts.add(UserUniqueField.USERNAME);
+                        }
+                        if (email != null && email.equals(match.email())) {
+                                conflicts.add(UserUniqueField.EMAIL);
+                        }
+                        if (documentNumber != null && documentNumber.equals(match.documentNumber())) {
+                                conflicts.add(UserUniqueField.DOCUMENT_NUMBER);
+                        }
+                }
+                return conflicts;
+        }
+
+        @Override
+        public Map<UserUniqueField, Set<String>> findUniqueKeysInUse(
+                        Collection<String> usernames,
+                        Collection<String> emails,
+                        Collection<String> documentNumbers) {
+                Map<UserUniqueField, Set<String>> inUse = new EnumMap<>(UserUniqueField.class);
+                for (UserUniqueField field : UserUniqueField.values()) {
+                        inUse.put(field, new HashSet<>());
+                }
+                if (usernames.isEmpty() && emails.isEmpty() && documentNumbers.isEmpty()) {
+                        return inUse;
+                }
+
+                Set<String> usernameSet = new HashSet<>(usernames);
+                Set<String> emailSet = new HashSet<>(emails);
+                Set<String> documentNumberSet = new HashSet<>(documentNumbers);
+                for (UserUniqueKeys match : springDataUserRepository.findUniqueKeyMatchesIn(
+                                usernameSet, emailSet, documentNumberSet)) {
+                        if (usernameSet.contains(match.username())) {
+                                inUse.get(UserUniqueField.USERNAME).add(match.username());
+                        }
+                        if (match.email() != null && emailSet.contains(match.email())) {
+                                inUse.get(UserUniqueField.EMAIL).add(match.email());
+                        }
+                        if (match.documentNumber() != null && documentNumberSet.contains(match.documentNumber())) {
+                                inUse.get(UserUniqueField.DOCUMENT_NUMBER).add(match.documentNumber());
+                        }
+                }
+                return inUse;
+        }
+
         @Override
         public boolean existsByUsername(String username) {
                 return springDataUserRepository.existsByUsername(username);
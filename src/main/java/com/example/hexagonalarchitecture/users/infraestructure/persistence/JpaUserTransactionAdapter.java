@@ -0,0 +1,27 @@
+package com.example.hexagonalarchitecture.users.infraestructure.persistence;
+
+import java.util.function.Supplier;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.hexagonalarchitecture.users.application.port.out.UserTransactionPort;
+
+/**
+ * Transacción JPA para los casos de uso de escritura: los métodos {@code @Transactional} de
+ * {@link JpaUserRepositoryAdapter} y el outbox se unen a ella, así la fila del usuario y sus eventos
+ * se confirman juntos. Si ya hay una transacción en curso (p. ej. en los tests), se usa esa.
+ */
+public class JpaUserTransactionAdapter implements UserTransactionPort {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public JpaUserTransactionAdapter(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+}
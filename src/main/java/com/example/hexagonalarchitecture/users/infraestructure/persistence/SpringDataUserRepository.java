@@ -1,7 +1,13 @@
 package com.example.hexagonalarchitecture.users.infraestructure.persistence;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface SpringDataUserRepository extends JpaRepository<UserEntity, String>, JpaSpecificationExecutor<UserEntity> {
     
@@ -11,4 +17,29 @@ public interface SpringDataUserRepository extends JpaRepository<UserEntity, Stri
     
     boolean existsByDocumentNumber(String documentNumber);
 
+    @Query("select u.version from UserEntity u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") String id);
+
+    @Query("""
+            select new com.example.hexagonalarchitecture.users.infraestructure.persistence.UserUniqueKeys(
+                u.username, u.email, u.documentNumber)
+            from UserEntity u
+            where u.username = :username or u.email = :email or u.documentNumber = :documentNumber
+            """)
+    List<UserUniqueKeys> findUniqueKeyMatches(
+            @Param("username") String username,
+            @Param("email") String email,
+            @Param("documentNumber") String documentNumber);
+
+    @Query("""
+            select new com.example.hexagonalarchitecture.users.infraestructure.persistence.UserUniqueKeys(
+                u.username, u.email, u.documentNumber)
+            from UserEntity u
+            where u.username in :usernames or u.email in :emails or u.documentNumber in :documentNumbers
+            """)
+    List<UserUniqueKeys> findUniqueKeyMatchesIn(
+            @Param("usernames") Collection<String> usernames,
+            @Param("emails") Collection<String> emails,
+            @Param("documentNumbers") Collection<String> documentNumbers);
+
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.example.hexagonalarchitecture.users.infraestructure.persistence;
+
+import java.util.OptionalLong;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+
+/**
+ * Estimaciones de conteo de la tabla {@code users} a partir de las estadísticas del planificador
+ * de PostgreSQL ({@code pg_class.reltuples} y {@code pg_stats}), sin recorrer la tabla.
+ * <p>
+ * La precisión depende de qué tan reciente sea el último ANALYZE (autovacuum lo mantiene).
+ * En otros motores (por ejemplo H2 en tests) no hay estimación.
+ */
+@Component
+public class UserCountEstimator {
+
+        private static final String TOTAL_SQL = """
+                        SELECT c.reltuples::bigint
+                        FROM pg_class c
+                        WHERE c.oid = to_regclass('users')
+                        """;
+
+        private static final String BY_STATUS_SQL = """
+                        SELECT (c.reltuples * s.most_common_freqs[array_position(s.most_common_vals::text::text[], ?)])::bigint
+                        FROM pg_class c
+                        JOIN pg_stats s ON s.tablename = c.relname AND s.attname = 'status'
+                        WHERE c.oid = to_regclass('users')
+                          AND s.schemaname = current_schema()
+                        """;
+
+        private final JdbcTemplate jdbcTemplate;
+        private volatile Boolean postgres;
+
+        public UserCountEstimator(JdbcTemplate jdbcTemplate) {
+                this.jdbcTemplate = jdbcTemplate;
+        }
+
+        /**
+         * Total aproximado de filas de la tabla.
+         *
+         * @return estimación, o vacío si la tabla nunca fue analizada o el motor no es PostgreSQL
+         */
+        public OptionalLong estimateTotal() {
+                return query(TOTAL_SQL, null);
+        }
+
+        /**
+         * Total aproximado de usuarios con el estado dado, usando los valores más comunes de la columna.
+         *
+         * @param status estado a estimar
+         * @return estimación, o vacío si no hay estadísticas para ese estado
+         */
+        public OptionalLong estimateByStatus(UserStatus status) {
+                return query(BY_STATUS_SQL, status.name());
+        }
+
+        private OptionalLong query(String sql, String arg) {
+                if (!isPostgres()) {
+                        return OptionalLong.empty();
+                }
+                try {
+                        Long value = arg == null
+                                        ? jdbcTemplate.query(sql, rs -> rs.next() ? (Long) rs.getObject(1, Long.class) : null)
+                                        : jdbcTemplate.query(sql, rs -> rs.next() ? (Long) rs.getObject(1, Long.class) : null, arg);
+                        // reltuples = -1 indica que la tabla aún no fue analizada
+                        return value != null && value >= 0 ? OptionalLong.of(value) : OptionalLong.empty();
+                } catch (DataAccessException ex) {
+                        return OptionalLong.empty();
+                }
+        }
+
+        private boolean isPostgres() {
+                Boolean result = postgres;
+                if (result == null) {
+                        String product = jdbcTemplate.execute(
+                                        (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+                        result = "PostgreSQL".equalsIgnoreCase(product);
+                        postgres = result;
+                }
+                return result;
+        }
+}
@@ -11,13 +11,25 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "users")
+@Table(
+    name = "users",
+    indexes = {
+        // Soportan los órdenes (last_name, id) y (document_number, id) de la paginación por cursor.
+        // El índice único de document_number no alcanza: las filas sin documento se desempatan por id
+        @Index(name = "idx_users_last_name_id", columnList = "last_name, id"),
+        @Index(name = "idx_users_document_number_id", columnList = "document_number, id")
+    }
+)
 public class UserEntity implements Serializable {
 
     @Serial
@@ -63,6 +75,12 @@ public class UserEntity implements Serializable {
     @Column(name = "birth_date", nullable = true)
     private LocalDate birthDate;
 
+    // Default 0 para que ddl-auto pueda agregar la columna NOT NULL a una tabla con datos
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     protected UserEntity() {
         // Requerido por JPA
     }
@@ -179,4 +197,8 @@ public class UserEntity implements Serializable {
     public void setBirthDate(LocalDate birthDate) {
         this.birthDate = birthDate;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,103 @@
+package com.example.hexagonalarchitecture.users.infraestructure.persistence;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Locale;
+
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Fila del modelo de lectura de búsqueda ({@code user_search}): solo las columnas que filtran u ordenan
+ * la búsqueda, ya normalizadas, mantenidas por {@link UserSearchProjector} a partir de los eventos de
+ * escritura. Las búsquedas filtran y ordenan acá y solo leen de {@code users} las filas de la página.
+ * <p>
+ * {@code sourceVersion} es la versión del usuario que refleja la fila: un evento con una versión
+ * igual o menor ya está aplicado.
+ */
+@Entity
+@Table(
+    name = "user_search",
+    indexes = {
+        @Index(name = "idx_user_search_last_name_id", columnList = "last_name, id"),
+        @Index(name = "idx_user_search_document_number_id", columnList = "document_number, id"),
+        @Index(name = "idx_user_search_status", columnList = "status"),
+        @Index(name = "idx_user_search_birth_date", columnList = "birth_date")
+    }
+)
+public class UserSearchEntity {
+
+    @Id
+    @Column(name = "id", nullable = false, updatable = false, length = 36)
+    private String id;
+
+    // Original para ordenar igual que la tabla users; la versión en minúsculas es la que se filtra
+    @Column(name = "last_name", nullable = false)
+    private String lastName;
+
+    @Column(name = "last_name_lower", nullable = false)
+    private String lastNameLower;
+
+    @Column(name = "document_number", nullable = true)
+    private String documentNumber;
+
+    @Column(name = "document_number_lower", nullable = true)
+    private String documentNumberLower;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private UserStatus status;
+
+    @Column(name = "birth_date", nullable = true)
+    private LocalDate birthDate;
+
+    @Column(name = "source_version", nullable = false)
+    private long sourceVersion;
+
+    // Cuándo se aplicó el último cambio: junto con el momento del cambio mide la demora de propagación
+    @Column(name = "projected_at", nullable = false)
+    private Instant projectedAt;
+
+    protected UserSearchEntity() {
+        // Requerido por JPA
+    }
+
+    public UserSearchEntity(User user, Instant projectedAt) {
+        this.id = user.id();
+        apply(user, projectedAt);
+    }
+
+    /**
+     * Copia los campos de búsqueda de {@code user} y su versión.
+     */
+    public void apply(User user, Instant projectedAt) {
+        this.lastName = user.lastName();
+        this.lastNameLower = lower(user.lastName());
+        this.documentNumber = user.documentNumber();
+        this.documentNumberLower = lower(user.documentNumber());
+        this.status = user.status();
+        this.birthDate = user.birthDate();
+        this.sourceVersion = user.version() == null ? 0L : user.version();
+        this.projectedAt = projectedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getSourceVersion() {
+        return sourceVersion;
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,486 @@
+package com.example.hexagonalarchitecture.users.infraestructure.persistence;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.application.event.UserChangedEvent;
+import com.example.hexagonalarchitecture.users.application.event.UsersStatusChangedEvent;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.infraestructure.outbox.UserOutboxConsumer;
+import com.example.hexagonalarchitecture.users.infraestructure.outbox.UserOutboxEntity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Mantiene el modelo de lectura {@code user_search} a partir de sus filas de {@code user_outbox}
+ * (consumidor {@value #CONSUMER}), escritas en la misma transacción que cada cambio: lo pendiente
+ * sobrevive a un reinicio y lo ven todas las instancias. Un hilo propio aplica las filas por lotes y
+ * las borra en la misma transacción.
+ * <p>
+ * Cada fila se aplica leyendo el estado actual de {@code users} (el usuario del evento, o las filas de
+ * la cohorte de un cambio masivo cuya versión quedó atrás), así el resultado no depende del orden en
+ * que se apliquen ni de si una fila se aplica dos veces. Con varias instancias, el lock de escritura
+ * sobre las filas hace que los lotes se apliquen de a uno.
+ * <p>
+ * Una fila que falla no traba a las demás: el lote se reintenta fila por fila y la que falla suma un
+ * intento. Después de {@code maxAttempts} se reemplaza por una resincronización completa contra
+ * {@code users}, que la cubre; la fila se borra recién cuando esta confirma. Lo mismo se pide al
+ * arrancar, para incorporar lo escrito mientras el modelo estaba desactivado.
+ * <p>
+ * Retraso: {@link #lag()} se calcula con el evento pendiente más antiguo en la base de datos, que se
+ * consulta después de cada lote y en cada sondeo; si no había ninguno, con el momento de la consulta.
+ * Es una cota superior del retraso real, válida para todas las instancias, y crece sola si el
+ * proyector se detiene. Se publica como {@code users.readmodel.lag}, junto con
+ * {@code users.readmodel.pending}, la demora de cada evento ({@code users.readmodel.propagation}),
+ * {@code users.readmodel.failures} y {@code users.readmodel.resyncs}.
+ */
+public class UserSearchProjector implements UserOutboxConsumer, Closeable {
+
+    public static final String CONSUMER = "search";
+
+    /**
+     * Tipo de las filas que no traen un evento sino que piden una resincronización completa.
+     */
+    public static final String RESYNC_REQUESTED = "ResyncRequested";
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchProjector.class);
+
+    private static final String USER_CHANGED = UserChangedEvent.class.getSimpleName();
+    private static final String USERS_STATUS_CHANGED = UsersStatusChangedEvent.class.getSimpleName();
+
+    private static final String DELETE_OUTDATED = """
+            delete from user_search
+            where not exists (
+                select 1 from users u where u.id = user_search.id and u.version = user_search.source_version)
+            """;
+
+    private static final String INSERT_MISSING = """
+            insert into user_search (id, last_name, last_name_lower, document_number, document_number_lower,
+                                     status, birth_date, source_version, projected_at)
+            select u.id, u.last_name, lower(u.last_name), u.document_number, lower(u.document_number),
+                   u.status, u.birth_date, u.version, current_timestamp
+            from users u
+            where not exists (select 1 from user_search s where s.id = u.id)
+            """;
+
+    /**
+     * Lo pendiente según la última consulta: cantidad de filas, la más antigua (null si no había) y
+     * el momento de la consulta.
+     */
+    private record Backlog(long pending, Instant oldest, Instant observedAt) {
+    }
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration pollInterval;
+    private final Duration retryDelay;
+
+    // Sin consultar todavía: el retraso es desconocido y las búsquedas van a la tabla users
+    private volatile Backlog backlog = new Backlog(0, null, Instant.EPOCH);
+
+    private final Timer propagation;
+    private final Counter failures;
+    private final Counter resyncs;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    /**
+     * @param batchSize máximo de filas del outbox (o de filas de una cohorte) por consulta
+     * @param maxAttempts intentos de una fila antes de reemplazarla por una resincronización completa
+     * @param pollInterval espera entre consultas mientras no hay nada pendiente
+     * @param retryDelay espera antes de reintentar si la base de datos no responde
+     */
+    public UserSearchProjector(
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            int batchSize,
+            int maxAttempts,
+            Duration pollInterval,
+            Duration retryDelay,
+            MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.pollInterval = pollInterval;
+        this.retryDelay = retryDelay;
+
+        this.propagation = Timer.builder("users.readmodel.propagation")
+                .description("Demora entre un cambio de usuario y su aplicación en el modelo de búsqueda")
+                .register(meterRegistry);
+        this.failures = Counter.builder("users.readmodel.failures")
+                .description("Eventos de usuario que fallaron al aplicarse al modelo de búsqueda")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("users.readmodel.resyncs")
+                .description("Resincronizaciones completas del modelo de búsqueda con la tabla users")
+                .register(meterRegistry);
+        TimeGauge.builder("users.readmodel.lag", this, TimeUnit.MILLISECONDS, projector -> projector.lag().toMillis())
+                .description("Cota del retraso del modelo de búsqueda: antigüedad del cambio más viejo sin aplicar")
+                .register(meterRegistry);
+        Gauge.builder("users.readmodel.pending", this, projector -> projector.backlog.pending())
+                .description("Eventos de usuario pendientes para el modelo de búsqueda")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Pide una resincronización completa (salvo que ya haya una pendiente) y arranca el hilo.
+     */
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        requestResync();
+        running = true;
+        worker = new Thread(this::run, "users-search-projector");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public String consumerName() {
+        return CONSUMER;
+    }
+
+    @Override
+    public void wakeUp() {
+        Thread current = worker;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    /**
+     * Antigüedad del cambio más viejo que el modelo puede no reflejar todavía.
+     */
+    public Duration lag() {
+        Backlog current = backlog;
+        Instant since = current.oldest() != null && current.oldest().isBefore(current.observedAt())
+                ? current.oldest()
+                : current.observedAt();
+        Duration lag = Duration.between(since, Instant.now());
+        return lag.isNegative() ? Duration.ZERO : lag;
+    }
+
+    /**
+     * Si el modelo refleja con seguridad todos los cambios de hace {@code maxStaleness} o más.
+     */
+    public boolean isWithin(Duration maxStaleness) {
+        return lag().compareTo(maxStaleness) < 0;
+    }
+
+    @Override
+    public void close() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = worker;
+            worker = null;
+        }
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                int applied = applyBatch();
+                observeBacklog();
+                if (applied < batchSize) {
+                    LockSupport.parkNanos(pollInterval.toNanos());
+                }
+            } catch (RuntimeException ex) {
+                // Las filas siguen en el outbox: el retraso crece y las búsquedas vuelven a la tabla users
+                log.warn("No se pudo actualizar el modelo de búsqueda de usuarios; se reintenta en {} ms",
+                        retryDelay.toMillis(), ex);
+                LockSupport.parkNanos(retryDelay.toNanos());
+            }
+        }
+    }
+
+    /**
+     * Deja una fila que pide resincronizar todo el modelo, salvo que ya haya una pendiente.
+     */
+    private void requestResync() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Long pending = entityManager.createQuery("""
+                            select count(o) from UserOutboxEntity o
+                            where o.consumer = :consumer and o.eventType = :type
+                            """, Long.class)
+                    .setParameter("consumer", CONSUMER)
+                    .setParameter("type", RESYNC_REQUESTED)
+                    .getSingleResult();
+            if (pending == 0) {
+                entityManager.persist(new UserOutboxEntity(CONSUMER, null, RESYNC_REQUESTED, "{}", Instant.now()));
+            }
+        });
+    }
+
+    /**
+     * Aplica y borra en una transacción las filas más antiguas; si el lote falla, las reintenta de a una.
+     *
+     * @return filas aplicadas
+     */
+    private int applyBatch() {
+        List<UserOutboxEntity> applied;
+        try {
+            applied = transactionTemplate.execute(status -> {
+                List<UserOutboxEntity> rows = entityManager.createQuery("""
+                                select o from UserOutboxEntity o where o.consumer = :consumer order by o.id
+                                """, UserOutboxEntity.class)
+                        .setParameter("consumer", CONSUMER)
+                        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                        .setMaxResults(batchSize)
+                        .getResultList();
+                apply(rows);
+                delete(rows);
+                return rows;
+            });
+        } catch (RuntimeException ex) {
+            log.warn("No se pudo aplicar un lote al modelo de búsqueda de usuarios; se aplica fila por fila", ex);
+            applied = applyOneByOne();
+        }
+
+        Instant now = Instant.now();
+        for (UserOutboxEntity row : applied) {
+            propagation.record(Duration.between(row.getOccurredAt(), now));
+        }
+        return applied.size();
+    }
+
+    private List<UserOutboxEntity> applyOneByOne() {
+        List<Long> ids = transactionTemplate.execute(status -> entityManager.createQuery("""
+                        select o.id from UserOutboxEntity o where o.consumer = :consumer order by o.id
+                        """, Long.class)
+                .setParameter("consumer", CONSUMER)
+                .setMaxResults(batchSize)
+                .getResultList());
+
+        List<UserOutboxEntity> applied = new ArrayList<>();
+        for (Long id : ids) {
+            try {
+                UserOutboxEntity row = transactionTemplate.execute(status -> {
+                    UserOutboxEntity locked = entityManager.find(UserOutboxEntity.class, id, LockModeType.PESSIMISTIC_WRITE);
+                    if (locked != null) {
+                        apply(List.of(locked));
+                        delete(List.of(locked));
+                    }
+                    return locked;
+                });
+                if (row != null) {
+                    applied.add(row);
+                }
+            } catch (RuntimeException ex) {
+                failures.increment();
+                log.warn("No se pudo aplicar el evento {} del outbox al modelo de búsqueda de usuarios", id, ex);
+                // Si esto también falla, la base de datos no responde: se reintenta todo después de retryDelay
+                transactionTemplate.executeWithoutResult(status -> entityManager
+                        .createQuery("update UserOutboxEntity o set o.attempts = o.attempts + 1 where o.id = :id")
+                        .setParameter("id", id)
+                        .executeUpdate());
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Refleja las filas en el modelo leyendo el estado actual de {@code users}. Si alguna pide (o ya
+     * agotó sus intentos y necesita) una resincronización completa, esta cubre a todas las demás.
+     */
+    private void apply(List<UserOutboxEntity> rows) {
+        boolean resync = false;
+        Set<String> userIds = new LinkedHashSet<>();
+        Set<UserSearchFilter> cohorts = new LinkedHashSet<>();
+        for (UserOutboxEntity row : rows) {
+            if (row.getAttempts() >= maxAttempts) {
+                log.warn("El evento {} del outbox falló {} veces; se resincroniza el modelo de búsqueda en su lugar",
+                        row.getId(), row.getAttempts());
+                resync = true;
+            } else if (RESYNC_REQUESTED.equals(row.getEventType())) {
+                resync = true;
+            } else if (USER_CHANGED.equals(row.getEventType())) {
+                userIds.add(row.getUserId());
+            } else if (USERS_STATUS_CHANGED.equals(row.getEventType())) {
+                cohorts.add(objectMapper.readValue(row.getPayload(), UsersStatusChangedEvent.class).filter());
+            } else {
+                throw new IllegalStateException("Tipo de evento de usuario desconocido: " + row.getEventType());
+            }
+        }
+
+        if (resync) {
+            resync();
+            return;
+        }
+        refreshUsers(userIds);
+        cohorts.forEach(this::refreshCohort);
+    }
+
+    private void delete(List<UserOutboxEntity> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        entityManager.createQuery("delete from UserOutboxEntity o where o.id in :ids")
+                .setParameter("ids", rows.stream().map(UserOutboxEntity::getId).toList())
+                .executeUpdate();
+    }
+
+    /**
+     * Copia los usuarios desde {@code users}; los que ya no están ahí salen del modelo.
+     */
+    private void refreshUsers(Set<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<User> users = loadUsers(ids);
+        upsert(users);
+
+        Set<String> missing = new LinkedHashSet<>(ids);
+        users.forEach(user -> missing.remove(user.id()));
+        if (!missing.isEmpty()) {
+            entityManager.createQuery("delete from UserSearchEntity s where s.id in :ids")
+                    .setParameter("ids", missing)
+                    .executeUpdate();
+        }
+    }
+
+    private List<User> loadUsers(Set<String> ids) {
+        return entityManager.createQuery("""
+                        select new com.example.hexagonalarchitecture.users.domain.model.User(
+                            u.id, u.username, u.firstName, u.lastName, u.email, u.phone, u.documentType,
+                            u.documentNumber, u.address, u.status, u.birthDate, u.version)
+                        from UserEntity u
+                        where u.id in :ids
+                        """, User.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    /**
+     * Aplica cada usuario leído de {@code users} (la fuente de verdad) si su versión difiere de la de
+     * la fila.
+     */
+    private void upsert(List<User> users) {
+        Map<String, UserSearchEntity> rows = entityManager
+                .createQuery("select s from UserSearchEntity s where s.id in :ids", UserSearchEntity.class)
+                .setParameter("ids", users.stream().map(User::id).toList())
+                .getResultList()
+                .stream()
+                .collect(Collectors.toMap(UserSearchEntity::getId, Function.identity()));
+
+        Instant now = Instant.now();
+        for (User user : users) {
+            UserSearchEntity row = rows.get(user.id());
+            if (row == null) {
+                entityManager.persist(new UserSearchEntity(user, now));
+            } else if (version(user) != row.getSourceVersion()) {
+                row.apply(user, now);
+            }
+        }
+    }
+
+    /**
+     * Refresca desde {@code users}, de a {@code batchSize}, las filas de la cohorte (según el estado
+     * previo que refleja el modelo) cuya versión ya no coincide.
+     */
+    private void refreshCohort(UserSearchFilter filter) {
+        List<String> ids;
+        do {
+            ids = outdatedIds(filter);
+            if (!ids.isEmpty()) {
+                upsert(loadUsers(new LinkedHashSet<>(ids)));
+                entityManager.flush();
+                entityManager.clear();
+            }
+        } while (ids.size() == batchSize);
+    }
+
+    private List<String> outdatedIds(UserSearchFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<UserSearchEntity> row = query.from(UserSearchEntity.class);
+
+        Subquery<String> outdated = query.subquery(String.class);
+        Root<UserEntity> user = outdated.from(UserEntity.class);
+        outdated.select(user.get("id")).where(
+                cb.equal(user.get("id"), row.get("id")),
+                cb.notEqual(user.get("version"), row.get("sourceVersion")));
+
+        Predicate cohort = Specification.where(UserSearchSpecifications.matches(filter))
+                .toPredicate(row, query, cb);
+        query.select(row.get("id"))
+                .where(cohort == null ? cb.exists(outdated) : cb.and(cohort, cb.exists(outdated)));
+        return entityManager.createQuery(query)
+                .setMaxResults(batchSize)
+                .getResultList();
+    }
+
+    /**
+     * Alinea todo el modelo con {@code users} por conjuntos: borra las filas desactualizadas (o
+     * huérfanas) y vuelve a insertar las que faltan.
+     */
+    private void resync() {
+        long start = System.nanoTime();
+        int deleted = entityManager.createNativeQuery(DELETE_OUTDATED).executeUpdate();
+        int inserted = entityManager.createNativeQuery(INSERT_MISSING).executeUpdate();
+        resyncs.increment();
+        log.info("Modelo de búsqueda de usuarios resincronizado: {} filas descartadas y {} insertadas en {} ms",
+                deleted, inserted, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Consulta lo pendiente en la base de datos, incluido lo que escribieron otras instancias.
+     */
+    private void observeBacklog() {
+        Instant observedAt = Instant.now();
+        Object[] result = transactionTemplate.execute(status -> entityManager.createQuery("""
+                        select count(o), min(o.occurredAt) from UserOutboxEntity o where o.consumer = :consumer
+                        """, Object[].class)
+                .setParameter("consumer", CONSUMER)
+                .getSingleResult());
+        backlog = new Backlog((Long) result[0], (Instant) result[1], observedAt);
+    }
+
+    private static long version(User user) {
+        return user.version() == null ? 0L : user.version();
+    }
+}
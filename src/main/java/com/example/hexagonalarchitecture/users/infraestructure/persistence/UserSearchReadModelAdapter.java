@@ -0,0 +1,235 @@
+package com.example.hexagonalarchitecture.users.infraestructure.persistence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.hexagonalarchitecture.users.application.common.PageResult;
+import com.example.hexagonalarchitecture.users.application.common.SortDirection;
+import com.example.hexagonalarchitecture.users.application.common.UserCursor;
+import com.example.hexagonalarchitecture.users.application.common.UserField;
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.application.common.UserSortField;
+import com.example.hexagonalarchitecture.users.application.port.out.UserSearchPort;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Búsqueda de usuarios sobre el modelo de lectura {@code user_search} (CQRS).
+ * <p>
+ * Filtro, orden, OFFSET y COUNT se resuelven en {@code user_search}; de {@code users} solo se leen,
+ * por clave primaria, las filas de la página (join por id). Así los recorridos de búsqueda no
+ * compiten con las altas por los buffers y locks de la tabla de escritura.
+ * <p>
+ * El modelo se actualiza de forma asíncrona ({@link UserSearchProjector}): mientras su retraso supere
+ * {@code maxStaleness}, las búsquedas van al puerto de escritura y se cuentan en
+ * {@code users.readmodel.fallbacks}. Dentro del límite, una búsqueda puede no reflejar aún los
+ * cambios más recientes (p. ej. un usuario que ya no cumple el filtro), pero los datos devueltos
+ * siempre son los actuales.
+ */
+public class UserSearchReadModelAdapter implements UserSearchPort {
+
+    private final EntityManager entityManager;
+    private final UserSearchPort writeModel;
+    private final UserSearchProjector projector;
+    private final Duration maxStaleness;
+    private final Counter fallbacks;
+
+    public UserSearchReadModelAdapter(
+            EntityManager entityManager,
+            UserSearchPort writeModel,
+            UserSearchProjector projector,
+            Duration maxStaleness,
+            MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.writeModel = writeModel;
+        this.projector = projector;
+        this.maxStaleness = maxStaleness;
+        this.fallbacks = Counter.builder("users.readmodel.fallbacks")
+                .description("Búsquedas resueltas en la tabla users porque el modelo de búsqueda estaba atrasado")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResult<User> search(
+            UserSearchFilter filter,
+            int page,
+            int size,
+            UserSortField sortField,
+            SortDirection direction,
+            Set<UserField> fields) {
+        if (stale()) {
+            return writeModel.search(filter, page, size, sortField, direction, fields);
+        }
+
+        Pageable pageable = PageRequest.of(page, size, JpaUserRepositoryAdapter.toSort(sortField, direction));
+        Specification<UserSearchEntity> spec = Specification.where(UserSearchSpecifications.matches(filter));
+
+        List<User> users = selectUsers(spec, pageable.getSort(), pageable.getOffset(), size,
+                UserField.withSortKeys(fields, sortField));
+        Page<User> result = PageableExecutionUtils.getPage(users, pageable, () -> count(spec));
+
+        return PageResult.counted(
+                users,
+                result.getNumber(),
+                result.getSize(),
+                result.getTotalElements(),
+                result.getTotalPages(),
+                JpaUserRepositoryAdapter.nextCursor(users, result.hasNext(), sortField, direction));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResult<User> searchSlice(
+            UserSearchFilter filter,
+            int page,
+            int size,
+            UserSortField sortField,
+            SortDirection direction,
+            Set<UserField> fields) {
+        if (stale()) {
+            return writeModel.searchSlice(filter, page, size, sortField, direction, fields);
+        }
+
+        Pageable pageable = PageRequest.of(page, size, JpaUserRepositoryAdapter.toSort(sortField, direction));
+        List<User> rows = selectUsers(Specification.where(UserSearchSpecifications.matches(filter)),
+                pageable.getSort(), pageable.getOffset(), size + 1, UserField.withSortKeys(fields, sortField));
+        boolean hasNext = rows.size() > size;
+        List<User> users = hasNext ? rows.subList(0, size) : rows;
+
+        return PageResult.slice(
+                users,
+                page,
+                size,
+                hasNext,
+                null,
+                JpaUserRepositoryAdapter.nextCursor(users, hasNext, sortField, direction));
+    }
+
+    /**
+     * Las estimaciones salen de las estadísticas de {@code users}, que no se recorre.
+     */
+    @Override
+    public OptionalLong estimateCount(UserSearchFilter filter) {
+        return writeModel.estimateCount(filter);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResult<User> searchAfter(
+            UserSearchFilter filter,
+            UserCursor cursor,
+            int size,
+            UserSortField sortField,
+            SortDirection direction,
+            Set<UserField> fields) {
+        if (stale()) {
+            return writeModel.searchAfter(filter, cursor, size, sortField, direction, fields);
+        }
+
+        Specification<UserSearchEntity> spec = Specification.where(UserSearchSpecifications.matches(filter));
+        if (cursor != null) {
+            spec = spec.and(UserSpecifications.after(
+                    sortField.column(),
+                    direction == SortDirection.ASC,
+                    cursor.value(),
+                    cursor.id()));
+        }
+
+        List<User> rows = selectUsers(spec, JpaUserRepositoryAdapter.toSort(sortField, direction), 0, size + 1,
+                UserField.withSortKeys(fields, sortField));
+        boolean hasNext = rows.size() > size;
+        List<User> users = hasNext ? rows.subList(0, size) : rows;
+
+        return PageResult.keyset(
+                users,
+                size,
+                JpaUserRepositoryAdapter.nextCursor(users, hasNext, sortField, direction));
+    }
+
+    private boolean stale() {
+        if (projector.isWithin(maxStaleness)) {
+            return false;
+        }
+        fallbacks.increment();
+        return true;
+    }
+
+    /**
+     * Página filtrada y ordenada en {@code user_search}, con los campos pedidos leídos de {@code users}.
+     * El orden usa los mismos nombres de atributo en ambas entidades (id, lastName, documentNumber),
+     * así {@link JpaUserRepositoryAdapter#toSort} y {@link UserSpecifications#after} sirven igual.
+     */
+    private List<User> selectUsers(
+            Specification<UserSearchEntity> spec, Sort sort, long offset, int limit, Set<UserField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<UserSearchEntity> root = query.from(UserSearchEntity.class);
+        Join<UserSearchEntity, UserEntity> user = joinUser(root, cb);
+
+        List<UserField> selected = List.copyOf(fields);
+        List<Selection<?>> columns = new ArrayList<>(selected.size());
+        for (UserField field : selected) {
+            columns.add(user.get(field.attribute()));
+        }
+        query.multiselect(columns);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(tuple -> JpaUserRepositoryAdapter.tupleToDomain(tuple, selected))
+                .toList();
+    }
+
+    /**
+     * También con el join: una fila del modelo sin usuario (no debería quedar, pero la resincronización
+     * es la que la borra) no se cuenta.
+     */
+    private long count(Specification<UserSearchEntity> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<UserSearchEntity> root = query.from(UserSearchEntity.class);
+        joinUser(root, cb);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Join<UserSearchEntity, UserEntity> joinUser(Root<UserSearchEntity> root, CriteriaBuilder cb) {
+        Join<UserSearchEntity, UserEntity> user = root.join(UserEntity.class);
+        user.on(cb.equal(user.get("id"), root.get("id")));
+        return user;
+    }
+}
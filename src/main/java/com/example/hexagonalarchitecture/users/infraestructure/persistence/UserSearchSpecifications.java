@@ -0,0 +1,41 @@
+package com.example.hexagonalarchitecture.users.infraestructure.persistence;
+
+import org.springframework.data.jpa.domain.PredicateSpecification;
+
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+
+/**
+ * Criterios de búsqueda sobre el modelo de lectura {@link UserSearchEntity}: los mismos que
+ * {@link UserSpecifications}, pero el texto se compara contra las columnas ya en minúsculas, sin
+ * aplicar {@code lower()} a cada fila.
+ */
+public final class UserSearchSpecifications {
+
+        private UserSearchSpecifications() {
+        }
+
+        public static PredicateSpecification<UserSearchEntity> matches(UserSearchFilter filter) {
+                return PredicateSpecification
+                                .where(contains("lastNameLower", filter.lastName()))
+                                .and(contains("documentNumberLower", filter.documentNumber()))
+                                .and((root, cb) -> filter.status() == null
+                                                ? null
+                                                : cb.equal(root.get("status"), filter.status()))
+                                .and((root, cb) -> filter.birthDateFrom() == null
+                                                ? null
+                                                : cb.greaterThanOrEqualTo(root.get("birthDate"), filter.birthDateFrom()))
+                                .and((root, cb) -> filter.birthDateTo() == null
+                                                ? null
+                                                : cb.lessThanOrEqualTo(root.get("birthDate"), filter.birthDateTo()));
+        }
+
+        /**
+         * {@code column LIKE '%x%'}; en PostgreSQL lo resuelven los índices trigram de {@code user_search}.
+         */
+        private static PredicateSpecification<UserSearchEntity> contains(String attribute, String value) {
+                return (root, cb) -> value == null
+                                ? null
+                                : cb.like(root.get(attribute), UserSpecifications.containsPattern(value),
+                                                UserSpecifications.LIKE_ESCAPE);
+        }
+}
@@ -1,9 +1,16 @@
 package com.example.hexagonalarchitecture.users.infraestructure.persistence;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Locale;
 
+import org.springframework.data.jpa.domain.PredicateSpecification;
 import org.springframework.data.jpa.domain.Specification;
 
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.metamodel.SingularAttribute;
+
 import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
 
 public final class UserSpecifications {
@@ -11,37 +18,123 @@ public final class UserSpecifications {
         private UserSpecifications() {
         }
 
-        public static Specification<UserEntity> lastNameContains(String lastName) {
-                return (root, query, cb) -> lastName == null
+        /**
+         * Carácter de escape para los comodines LIKE presentes en el texto buscado.
+         */
+        static final char LIKE_ESCAPE = '\\';
+
+        /**
+         * {@code lower(last_name) LIKE '%x%'}: la expresión debe coincidir exactamente con la
+         * del índice {@code idx_users_last_name_trgm} (GIN, gin_trgm_ops) para que PostgreSQL lo use.
+         */
+        public static PredicateSpecification<UserEntity> lastNameContains(String lastName) {
+                return (root, cb) -> lastName == null
                                 ? null
                                 : cb.like(
                                                 cb.lower(root.get("lastName")),
-                                                "%" + lastName.toLowerCase() + "%");
+                                                containsPattern(lastName),
+                                                LIKE_ESCAPE);
         }
 
-        public static Specification<UserEntity> documentNumberContains(String documentNumber) {
-                return (root, query, cb) -> documentNumber == null
+        /**
+         * {@code lower(document_number) LIKE '%x%'}, servida por {@code idx_users_document_number_trgm}.
+         */
+        public static PredicateSpecification<UserEntity> documentNumberContains(String documentNumber) {
+                return (root, cb) -> documentNumber == null
                                 ? null
                                 : cb.like(
                                                 cb.lower(root.get("documentNumber")),
-                                                "%" + documentNumber.toLowerCase() + "%");
+                                                containsPattern(documentNumber),
+                                                LIKE_ESCAPE);
         }
 
-        public static Specification<UserEntity> hasStatus(UserStatus status) {
-                return (root, query, cb) -> status == null
+        public static PredicateSpecification<UserEntity> hasStatus(UserStatus status) {
+                return (root, cb) -> status == null
                                 ? null
                                 : cb.equal(root.get("status"), status);
         }
 
-        public static Specification<UserEntity> birthDateFrom(LocalDate from) {
-                return (root, query, cb) -> from == null
+        public static PredicateSpecification<UserEntity> birthDateFrom(LocalDate from) {
+                return (root, cb) -> from == null
                                 ? null
                                 : cb.greaterThanOrEqualTo(root.get("birthDate"), from);
         }
 
-        public static Specification<UserEntity> birthDateTo(LocalDate to) {
-                return (root, query, cb) -> to == null
+        public static PredicateSpecification<UserEntity> birthDateTo(LocalDate to) {
+                return (root, cb) -> to == null
                                 ? null
                                 : cb.lessThanOrEqualTo(root.get("birthDate"), to);
-        }        
-}
\ No newline at end of file
+        }
+
+        public static PredicateSpecification<UserEntity> statusIsNot(UserStatus status) {
+                return (root, cb) -> cb.notEqual(root.get("status"), status);
+        }
+
+        public static PredicateSpecification<UserEntity> usernameNotIn(Collection<String> usernames) {
+                return (root, cb) -> usernames.isEmpty()
+                                ? null
+                                : cb.not(root.get("username").in(usernames));
+        }
+
+        /**
+         * Rango de IDs {@code (afterId, upToId]}; cualquiera de los extremos puede ser null (abierto).
+         */
+        public static PredicateSpecification<UserEntity> idBetween(String afterId, String upToId) {
+                return (root, cb) -> {
+                        Path<String> id = root.get("id");
+                        if (afterId == null) {
+                                return upToId == null ? null : cb.lessThanOrEqualTo(id, upToId);
+                        }
+                        return upToId == null
+                                        ? cb.greaterThan(id, afterId)
+                                        : cb.and(cb.greaterThan(id, afterId), cb.lessThanOrEqualTo(id, upToId));
+                };
+        }
+
+        /**
+         * Predicado de continuación para paginación keyset: filas que van después de
+         * ({@code value}, {@code id}) en el orden {@code attribute, id}, con nulls al final.
+         * <p>
+         * Se expresa como {@code attr >= v AND (attr > v OR id > lastId)} para que el límite
+         * inferior pueda resolverse con un range scan sobre el índice {@code (attr, id)}.
+         */
+        public static <T> Specification<T> after(String attribute, boolean ascending, String value, String id) {
+                return (root, query, cb) -> {
+                        if (id == null) {
+                                return null;
+                        }
+                        Path<String> idPath = root.get("id");
+                        Predicate idAfter = ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+                        if ("id".equals(attribute)) {
+                                return idAfter;
+                        }
+
+                        Path<String> path = root.get(attribute);
+                        if (value == null) {
+                                // El cursor ya está en la cola de nulls (ordenados al final)
+                                return cb.and(cb.isNull(path), idAfter);
+                        }
+
+                        Predicate seek = cb.and(
+                                        ascending ? cb.greaterThanOrEqualTo(path, value) : cb.lessThanOrEqualTo(path, value),
+                                        cb.or(
+                                                        ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value),
+                                                        cb.and(cb.equal(path, value), idAfter)));
+
+                        boolean nullable = path.getModel() instanceof SingularAttribute<?, ?> attr && attr.isOptional();
+                        return nullable ? cb.or(seek, cb.isNull(path)) : seek;
+                };
+        }
+
+        /**
+         * Patrón {@code %texto%} en minúsculas con los comodines del usuario escapados,
+         * para que '%' o '_' se busquen literalmente en lugar de ampliar el match.
+         */
+        static String containsPattern(String value) {
+                String escaped = value.toLowerCase(Locale.ROOT)
+                                .replace(String.valueOf(LIKE_ESCAPE), String.valueOf(LIKE_ESCAPE) + LIKE_ESCAPE)
+                                .replace("%", LIKE_ESCAPE + "%")
+                                .replace("_", LIKE_ESCAPE + "_");
+                return "%" + escaped + "%";
+        }
+}
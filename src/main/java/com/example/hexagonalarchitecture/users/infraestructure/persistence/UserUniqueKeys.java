@@ -0,0 +1,11 @@
+package com.example.hexagonalarchitecture.users.infraestructure.persistence;
+
+/**
+ * Proyección con solo las columnas únicas de un usuario, para detectar conflictos sin cargar la entidad.
+ */
+public record UserUniqueKeys(
+        String username,
+        String email,
+        String documentNumber
+) {
+}
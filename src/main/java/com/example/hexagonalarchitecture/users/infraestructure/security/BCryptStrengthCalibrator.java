@@ -0,0 +1,81 @@
+package com.example.hexagonalarchitecture.users.infraestructure.security;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Elige el costo (strength) de BCrypt según lo que tarda un hash en este host.
+ * <p>
+ * Cada punto de costo duplica el trabajo, así que un valor fijo es demasiado lento en pods
+ * pequeños y desaprovecha seguridad en nodos grandes. El calibrador mide el hash real a partir
+ * de {@code minStrength} y sube mientras la mediana de las mediciones quepa en el presupuesto,
+ * sin pasar de {@code maxStrength}. {@code minStrength} es un piso de seguridad: se usa aunque
+ * exceda el presupuesto (el resultado lo indica con {@code withinBudget = false}).
+ */
+public class BCryptStrengthCalibrator {
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-Password-123";
+
+    private final IntToLongFunction hashNanos;
+
+    public BCryptStrengthCalibrator() {
+        this(strength -> {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            return System.nanoTime() - start;
+        });
+    }
+
+    /**
+     * @param hashNanos mide cuánto tarda un hash con el costo dado, en nanosegundos
+     */
+    BCryptStrengthCalibrator(IntToLongFunction hashNanos) {
+        this.hashNanos = hashNanos;
+    }
+
+    /**
+     * Resultado de la calibración.
+     *
+     * @param strength costo elegido
+     * @param hashTime duración medida de un hash con ese costo
+     * @param budget presupuesto solicitado
+     * @param withinBudget false si ni el costo mínimo cabe en el presupuesto
+     */
+    public record Calibration(int strength, Duration hashTime, Duration budget, boolean withinBudget) {
+    }
+
+    public Calibration calibrate(Duration budget, int minStrength, int maxStrength) {
+        // Calentamiento: la primera medición incluye carga de clases y JIT
+        hashNanos.applyAsLong(minStrength);
+
+        long budgetNanos = budget.toNanos();
+        int strength = minStrength;
+        long time = measure(strength);
+        if (time > budgetNanos) {
+            return new Calibration(strength, Duration.ofNanos(time), budget, false);
+        }
+        while (strength < maxStrength) {
+            long next = measure(strength + 1);
+            if (next > budgetNanos) {
+                break;
+            }
+            strength++;
+            time = next;
+        }
+        return new Calibration(strength, Duration.ofNanos(time), budget, true);
+    }
+
+    private long measure(int strength) {
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = hashNanos.applyAsLong(strength);
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.hexagonalarchitecture.users.infraestructure.security;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.hexagonalarchitecture.users.infraestructure.exception.PasswordHashingUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Decorador de {@link PasswordEncoder} que ejecuta {@code encode}/{@code matches} en un pool
+ * dedicado y acotado, en lugar de en el hilo de la solicitud.
+ * <p>
+ * BCrypt consume decenas de milisegundos de CPU por llamada; ejecutado en los hilos de Tomcat,
+ * una ráfaga de altas o cambios de contraseña los ocupa todos y degrada a las lecturas baratas.
+ * Con este decorador:
+ * - Como máximo {@code threads} hashes corren a la vez; el resto espera en una cola de tamaño fijo
+ * - Si la cola está llena la operación se rechaza de inmediato
+ * - Si el resultado no llega dentro de {@code timeout} el llamador deja de esperar
+ * <p>
+ * En ambos casos se lanza {@link PasswordHashingUnavailableException} (HTTP 503). Un hash que ya
+ * empezó no se puede interrumpir: tras un timeout termina en segundo plano y se descarta.
+ * <p>
+ * Los lotes ({@link #encodeAll}) se envían al mismo pool sin ocupar más que sus hilos, así no dejan
+ * sin lugar a las llamadas individuales, y un rechazo o timeout solo afecta a la contraseña
+ * correspondiente.
+ * <p>
+ * Métricas (prefijo {@code users.password.hashing}):
+ * - {@code executor.*} con tag {@code name=users.password.hashing}: hilos activos, tamaño de cola,
+ *   capacidad restante, tiempo de ejecución y tiempo de espera en cola
+ * - {@code users.password.hashing.rejected} y {@code users.password.hashing.timeouts}
+ *   por {@code operation} (encode/matches)
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    static final String METRIC_NAME = "users.password.hashing";
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    // Contraseñas de un mismo lote en el pool a la vez
+    private final int window;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    public BoundedPasswordEncoder(
+            PasswordEncoder delegate,
+            int threads,
+            int queueCapacity,
+            Duration timeout,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.window = Math.max(1, threads);
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, METRIC_NAME);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Solo inspecciona el prefijo del hash, no necesita el pool
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Envía las contraseñas de a una, con a lo sumo {@code threads} del lote en el pool a la vez: el
+     * lote nunca ocupa la cola, así las llamadas individuales (altas, login) que llegan mientras tanto
+     * entran y esperan a lo sumo un hash. Cada contraseña tiene su propio {@code timeout}, contado desde
+     * que se envía. El hilo llamador solo espera: no hashea ni ocupa otros pools.
+     *
+     * @return un future ya completado por contraseña, en el mismo orden: con el hash o con
+     *         {@link PasswordHashingUnavailableException} (u otra excepción del encoder)
+     */
+    public List<CompletableFuture<String>> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<CompletableFuture<String>> results = new ArrayList<>(rawPasswords.size());
+        Deque<InFlight> inFlight = new ArrayDeque<>(window);
+        for (CharSequence raw : rawPasswords) {
+            if (inFlight.size() == window) {
+                results.add(inFlight.removeFirst().join());
+            }
+            CompletableFuture<String> result = new CompletableFuture<>();
+            try {
+                inFlight.addLast(new InFlight(submit("encode", () -> delegate.encode(raw)),
+                        System.nanoTime() + timeout.toNanos(), result));
+            } catch (PasswordHashingUnavailableException ex) {
+                result.completeExceptionally(ex);
+                inFlight.addLast(new InFlight(null, 0L, result));
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            results.add(inFlight.removeFirst().join());
+        }
+        return results;
+    }
+
+    private <T> T call(String operation, Callable<T> task) {
+        return await(operation, submit(operation, task), timeout.toNanos());
+    }
+
+    private <T> Future<T> submit(String operation, Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            counter("rejected", operation).increment();
+            throw new PasswordHashingUnavailableException(
+                    "Servicio de contraseñas saturado, intente nuevamente", ex);
+        }
+    }
+
+    private <T> T await(String operation, Future<T> future, long timeoutNanos) {
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // Si aún estaba en cola se descarta; si ya corría, termina y se ignora el resultado
+            future.cancel(false);
+            counter("timeouts", operation).increment();
+            throw new PasswordHashingUnavailableException(
+                    "El procesamiento de la contraseña excedió el tiempo máximo", ex);
+        } catch (InterruptedException ex) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Procesamiento de contraseña interrumpido", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * Contraseña de un lote enviada al pool ({@code future} null si se rechazó) y su plazo.
+     */
+    private final class InFlight {
+
+        private final Future<String> future;
+        private final long deadline;
+        private final CompletableFuture<String> result;
+
+        private InFlight(Future<String> future, long deadline, CompletableFuture<String> result) {
+            this.future = future;
+            this.deadline = deadline;
+            this.result = result;
+        }
+
+        private CompletableFuture<String> join() {
+            if (future != null) {
+                try {
+                    result.complete(await("encode", future, Math.max(0L, deadline - System.nanoTime())));
+                } catch (RuntimeException ex) {
+                    result.completeExceptionally(ex);
+                }
+            }
+            return result;
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(METRIC_NAME + "." + name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Detiene el pool al cerrar el contexto; los hashes en curso terminan.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.hexagonalarchitecture.users.infraestructure.security;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.hexagonalarchitecture.users.application.port.out.BatchPasswordHasher;
+
+/**
+ * Adaptador de {@link BatchPasswordHasher} sobre el {@link PasswordEncoder} de la aplicación: con un
+ * {@link BoundedPasswordEncoder} usa su pool acotado ({@link BoundedPasswordEncoder#encodeAll}); con
+ * cualquier otro hashea de a una contraseña en el hilo del llamador.
+ */
+public class PasswordEncoderBatchHasher implements BatchPasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+
+    public PasswordEncoderBatchHasher(PasswordEncoder passwordEncoder) {
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public List<CompletableFuture<String>> hashAll(List<? extends CharSequence> rawPasswords) {
+        if (passwordEncoder instanceof BoundedPasswordEncoder bounded) {
+            return bounded.encodeAll(rawPasswords);
+        }
+        return rawPasswords.stream()
+                .map(raw -> {
+                    try {
+                        return CompletableFuture.completedFuture(passwordEncoder.encode(raw));
+                    } catch (RuntimeException ex) {
+                        return CompletableFuture.<String>failedFuture(ex);
+                    }
+                })
+                .toList();
+    }
+}
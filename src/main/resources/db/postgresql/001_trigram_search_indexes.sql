@@ -0,0 +1,18 @@
+-- ============================================
+-- Índices trigram para búsqueda por subcadena
+-- ============================================
+-- UserSpecifications genera lower(col) LIKE '%x%', que ningún B-tree puede resolver.
+-- Un índice GIN con gin_trgm_ops sobre la MISMA expresión lower(col) sí puede
+-- (ver UserSearchSqlTest, que verifica que la consulta siga coincidiendo).
+-- Se ejecuta en cada arranque después de que Hibernate cree/actualice la tabla,
+-- por eso todas las sentencias son idempotentes.
+-- En tablas grandes ya pobladas conviene crear los índices antes, a mano,
+-- con CREATE INDEX CONCURRENTLY para no bloquear escrituras durante el build.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_users_last_name_trgm
+    ON users USING gin (lower(last_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_users_document_number_trgm
+    ON users USING gin (lower(document_number) gin_trgm_ops);
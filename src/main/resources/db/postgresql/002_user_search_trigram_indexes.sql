@@ -0,0 +1,12 @@
+-- ============================================
+-- Índices trigram del modelo de lectura de búsqueda
+-- ============================================
+-- user_search guarda el apellido y el documento ya en minúsculas, así que el LIKE '%x%'
+-- de UserSearchSpecifications se aplica a la columna tal cual, sin lower() por fila.
+-- Como en 001, las sentencias son idempotentes porque se ejecutan en cada arranque.
+
+CREATE INDEX IF NOT EXISTS idx_user_search_last_name_lower_trgm
+    ON user_search USING gin (last_name_lower gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_user_search_document_number_lower_trgm
+    ON user_search USING gin (document_number_lower gin_trgm_ops);
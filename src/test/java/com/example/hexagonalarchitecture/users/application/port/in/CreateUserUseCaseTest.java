@@ -1,21 +1,35 @@
 package com.example.hexagonalarchitecture.users.application.port.in;
 
+import com.example.hexagonalarchitecture.users.application.common.BatchItemResult;
+import com.example.hexagonalarchitecture.users.application.common.UserToCreate;
+import com.example.hexagonalarchitecture.users.application.common.UserUniqueField;
+import com.example.hexagonalarchitecture.users.application.port.out.UserEventPublisher;
 import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.application.port.out.UserTransactionPort;
+import com.example.hexagonalarchitecture.users.application.port.out.UserWithPassword;
 import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
 import com.example.hexagonalarchitecture.users.domain.model.User;
 import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.DuplicateUserException;
 import com.example.hexagonalarchitecture.users.infraestructure.exception.InvalidDocumentException;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.PasswordHashingUnavailableException;
 import com.example.hexagonalarchitecture.users.infraestructure.exception.ValidationException;
+import com.example.hexagonalarchitecture.users.infraestructure.security.PasswordEncoderBatchHasher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,7 +48,9 @@ class CreateUserUseCaseTest {
     @BeforeEach
     void setUp() {
         passwordEncoder = new BCryptPasswordEncoder();
-        createUserUseCase = new CreateUserUseCase(userRepository, passwordEncoder);
+        createUserUseCase = new CreateUserUseCase(
+            userRepository, passwordEncoder, new PasswordEncoderBatchHasher(passwordEncoder),
+            UserEventPublisher.NONE, UserTransactionPort.NONE);
     }
 
     @Test
@@ -53,9 +69,6 @@ class CreateUserUseCaseTest {
             UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
         );
 
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByDocumentNumber(anyString())).thenReturn(false);
         when(userRepository.create(any(User.class), anyString())).thenReturn(expectedUser);
 
         // When
@@ -66,9 +79,6 @@ class CreateUserUseCaseTest {
         assertEquals("generated-id", result.id());
         assertEquals(UserStatus.ACTIVE, result.status());
         
-        verify(userRepository).existsByUsername("jdoe");
-        verify(userRepository).existsByEmail("john@example.com");
-        verify(userRepository).existsByDocumentNumber("12345678");
         verify(userRepository).create(any(User.class), anyString());
     }
 
@@ -102,7 +112,8 @@ class CreateUserUseCaseTest {
             null, LocalDate.of(1990, 1, 1)
         );
 
-        when(userRepository.existsByUsername("jdoe")).thenReturn(true);
+        when(userRepository.create(any(User.class), anyString()))
+            .thenThrow(new DuplicateUserException(EnumSet.of(UserUniqueField.USERNAME)));
 
         // When & Then
         ValidationException exception = assertThrows(
@@ -112,7 +123,7 @@ class CreateUserUseCaseTest {
 
         assertTrue(exception.getMessage().contains("username"));
         assertTrue(exception.getMessage().contains("ya está en uso"));
-        verify(userRepository, never()).create(any(), any());
+        verify(userRepository).create(any(User.class), anyString());
     }
 
     @Test
@@ -125,8 +136,8 @@ class CreateUserUseCaseTest {
             null, LocalDate.of(1990, 1, 1)
         );
 
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail("john@example.com")).thenReturn(true);
+        when(userRepository.create(any(User.class), anyString()))
+            .thenThrow(new DuplicateUserException(EnumSet.of(UserUniqueField.EMAIL)));
 
         // When & Then
         ValidationException exception = assertThrows(
@@ -136,7 +147,7 @@ class CreateUserUseCaseTest {
 
         assertTrue(exception.getMessage().contains("email"));
         assertTrue(exception.getMessage().contains("ya está registrado"));
-        verify(userRepository, never()).create(any(), any());
+        verify(userRepository).create(any(User.class), anyString());
     }
 
     @Test
@@ -149,9 +160,8 @@ class CreateUserUseCaseTest {
             null, LocalDate.of(1990, 1, 1)
         );
 
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByDocumentNumber("12345678")).thenReturn(true);
+        when(userRepository.create(any(User.class), anyString()))
+            .thenThrow(new DuplicateUserException(EnumSet.of(UserUniqueField.DOCUMENT_NUMBER)));
 
         // When & Then
         ValidationException exception = assertThrows(
@@ -160,7 +170,30 @@ class CreateUserUseCaseTest {
         );
 
         assertTrue(exception.getMessage().contains("documento"));
-        verify(userRepository, never()).create(any(), any());
+        verify(userRepository).create(any(User.class), anyString());
+    }
+
+    @Test
+    @DisplayName("Con varios conflictos se reporta el username primero")
+    void testCreateUserWithSeveralConflictsReportsUsernameFirst() {
+        // Given
+        User inputUser = new User(
+            null, "jdoe", "John", "Doe", "john@example.com",
+            "123456789", DocumentType.DNI, "12345678", "Address 1",
+            null, LocalDate.of(1990, 1, 1)
+        );
+
+        when(userRepository.create(any(User.class), anyString()))
+            .thenThrow(new DuplicateUserException(EnumSet.of(UserUniqueField.DOCUMENT_NUMBER, UserUniqueField.USERNAME)));
+
+        // When & Then
+        ValidationException exception = assertThrows(
+            ValidationException.class,
+            () -> createUserUseCase.execute(inputUser, "password123")
+        );
+
+        assertTrue(exception.getMessage().contains("ya está en uso"));
+        verify(userRepository, never()).existsByUsername(anyString());
     }
 
     @Test
@@ -173,9 +206,6 @@ class CreateUserUseCaseTest {
             null, LocalDate.now().minusYears(15) // 15 años
         );
 
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByDocumentNumber(anyString())).thenReturn(false);
 
         // When & Then
         ValidationException exception = assertThrows(
@@ -203,9 +233,6 @@ class CreateUserUseCaseTest {
             UserStatus.ACTIVE, LocalDate.now().minusYears(18)
         );
 
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByDocumentNumber(anyString())).thenReturn(false);
         when(userRepository.create(any(User.class), anyString())).thenReturn(expectedUser);
 
         // When
@@ -226,9 +253,6 @@ class CreateUserUseCaseTest {
             null, LocalDate.of(1990, 1, 1)
         );
 
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByDocumentNumber(anyString())).thenReturn(false);
         when(userRepository.create(any(User.class), anyString())).thenReturn(inputUser);
 
         // When
@@ -241,4 +265,116 @@ class CreateUserUseCaseTest {
             hashedPassword.startsWith("$2a$") // BCrypt hash starts with $2a$
         ));
     }
+
+    @Test
+    @DisplayName("Lote: resultado por elemento con una sola consulta de unicidad")
+    @SuppressWarnings("unchecked")
+    void testExecuteBatchReportsPerItemResults() {
+        // Given
+        List<UserToCreate> batch = List.of(
+            new UserToCreate(new User(
+                null, "jdoe", "John", "Doe", "john@example.com",
+                null, DocumentType.DNI, "12345678", null,
+                null, LocalDate.of(1990, 1, 1)), "password123"),
+            new UserToCreate(new User(
+                null, "taken", "Ana", "Ruiz", "ana@example.com",
+                null, DocumentType.DNI, "11111111", null,
+                null, LocalDate.of(1990, 1, 1)), "password123"),
+            new UserToCreate(new User(
+                null, "young", "Leo", "Paz", "leo@example.com",
+                null, DocumentType.DNI, "22222222", null,
+                null, LocalDate.now().minusYears(15)), "password123"),
+            new UserToCreate(new User(
+                null, "jdoe2", "Jane", "Doe", "john@example.com",
+                null, DocumentType.DNI, "33333333", null,
+                null, LocalDate.of(1990, 1, 1)), "password123")
+        );
+
+        when(userRepository.findUniqueKeysInUse(anyCollection(), anyCollection(), anyCollection()))
+            .thenReturn(Map.of(
+                UserUniqueField.USERNAME, Set.of("taken"),
+                UserUniqueField.EMAIL, Set.of(),
+                UserUniqueField.DOCUMENT_NUMBER, Set.of()));
+        when(userRepository.createAll(anyList())).thenAnswer(invocation -> {
+            List<UserWithPassword> users = invocation.getArgument(0);
+            return users.stream()
+                .map(item -> new User("id-" + item.user().username(), item.user().username(), null, null,
+                    null, null, null, null, null, item.user().status(), null))
+                .toList();
+        });
+
+        // When
+        List<BatchItemResult> results = createUserUseCase.executeBatch(batch);
+
+        // Then
+        assertEquals(4, results.size());
+        assertEquals("id-jdoe", results.get(0).id());
+        assertTrue(results.get(1).error().contains("ya está en uso"));
+        assertTrue(results.get(2).error().contains("mayor de 18"));
+        assertTrue(results.get(3).error().contains("ya está registrado"));
+
+        ArgumentCaptor<List<UserWithPassword>> created = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).findUniqueKeysInUse(anyCollection(), anyCollection(), anyCollection());
+        verify(userRepository).createAll(created.capture());
+        assertEquals(1, created.getValue().size());
+        assertEquals(UserStatus.ACTIVE, created.getValue().get(0).user().status());
+        assertTrue(created.getValue().get(0).passwordHash().startsWith("$2a$"));
+    }
+
+    @Test
+    @DisplayName("Lote: sin capacidad para hashear una contraseña, solo ese elemento se rechaza")
+    void testExecuteBatchRejectsOnlyItemsThatCouldNotBeHashed() {
+        // Given
+        PasswordEncoder saturatedForSome = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if (rawPassword.toString().equals("busy")) {
+                    throw new PasswordHashingUnavailableException(
+                        "Servicio de contraseñas saturado, intente nuevamente", null);
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+        };
+        createUserUseCase = new CreateUserUseCase(
+            userRepository, saturatedForSome, new PasswordEncoderBatchHasher(saturatedForSome),
+            UserEventPublisher.NONE, UserTransactionPort.NONE);
+        List<UserToCreate> batch = List.of(
+            new UserToCreate(new User(
+                null, "jdoe", "John", "Doe", "john@example.com",
+                null, DocumentType.DNI, "12345678", null,
+                null, LocalDate.of(1990, 1, 1)), "busy"),
+            new UserToCreate(new User(
+                null, "jane", "Jane", "Doe", "jane@example.com",
+                null, DocumentType.DNI, "87654321", null,
+                null, LocalDate.of(1990, 1, 1)), "password123")
+        );
+        when(userRepository.findUniqueKeysInUse(anyCollection(), anyCollection(), anyCollection()))
+            .thenReturn(Map.of());
+        when(userRepository.createAll(anyList())).thenAnswer(invocation -> {
+            List<UserWithPassword> users = invocation.getArgument(0);
+            return users.stream()
+                .map(item -> new User("id-" + item.user().username(), item.user().username(), null, null,
+                    null, null, null, null, null, item.user().status(), null))
+                .toList();
+        });
+
+        // When
+        List<BatchItemResult> results = createUserUseCase.executeBatch(batch);
+
+        // Then
+        assertTrue(results.get(0).error().contains("saturado"));
+        assertEquals("id-jane", results.get(1).id());
+    }
+
+    @Test
+    @DisplayName("Lote: rechazar lotes vacíos o demasiado grandes")
+    void testExecuteBatchRejectsInvalidSize() {
+        assertThrows(ValidationException.class, () -> createUserUseCase.executeBatch(List.of()));
+        verifyNoInteractions(userRepository);
+    }
 }
@@ -0,0 +1,292 @@
+package com.example.hexagonalarchitecture.users.application.port.out;
+
+import com.example.hexagonalarchitecture.users.application.common.PageResult;
+import com.example.hexagonalarchitecture.users.application.common.SortDirection;
+import com.example.hexagonalarchitecture.users.application.common.UserCursor;
+import com.example.hexagonalarchitecture.users.application.common.UserField;
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.application.common.UserSortField;
+import com.example.hexagonalarchitecture.users.application.common.UserUniqueField;
+import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.DuplicateUserException;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.VersionConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contrato de {@link UserRepositoryPort}: cada adaptador extiende esta clase y debe pasar los mismos
+ * tests (filtros, orden con nulls al final y desempate por id, paginación por offset y por cursor,
+ * escrituras condicionales y unicidad).
+ */
+public abstract class UserRepositoryPortContractTest {
+
+    private static final UserSearchFilter NO_FILTER = new UserSearchFilter(null, null, null, null, null);
+
+    protected UserRepositoryPort repository;
+
+    private User anaGarcia;
+    private User luisGarcia;
+    private User marySmith;
+    private User johnDoe;
+    private User pedroGarciaLopez;
+
+    /**
+     * Adaptador a verificar, vacío.
+     */
+    protected abstract UserRepositoryPort emptyRepository();
+
+    @BeforeEach
+    void setUpUsers() {
+        repository = emptyRepository();
+        anaGarcia = repository.create(user("agarcia", "Ana", "Garcia", "ana@example.com",
+            "30111222", UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)), "hash-ana");
+        luisGarcia = repository.create(user("lgarcia", "Luis", "Garcia", "luis@example.com",
+            "30111333", UserStatus.INACTIVE, LocalDate.of(1985, 5, 5)), "hash-luis");
+        marySmith = repository.create(user("msmith", "Mary", "Smith", null,
+            null, UserStatus.ACTIVE, null), "hash-mary");
+        johnDoe = repository.create(user("jdoe", "John", "Doe", "john@example.com",
+            "20999888", UserStatus.ACTIVE, LocalDate.of(2000, 12, 31)), "hash-john");
+        pedroGarciaLopez = repository.create(user("pgarcia", "Pedro", "Garcia-Lopez", "pedro@example.com",
+            "41000000", UserStatus.DELETED, LocalDate.of(1970, 7, 7)), "hash-pedro");
+    }
+
+    @Test
+    @DisplayName("El alta asigna id y versión 0, y el usuario se lee con y sin password")
+    void testCreateAndRead() {
+        assertNotNull(anaGarcia.id());
+        assertEquals(0L, anaGarcia.version());
+        assertEquals(anaGarcia, repository.findById(anaGarcia.id()).orElseThrow());
+        assertEquals("hash-ana", repository.findByIdWithPassword(anaGarcia.id()).passwordHash());
+        assertEquals(0L, repository.findVersionById(anaGarcia.id()).orElseThrow());
+
+        List<User> created = repository.createAll(List.of(
+            new UserWithPassword(user("bulk1", "Bulk", "One", null, null, UserStatus.ACTIVE, null), "h1"),
+            new UserWithPassword(user("bulk2", "Bulk", "Two", null, null, UserStatus.ACTIVE, null), "h2")));
+        assertEquals(List.of("bulk1", "bulk2"), created.stream().map(User::username).toList());
+        assertEquals("h2", repository.findByIdWithPassword(created.get(1).id()).passwordHash());
+    }
+
+    @Test
+    @DisplayName("El alta con claves únicas en uso informa cuáles chocaron")
+    void testCreateRejectsDuplicateKeys() {
+        DuplicateUserException ex = assertThrows(DuplicateUserException.class, () -> repository.create(
+            user("agarcia", "Otra", "Persona", "john@example.com", "99999999", UserStatus.ACTIVE, null), "hash"));
+
+        assertEquals(EnumSet.of(UserUniqueField.USERNAME, UserUniqueField.EMAIL), ex.getConflicts());
+    }
+
+    @Test
+    @DisplayName("Un id inexistente no se encuentra")
+    void testMissingUser() {
+        assertThrows(EntityNotFoundException.class, () -> repository.findById("missing"));
+        assertThrows(EntityNotFoundException.class, () -> repository.findByIdWithPassword("missing"));
+        assertTrue(repository.findVersionById("missing").isEmpty());
+        assertThrows(EntityNotFoundException.class,
+            () -> repository.updateStatus("missing", UserStatus.INACTIVE, Set.of(), null));
+    }
+
+    @Test
+    @DisplayName("Las escrituras son condicionales a la versión y la incrementan")
+    void testConditionalWrites() {
+        User renamed = repository.updateProfile(withFirstName(anaGarcia, "Anita", 0L));
+        assertEquals("Anita", renamed.firstName());
+        assertEquals(1L, renamed.version());
+        assertEquals("30111222", renamed.documentNumber());
+
+        assertThrows(VersionConflictException.class,
+            () -> repository.updateProfile(withFirstName(anaGarcia, "Ana", 0L)));
+
+        User withPassword = repository.update(withFirstName(renamed, "Ana", 1L), "new-hash");
+        assertEquals(2L, withPassword.version());
+        assertEquals("new-hash", repository.findByIdWithPassword(anaGarcia.id()).passwordHash());
+
+        assertTrue(repository.updateStatus(anaGarcia.id(), UserStatus.INACTIVE, Set.of("agarcia"), 2L).isEmpty());
+        User inactive = repository.updateStatus(anaGarcia.id(), UserStatus.INACTIVE, Set.of(), 2L).orElseThrow();
+        assertEquals(UserStatus.INACTIVE, inactive.status());
+        assertEquals(3L, inactive.version());
+        assertEquals(inactive, repository.findById(anaGarcia.id()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("El cambio de contraseña solo escribe la password y es condicional a la versión")
+    void testUpdatePassword() {
+        User updated = repository.updatePassword(anaGarcia.id(), "new-hash", 0L);
+        assertEquals(1L, updated.version());
+        assertEquals(withFirstName(anaGarcia, "Ana", 1L), updated);
+        assertEquals("new-hash", repository.findByIdWithPassword(anaGarcia.id()).passwordHash());
+
+        assertThrows(VersionConflictException.class,
+            () -> repository.updatePassword(anaGarcia.id(), "other-hash", 0L));
+        assertThrows(EntityNotFoundException.class,
+            () -> repository.updatePassword("missing", "other-hash", null));
+        assertEquals("new-hash", repository.findByIdWithPassword(anaGarcia.id()).passwordHash());
+    }
+
+    @Test
+    @DisplayName("Filtros: textos contenidos sin distinguir mayúsculas, estado y rango de fechas inclusivo")
+    void testFilterSemantics() {
+        assertEquals(Set.of(anaGarcia.id(), luisGarcia.id(), pedroGarciaLopez.id()),
+            ids(new UserSearchFilter("GARC", null, null, null, null)));
+        assertEquals(Set.of(), ids(new UserSearchFilter("%", null, null, null, null)));
+        assertEquals(Set.of(anaGarcia.id(), luisGarcia.id()),
+            ids(new UserSearchFilter(null, "111", null, null, null)));
+        assertEquals(Set.of(anaGarcia.id(), marySmith.id(), johnDoe.id()),
+            ids(new UserSearchFilter(null, null, UserStatus.ACTIVE, null, null)));
+        assertEquals(Set.of(anaGarcia.id(), luisGarcia.id()),
+            ids(new UserSearchFilter(null, null, null, LocalDate.of(1985, 5, 5), LocalDate.of(1990, 1, 1))));
+        assertEquals(Set.of(anaGarcia.id()),
+            ids(new UserSearchFilter("garcia", null, UserStatus.ACTIVE, null, null)));
+    }
+
+    @Test
+    @DisplayName("Orden por cada campo y dirección (nulls al final, desempate por id) igual en offset y cursor")
+    void testSortOrderAndPaging() {
+        for (UserSortField sortField : UserSortField.values()) {
+            for (SortDirection direction : SortDirection.values()) {
+                String order = sortField + " " + direction;
+                List<String> expected = expectedOrder(sortField, direction);
+
+                List<String> counted = new ArrayList<>();
+                List<String> sliced = new ArrayList<>();
+                for (int page = 0; page < 3; page++) {
+                    PageResult<User> result = repository.search(NO_FILTER, page, 2, sortField, direction, UserField.ALL);
+                    assertEquals(5L, result.totalElements(), order);
+                    assertEquals(3, result.totalPages(), order);
+                    assertEquals(page < 2, result.hasNext(), order);
+                    result.content().forEach(user -> counted.add(user.id()));
+
+                    PageResult<User> slice = repository.searchSlice(NO_FILTER, page, 2, sortField, direction, UserField.ALL);
+                    assertEquals(page < 2, slice.hasNext(), order);
+                    slice.content().forEach(user -> sliced.add(user.id()));
+                }
+
+                List<String> walked = new ArrayList<>();
+                UserCursor cursor = null;
+                do {
+                    PageResult<User> result = repository.searchAfter(NO_FILTER, cursor, 2, sortField, direction, UserField.ALL);
+                    result.content().forEach(user -> walked.add(user.id()));
+                    cursor = result.nextCursor() != null ? UserCursor.decode(result.nextCursor()) : null;
+                } while (cursor != null);
+
+                assertEquals(expected, counted, order);
+                assertEquals(expected, sliced, order);
+                assertEquals(expected, walked, order);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Con un subconjunto de campos el resto queda en null, salvo id y campo de orden")
+    void testSparseFields() {
+        PageResult<User> result = repository.searchSlice(
+            new UserSearchFilter("Doe", null, null, null, null), 0, 10,
+            UserSortField.LAST_NAME, SortDirection.ASC, EnumSet.of(UserField.ID, UserField.EMAIL));
+
+        User user = result.content().get(0);
+        assertEquals(johnDoe.id(), user.id());
+        assertEquals("john@example.com", user.email());
+        assertEquals("Doe", user.lastName());
+        assertNull(user.username());
+        assertNull(user.status());
+        assertNull(user.version());
+    }
+
+    @Test
+    @DisplayName("El cambio masivo de estado omite protegidos y a quienes ya tienen el estado")
+    void testUpdateStatusWhere() {
+        long updated = repository.updateStatusWhere(
+            new UserSearchFilter("garcia", null, null, null, null), UserStatus.INACTIVE, Set.of("agarcia"));
+
+        assertEquals(1, updated);
+        assertEquals(UserStatus.INACTIVE, repository.findById(pedroGarciaLopez.id()).orElseThrow().status());
+        assertEquals(1L, repository.findVersionById(pedroGarciaLopez.id()).orElseThrow());
+        assertEquals(UserStatus.ACTIVE, repository.findById(anaGarcia.id()).orElseThrow().status());
+        assertEquals(0L, repository.findVersionById(luisGarcia.id()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("La exportación recorre los usuarios del filtro ordenados por id")
+    void testStreamAllOrderedById() {
+        List<String> streamed = new ArrayList<>();
+        long count = repository.streamAll(
+            new UserSearchFilter(null, null, UserStatus.ACTIVE, null, null), user -> streamed.add(user.id()));
+
+        assertEquals(3, count);
+        assertEquals(List.of(anaGarcia.id(), marySmith.id(), johnDoe.id()).stream().sorted().toList(), streamed);
+    }
+
+    @Test
+    @DisplayName("Consultas de unicidad por valor y por conjuntos")
+    void testUniqueKeyLookups() {
+        assertEquals(EnumSet.of(UserUniqueField.EMAIL, UserUniqueField.DOCUMENT_NUMBER),
+            repository.findConflicts("nuevo", "luis@example.com", "20999888"));
+        assertEquals(Set.of(), repository.findConflicts("nuevo", null, null));
+
+        Map<UserUniqueField, Set<String>> inUse = repository.findUniqueKeysInUse(
+            List.of("jdoe", "nuevo"), List.of("ana@example.com"), List.of("00000000"));
+        assertEquals(Set.of("jdoe"), inUse.get(UserUniqueField.USERNAME));
+        assertEquals(Set.of("ana@example.com"), inUse.get(UserUniqueField.EMAIL));
+        assertEquals(Set.of(), inUse.get(UserUniqueField.DOCUMENT_NUMBER));
+
+        assertTrue(repository.existsByUsername("msmith"));
+        assertFalse(repository.existsByEmail("nadie@example.com"));
+        assertTrue(repository.existsByDocumentNumber("41000000"));
+        assertTrue(repository.estimateCount(new UserSearchFilter("Garcia", null, null, null, null)).isEmpty());
+    }
+
+    private Set<String> ids(UserSearchFilter filter) {
+        return Set.copyOf(repository.search(filter, 0, 10, UserSortField.ID, SortDirection.ASC, UserField.ALL)
+            .content().stream().map(User::id).toList());
+    }
+
+    /**
+     * Orden esperado calculado en el test: valor del campo (nulls al final en ambas direcciones) e id.
+     */
+    private List<String> expectedOrder(UserSortField sortField, SortDirection direction) {
+        Comparator<User> byValue = Comparator.comparing(
+            user -> sortValue(user, sortField), Comparator.nullsLast(Comparator.<String>naturalOrder()));
+        Comparator<User> byId = Comparator.comparing(User::id);
+        if (direction == SortDirection.DESC) {
+            byValue = Comparator.comparing(
+                user -> sortValue(user, sortField), Comparator.nullsLast(Comparator.<String>reverseOrder()));
+            byId = byId.reversed();
+        }
+        return List.of(anaGarcia, luisGarcia, marySmith, johnDoe, pedroGarciaLopez).stream()
+            .sorted(byValue.thenComparing(byId))
+            .map(User::id)
+            .toList();
+    }
+
+    private static String sortValue(User user, UserSortField sortField) {
+        return switch (sortField) {
+            case ID -> user.id();
+            case LAST_NAME -> user.lastName();
+            case DOCUMENT_NUMBER -> user.documentNumber();
+        };
+    }
+
+    private static User user(String username, String firstName, String lastName, String email,
+                             String documentNumber, UserStatus status, LocalDate birthDate) {
+        return new User(null, username, firstName, lastName, email, null,
+            documentNumber != null ? DocumentType.DNI : null, documentNumber, null, status, birthDate);
+    }
+
+    private static User withFirstName(User user, String firstName, Long version) {
+        return new User(user.id(), user.username(), firstName, user.lastName(), user.email(), user.phone(),
+            user.documentType(), user.documentNumber(), user.address(), user.status(), user.birthDate(), version);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.hexagonalarchitecture.users.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DocumentNumberValidator - Reglas de número de documento")
+class DocumentNumberValidatorTest {
+
+    private static final List<String> SAMPLES = List.of(
+        "", "1", "12345", "123456", "1234567", "12345678", "123456789", "1234567A",
+        "12345678901234567890", "123456789012345678901", "ABC123", "abc123", "AB123",
+        "ABCDEFGHIJ123", "ABC-123", "ABC 123", "12345678\n", " 12345678", "ÁBC123",
+        "١٢٣٤٥٦٧٨", "ABCDEFGHIJKLMNOPQRST", "ABCDEFGHIJKLMNOPQRSTU");
+
+    @ParameterizedTest
+    @EnumSource(DocumentType.class)
+    @DisplayName("Acepta y rechaza lo mismo que el patrón regex documentado del tipo")
+    void testSameBehaviorAsPattern(DocumentType type) {
+        for (String sample : SAMPLES) {
+            assertEquals(sample.matches(type.getPattern()), type.isValidNumber(sample),
+                () -> type + " con \"" + sample + "\"");
+        }
+        assertFalse(type.isValidNumber(null));
+    }
+
+    @Test
+    @DisplayName("Dígito verificador Luhn encadenado al formato")
+    void testLuhnChecksum() {
+        DocumentNumberValidator validator = DocumentNumberValidator.digits(1, 20)
+            .and(DocumentNumberValidator.luhn());
+
+        assertTrue(validator.isValid("79927398713"));
+        assertFalse(validator.isValid("79927398710"));
+        assertFalse(validator.isValid("7992739871A"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.hexagonalarchitecture.users.infraestructure.cache;
+
+import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingUserRepositoryAdapter - Caché de lectura por ID")
+class CachingUserRepositoryAdapterTest {
+
+    @Mock
+    private UserRepositoryPort delegate;
+
+    private CachingUserRepositoryAdapter adapter;
+
+    private final User user = new User(
+        "id-1", "jdoe", "John", "Doe", "john@example.com",
+        "123456789", DocumentType.DNI, "12345678", "Address 1",
+        UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+    );
+
+    @BeforeEach
+    void setUp() {
+        adapter = new CachingUserRepositoryAdapter(delegate, 100, Duration.ofMinutes(10), Duration.ofMinutes(2));
+    }
+
+    @Test
+    @DisplayName("Lecturas repetidas del mismo ID consultan una sola vez")
+    void testRepeatedReadsHitCache() {
+        when(delegate.findById("id-1")).thenReturn(Optional.of(user));
+
+        assertEquals(user, adapter.findById("id-1").orElseThrow());
+        assertEquals(user, adapter.findById("id-1").orElseThrow());
+
+        verify(delegate, times(1)).findById("id-1");
+        assertEquals(1, adapter.cache().synchronous().stats().hitCount());
+        assertEquals(1, adapter.cache().synchronous().stats().missCount());
+    }
+
+    @Test
+    @DisplayName("La versión siempre se consulta al adaptador; si difiere de la cacheada, se descarta la entrada")
+    void testVersionAlwaysDelegated() {
+        User versioned = new User(
+            "id-1", "jdoe", "John", "Doe", "john@example.com",
+            "123456789", DocumentType.DNI, "12345678", "Address 1",
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1), 3L
+        );
+        when(delegate.findById("id-1")).thenReturn(Optional.of(versioned));
+        when(delegate.findVersionById("id-1")).thenReturn(Optional.of(4L));
+        when(delegate.findVersionById("id-2")).thenReturn(Optional.of(5L));
+
+        adapter.findById("id-1");
+
+        assertEquals(4L, adapter.findVersionById("id-1").orElseThrow());
+        assertEquals(5L, adapter.findVersionById("id-2").orElseThrow());
+        verify(delegate).findVersionById("id-1");
+        assertNull(adapter.cache().getIfPresent("id-1"));
+        assertNull(adapter.cache().getIfPresent("id-2"));
+    }
+
+    @Test
+    @DisplayName("update invalida la entrada y la siguiente lectura vuelve a cargar")
+    void testUpdateInvalidates() {
+        User updated = new User(
+            "id-1", "jdoe", "John", "Smith", "john@example.com",
+            "123456789", DocumentType.DNI, "12345678", "Address 1",
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        );
+        when(delegate.findById("id-1")).thenReturn(Optional.of(user), Optional.of(updated));
+        when(delegate.update(any(User.class), anyString())).thenReturn(updated);
+
+        adapter.findById("id-1");
+        adapter.update(updated, "hash");
+
+        assertEquals("Smith", adapter.findById("id-1").orElseThrow().lastName());
+        verify(delegate, times(2)).findById("id-1");
+    }
+
+    @Test
+    @DisplayName("Lecturas concurrentes de un ID ausente comparten una sola carga")
+    void testConcurrentMissesCollapse() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        when(delegate.findById("id-1")).thenAnswer(invocation -> {
+            loading.await(1, TimeUnit.SECONDS);
+            return Optional.of(user);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<User>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> adapter.findById("id-1")));
+            }
+            Thread.sleep(100);
+            loading.countDown();
+            for (Future<Optional<User>> result : results) {
+                assertEquals(user, result.get(5, TimeUnit.SECONDS).orElseThrow());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(delegate, times(1)).findById("id-1");
+    }
+}
@@ -1,27 +1,44 @@
 package com.example.hexagonalarchitecture.users.infraestructure.controller;
 
+import com.example.hexagonalarchitecture.users.application.common.SortDirection;
+import com.example.hexagonalarchitecture.users.application.common.UserCursor;
+import com.example.hexagonalarchitecture.users.application.common.UserSortField;
 import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
 import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.metrics.SqlStatementBudget;
 import com.example.hexagonalarchitecture.users.infraestructure.persistence.SpringDataUserRepository;
 import com.example.hexagonalarchitecture.users.infraestructure.persistence.UserEntity;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -41,6 +58,12 @@ class UserControllerIntegrationTest {
     @Autowired
     private SpringDataUserRepository userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
@@ -149,6 +172,105 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.email").value("jane.smith@example.com"));
     }
 
+    @Test
+    @DisplayName("GET /users/{id} - If-None-Match con la ETag vigente responde 304 sin cuerpo")
+    void testGetUserByIdNotModified() throws Exception {
+        // Given
+        UserEntity savedUser = userRepository.save(new UserEntity(
+            null, "jdoe", "hashedPassword", "John", "Doe", "john@example.com",
+            "123456789", DocumentType.DNI, "12345678", "Address 1",
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+        userRepository.flush();
+
+        // When & Then
+        mockMvc.perform(get("/users/" + savedUser.getId())
+                .header("If-None-Match", "W/\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/users/" + savedUser.getId())
+                .header("If-None-Match", "\"7\", \"8\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.username").value("jdoe"));
+
+        mockMvc.perform(get("/users/missing-id")
+                .header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /users/{id} - If-None-Match no se responde desde la caché si la fila cambió por fuera")
+    void testGetUserByIdRevalidatesAgainstDatabase() throws Exception {
+        // Given - usuario leído una vez, así queda en la caché con versión 0
+        UserEntity savedUser = userRepository.save(new UserEntity(
+            null, "jdoe", "hashedPassword", "John", "Doe", "john@example.com",
+            "123456789", DocumentType.DNI, "12345678", "Address 1",
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+        userRepository.flush();
+        mockMvc.perform(get("/users/" + savedUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""));
+
+        // Otra instancia modifica la fila sin pasar por la caché de este nodo
+        jdbcTemplate.update(
+            "update users set last_name = 'Smith', version = version + 1 where id = ?", savedUser.getId());
+
+        // When & Then
+        mockMvc.perform(get("/users/" + savedUser.getId())
+                .header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.lastName").value("Smith"));
+    }
+
+    @Test
+    @DisplayName("PUT /users/{id} - If-Match con ETag vigente actualiza; con ETag vieja responde 412")
+    void testUpdateUserWithIfMatch() throws Exception {
+        // Given
+        UserEntity savedUser = userRepository.save(new UserEntity(
+            null, "jdoe", "hashedPassword", "John", "Doe", "john@example.com",
+            "123456789", DocumentType.DNI, "12345678", "Address 1",
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+
+        String eTag = mockMvc.perform(get("/users/" + savedUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        Map<String, Object> updateRequest = new HashMap<>();
+        updateRequest.put("username", "jdoe");
+        updateRequest.put("firstName", "Jane");
+        updateRequest.put("lastName", "Smith");
+        updateRequest.put("status", "ACTIVE");
+        updateRequest.put("email", "jane.smith@example.com");
+
+        // When & Then
+        mockMvc.perform(put("/users/" + savedUser.getId())
+                .header("If-Match", eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.documentNumber").value("12345678"));
+
+        mockMvc.perform(put("/users/" + savedUser.getId())
+                .header("If-Match", eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error").value("PRECONDITION_FAILED"));
+
+        mockMvc.perform(post("/users/" + savedUser.getId() + "/deactivate")
+                .header("If-Match", eTag))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @DisplayName("DELETE /users/{id} - Eliminar usuario")
     void testDeleteUser() throws Exception {
@@ -169,6 +291,85 @@ class UserControllerIntegrationTest {
             .andExpect(jsonPath("$.status").value("DELETED"));
     }
 
+    @Test
+    @DisplayName("DELETE /users/{id} - Rechazar eliminación del administrador")
+    void testDeleteAdminUserIsRejected() throws Exception {
+        // Given
+        UserEntity admin = userRepository.save(new UserEntity(
+            null, "admin", "hashedPassword", "Admin", "Root", "admin@example.com",
+            null, DocumentType.DNI, "87654321", null,
+            UserStatus.ACTIVE, LocalDate.of(1980, 1, 1)
+        ));
+
+        // When & Then
+        mockMvc.perform(delete("/users/" + admin.getId()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"));
+        mockMvc.perform(delete("/users/does-not-exist"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /users/{id}/deactivate y /activate - Cambiar estado")
+    void testDeactivateAndActivateUser() throws Exception {
+        // Given
+        UserEntity savedUser = userRepository.save(new UserEntity(
+            null, "jdoe", "hashedPassword", "John", "Doe", "john@example.com",
+            "123456789", DocumentType.DNI, "12345678", "Address 1",
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+
+        // When & Then
+        mockMvc.perform(post("/users/" + savedUser.getId() + "/deactivate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("INACTIVE"))
+                .andExpect(jsonPath("$.username").value("jdoe"));
+        mockMvc.perform(post("/users/" + savedUser.getId() + "/activate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("ACTIVE"));
+        mockMvc.perform(get("/users/" + savedUser.getId()))
+                .andExpect(jsonPath("$.status").value("ACTIVE"));
+    }
+
+    @Test
+    @DisplayName("POST /users/status - Cambio masivo de estado por filtro")
+    void testChangeUsersStatusByFilter() throws Exception {
+        // Given
+        userRepository.save(new UserEntity(
+            null, "jgarcia", "hashedPassword", "Juan", "Garcia", "juan@example.com",
+            null, DocumentType.DNI, "11111111", null,
+            UserStatus.ACTIVE, LocalDate.of(1992, 3, 10)
+        ));
+        userRepository.save(new UserEntity(
+            null, "mgarcia", "hashedPassword", "Maria", "Garcia", "maria@example.com",
+            null, DocumentType.DNI, "22222222", null,
+            UserStatus.ACTIVE, LocalDate.of(1985, 7, 1)
+        ));
+        userRepository.save(new UserEntity(
+            null, "admin", "hashedPassword", "Admin", "Garcia", "admin@example.com",
+            null, DocumentType.DNI, "33333333", null,
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+
+        // When & Then
+        mockMvc.perform(post("/users/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"lastName":"garcia","birthDateFrom":"1989-01-01","newStatus":"INACTIVE"}
+                    """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1));
+        mockMvc.perform(get("/users").param("lastName", "Garcia").param("status", "INACTIVE"))
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].username").value("jgarcia"));
+        mockMvc.perform(post("/users/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"newStatus":"DELETED"}
+                    """))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /users - Buscar usuarios con filtros")
     void testSearchUsers() throws Exception {
@@ -193,6 +394,238 @@ class UserControllerIntegrationTest {
             .andExpect(jsonPath("$.data[0].lastName").value("Doe"));
     }
 
+    @Test
+    @DisplayName("GET /users?fields= - Devuelve solo los campos pedidos más el id")
+    void testSearchUsersWithSparseFields() throws Exception {
+        // Given
+        UserEntity savedUser = userRepository.save(new UserEntity(
+            null, "jdoe", "hashedPassword", "John", "Doe", "john@example.com",
+            null, DocumentType.DNI, "12345678", "Address 1",
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+
+        // When & Then
+        mockMvc.perform(get("/users")
+            .param("lastName", "Doe")
+            .param("fields", "username,lastName,phone"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].id").value(savedUser.getId()))
+            .andExpect(jsonPath("$.data[0].username").value("jdoe"))
+            .andExpect(jsonPath("$.data[0].lastName").value("Doe"))
+            .andExpect(jsonPath("$.data[0].phone").value(nullValue()))
+            .andExpect(jsonPath("$.data[0].email").doesNotExist())
+            .andExpect(jsonPath("$.data[0].documentNumber").doesNotExist());
+
+        mockMvc.perform(get("/users/" + savedUser.getId())
+            .param("fields", "email"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email").value("john@example.com"))
+            .andExpect(jsonPath("$.username").doesNotExist());
+
+        mockMvc.perform(get("/users")
+            .param("fields", "username,password"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /users - Accept: application/cbor y application/x-jackson-smile devuelven la página en binario")
+    void testSearchUsersInBinaryFormats() throws Exception {
+        // Given
+        userRepository.save(new UserEntity(
+            null, "jdoe", "hashedPassword", "John", "Doe", "john@example.com",
+            "111111111", DocumentType.DNI, "12345678", "Address 1",
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+
+        // When & Then
+        byte[] cbor = mockMvc.perform(get("/users")
+            .param("lastName", "Doe")
+            .accept("application/cbor"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/cbor"))
+            .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/users")
+            .param("lastName", "Doe")
+            .accept("application/x-jackson-smile"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-jackson-smile"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        tools.jackson.databind.JsonNode fromCbor = CBORMapper.builder().build().readTree(cbor);
+        tools.jackson.databind.JsonNode fromSmile = SmileMapper.builder().build().readTree(smile);
+        assertEquals("jdoe", fromCbor.get("data").get(0).get("username").asString());
+        assertEquals("1990-01-01", fromCbor.get("data").get(0).get("birthDate").asString());
+        assertEquals(fromCbor, fromSmile);
+    }
+
+    @Test
+    @DisplayName("GET /users - Registra la latencia del caso de uso y del método del puerto")
+    void testSearchUsersIsTimed() throws Exception {
+        mockMvc.perform(get("/users")
+            .param("lastName", "Doe")
+            .param("sortField", "LAST_NAME"))
+            .andExpect(status().isOk());
+
+        assertTrue(meterRegistry.get("users.usecase")
+            .tag("component", "SearchUsersUseCase")
+            .tag("sort", "LAST_NAME")
+            .tag("filter", "lastName+status")
+            .timer().count() >= 1);
+        assertTrue(meterRegistry.get("users.repository")
+            .tag("component", "JpaUserRepositoryAdapter")
+            .tag("method", "search")
+            .tag("outcome", "success")
+            .timer().count() >= 1);
+    }
+
+    @Test
+    @DisplayName("Cada endpoint se mantiene dentro de su presupuesto de sentencias SQL")
+    void testSqlStatementBudgets() throws Exception {
+        // Given - flush para que los INSERT de la preparación no se cuenten en la primera solicitud
+        UserEntity savedUser = userRepository.saveAndFlush(new UserEntity(
+            null, "jdoe", "hashedPassword", "John", "Doe", "john@example.com",
+            "123456789", DocumentType.DNI, "12345678", "Address 1",
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+
+        Map<String, Object> updateRequest = new HashMap<>();
+        updateRequest.put("username", "jdoe");
+        updateRequest.put("firstName", "Jane");
+        updateRequest.put("lastName", "Smith");
+        updateRequest.put("status", "ACTIVE");
+        updateRequest.put("email", "jane.smith@example.com");
+
+        // When & Then - PUT: un único compare-and-set, sin lecturas previas
+        mockMvc.perform(put("/users/" + savedUser.getId())
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.statementsAtMost(1))
+                .andExpect(SqlStatementBudget.roundTripsAtMost(1));
+
+        mockMvc.perform(get("/users/" + savedUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.statementsAtMost(1));
+
+        mockMvc.perform(get("/users/" + savedUser.getId()).header("If-None-Match", "\"1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(SqlStatementBudget.statementsAtMost(1));
+
+        mockMvc.perform(get("/users").param("lastName", "Smith"))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.statementsAtMost(2));
+
+        mockMvc.perform(post("/users/" + savedUser.getId() + "/deactivate"))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.statementsAtMost(1));
+
+        mockMvc.perform(delete("/users/" + savedUser.getId()))
+                .andExpect(status().isNoContent())
+                .andExpect(SqlStatementBudget.statementsAtMost(1));
+
+        mockMvc.perform(get("/users/missing-id"))
+                .andExpect(status().isNotFound())
+                .andExpect(SqlStatementBudget.statementsAtMost(1));
+
+        assertTrue(meterRegistry.get("http.server.sql.statements")
+            .tag("method", "PUT")
+            .tag("uri", "/users/{id}")
+            .summary().count() >= 1);
+    }
+
+    @Test
+    @DisplayName("GET /users - Paginar por cursor recorre todos los usuarios sin repetir")
+    void testSearchUsersWithCursor() throws Exception {
+        // Given - Apellidos repetidos para forzar el desempate por id
+        String[] lastNames = {"Diaz", "Alvarez", "Diaz", "Castro", "Alvarez"};
+        for (int i = 0; i < lastNames.length; i++) {
+            userRepository.save(new UserEntity(
+                null, "user" + i, "hashedPassword", "Name" + i, lastNames[i], "user" + i + "@example.com",
+                null, DocumentType.DNI, "1000000" + i, null,
+                UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+            ));
+        }
+
+        // When - Primera página por offset, el resto siguiendo meta.nextCursor
+        List<String> seen = new ArrayList<>();
+        String body = mockMvc.perform(get("/users")
+                .param("sortField", "LAST_NAME")
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.meta.totalElements").value(5))
+                .andExpect(jsonPath("$.meta.nextCursor").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode page = objectMapper.readTree(body);
+        page.get("data").forEach(u -> seen.add(u.get("lastName").asText() + "/" + u.get("id").asText()));
+        while (page.get("meta").hasNonNull("nextCursor")) {
+            body = mockMvc.perform(get("/users")
+                    .param("sortField", "LAST_NAME")
+                    .param("size", "2")
+                    .param("cursor", page.get("meta").get("nextCursor").asText()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.meta.totalElements").doesNotExist())
+                    .andReturn().getResponse().getContentAsString();
+            page = objectMapper.readTree(body);
+            page.get("data").forEach(u -> seen.add(u.get("lastName").asText() + "/" + u.get("id").asText()));
+        }
+
+        // Then
+        List<String> expected = new ArrayList<>(seen);
+        expected.sort(null);
+        assertEquals(5, seen.size());
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    @DisplayName("GET /users - Rechazar cursor inválido o de otro ordenamiento")
+    void testSearchUsersWithInvalidCursor() throws Exception {
+        mockMvc.perform(get("/users")
+            .param("cursor", "no-es-un-cursor"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("INVALID_REQUEST"));
+
+        String idCursor = new UserCursor(UserSortField.ID, SortDirection.ASC, "some-id", "some-id").encode();
+        mockMvc.perform(get("/users")
+            .param("sortField", "LAST_NAME")
+            .param("cursor", idCursor))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /users - Modo sin COUNT informa hasNext en lugar de totales")
+    void testSearchUsersWithoutCount() throws Exception {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            userRepository.save(new UserEntity(
+                null, "user" + i, "hashedPassword", "Name" + i, "Lopez", "user" + i + "@example.com",
+                null, DocumentType.DNI, "2000000" + i, null,
+                UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+            ));
+        }
+
+        // When & Then - primera página con más resultados
+        mockMvc.perform(get("/users")
+            .param("count", "NONE")
+            .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(2)))
+            .andExpect(jsonPath("$.meta.hasNext").value(true))
+            .andExpect(jsonPath("$.meta.totalElements").doesNotExist())
+            .andExpect(jsonPath("$.meta.totalPages").doesNotExist());
+
+        // Última página; ESTIMATED sin estadísticas (H2) no informa estimación
+        mockMvc.perform(get("/users")
+            .param("count", "ESTIMATED")
+            .param("page", "1")
+            .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(1)))
+            .andExpect(jsonPath("$.meta.hasNext").value(false))
+            .andExpect(jsonPath("$.meta.estimatedTotalElements").doesNotExist());
+    }
+
     @Test
     @DisplayName("POST /users - Rechazar username duplicado")
     void testCreateUserWithDuplicateUsername() throws Exception {
@@ -220,4 +653,138 @@ class UserControllerIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message", containsString("username")));
     }
+
+    @Test
+    @DisplayName("POST /users/batch - Crear lote con resultado por elemento")
+    void testCreateUsersBatch() throws Exception {
+        // Given - Usuario existente
+        userRepository.save(new UserEntity(
+            null, "jdoe", "hashedPassword", "John", "Doe", "john@example.com",
+            "123456789", DocumentType.DNI, "12345678", "Address 1",
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+
+        List<Map<String, Object>> batch = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> userRequest = new HashMap<>();
+            userRequest.put("username", "user" + i);
+            userRequest.put("firstName", "User");
+            userRequest.put("lastName", "Batch");
+            userRequest.put("email", "user" + i + "@example.com");
+            userRequest.put("documentType", "DNI");
+            userRequest.put("documentNumber", "1000000" + i);
+            userRequest.put("birthDate", "1990-01-01");
+            userRequest.put("password", "SecurePassword123!");
+            batch.add(userRequest);
+        }
+        batch.get(1).put("username", "jdoe");        // duplicado en base de datos
+        batch.get(2).remove("firstName");            // falla validación de formato
+        Map<String, Object> repeated = new HashMap<>(batch.get(0));
+        repeated.put("username", "other");           // documento repetido dentro del lote
+        repeated.put("email", "other@example.com");
+        batch.add(repeated);
+
+        // When & Then
+        mockMvc.perform(post("/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.results[0].id").exists())
+                .andExpect(jsonPath("$.results[0].error").doesNotExist())
+                .andExpect(jsonPath("$.results[1].error", containsString("username")))
+                .andExpect(jsonPath("$.results[2].error", containsString("firstName")))
+                .andExpect(jsonPath("$.results[3].index").value(3))
+                .andExpect(jsonPath("$.results[3].error", containsString("documento")));
+
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("GET /users/export - Exportar como NDJSON, por defecto solo usuarios ACTIVE")
+    void testExportUsersAsNdjson() throws Exception {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            userRepository.save(new UserEntity(
+                null, "user" + i, "hashedPassword", "User", "Export", "user" + i + "@example.com",
+                null, DocumentType.DNI, "2000000" + i, null,
+                i == 2 ? UserStatus.INACTIVE : UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+            ));
+        }
+
+        // When: sin status, igual que GET /users
+        String body = mockMvc.perform(get("/users/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", containsString("application/x-ndjson")))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            JsonNode user = objectMapper.readTree(line);
+            assertEquals("ACTIVE", user.get("status").asText());
+            assertEquals(false, user.has("password"));
+        }
+    }
+
+    @Test
+    @DisplayName("GET /users/export - Exportar como CSV comprimido con gzip")
+    void testExportUsersAsGzippedCsv() throws Exception {
+        // Given
+        userRepository.save(new UserEntity(
+            null, "jdoe", "hashedPassword", "John", "Doe", "john@example.com",
+            null, DocumentType.DNI, "12345678", "Calle 1, Apto \"2\"",
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+
+        // When
+        byte[] body = mockMvc.perform(get("/users/export")
+                .param("format", "CSV")
+                .header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Content-Type", containsString("text/csv")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = csv.split("\r\n");
+        assertEquals(2, lines.length);
+        assertEquals("id,username,firstName,lastName,email,phone,documentType,documentNumber,address,birthDate,status", lines[0]);
+        assertEquals(true, lines[1].endsWith(",jdoe,John,Doe,john@example.com,,DNI,12345678,\"Calle 1, Apto \"\"2\"\"\",1990-01-01,ACTIVE"));
+    }
+
+    @Test
+    @DisplayName("GET /users/export - Respetar los pesos q de Accept-Encoding")
+    void testExportHonorsAcceptEncodingWeights() throws Exception {
+        // Given
+        userRepository.save(new UserEntity(
+            null, "jdoe", "hashedPassword", "John", "Doe", "john@example.com",
+            null, DocumentType.DNI, "12345678", null,
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+
+        // When / Then: gzip rechazado explícitamente, aunque el comodín lo aceptaría
+        String plain = mockMvc.perform(get("/users/export")
+                .header("Accept-Encoding", "gzip;q=0, *;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(plain.contains("\"username\":\"jdoe\""));
+
+        // x-gzip equivale a gzip
+        byte[] body = mockMvc.perform(get("/users/export")
+                .header("Accept-Encoding", "identity, x-gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8).contains("\"username\":\"jdoe\""));
+        }
+    }
 }
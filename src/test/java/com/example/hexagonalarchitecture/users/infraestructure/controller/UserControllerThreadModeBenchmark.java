@@ -0,0 +1,269 @@
+package com.example.hexagonalarchitecture.users.infraestructure.controller;
+
+import com.example.hexagonalarchitecture.HexagonalArchitectureExampleApplication;
+import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.persistence.SpringDataUserRepository;
+import com.example.hexagonalarchitecture.users.infraestructure.persistence.UserEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara hilos de plataforma y virtuales en los endpoints de lectura de {@link UserController}
+ * con alta concurrencia. No corre con {@code mvn test}: usar {@code mvn test -Pbenchmark}.
+ * <p>
+ * Cada modo levanta la aplicación completa (Tomcat real en puerto aleatorio, H2 en memoria),
+ * carga usuarios y lanza {@code benchmark.concurrency} clientes concurrentes contra cada endpoint.
+ * Para que el resultado refleje esperas de E/S y no solo CPU, cada sentencia JDBC agrega
+ * {@code benchmark.dbLatencyMs} de latencia simulada (como la ida y vuelta a PostgreSQL).
+ * El pool de conexiones es igual en ambos modos, así solo cambia el modelo de hilos.
+ * <p>
+ * Resultados: {@code target/benchmarks/thread-modes.json}. El modo virtual requiere Java 21+;
+ * con una JVM anterior solo se mide el modo de plataforma.
+ */
+@Tag("benchmark")
+@DisplayName("UserController - Benchmark hilos de plataforma vs virtuales")
+class UserControllerThreadModeBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 1000);
+    private static final long DB_LATENCY_MS = Long.getLong("benchmark.dbLatencyMs", 5);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.poolSize", 100);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmupSeconds", 5));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("benchmark.seconds", 15));
+    private static final int USERS = 1000;
+
+    private record Result(String mode, String endpoint, long requests, long errors,
+                          double throughput, double p50Millis, double p99Millis) {
+    }
+
+    @Test
+    @DisplayName("Throughput y latencia por modo de hilos")
+    void compareThreadModes() throws Exception {
+        List<Result> results = new ArrayList<>(run(false));
+        if (Runtime.version().feature() >= 21) {
+            results.addAll(run(true));
+        }
+
+        Path output = Path.of("target", "benchmarks", "thread-modes.json");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, toJson(results));
+        results.forEach(result -> System.out.printf(Locale.ROOT,
+            "%-8s %-40s %10.1f req/s  p50 %7.2f ms  p99 %7.2f ms  errores %d%n",
+            result.mode(), result.endpoint(), result.throughput(),
+            result.p50Millis(), result.p99Millis(), result.errors()));
+
+        assertTrue(results.stream().allMatch(result -> result.requests() > 0));
+    }
+
+    private List<Result> run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HexagonalArchitectureExampleApplication.class)
+                .profiles("test")
+                .properties(
+                    "server.port=0",
+                    "spring.threads.virtual.enabled=" + virtualThreads,
+                    "spring.datasource.url=jdbc:h2:mem:benchmark-" + mode,
+                    "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                    "spring.jpa.show-sql=false",
+                    "users.cache.enabled=false",
+                    "logging.level.org.hibernate.SQL=WARN",
+                    "logging.level.com.example.hexagonalarchitecture=WARN")
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new LatencyInjector()))
+                .run()) {
+
+            SpringDataUserRepository repository = context.getBean(SpringDataUserRepository.class);
+            List<UserEntity> users = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                users.add(new UserEntity(
+                    null, "user" + i, "hash", "Nombre", "Apellido" + (i % 50), "user" + i + "@example.com",
+                    null, DocumentType.DNI, String.format("%08d", i), null,
+                    UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)));
+            }
+            List<String> ids = repository.saveAll(users).stream().map(UserEntity::getId).toList();
+
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            List<Result> results = new ArrayList<>();
+            results.add(load(mode, "GET /users/{id}",
+                () -> base + "/users/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size()))));
+            results.add(load(mode, "GET /users?size=20",
+                () -> base + "/users?size=20&page=" + ThreadLocalRandom.current().nextInt(10)));
+            results.add(load(mode, "GET /users/search/lastName?count=NONE",
+                () -> base + "/users/search/lastName?lastName=Apellido" + ThreadLocalRandom.current().nextInt(50) + "&count=NONE"));
+            return results;
+        }
+    }
+
+    private interface UrlSupplier {
+        String next();
+    }
+
+    private Result load(String mode, String endpoint, UrlSupplier urls) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            drive(client, workers, urls, WARMUP);
+            long start = System.nanoTime();
+            List<long[]> perWorker = drive(client, workers, urls, MEASUREMENT);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            long errors = perWorker.stream().mapToLong(samples -> samples[0]).sum();
+            long[] latencies = perWorker.stream()
+                .flatMapToLong(samples -> Arrays.stream(samples, 1, samples.length))
+                .sorted()
+                .toArray();
+            return new Result(mode, endpoint, latencies.length, errors, latencies.length / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99));
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Cada trabajador repite solicitudes hasta el fin del período. Devuelve por trabajador
+     * {@code [errores, latencia1, latencia2, ...]} en nanosegundos.
+     */
+    private List<long[]> drive(HttpClient client, ExecutorService workers, UrlSupplier urls, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            futures.add(workers.submit(() -> {
+                long[] samples = new long[1024];
+                int count = 1;
+                while (System.nanoTime() < deadline) {
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(
+                            HttpRequest.newBuilder(URI.create(urls.next())).timeout(Duration.ofSeconds(30)).build(),
+                            HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            samples[0]++;
+                            continue;
+                        }
+                    } catch (IOException ex) {
+                        samples[0]++;
+                        continue;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, samples.length * 2);
+                    }
+                    samples[count++] = System.nanoTime() - begin;
+                }
+                return Arrays.copyOf(samples, count);
+            }));
+        }
+        List<long[]> results = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            results.add(future.get(duration.toSeconds() + 60, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static String toJson(List<Result> results) {
+        StringBuilder json = new StringBuilder();
+        json.append(String.format(Locale.ROOT,
+            "{%n  \"java\": \"%s\",%n  \"concurrency\": %d,%n  \"dbLatencyMs\": %d,%n  \"poolSize\": %d,%n  \"seconds\": %d,%n  \"results\": [%n",
+            Runtime.version(), CONCURRENCY, DB_LATENCY_MS, POOL_SIZE, MEASUREMENT.toSeconds()));
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            json.append(String.format(Locale.ROOT,
+                "    {\"mode\": \"%s\", \"endpoint\": \"%s\", \"requests\": %d, \"errors\": %d, "
+                    + "\"throughput\": %.1f, \"p50Ms\": %.3f, \"p99Ms\": %.3f}%s%n",
+                result.mode(), result.endpoint(), result.requests(), result.errors(),
+                result.throughput(), result.p50Millis(), result.p99Millis(),
+                i < results.size() - 1 ? "," : ""));
+        }
+        return json.append("  ]\n}\n").toString();
+    }
+
+    /**
+     * Envuelve el DataSource para que cada ejecución de sentencia espere {@code DB_LATENCY_MS},
+     * ocupando la conexión como lo haría una consulta real a un servidor remoto.
+     */
+    private static final class LatencyInjector implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && DB_LATENCY_MS > 0) {
+                return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return result instanceof Connection connection
+                        ? proxy(Connection.class, connection, LatencyInjector::onConnection)
+                        : result;
+                });
+            }
+            return bean;
+        }
+
+        private static Object onConnection(Object target, Method method, Object[] args) throws Throwable {
+            Object result = invoke(target, method, args);
+            return result instanceof PreparedStatement statement
+                ? proxy(PreparedStatement.class, statement, LatencyInjector::onStatement)
+                : result;
+        }
+
+        private static Object onStatement(Object target, Method method, Object[] args) throws Throwable {
+            if (method.getName().startsWith("execute")) {
+                Thread.sleep(DB_LATENCY_MS);
+            }
+            return invoke(target, method, args);
+        }
+
+        private interface Handler {
+            Object handle(Object target, Method method, Object[] args) throws Throwable;
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Handler handler) {
+            InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, invocationHandler));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.hexagonalarchitecture.users.infraestructure.controller;
+
+import com.example.hexagonalarchitecture.users.application.port.in.ExportUsersUseCase;
+import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Una exportación que falla a mitad de camino no debe terminar como un archivo completo con 200.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("GET /users/export - Fallas durante la exportación")
+class UserExportFailureTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @MockitoBean
+    private ExportUsersUseCase exportUsersUseCase;
+
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    @DisplayName("Si todavía no se envió nada, se descarta lo escrito y se responde 500")
+    void testFailureBeforeCommitReturnsError() throws Exception {
+        failAfter(3);
+
+        mockMvc.perform(get("/users/export").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().doesNotExist("Content-Disposition"))
+                .andExpect(jsonPath("$.error").value("INTERNAL_SERVER_ERROR"));
+    }
+
+    @Test
+    @DisplayName("Si ya se envió parte del cuerpo, la falla llega al contenedor en lugar de cerrar el gzip")
+    void testFailureAfterCommitAbortsResponse() {
+        // IDs aleatorios: se comprimen poco y el gzip llega a enviar parte del cuerpo antes de la falla
+        failAfter(20_000);
+
+        ServletException failure = assertThrows(ServletException.class,
+            () -> mockMvc.perform(get("/users/export").header("Accept-Encoding", "gzip")));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+
+    private void failAfter(int rows) {
+        doAnswer(invocation -> {
+            Consumer<User> consumer = invocation.getArgument(1);
+            for (int i = 0; i < rows; i++) {
+                consumer.accept(new User(UUID.randomUUID().toString(), "user" + i, "User", "Export",
+                    "user" + i + "@example.com", null, DocumentType.DNI, "2" + i, null,
+                    UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)));
+            }
+            throw new IllegalStateException("Conexión con la base de datos perdida");
+        }).when(exportUsersUseCase).execute(any(), any());
+    }
+}
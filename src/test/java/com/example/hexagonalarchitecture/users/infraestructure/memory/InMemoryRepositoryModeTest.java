@@ -0,0 +1,31 @@
+package com.example.hexagonalarchitecture.users.infraestructure.memory;
+
+import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.infraestructure.persistence.JpaUserRepositoryAdapter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "users.repository.type=memory")
+@ActiveProfiles("test")
+@DisplayName("users.repository.type=memory - Selección del adaptador")
+class InMemoryRepositoryModeTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private UserRepositoryPort userRepositoryPort;
+
+    @Test
+    @DisplayName("Los casos de uso reciben el adaptador en memoria y el adaptador JPA no se crea")
+    void testMemoryModeDoesNotCreateJpaAdapter() {
+        assertInstanceOf(InMemoryUserRepositoryAdapter.class, userRepositoryPort);
+        assertNull(context.getBeanProvider(JpaUserRepositoryAdapter.class).getIfAvailable());
+    }
+}
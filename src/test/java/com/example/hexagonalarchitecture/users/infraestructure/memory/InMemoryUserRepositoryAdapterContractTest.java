@@ -0,0 +1,14 @@
+package com.example.hexagonalarchitecture.users.infraestructure.memory;
+
+import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPortContractTest;
+import org.junit.jupiter.api.DisplayName;
+
+@DisplayName("InMemoryUserRepositoryAdapter - Contrato del puerto de persistencia")
+class InMemoryUserRepositoryAdapterContractTest extends UserRepositoryPortContractTest {
+
+    @Override
+    protected UserRepositoryPort emptyRepository() {
+        return new InMemoryUserRepositoryAdapter();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.hexagonalarchitecture.users.infraestructure.memory;
+
+import com.example.hexagonalarchitecture.users.application.common.UserUniqueField;
+import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UserSnapshotPersistence - Snapshot y journal del almacén en memoria")
+class UserSnapshotPersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("El formato binario conserva todos los campos, incluidos los null")
+    void testCodecRoundTrip() {
+        UserRecord full = new UserRecord(new User("3f2b8c1e-0d4a-4c7e-9a51-6b2d7e8f9a10", "agarcía", "Ana", "García",
+            "ana@example.com", "+54 11 5555", DocumentType.DNI, "30111222", "Calle 1", UserStatus.INACTIVE,
+            LocalDate.of(1990, 1, 1), 7L), "hash-ana");
+        UserRecord sparse = new UserRecord(new User("00000000-0000-0000-0000-000000000001", "msmith", null, null,
+            null, null, null, null, null, UserStatus.ACTIVE, null, 0L), null);
+
+        assertEquals(full, UserRecordCodec.decode(ByteBuffer.wrap(UserRecordCodec.encode(full))));
+        assertEquals(sparse, UserRecordCodec.decode(ByteBuffer.wrap(UserRecordCodec.encode(sparse))));
+        assertThrows(IllegalArgumentException.class,
+            () -> UserRecordCodec.decode(ByteBuffer.wrap(new byte[10])));
+    }
+
+    @Test
+    @DisplayName("Al reiniciar se carga el snapshot y se reaplican solo los cambios posteriores")
+    void testRestartFromSnapshotAndJournal() throws IOException {
+        UserSnapshotPersistence persistence = new UserSnapshotPersistence(directory, false);
+        InMemoryUserRepositoryAdapter store = new InMemoryUserRepositoryAdapter(persistence);
+        persistence.open(store, Duration.ZERO);
+
+        User ana = store.create(user("agarcia", "30111222"), "hash-ana");
+        User luis = store.create(user("lgarcia", "30111333"), "hash-luis");
+        persistence.snapshot();
+        User updatedAna = store.update(withFirstName(ana, "Ana María"), "hash-ana-2");
+        store.updateStatus(luis.id(), UserStatus.INACTIVE, Set.of(), null);
+        User john = store.create(user("jdoe", "20999888"), "hash-john");
+
+        // Solo queda el segmento de journal abierto después del snapshot
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(path -> path.getFileName().toString().startsWith("journal-")).count());
+        }
+
+        // Reinicio sin cierre ordenado: el journal se reaplica sobre el snapshot
+        InMemoryUserRepositoryAdapter restarted = restart();
+
+        assertEquals(updatedAna, restarted.findById(ana.id()).orElseThrow());
+        assertEquals("hash-ana-2", restarted.findByIdWithPassword(ana.id()).passwordHash());
+        assertEquals(UserStatus.INACTIVE, restarted.findById(luis.id()).orElseThrow().status());
+        assertEquals(john, restarted.findById(john.id()).orElseThrow());
+        assertEquals(Set.of(UserUniqueField.USERNAME, UserUniqueField.DOCUMENT_NUMBER),
+            restarted.findConflicts("jdoe", null, "20999888"));
+    }
+
+    @Test
+    @DisplayName("Una entrada incompleta al final del journal se descarta y las escrituras siguen")
+    void testTornJournalTailIsDiscarded() throws IOException {
+        UserSnapshotPersistence persistence = new UserSnapshotPersistence(directory, true);
+        InMemoryUserRepositoryAdapter store = new InMemoryUserRepositoryAdapter(persistence);
+        persistence.open(store, Duration.ZERO);
+        User ana = store.create(user("agarcia", "30111222"), "hash-ana");
+        User luis = store.create(user("lgarcia", "30111333"), "hash-luis");
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(path -> path.getFileName().toString().startsWith("journal-")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        UserSnapshotPersistence restartedPersistence = new UserSnapshotPersistence(directory, false);
+        InMemoryUserRepositoryAdapter restarted = new InMemoryUserRepositoryAdapter(restartedPersistence);
+        restartedPersistence.open(restarted, Duration.ZERO);
+
+        assertEquals(ana, restarted.findById(ana.id()).orElseThrow());
+        assertTrue(restarted.findVersionById(luis.id()).isEmpty());
+
+        User john = restarted.create(user("jdoe", "20999888"), "hash-john");
+        restartedPersistence.close();
+
+        InMemoryUserRepositoryAdapter again = restart();
+        assertEquals(List.of(ana, john), List.of(
+            again.findById(ana.id()).orElseThrow(), again.findById(john.id()).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("El cierre toma un snapshot final y el reinicio no necesita el journal")
+    void testCloseTakesFinalSnapshot() throws IOException {
+        UserSnapshotPersistence persistence = new UserSnapshotPersistence(directory, false);
+        InMemoryUserRepositoryAdapter store = new InMemoryUserRepositoryAdapter(persistence);
+        persistence.open(store, Duration.ZERO);
+        User ana = store.create(user("agarcia", "30111222"), "hash-ana");
+        persistence.close();
+
+        List<UserRecord> snapshot = new ArrayList<>();
+        UserSnapshotFile.Loaded loaded = UserSnapshotFile.read(
+            directory.resolve(UserSnapshotPersistence.SNAPSHOT_FILE), snapshot::add);
+
+        assertEquals(1L, loaded.lastSequence());
+        assertEquals(List.of(new UserRecord(ana, "hash-ana")), snapshot);
+    }
+
+    private InMemoryUserRepositoryAdapter restart() {
+        UserSnapshotPersistence persistence = new UserSnapshotPersistence(directory, false);
+        InMemoryUserRepositoryAdapter store = new InMemoryUserRepositoryAdapter(persistence);
+        persistence.open(store, Duration.ZERO);
+        return store;
+    }
+
+    private static User user(String username, String documentNumber) {
+        return new User(null, username, "Nombre", "Apellido", username + "@example.com", null,
+            DocumentType.DNI, documentNumber, null, UserStatus.ACTIVE, LocalDate.of(1990, 1, 1));
+    }
+
+    private static User withFirstName(User user, String firstName) {
+        return new User(user.id(), user.username(), firstName, user.lastName(), user.email(), user.phone(),
+            user.documentType(), user.documentNumber(), user.address(), user.status(), user.birthDate(),
+            user.version());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.hexagonalarchitecture.users.infraestructure.metrics;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Presupuesto de SQL por endpoint para los tests con MockMvc: lee los headers de
+ * {@link SqlStatementCountingInterceptor} y falla si la solicitud ejecutó más de lo permitido.
+ * <p>
+ * Uso: {@code mockMvc.perform(get("/users/" + id)).andExpect(SqlStatementBudget.statementsAtMost(1))}
+ * <p>
+ * En tests {@code @Transactional} conviene hacer flush de los datos de prueba antes de la solicitud,
+ * si no los INSERT pendientes se ejecutan (y se cuentan) dentro de ella.
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static ResultMatcher statementsAtMost(int budget) {
+        return result -> assertWithinBudget(result, SqlStatementCountingInterceptor.STATEMENTS_HEADER, budget);
+    }
+
+    public static ResultMatcher roundTripsAtMost(int budget) {
+        return result -> assertWithinBudget(result, SqlStatementCountingInterceptor.ROUND_TRIPS_HEADER, budget);
+    }
+
+    private static void assertWithinBudget(MvcResult result, String header, int budget) {
+        String value = result.getResponse().getHeader(header);
+        String endpoint = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        assertNotNull(value, endpoint + " no informó " + header);
+        int actual = Integer.parseInt(value);
+        assertTrue(actual <= budget,
+            endpoint + ": " + actual + " (" + header + ") supera el presupuesto de " + budget);
+    }
+}
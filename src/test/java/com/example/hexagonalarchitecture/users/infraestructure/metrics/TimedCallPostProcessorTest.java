@@ -0,0 +1,95 @@
+package com.example.hexagonalarchitecture.users.infraestructure.metrics;
+
+import com.example.hexagonalarchitecture.users.application.common.CountMode;
+import com.example.hexagonalarchitecture.users.application.common.PageResult;
+import com.example.hexagonalarchitecture.users.application.common.SortDirection;
+import com.example.hexagonalarchitecture.users.application.common.UserField;
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.application.common.UserSortField;
+import com.example.hexagonalarchitecture.users.application.port.in.GetUserByIdUseCase;
+import com.example.hexagonalarchitecture.users.application.port.in.SearchUsersUseCase;
+import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TimedCallPostProcessor - Timers por caso de uso")
+class TimedCallPostProcessorTest {
+
+    @Mock
+    private UserRepositoryPort userRepositoryPort;
+
+    private MeterRegistry registry;
+    private TimedCallPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", registry);
+        postProcessor = new TimedCallPostProcessor(
+            "users.usecase",
+            method -> Modifier.isPublic(method.getModifiers())
+                && method.getDeclaringClass().getPackageName().equals(SearchUsersUseCase.class.getPackageName()),
+            beanFactory.getBeanProvider(MeterRegistry.class));
+        postProcessor.setBeanClassLoader(getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Las búsquedas se etiquetan con el campo de orden, la forma del filtro y el modo de conteo")
+    void testSearchIsTaggedBySortAndFilterShape() {
+        when(userRepositoryPort.searchSlice(any(), anyInt(), anyInt(), any(), any(), any()))
+            .thenReturn(PageResult.slice(List.of(), 0, 10, false, null, null));
+        SearchUsersUseCase useCase = (SearchUsersUseCase) postProcessor.postProcessAfterInitialization(
+            new SearchUsersUseCase(userRepositoryPort), "searchUsersUseCase");
+
+        useCase.execute(new UserSearchFilter("Garcia", null, UserStatus.ACTIVE, null, null),
+            0, 10, UserSortField.LAST_NAME, SortDirection.ASC, CountMode.NONE, UserField.ALL);
+
+        Timer timer = registry.get("users.usecase")
+            .tag("component", "SearchUsersUseCase")
+            .tag("method", "execute")
+            .tag("outcome", "success")
+            .tag("sort", "LAST_NAME")
+            .tag("filter", "lastName+status")
+            .tag("count", "NONE")
+            .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Las excepciones se propagan y se cuentan como error con su clase")
+    void testErrorsAreCountedByException() {
+        when(userRepositoryPort.findById("missing")).thenReturn(Optional.empty());
+        GetUserByIdUseCase useCase = (GetUserByIdUseCase) postProcessor.postProcessAfterInitialization(
+            new GetUserByIdUseCase(userRepositoryPort), "getUserByIdUseCase");
+
+        assertThrows(EntityNotFoundException.class, () -> useCase.execute("missing"));
+
+        Timer timer = registry.get("users.usecase")
+            .tag("component", "GetUserByIdUseCase")
+            .tag("outcome", "error")
+            .tag("exception", "EntityNotFoundException")
+            .tag("filter", "none")
+            .timer();
+        assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.hexagonalarchitecture.users.infraestructure.outbox;
+
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.application.port.in.ChangeUsersStatusUseCase;
+import com.example.hexagonalarchitecture.users.application.port.in.CreateUserUseCase;
+import com.example.hexagonalarchitecture.users.application.port.in.DeactivateUserUseCase;
+import com.example.hexagonalarchitecture.users.application.port.in.UpdateUserUseCase;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.ValidationException;
+import com.example.hexagonalarchitecture.users.infraestructure.persistence.SpringDataUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.example.hexagonalarchitecture.users.infraestructure.outbox.UserOutboxTestSupport.await;
+import static com.example.hexagonalarchitecture.users.infraestructure.outbox.UserOutboxTestSupport.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sin transacción de test: el outbox se escribe en la transacción de cada caso de uso y el relay solo
+ * ve lo confirmado. Los mensajes llegan por el publicador en proceso a {@link RecordingListener}.
+ */
+@SpringBootTest(properties = {
+        "users.outbox.enabled=true",
+        "users.outbox.publisher=in-process",
+        "users.outbox.poll-interval=50ms",
+        "users.outbox.retry-delay=50ms",
+        "users.bulk-status.chunk-size=2"
+})
+@ActiveProfiles("test")
+@Import(UserOutboxRelayTest.RecordingListener.class)
+@DisplayName("UserOutbox - Eventos de usuario vía outbox transaccional")
+class UserOutboxRelayTest {
+
+    private static final Supplier<String> NOT_DELIVERED = () -> "El outbox no se entregó a tiempo";
+
+    @Autowired
+    private CreateUserUseCase createUserUseCase;
+
+    @Autowired
+    private UpdateUserUseCase updateUserUseCase;
+
+    @Autowired
+    private DeactivateUserUseCase deactivateUserUseCase;
+
+    @Autowired
+    private ChangeUsersStatusUseCase changeUsersStatusUseCase;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private SpringDataUserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanUp() throws InterruptedException {
+        await(NOT_DELIVERED, () -> outboxSize() == 0);
+        userRepository.deleteAll();
+        listener.messages.clear();
+        listener.failuresLeft.set(0);
+    }
+
+    @Test
+    @DisplayName("Los cambios de un usuario se entregan en orden y el outbox queda vacío")
+    void testChangesAreDeliveredInOrder() throws InterruptedException {
+        User ana = createUserUseCase.execute(user("agarcia", "García", "30111222"), "password123");
+        User updated = updateUserUseCase.execute(ana.id(), withLastName(ana, "García López"));
+        User deactivated = deactivateUserUseCase.execute(ana.id(), updated.version());
+
+        await(NOT_DELIVERED, () -> listener.messages.size() >= 3);
+
+        List<UserOutboxMessage> messages = listener.messages;
+        assertEquals(List.of(ana.id(), ana.id(), ana.id()), messages.stream().map(UserOutboxMessage::userId).toList());
+        assertTrue(messages.get(0).id() < messages.get(1).id() && messages.get(1).id() < messages.get(2).id());
+        assertEquals(List.of(ana.version(), updated.version(), deactivated.version()),
+            messages.stream().map(message -> jsonMapper.readTree(message.payload()).path("user").path("version").asLong()).toList());
+        assertEquals("UserChangedEvent", messages.get(2).type());
+        assertEquals("INACTIVE", jsonMapper.readTree(messages.get(2).payload()).path("user").path("status").asString());
+        await(NOT_DELIVERED, () -> outboxSize() == 0);
+    }
+
+    @Test
+    @DisplayName("Una escritura que falla no deja evento en el outbox")
+    void testFailedWriteLeavesNoEvent() throws InterruptedException {
+        User ana = createUserUseCase.execute(user("agarcia", "García", "30111222"), "password123");
+
+        assertThrows(ValidationException.class,
+            () -> createUserUseCase.execute(user("agarcia", "Otra", "30999888"), "password123"));
+
+        await(NOT_DELIVERED, () -> outboxSize() == 0);
+        assertEquals(List.of(ana.id()), listener.messages.stream().map(UserOutboxMessage::userId).toList());
+    }
+
+    @Test
+    @DisplayName("Si la entrega falla, el lote se reintenta (al menos una vez)")
+    void testFailedDeliveryIsRetried() throws InterruptedException {
+        double failures = meterRegistry.counter("users.outbox.failures").count();
+        listener.failuresLeft.set(1);
+
+        User ana = createUserUseCase.execute(user("agarcia", "García", "30111222"), "password123");
+
+        await(NOT_DELIVERED, () -> outboxSize() == 0);
+        // El primer intento llegó al listener antes de fallar: el mensaje se entregó dos veces
+        assertEquals(List.of(ana.id(), ana.id()), listener.messages.stream().map(UserOutboxMessage::userId).toList());
+        assertEquals(listener.messages.get(0).id(), listener.messages.get(1).id());
+        assertEquals(failures + 1, meterRegistry.counter("users.outbox.failures").count());
+    }
+
+    @Test
+    @DisplayName("Un cambio masivo de estado deja un evento por tramo, sin usuario")
+    void testBulkStatusChangeEmitsOneEventPerChunk() throws InterruptedException {
+        createUserUseCase.execute(user("agarcia", "García", "30111222"), "password123");
+        createUserUseCase.execute(user("lgarcia", "Garcia", "30111333"), "password123");
+        createUserUseCase.execute(user("mgarcia", "Garcia", "30111444"), "password123");
+        await(NOT_DELIVERED, () -> listener.messages.size() >= 3);
+        listener.messages.clear();
+
+        long changed = changeUsersStatusUseCase.execute(
+            new UserSearchFilter("garc", null, null, null, null), UserStatus.INACTIVE);
+
+        await(NOT_DELIVERED, () -> outboxSize() == 0 && listener.messages.size() >= 2);
+        assertEquals(3, changed);
+        assertEquals(List.of(2L, 1L), listener.messages.stream()
+            .map(message -> jsonMapper.readTree(message.payload()).path("changed").asLong()).toList());
+        assertTrue(listener.messages.stream().allMatch(message -> message.userId() == null
+            && message.type().equals("UsersStatusChangedEvent")));
+    }
+
+    @Test
+    @DisplayName("Sin listeners, el publicador en proceso falla y el lote queda en el outbox")
+    void testInProcessPublisherWithoutListenersFails() {
+        UserOutboxPublisher publisher = new InProcessUserOutboxPublisher(List.of());
+        UserOutboxMessage message = new UserOutboxMessage(1L, "u-1", "UserChangedEvent", "{}", Instant.now());
+
+        assertThrows(IllegalStateException.class, () -> publisher.publish(List.of(message)));
+    }
+
+    private int outboxSize() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_outbox", Integer.class);
+    }
+
+    private static User withLastName(User user, String lastName) {
+        return new User(user.id(), user.username(), user.firstName(), lastName, user.email(), user.phone(),
+            user.documentType(), user.documentNumber(), user.address(), user.status(), user.birthDate(),
+            user.version());
+    }
+
+    @TestConfiguration
+    static class RecordingListener implements UserOutboxListener {
+
+        final List<UserOutboxMessage> messages = new CopyOnWriteArrayList<>();
+        final AtomicInteger failuresLeft = new AtomicInteger();
+
+        @Override
+        public void on(UserOutboxMessage message) {
+            messages.add(message);
+            if (failuresLeft.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+                throw new IllegalStateException("Destino no disponible");
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.hexagonalarchitecture.users.infraestructure.outbox;
+
+import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Apoyo para los tests de los consumidores de {@code user_outbox} (relay y modelo de búsqueda), que
+ * corren sin transacción de test y ven los efectos de cada escritura de forma asíncrona.
+ */
+public final class UserOutboxTestSupport {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private UserOutboxTestSupport() {
+    }
+
+    /**
+     * Usuario activo nuevo (sin ID), con los campos que usan los filtros de búsqueda.
+     */
+    public static User user(String username, String lastName, String documentNumber) {
+        return new User(null, username, "Nombre", lastName, username + "@example.com", null,
+            DocumentType.DNI, documentNumber, null, UserStatus.ACTIVE, LocalDate.of(1990, 1, 1));
+    }
+
+    /**
+     * Espera hasta que se cumpla la condición; falla con {@code message} si pasan 10 segundos.
+     */
+    public static void await(Supplier<String> message, BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.hexagonalarchitecture.users.infraestructure.persistence;
+
+import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPort;
+import com.example.hexagonalarchitecture.users.application.port.out.UserRepositoryPortContractTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Sin transacción de test: cada llamada al adaptador confirma por su cuenta, como en producción
+ * (el {@code @Transactional} de clase no alcanzaría a los tests heredados de otra clase).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("JpaUserRepositoryAdapter - Contrato del puerto de persistencia")
+class JpaUserRepositoryAdapterContractTest extends UserRepositoryPortContractTest {
+
+    @Autowired
+    private JpaUserRepositoryAdapter adapter;
+
+    @Autowired
+    private SpringDataUserRepository userRepository;
+
+    @Override
+    protected UserRepositoryPort emptyRepository() {
+        userRepository.deleteAll();
+        return adapter;
+    }
+
+    @AfterEach
+    void deleteUsers() {
+        userRepository.deleteAll();
+    }
+}
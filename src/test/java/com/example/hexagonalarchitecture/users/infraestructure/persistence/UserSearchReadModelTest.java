@@ -0,0 +1,167 @@
+package com.example.hexagonalarchitecture.users.infraestructure.persistence;
+
+import com.example.hexagonalarchitecture.users.application.common.PageResult;
+import com.example.hexagonalarchitecture.users.application.common.SortDirection;
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.application.common.UserSortField;
+import com.example.hexagonalarchitecture.users.application.port.in.ChangeUsersStatusUseCase;
+import com.example.hexagonalarchitecture.users.application.port.in.CreateUserUseCase;
+import com.example.hexagonalarchitecture.users.application.port.in.SearchUsersUseCase;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.example.hexagonalarchitecture.users.infraestructure.outbox.UserOutboxTestSupport.await;
+import static com.example.hexagonalarchitecture.users.infraestructure.outbox.UserOutboxTestSupport.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sin transacción de test: el proyector solo ve en {@code user_outbox} los eventos de escrituras
+ * confirmadas. El outbox hacia sistemas externos sigue desactivado (perfil test), así que las filas
+ * de {@code user_outbox} son todas del modelo de búsqueda.
+ */
+@SpringBootTest(properties = {
+        "users.search.read-model.enabled=true",
+        "users.search.read-model.max-staleness=500ms",
+        "users.search.read-model.max-attempts=2",
+        "users.search.read-model.poll-interval=20ms",
+        "users.search.read-model.retry-delay=20ms"
+})
+@ActiveProfiles("test")
+@DisplayName("UserSearchReadModel - Búsqueda sobre el modelo de lectura")
+class UserSearchReadModelTest {
+
+    private static final UserSearchFilter NO_FILTER = new UserSearchFilter(null, null, null, null, null);
+
+    private static final Duration MAX_STALENESS = Duration.ofMillis(500);
+
+    @Autowired
+    private CreateUserUseCase createUserUseCase;
+
+    @Autowired
+    private ChangeUsersStatusUseCase changeUsersStatusUseCase;
+
+    @Autowired
+    private SearchUsersUseCase searchUsersUseCase;
+
+    @Autowired
+    private UserSearchProjector projector;
+
+    @Autowired
+    private SpringDataUserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void deleteUsers() throws InterruptedException {
+        awaitProjection();
+        userRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM user_search");
+    }
+
+    @Test
+    @DisplayName("Con el proyector detenido los cambios esperan en user_outbox y las búsquedas van a users")
+    void testFallsBackWhileProjectorIsBehind() throws InterruptedException {
+        projector.close();
+        try {
+            User ana = createUserUseCase.execute(user("agarcia", "García", "30111222"), "password123");
+            await(() -> "El retraso no superó el máximo: " + projector.lag(), () -> !projector.isWithin(MAX_STALENESS));
+            double fallbacks = fallbacks();
+
+            PageResult<User> result = search(NO_FILTER);
+
+            assertEquals(List.of(ana.id()), result.content().stream().map(User::id).toList());
+            assertEquals(fallbacks + 1, fallbacks());
+            assertEquals(1, pendingEvents());
+        } finally {
+            projector.start();
+        }
+    }
+
+    @Test
+    @DisplayName("Con el modelo al día se filtra en user_search sin recurrir a la tabla users")
+    void testSearchServedByReadModel() throws InterruptedException {
+        User ana = createUserUseCase.execute(user("agarcia", "García", "30111222"), "password123");
+        createUserUseCase.execute(user("jdoe", "Doe", "20999888"), "password123");
+        awaitProjection();
+        double fallbacks = fallbacks();
+
+        PageResult<User> result = search(new UserSearchFilter("GARC", null, null, null, null));
+
+        assertEquals(1, result.totalElements());
+        assertEquals(ana, result.content().get(0));
+        assertEquals(fallbacks, fallbacks());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_search", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Un cambio masivo de estado se refleja en el modelo de búsqueda")
+    void testBulkStatusChangeIsProjected() throws InterruptedException {
+        createUserUseCase.execute(user("agarcia", "García", "30111222"), "password123");
+        createUserUseCase.execute(user("lgarcia", "Garcia", "30111333"), "password123");
+        createUserUseCase.execute(user("jdoe", "Doe", "20999888"), "password123");
+
+        long changed = changeUsersStatusUseCase.execute(
+            new UserSearchFilter("garc", null, null, null, null), UserStatus.INACTIVE);
+        awaitProjection();
+        double fallbacks = fallbacks();
+
+        PageResult<User> inactive = search(new UserSearchFilter(null, null, UserStatus.INACTIVE, null, null));
+
+        assertEquals(2, changed);
+        assertEquals(2, inactive.totalElements());
+        assertTrue(inactive.content().stream().allMatch(user -> user.status() == UserStatus.INACTIVE));
+        assertEquals(fallbacks, fallbacks());
+    }
+
+    @Test
+    @DisplayName("Un evento que siempre falla no traba a los demás y se cubre con una resincronización")
+    void testFailingEventIsReplacedByResync() throws InterruptedException {
+        double failures = meterRegistry.counter("users.readmodel.failures").count();
+        double resyncs = meterRegistry.counter("users.readmodel.resyncs").count();
+        jdbcTemplate.update("INSERT INTO user_outbox (consumer, event_type, payload, occurred_at, attempts) "
+            + "VALUES ('search', 'Desconocido', '{}', CURRENT_TIMESTAMP, 0)");
+
+        User ana = createUserUseCase.execute(user("agarcia", "García", "30111222"), "password123");
+        awaitProjection();
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM user_search WHERE id = ?", Integer.class, ana.id()));
+        assertEquals(failures + 2, meterRegistry.counter("users.readmodel.failures").count());
+        assertEquals(resyncs + 1, meterRegistry.counter("users.readmodel.resyncs").count());
+    }
+
+    private PageResult<User> search(UserSearchFilter filter) {
+        return searchUsersUseCase.execute(filter, 0, 10, UserSortField.LAST_NAME, SortDirection.ASC);
+    }
+
+    private double fallbacks() {
+        return meterRegistry.counter("users.readmodel.fallbacks").count();
+    }
+
+    private int pendingEvents() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_outbox", Integer.class);
+    }
+
+    /**
+     * Espera a que no quede nada en el outbox y a que el proyector lo haya observado.
+     */
+    private void awaitProjection() throws InterruptedException {
+        await(() -> "El modelo sigue atrasado: " + projector.lag(),
+            () -> pendingEvents() == 0 && projector.isWithin(MAX_STALENESS));
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.hexagonalarchitecture.users.infraestructure.persistence;
+
+import com.example.hexagonalarchitecture.users.application.common.SortDirection;
+import com.example.hexagonalarchitecture.users.application.common.UserField;
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.application.common.UserSortField;
+import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que la búsqueda por subcadena siga generando exactamente la expresión
+ * {@code lower(col) like ?} indexada por los índices trigram de db/postgresql.
+ * Si alguien cambia la expresión (p.e. a upper() o ilike) el índice deja de usarse
+ * sin que ningún otro test lo note. También que las lecturas proyecten columnas sin traer la password.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.hexagonalarchitecture.users.infraestructure.persistence.UserSearchSqlTest$RecordingStatementInspector")
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Búsqueda por subcadena - SQL compatible con índices trigram")
+class UserSearchSqlTest {
+
+    @Autowired
+    private JpaUserRepositoryAdapter adapter;
+
+    @Autowired
+    private SpringDataUserRepository userRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        RecordingStatementInspector.SQL.clear();
+    }
+
+    @Test
+    @DisplayName("lastName genera lower(last_name) like ?")
+    void testLastNameSearchMatchesIndexedExpression() {
+        adapter.search(new UserSearchFilter("Garcia", null, null, null, null), 0, 10, UserSortField.ID, SortDirection.ASC, UserField.ALL);
+
+        assertTrue(anyMatches("lower\\(\\w+\\.last_name\\) like \\?"), RecordingStatementInspector.SQL::toString);
+    }
+
+    @Test
+    @DisplayName("documentNumber genera lower(document_number) like ?")
+    void testDocumentNumberSearchMatchesIndexedExpression() {
+        adapter.search(new UserSearchFilter(null, "1234", null, null, null), 0, 10, UserSortField.ID, SortDirection.ASC, UserField.ALL);
+
+        assertTrue(anyMatches("lower\\(\\w+\\.document_number\\) like \\?"), RecordingStatementInspector.SQL::toString);
+    }
+
+    @Test
+    @DisplayName("Los índices trigram se definen sobre la misma expresión")
+    void testIndexDefinitionsUseSameExpression() throws Exception {
+        String ddl = new ClassPathResource("db/postgresql/001_trigram_search_indexes.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertTrue(ddl.contains("(lower(last_name) gin_trgm_ops)"));
+        assertTrue(ddl.contains("(lower(document_number) gin_trgm_ops)"));
+    }
+
+    @Test
+    @DisplayName("Los comodines del texto buscado se tratan literalmente")
+    void testWildcardsAreEscaped() {
+        userRepository.save(new UserEntity(
+            null, "jdoe", "hashedPassword", "John", "Gar%cia", "john@example.com",
+            null, DocumentType.DNI, "12345678", null,
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+        userRepository.save(new UserEntity(
+            null, "jsmith", "hashedPassword", "Jane", "Garxcia", "jane@example.com",
+            null, DocumentType.DNI, "87654321", null,
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+
+        List<User> percent = adapter.search(new UserSearchFilter("r%c", null, null, null, null), 0, 10, UserSortField.ID, SortDirection.ASC, UserField.ALL).content();
+        List<User> underscore = adapter.search(new UserSearchFilter("r_c", null, null, null, null), 0, 10, UserSortField.ID, SortDirection.ASC, UserField.ALL).content();
+
+        assertEquals(1, percent.size());
+        assertEquals("Gar%cia", percent.get(0).lastName());
+        assertTrue(underscore.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Las lecturas proyectan columnas: sin password en el SELECT ni entidades en el contexto")
+    void testReadsProjectWithoutPassword() {
+        UserEntity saved = userRepository.save(new UserEntity(
+            null, "jdoe", "hashedPassword", "John", "Garcia", "john@example.com",
+            null, DocumentType.DNI, "12345678", null,
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+        userRepository.flush();
+        entityManager.clear();
+        RecordingStatementInspector.SQL.clear();
+
+        UserSearchFilter filter = new UserSearchFilter("garcia", null, null, null, null);
+        List<User> counted = adapter.search(filter, 0, 10, UserSortField.LAST_NAME, SortDirection.ASC, UserField.ALL).content();
+        List<User> slice = adapter.searchSlice(filter, 0, 10, UserSortField.ID, SortDirection.ASC, UserField.ALL).content();
+        List<User> keyset = adapter.searchAfter(filter, null, 10, UserSortField.ID, SortDirection.DESC, UserField.ALL).content();
+        User byId = adapter.findById(saved.getId()).orElseThrow();
+
+        assertEquals(List.of(byId), counted);
+        assertEquals(counted, slice);
+        assertEquals(counted, keyset);
+        assertEquals(0L, byId.version());
+        assertFalse(RecordingStatementInspector.SQL.isEmpty());
+        assertTrue(RecordingStatementInspector.SQL.stream().noneMatch(sql -> sql.toLowerCase().contains("password")),
+            RecordingStatementInspector.SQL::toString);
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Con un subconjunto de campos el SELECT trae solo esas columnas más las del cursor")
+    void testSparseFieldsRestrictSelectedColumns() {
+        userRepository.save(new UserEntity(
+            null, "jdoe", "hashedPassword", "John", "Garcia", "john@example.com",
+            "123456789", DocumentType.DNI, "12345678", "Address 1",
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+        userRepository.flush();
+        RecordingStatementInspector.SQL.clear();
+
+        User user = adapter.searchSlice(new UserSearchFilter("garcia", null, null, null, null), 0, 10,
+            UserSortField.DOCUMENT_NUMBER, SortDirection.ASC, EnumSet.of(UserField.USERNAME)).content().get(0);
+
+        assertEquals("jdoe", user.username());
+        assertNotNull(user.id());
+        assertEquals("12345678", user.documentNumber());
+        assertNull(user.email());
+        assertNull(user.status());
+        String select = RecordingStatementInspector.SQL.get(0).toLowerCase().replaceAll("\\s+", " ");
+        String columns = select.substring(0, select.indexOf(" from "));
+        assertTrue(columns.contains("username") && columns.contains("document_number"), select);
+        assertFalse(columns.contains("email") || columns.contains("address") || columns.contains("birth_date"), select);
+    }
+
+    private static boolean anyMatches(String regex) {
+        Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+        return RecordingStatementInspector.SQL.stream()
+                .map(sql -> sql.replaceAll("\\s+", " "))
+                .anyMatch(sql -> pattern.matcher(sql).find());
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.hexagonalarchitecture.users.infraestructure.persistence;
+
+import com.example.hexagonalarchitecture.users.application.common.UserSearchFilter;
+import com.example.hexagonalarchitecture.users.domain.model.DocumentType;
+import com.example.hexagonalarchitecture.users.domain.model.User;
+import com.example.hexagonalarchitecture.users.domain.model.UserStatus;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.EntityNotFoundException;
+import com.example.hexagonalarchitecture.users.infraestructure.exception.VersionConflictException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que los cambios de estado sean una sola sentencia que escribe solo {@code status}
+ * y devuelve la fila, sin SELECT previo ni reescritura de la password, y que los cambios
+ * masivos se resuelvan con UPDATE por conjuntos en tramos acotados.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.hexagonalarchitecture.users.infraestructure.persistence.UserStatusUpdateSqlTest$RecordingStatementInspector",
+        "users.bulk-status.chunk-size=2"
+})
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Cambio de estado - UPDATE condicional de una sola columna")
+class UserStatusUpdateSqlTest {
+
+    @Autowired
+    private JpaUserRepositoryAdapter adapter;
+
+    @Autowired
+    private SpringDataUserRepository userRepository;
+
+    private UserEntity user;
+    private UserEntity admin;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        user = userRepository.save(new UserEntity(
+            null, "jdoe", "hashedPassword", "John", "Doe", "john@example.com",
+            null, DocumentType.DNI, "12345678", null,
+            UserStatus.ACTIVE, LocalDate.of(1990, 1, 1)
+        ));
+        admin = userRepository.save(new UserEntity(
+            null, "admin", "hashedPassword", "Admin", "Root", "admin@example.com",
+            null, DocumentType.DNI, "87654321", null,
+            UserStatus.ACTIVE, LocalDate.of(1980, 1, 1)
+        ));
+        userRepository.flush();
+        RecordingStatementInspector.SQL.clear();
+    }
+
+    @Test
+    @DisplayName("Una sola sentencia que actualiza status y retorna la fila")
+    void testSingleStatementReturnsUpdatedRow() {
+        Optional<User> updated = adapter.updateStatus(user.getId(), UserStatus.INACTIVE, Set.of(), null);
+
+        assertEquals(UserStatus.INACTIVE, updated.orElseThrow().status());
+        assertEquals("jdoe", updated.get().username());
+        assertEquals(LocalDate.of(1990, 1, 1), updated.get().birthDate());
+        assertEquals(1, RecordingStatementInspector.SQL.size(), RecordingStatementInspector.SQL::toString);
+        String sql = RecordingStatementInspector.SQL.get(0).toLowerCase();
+        assertTrue(sql.contains("set status = ?"), sql);
+        assertFalse(sql.contains("password"), sql);
+        assertEquals(user.getVersion() + 1, updated.get().version());
+    }
+
+    @Test
+    @DisplayName("Con versión esperada desactualizada no escribe y reporta el conflicto")
+    void testStaleVersionIsRejected() {
+        Long version = user.getVersion();
+        adapter.updateStatus(user.getId(), UserStatus.INACTIVE, Set.of(), version);
+
+        assertThrows(VersionConflictException.class,
+            () -> adapter.updateStatus(user.getId(), UserStatus.DELETED, Set.of(), version));
+        assertEquals(UserStatus.INACTIVE, adapter.findById(user.getId()).orElseThrow().status());
+    }
+
+    @Test
+    @DisplayName("La actualización de perfil es un solo UPDATE condicional que no toca password ni documento")
+    void testProfileUpdateIsSingleCompareAndSet() {
+        User changes = new User(user.getId(), "jdoe2", "Johnny", "Doe", "johnny@example.com",
+            null, null, null, null, UserStatus.ACTIVE, LocalDate.of(1990, 1, 1), user.getVersion());
+
+        User updated = adapter.updateProfile(changes);
+
+        assertEquals("jdoe2", updated.username());
+        assertEquals(DocumentType.DNI, updated.documentType());
+        assertEquals("12345678", updated.documentNumber());
+        assertEquals(1, RecordingStatementInspector.SQL.size(), RecordingStatementInspector.SQL::toString);
+        String sql = RecordingStatementInspector.SQL.get(0).toLowerCase();
+        assertTrue(sql.contains("version = version + 1"), sql);
+        assertFalse(sql.contains("password"), sql);
+        assertFalse(sql.contains("document_number ="), sql);
+        assertEquals("hashedPassword", adapter.findByIdWithPassword(user.getId()).passwordHash());
+    }
+
+    @Test
+    @DisplayName("La lectura posterior en la misma transacción ve el estado nuevo")
+    void testSubsequentReadSeesNewStatus() {
+        adapter.updateStatus(user.getId(), UserStatus.DELETED, Set.of(), null);
+
+        assertEquals(UserStatus.DELETED, adapter.findById(user.getId()).orElseThrow().status());
+        assertEquals("hashedPassword", adapter.findByIdWithPassword(user.getId()).passwordHash());
+    }
+
+    @Test
+    @DisplayName("Usernames protegidos e IDs inexistentes no modifican filas")
+    void testProtectedOrMissingUserIsNotUpdated() {
+        assertTrue(adapter.updateStatus(admin.getId(), UserStatus.DELETED, Set.of("admin"), null).isEmpty());
+        assertThrows(EntityNotFoundException.class,
+            () -> adapter.updateStatus("missing-id", UserStatus.DELETED, Set.of("admin"), null));
+
+        assertEquals(UserStatus.ACTIVE, userRepository.findById(admin.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Cambio masivo por filtro en tramos, sin tocar al administrador")
+    void testBulkUpdateInChunksSkipsProtectedUsers() {
+        for (int i = 0; i < 4; i++) {
+            userRepository.save(new UserEntity(
+                null, "doe" + i, "hashedPassword", "Jane", "Doe", "doe" + i + "@example.com",
+                null, DocumentType.CE, "1000" + i, null,
+                UserStatus.ACTIVE, LocalDate.of(1995, 1, 1)
+            ));
+        }
+        userRepository.flush();
+        RecordingStatementInspector.SQL.clear();
+
+        long updated = adapter.updateStatusWhere(
+            new UserSearchFilter(null, null, UserStatus.ACTIVE, null, null), UserStatus.INACTIVE, Set.of("admin"));
+
+        // jdoe + doe0..doe3 en tramos de 2, 2 y 1; admin queda fuera
+        assertEquals(5, updated);
+        long updates = RecordingStatementInspector.SQL.stream()
+            .filter(sql -> sql.toLowerCase().startsWith("update"))
+            .count();
+        assertEquals(3, updates, RecordingStatementInspector.SQL::toString);
+        assertEquals(UserStatus.ACTIVE, userRepository.findById(admin.getId()).orElseThrow().getStatus());
+        assertEquals(UserStatus.INACTIVE, adapter.findById(user.getId()).orElseThrow().status());
+        assertEquals(0, adapter.updateStatusWhere(
+            new UserSearchFilter(null, null, null, null, null), UserStatus.INACTIVE, Set.of("admin")));
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.hexagonalarchitecture.users.infraestructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BCryptStrengthCalibrator - Costo según presupuesto de latencia")
+class BCryptStrengthCalibratorTest {
+
+    // Cada punto de costo duplica el tiempo: costo 10 = 64 ms
+    private final BCryptStrengthCalibrator calibrator =
+        new BCryptStrengthCalibrator(strength -> Duration.ofMillis(1L << (strength - 4)).toNanos());
+
+    @Test
+    @DisplayName("Elige el mayor costo que cabe en el presupuesto")
+    void testPicksHighestStrengthWithinBudget() {
+        BCryptStrengthCalibrator.Calibration calibration =
+            calibrator.calibrate(Duration.ofMillis(300), 10, 14);
+
+        assertEquals(12, calibration.strength());
+        assertEquals(Duration.ofMillis(256), calibration.hashTime());
+        assertTrue(calibration.withinBudget());
+    }
+
+    @Test
+    @DisplayName("No supera el costo máximo")
+    void testRespectsMaxStrength() {
+        assertEquals(11, calibrator.calibrate(Duration.ofSeconds(10), 10, 11).strength());
+    }
+
+    @Test
+    @DisplayName("Mantiene el costo mínimo aunque exceda el presupuesto")
+    void testKeepsMinStrengthAsFloor() {
+        BCryptStrengthCalibrator.Calibration calibration =
+            calibrator.calibrate(Duration.ofMillis(10), 10, 14);
+
+        assertEquals(10, calibration.strength());
+        assertFalse(calibration.withinBudget());
+    }
+}
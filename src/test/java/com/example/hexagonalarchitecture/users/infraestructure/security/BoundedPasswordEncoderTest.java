@@ -0,0 +1,178 @@
+package com.example.hexagonalarchitecture.users.infraestructure.security;
+
+import com.example.hexagonalarchitecture.users.infraestructure.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BoundedPasswordEncoder - Pool acotado para BCrypt")
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BlockingEncoder delegate = new BlockingEncoder();
+    private BoundedPasswordEncoder encoder;
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        delegate.release.countDown();
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    @DisplayName("encode y matches se ejecutan en los hilos del pool")
+    void testRunsOnDedicatedThreads() {
+        delegate.release.countDown();
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        assertEquals("hash:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hash:secret"));
+        assertTrue(delegate.lastThread.startsWith("password-hashing-"));
+        assertNotNull(meterRegistry.find("executor.active").tag("name", "users.password.hashing").gauge());
+    }
+
+    @Test
+    @DisplayName("Con el pool y la cola llenos se rechaza de inmediato")
+    void testRejectsWhenSaturated() throws Exception {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        Future<String> running = callers.submit(() -> encoder.encode("a"));
+        assertTrue(delegate.started.await(1, TimeUnit.SECONDS));
+        Future<String> queued = callers.submit(() -> encoder.encode("b"));
+        waitUntilQueued();
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("c"));
+        assertEquals(1.0, meterRegistry.get("users.password.hashing.rejected").tag("operation", "encode").counter().count());
+
+        delegate.release.countDown();
+        assertEquals("hash:a", running.get(1, TimeUnit.SECONDS));
+        assertEquals("hash:b", queued.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Si el resultado no llega a tiempo se deja de esperar")
+    void testTimesOut() {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofMillis(50), meterRegistry);
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.matches("a", "hash:a"));
+        assertEquals(1.0, meterRegistry.get("users.password.hashing.timeouts").tag("operation", "matches").counter().count());
+    }
+
+    @Test
+    @DisplayName("Un lote mayor que la cola se hashea completo sin rechazos")
+    void testEncodeAllLargerThanQueue() {
+        delegate.release.countDown();
+        encoder = new BoundedPasswordEncoder(delegate, 1, 2, Duration.ofSeconds(5), meterRegistry);
+
+        List<CompletableFuture<String>> hashes = encoder.encodeAll(List.of("a", "b", "c", "d", "e"));
+
+        assertEquals(List.of("hash:a", "hash:b", "hash:c", "hash:d", "hash:e"),
+            hashes.stream().map(CompletableFuture::join).toList());
+        assertEquals(0.0, meterRegistry.counter("users.password.hashing.rejected", "operation", "encode").count());
+    }
+
+    @Test
+    @DisplayName("En un lote, un timeout falla solo a su contraseña y no lanza")
+    void testEncodeAllReportsFailuresPerItem() {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofMillis(50), meterRegistry);
+
+        List<CompletableFuture<String>> hashes = encoder.encodeAll(List.of("a", "b"));
+
+        assertEquals(2, hashes.size());
+        for (CompletableFuture<String> hash : hashes) {
+            CompletionException failure = assertThrows(CompletionException.class, hash::join);
+            assertInstanceOf(PasswordHashingUnavailableException.class, failure.getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("Un lote no deja sin lugar a las llamadas individuales y cada contraseña tiene su timeout")
+    void testSingleEncodeSucceedsWhileBatchRuns() throws Exception {
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+        // 8 hashes de 100 ms con un hilo superan el timeout: solo se cumple si se cuenta por contraseña
+        encoder = new BoundedPasswordEncoder(slow, 1, 4, Duration.ofMillis(300), meterRegistry);
+        List<String> passwords = List.of("a", "b", "c", "d", "e", "f", "g", "h");
+
+        Future<List<CompletableFuture<String>>> batch = callers.submit(() -> encoder.encodeAll(passwords));
+        Thread.sleep(150);
+        String single = encoder.encode("single");
+
+        assertEquals("hash:single", single);
+        assertEquals(passwords.stream().map(password -> "hash:" + password).toList(),
+            batch.get(5, TimeUnit.SECONDS).stream().map(CompletableFuture::join).toList());
+        assertEquals(0.0, meterRegistry.counter("users.password.hashing.rejected", "operation", "encode").count());
+        assertEquals(0.0, meterRegistry.counter("users.password.hashing.timeouts", "operation", "encode").count());
+    }
+
+    private void waitUntilQueued() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Double queued = meterRegistry.get("executor.queued").tag("name", "users.password.hashing").gauge().value();
+            if (queued >= 1) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("La segunda operación no llegó a la cola");
+    }
+
+    private static final class BlockingEncoder implements PasswordEncoder {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile String lastThread;
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+
+        private void await() {
+            lastThread = Thread.currentThread().getName();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}